@@ -0,0 +1,592 @@
+package pdfact.cli;
+
+import static pdfact.cli.PdfActCLISettings.PERFORMANCE_REPORT_SUFFIX;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import pdfact.cli.pipes.PdfActServicePipe;
+import pdfact.cli.util.exception.PdfActBatchException;
+import pdfact.core.model.PdfDocument;
+import pdfact.core.model.PdfDocument.PdfDocumentFactory;
+import pdfact.core.util.exception.PdfActException;
+
+/**
+ * A runner that processes a batch of PDF files in a pool of worker threads
+ * (within a single JVM, with a single set of warmed-up resources) and writes
+ * the text output of each PDF file to its own file in an output directory.
+ *
+ * Each PDF file is processed by its own service pipe, such that a PDF file
+ * that couldn't be processed doesn't affect the other PDF files. The failures
+ * are collected in the {@link BatchSummary} of the batch.
+ *
+ * @author Claudius Korzen
+ */
+public class PdfActBatchRunner {
+  /**
+   * The input that denotes that the paths to the PDF files are read from
+   * stdin, one path per line.
+   */
+  public static final String STDIN = "-";
+
+  /**
+   * The characters that denote a glob pattern in an input.
+   */
+  protected static final String GLOB_CHARACTERS = "*?[{";
+
+  /**
+   * The factory to create new PDF documents.
+   */
+  protected PdfDocumentFactory pdfDocumentFactory;
+
+  /**
+   * The supplier of the (configured) service pipes, one per PDF file.
+   */
+  protected Supplier<PdfActServicePipe> serviceSupplier;
+
+  /**
+   * The directory to which the text outputs are written.
+   */
+  protected Path outputDirectory;
+
+  /**
+   * The file extension of the text outputs.
+   */
+  protected String outputExtension;
+
+  /**
+   * The number of worker threads.
+   */
+  protected int numWorkers;
+
+  /**
+   * The boolean flag that indicates whether a performance report should be
+   * written next to each text output.
+   */
+  protected boolean writePerformanceReports;
+
+  // ==========================================================================
+
+  /**
+   * Creates a new batch runner.
+   *
+   * @param pdfDocumentFactory
+   *        The factory to create new PDF documents.
+   * @param serviceSupplier
+   *        The supplier of the (configured) service pipes, one per PDF file.
+   * @param outputDirectory
+   *        The directory to which the text outputs should be written.
+   * @param outputExtension
+   *        The file extension of the text outputs.
+   * @param numWorkers
+   *        The number of worker threads.
+   */
+  public PdfActBatchRunner(PdfDocumentFactory pdfDocumentFactory,
+      Supplier<PdfActServicePipe> serviceSupplier, Path outputDirectory,
+      String outputExtension, int numWorkers) {
+    this.pdfDocumentFactory = pdfDocumentFactory;
+    this.serviceSupplier = serviceSupplier;
+    this.outputDirectory = outputDirectory;
+    this.outputExtension = outputExtension;
+    this.numWorkers = Math.max(1, numWorkers);
+  }
+
+  // ==========================================================================
+
+  /**
+   * Resolves the given input to the PDF files to process and maps each PDF
+   * file to the path of its text output in the output directory.
+   *
+   * @param input
+   *        The input: the path to a directory (all PDF files in the directory
+   *        are processed), a glob pattern (all PDF files matching the pattern
+   *        are processed), {@link #STDIN} (the paths to the PDF files are read
+   *        from stdin, one per line) or the path to a single PDF file.
+   *
+   * @return The paths to the text outputs per PDF file, in the order in which
+   *         the PDF files should be processed.
+   *
+   * @throws PdfActBatchException
+   *         If the input couldn't be read.
+   */
+  public Map<Path, Path> resolve(String input) throws PdfActBatchException {
+    if (STDIN.equals(input)) {
+      return resolve(null, readPdfPaths(System.in));
+    }
+
+    Path path = Paths.get(input);
+    if (Files.isDirectory(path)) {
+      return resolve(path, listPdfPaths(path));
+    }
+
+    int globIndex = indexOfGlobCharacter(input);
+    if (globIndex >= 0) {
+      // The base directory is the longest prefix without glob characters.
+      int separatorIndex = input.lastIndexOf('/', globIndex);
+      Path base = separatorIndex < 0 ? Paths.get("")
+          : Paths.get(separatorIndex == 0 ? "/" : input.substring(0,
+              separatorIndex));
+      return resolve(base, findPdfPaths(base, input));
+    }
+
+    return resolve(null, Collections.singletonList(path));
+  }
+
+  /**
+   * Maps each given PDF file to the path of its text output in the output
+   * directory. The path of a text output reflects the path of the PDF file
+   * relative to the given base directory (or its file name if there is no such
+   * directory), with the output extension instead of the PDF extension.
+   * Duplicate output paths are made unique by appending a number, duplicate
+   * PDF files are processed only once.
+   *
+   * @param base
+   *        The base directory of the PDF files (or null).
+   * @param pdfPaths
+   *        The paths to the PDF files.
+   *
+   * @return The paths to the text outputs per PDF file.
+   */
+  protected Map<Path, Path> resolve(Path base, List<Path> pdfPaths) {
+    Map<Path, Path> outputPaths = new LinkedHashMap<>();
+    Set<Path> usedOutputPaths = new HashSet<>();
+    for (Path pdfPath : pdfPaths) {
+      if (outputPaths.containsKey(pdfPath)) {
+        continue;
+      }
+      Path relative = base != null ? base.relativize(pdfPath)
+          : pdfPath.getFileName();
+      String name = relative.getFileName().toString();
+      if (name.toLowerCase(Locale.ROOT).endsWith(".pdf")) {
+        name = name.substring(0, name.length() - 4);
+      }
+
+      Path parent = relative.getParent() != null
+          ? this.outputDirectory.resolve(relative.getParent())
+          : this.outputDirectory;
+      Path outputPath = parent.resolve(name + "." + this.outputExtension);
+      for (int i = 2; !usedOutputPaths.add(outputPath); i++) {
+        outputPath = parent.resolve(name + "-" + i + "."
+            + this.outputExtension);
+      }
+      outputPaths.put(pdfPath, outputPath);
+    }
+    return outputPaths;
+  }
+
+  // ==========================================================================
+
+  /**
+   * Processes the given PDF files in the pool of worker threads.
+   *
+   * @param outputPaths
+   *        The paths to the text outputs per PDF file (see
+   *        {@link #resolve(String)}).
+   *
+   * @return The summary of the batch.
+   *
+   * @throws PdfActBatchException
+   *         If the batch was interrupted.
+   */
+  public BatchSummary run(Map<Path, Path> outputPaths)
+      throws PdfActBatchException {
+    BatchSummary summary = new BatchSummary();
+    long start = System.nanoTime();
+
+    ExecutorService executor = Executors.newFixedThreadPool(this.numWorkers,
+        new WorkerThreadFactory());
+    try {
+      Map<Path, Future<Integer>> futures = new LinkedHashMap<>();
+      for (Map.Entry<Path, Path> entry : outputPaths.entrySet()) {
+        Path pdfPath = entry.getKey();
+        Path outputPath = entry.getValue();
+        futures.put(pdfPath,
+            executor.submit(() -> process(pdfPath, outputPath)));
+      }
+
+      // Collect the results in the order of the PDF files.
+      for (Map.Entry<Path, Future<Integer>> entry : futures.entrySet()) {
+        try {
+          summary.addDocument(entry.getValue().get());
+        } catch (ExecutionException e) {
+          // Skip the PDF files that couldn't be processed.
+          System.err.println("Skipping '" + entry.getKey() + "': "
+              + e.getCause().getMessage());
+          summary.addFailure(entry.getKey(), e.getCause());
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new PdfActBatchException("The batch was interrupted.", e);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    summary.setElapsedNanos(System.nanoTime() - start);
+    return summary;
+  }
+
+  /**
+   * Processes the given PDF file and writes the text output to the given path.
+   *
+   * @param pdfPath
+   *        The path to the PDF file.
+   * @param outputPath
+   *        The path to the text output.
+   *
+   * @return The number of pages of the PDF file.
+   *
+   * @throws PdfActException
+   *         If the PDF file couldn't be processed.
+   */
+  protected int process(Path pdfPath, Path outputPath)
+      throws PdfActException {
+    try {
+      Files.createDirectories(outputPath.getParent());
+    } catch (IOException e) {
+      throw new PdfActBatchException("Couldn't create the directory '"
+          + outputPath.getParent() + "': " + e.getMessage(), e);
+    }
+
+    PdfActServicePipe service = this.serviceSupplier.get();
+    service.setSerializationPath(outputPath);
+    if (this.writePerformanceReports) {
+      service.setPerformanceReportPath(
+          Paths.get(outputPath + PERFORMANCE_REPORT_SUFFIX));
+    }
+
+    PdfDocument pdf = service.execute(this.pdfDocumentFactory.create(pdfPath));
+    return pdf.getPages() != null ? pdf.getPages().size() : 0;
+  }
+
+  // ==========================================================================
+
+  /**
+   * Reads the paths to PDF files from the given stream, one path per line.
+   * Empty lines are ignored.
+   *
+   * @param stream
+   *        The stream to read from.
+   *
+   * @return The paths to the PDF files.
+   *
+   * @throws PdfActBatchException
+   *         If the stream couldn't be read.
+   */
+  protected static List<Path> readPdfPaths(InputStream stream)
+      throws PdfActBatchException {
+    List<Path> pdfPaths = new ArrayList<>();
+    try (BufferedReader reader = new BufferedReader(
+        new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        line = line.trim();
+        if (!line.isEmpty()) {
+          pdfPaths.add(Paths.get(line));
+        }
+      }
+    } catch (IOException e) {
+      throw new PdfActBatchException("Couldn't read the paths to the PDF "
+          + "files from stdin: " + e.getMessage(), e);
+    }
+    return pdfPaths;
+  }
+
+  /**
+   * Lists the PDF files in the given directory.
+   *
+   * @param dir
+   *        The directory.
+   *
+   * @return The paths to the PDF files, sorted.
+   *
+   * @throws PdfActBatchException
+   *         If the directory couldn't be read.
+   */
+  protected static List<Path> listPdfPaths(Path dir)
+      throws PdfActBatchException {
+    List<Path> pdfPaths = new ArrayList<>();
+    try (DirectoryStream<Path> paths =
+        Files.newDirectoryStream(dir, "*.{pdf,PDF}")) {
+      for (Path path : paths) {
+        pdfPaths.add(path);
+      }
+    } catch (IOException e) {
+      throw new PdfActBatchException("Couldn't read the directory '" + dir
+          + "': " + e.getMessage(), e);
+    }
+    Collections.sort(pdfPaths);
+    return pdfPaths;
+  }
+
+  /**
+   * Finds the regular files below the given base directory that match the
+   * given glob pattern.
+   *
+   * @param base
+   *        The base directory (the longest prefix of the pattern without glob
+   *        characters).
+   * @param glob
+   *        The glob pattern.
+   *
+   * @return The paths to the matching files, sorted.
+   *
+   * @throws PdfActBatchException
+   *         If the base directory couldn't be read.
+   */
+  protected static List<Path> findPdfPaths(Path base, String glob)
+      throws PdfActBatchException {
+    PathMatcher matcher = FileSystems.getDefault().getPathMatcher(
+        "glob:" + glob);
+
+    // Descend only as deep as the pattern reaches, unless it contains "**".
+    int maxDepth = Integer.MAX_VALUE;
+    if (!glob.contains("**")) {
+      String rest = base.toString().isEmpty() ? glob
+          : glob.substring(base.toString().length());
+      maxDepth = rest.replaceAll("^/+", "").split("/").length;
+    }
+
+    List<Path> pdfPaths = new ArrayList<>();
+    Path start = base.toString().isEmpty() ? Paths.get(".") : base;
+    try (Stream<Path> paths = Files.walk(start, maxDepth)) {
+      paths.forEach(path -> {
+        // Match the path as it is written in the pattern (without "./").
+        Path matched = base.toString().isEmpty() ? start.relativize(path)
+            : path;
+        if (Files.isRegularFile(path) && matcher.matches(matched)) {
+          pdfPaths.add(matched);
+        }
+      });
+    } catch (IOException e) {
+      throw new PdfActBatchException("Couldn't read the directory '" + start
+          + "': " + e.getMessage(), e);
+    }
+    Collections.sort(pdfPaths);
+    return pdfPaths;
+  }
+
+  /**
+   * Returns the index of the first glob character in the given input.
+   *
+   * @param input
+   *        The input.
+   *
+   * @return The index of the first glob character or -1 if there is none.
+   */
+  protected static int indexOfGlobCharacter(String input) {
+    for (int i = 0; i < input.length(); i++) {
+      if (GLOB_CHARACTERS.indexOf(input.charAt(i)) >= 0) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  // ==========================================================================
+
+  /**
+   * Returns true if a performance report is written next to each text output.
+   *
+   * @return True if a performance report is written next to each text output.
+   */
+  public boolean isWritePerformanceReports() {
+    return this.writePerformanceReports;
+  }
+
+  /**
+   * Sets the flag that indicates whether a performance report should be
+   * written next to each text output (to '&lt;output-file&gt;
+   * {@value PdfActCLISettings#PERFORMANCE_REPORT_SUFFIX}').
+   *
+   * @param write
+   *        True if a performance report should be written next to each text
+   *        output; false otherwise.
+   */
+  public void setWritePerformanceReports(boolean write) {
+    this.writePerformanceReports = write;
+  }
+
+  // ==========================================================================
+
+  /**
+   * The summary of a batch: the number of processed PDF files and pages, the
+   * failures and the throughput.
+   */
+  public static class BatchSummary {
+    /**
+     * The number of successfully processed PDF files.
+     */
+    protected int numDocuments;
+
+    /**
+     * The number of pages of the successfully processed PDF files.
+     */
+    protected long numPages;
+
+    /**
+     * The failures per PDF file that couldn't be processed.
+     */
+    protected Map<Path, Throwable> failures = new LinkedHashMap<>();
+
+    /**
+     * The elapsed wall time of the batch, in nanoseconds.
+     */
+    protected long elapsedNanos;
+
+    /**
+     * Adds a successfully processed PDF file.
+     *
+     * @param numPages
+     *        The number of pages of the PDF file.
+     */
+    protected void addDocument(int numPages) {
+      this.numDocuments++;
+      this.numPages += numPages;
+    }
+
+    /**
+     * Adds a PDF file that couldn't be processed.
+     *
+     * @param pdfPath
+     *        The path to the PDF file.
+     * @param failure
+     *        The failure.
+     */
+    protected void addFailure(Path pdfPath, Throwable failure) {
+      this.failures.put(pdfPath, failure);
+    }
+
+    /**
+     * Sets the elapsed wall time of the batch.
+     *
+     * @param elapsedNanos
+     *        The elapsed wall time, in nanoseconds.
+     */
+    protected void setElapsedNanos(long elapsedNanos) {
+      this.elapsedNanos = elapsedNanos;
+    }
+
+    // ========================================================================
+
+    /**
+     * Returns the number of successfully processed PDF files.
+     *
+     * @return The number of successfully processed PDF files.
+     */
+    public int getNumDocuments() {
+      return this.numDocuments;
+    }
+
+    /**
+     * Returns the number of pages of the successfully processed PDF files.
+     *
+     * @return The number of pages.
+     */
+    public long getNumPages() {
+      return this.numPages;
+    }
+
+    /**
+     * Returns the failures per PDF file that couldn't be processed, in the
+     * order of the PDF files.
+     *
+     * @return The failures per PDF file.
+     */
+    public Map<Path, Throwable> getFailures() {
+      return this.failures;
+    }
+
+    /**
+     * Returns the elapsed wall time of the batch.
+     *
+     * @return The elapsed wall time, in nanoseconds.
+     */
+    public long getElapsedNanos() {
+      return this.elapsedNanos;
+    }
+
+    /**
+     * Returns the number of successfully processed PDF files per second.
+     *
+     * @return The number of PDF files per second.
+     */
+    public double getDocumentsPerSecond() {
+      return perSecond(this.numDocuments);
+    }
+
+    /**
+     * Returns the number of pages of the successfully processed PDF files per
+     * second.
+     *
+     * @return The number of pages per second.
+     */
+    public double getPagesPerSecond() {
+      return perSecond(this.numPages);
+    }
+
+    /**
+     * Returns the given number per second of the elapsed wall time.
+     *
+     * @param number
+     *        The number.
+     *
+     * @return The number per second.
+     */
+    protected double perSecond(long number) {
+      return this.elapsedNanos > 0 ? number * 1e9 / this.elapsedNanos : 0;
+    }
+
+    @Override
+    public String toString() {
+      return String.format(Locale.ROOT, "Processed %d PDF file(s) with %d "
+          + "page(s) in %.1f s (%.2f files/s, %.2f pages/s); %d PDF file(s) "
+          + "failed.", this.numDocuments, this.numPages,
+          this.elapsedNanos / 1e9, getDocumentsPerSecond(),
+          getPagesPerSecond(), this.failures.size());
+    }
+  }
+
+  /**
+   * The factory of the (daemon) worker threads.
+   */
+  protected static class WorkerThreadFactory implements ThreadFactory {
+    /**
+     * The number of created threads.
+     */
+    protected static final AtomicInteger NUM_THREADS = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable,
+          "pdfact-batch-worker-" + NUM_THREADS.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
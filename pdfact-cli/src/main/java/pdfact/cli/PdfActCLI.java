@@ -1,6 +1,16 @@
 package pdfact.cli;
 
+import static pdfact.cli.PdfActCLISettings.DEFAULT_SERIALIZE_FORMAT;
+import static pdfact.cli.PdfActCLISettings.FLIGHT_RECORDING_SUFFIX;
+import static pdfact.cli.PdfActCLISettings.PERFORMANCE_REPORT_SUFFIX;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -15,17 +25,28 @@ import net.sourceforge.argparse4j.inf.ArgumentAction;
 import net.sourceforge.argparse4j.inf.ArgumentParser;
 import net.sourceforge.argparse4j.inf.ArgumentParserException;
 import net.sourceforge.argparse4j.internal.HelpScreenException;
+import pdfact.cli.PdfActBatchRunner.BatchSummary;
 import pdfact.cli.guice.PdfActCliGuiceModule;
 import pdfact.cli.model.SerializeFormat;
 import pdfact.cli.model.TextUnit;
 import pdfact.cli.pipes.PdfActServicePipe;
 import pdfact.cli.pipes.PdfActServicePipe.PdfActServicePipeFactory;
+import pdfact.cli.util.exception.PdfActBatchException;
 import pdfact.cli.util.exception.PdfActParseCommandLineException;
 import pdfact.core.model.LogLevel;
 import pdfact.core.model.PdfDocument;
 import pdfact.core.model.PdfDocument.PdfDocumentFactory;
 import pdfact.core.model.SemanticRole;
+import pdfact.core.pipes.dehyphenate.DehyphenationLexicon;
+import pdfact.core.pipes.dehyphenate.MappedDehyphenationLexicon;
+import pdfact.core.pipes.dehyphenate.WordIndex;
+import pdfact.core.pipes.dehyphenate.WordIndex.WordIndexFactory;
 import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.exception.PdfActLexiconException;
+import pdfact.core.util.exception.PdfActMetricsException;
+import pdfact.core.util.jfr.FlightRecorders;
+import pdfact.core.util.jfr.FlightRecording;
+import pdfact.core.util.jfr.SlowOperatorEvent;
 import pdfact.core.util.log.Log4JTypeListener;
 
 /**
@@ -44,6 +65,11 @@ public class PdfActCLI {
    */
   protected PdfActServicePipeFactory serviceFactory;
 
+  /**
+   * The factory to create word indexes (used to build dehyphenation lexicons).
+   */
+  protected WordIndexFactory wordIndexFactory;
+
   // ==========================================================================
 
   /**
@@ -53,6 +79,7 @@ public class PdfActCLI {
     Injector injector = Guice.createInjector(new PdfActCliGuiceModule());
     this.pdfDocumentFactory = injector.getInstance(PdfDocumentFactory.class);
     this.serviceFactory = injector.getInstance(PdfActServicePipeFactory.class);
+    this.wordIndexFactory = injector.getInstance(WordIndexFactory.class);
   }
 
   /**
@@ -65,61 +92,98 @@ public class PdfActCLI {
     int statusCode = 0;
     String errorMessage = null;
     Throwable cause = null;
+    FlightRecording recording = null;
 
     // Create the command line argument parser.
     PdfActCommandLineParser parser = new PdfActCommandLineParser();
 
-    // Create a service pipe.
-    PdfActServicePipe service = this.serviceFactory.create();
-
     try {
       // Parse the command line arguments.
       parser.parseArgs(args);
 
-      // Create the PDF document from the given path.
-      PdfDocument pdf = this.pdfDocumentFactory.create(parser.getPdfPath());
-
       // Pass the log level.
       int logLevel = parser.getLogLevel();
       Log4JTypeListener.setLogLevel(LogLevel.getLogLevel(logLevel));
 
-      // Pass the serialization format if there is any.
-      if (parser.hasSerializationFormat()) {
-        String format = parser.getSerializeFormat();
-        service.setSerializationFormat(SerializeFormat.fromString(format));
+      // Start the flight recording if there is any.
+      if (parser.hasFlightRecordingPath()) {
+        if (!FlightRecorders.isAvailable()) {
+          throw new PdfActMetricsException("The flight recorder is not "
+              + "available in this JVM.");
+        }
+        recording = new FlightRecording();
+        recording.start();
       }
 
-      // Pass the target of the serialization.
-      if (parser.hasSerializationPath()) {
-        service.setSerializationPath(Paths.get(parser.getSerializationPath()));
-      } else {
-        service.setSerializationStream(System.out);
+      // Open the dehyphenation lexicon if there is any (it is shared by all
+      // service pipes).
+      DehyphenationLexicon lexicon = null;
+      if (parser.hasDehyphenationLexiconPath()) {
+        Path lexiconPath = Paths.get(parser.getDehyphenationLexiconPath());
+        lexicon = MappedDehyphenationLexicon.open(lexiconPath);
       }
 
-      // Pass the target of the visualization.
-      if (parser.hasVisualizationPath()) {
-        service.setVisualizationPath(Paths.get(parser.getVisualizationPath()));
-      }
-
-      // Pass the chosen text unit.
-      if (parser.hasTextUnit()) {
-        service.setTextUnit(TextUnit.fromString(parser.getTextUnit()));
-      }
-
-      // Pass the semantic roles filter for serialization & visualization.
-      if (parser.hasSemanticRolesFilters()) {
-        List<String> roles = parser.getSemanticRolesFilters();
-        service.setSemanticRolesFilters(SemanticRole.fromStrings(roles));
+      if (parser.hasBuildDehyphenationLexiconPath()) {
+        // Build a dehyphenation lexicon from the given PDF file(s).
+        Path pdfPath = Paths.get(parser.getPdfPath());
+        Path lexiconPath =
+            Paths.get(parser.getBuildDehyphenationLexiconPath());
+        buildDehyphenationLexicon(createService(parser, lexicon), pdfPath,
+            lexiconPath);
+      } else if (parser.hasBatchPath()) {
+        // Process the given PDF files in a batch.
+        processBatch(parser, lexicon);
+      } else {
+        // Create the PDF document from the given path.
+        PdfDocument pdf = this.pdfDocumentFactory.create(parser.getPdfPath());
+
+        // Create a service pipe.
+        PdfActServicePipe service = createService(parser, lexicon);
+
+        // Pass the target of the serialization.
+        if (parser.hasSerializationPath()) {
+          String path = parser.getSerializationPath();
+          service.setSerializationPath(Paths.get(path));
+        } else {
+          service.setSerializationStream(System.out);
+        }
+
+        // Pass the target of the visualization.
+        if (parser.hasVisualizationPath()) {
+          String path = parser.getVisualizationPath();
+          service.setVisualizationPath(Paths.get(path));
+        }
+
+        // Pass the target of the performance report.
+        if (parser.hasPerformanceReportPath()) {
+          String path = parser.getPerformanceReportPath();
+          service.setPerformanceReportPath(Paths.get(path));
+        }
+
+        // Run PdfAct.
+        service.execute(pdf);
       }
-
-      // Run PdfAct.
-      service.execute(pdf);
     } catch (PdfActException e) {
       statusCode = e.getExitCode();
       errorMessage = e.getMessage();
       cause = e.getCause();
     }
 
+    // Write the flight recording if there is any.
+    if (recording != null) {
+      try {
+        recording.dump(Paths.get(parser.getFlightRecordingPath()));
+      } catch (PdfActException e) {
+        if (statusCode == 0) {
+          statusCode = e.getExitCode();
+          errorMessage = e.getMessage();
+          cause = e.getCause();
+        }
+      } finally {
+        recording.close();
+      }
+    }
+
     if (statusCode != 0) {
       // Print the error message (regardless of the log level).
       System.err.println(errorMessage);
@@ -132,6 +196,130 @@ public class PdfActCLI {
     System.exit(statusCode);
   }
 
+  /**
+   * Creates a service pipe with the options given by the command line
+   * arguments that apply to each processed PDF file.
+   * 
+   * @param parser
+   *        The parser of the command line arguments.
+   * @param lexicon
+   *        The dehyphenation lexicon to consult (or null).
+   * 
+   * @return The created service pipe.
+   */
+  protected PdfActServicePipe createService(PdfActCommandLineParser parser,
+      DehyphenationLexicon lexicon) {
+    PdfActServicePipe service = this.serviceFactory.create();
+
+    // Pass the dehyphenation lexicon if there is any.
+    if (lexicon != null) {
+      service.setDehyphenationLexicon(lexicon);
+    }
+
+    // Pass the serialization format if there is any.
+    if (parser.hasSerializationFormat()) {
+      String format = parser.getSerializeFormat();
+      service.setSerializationFormat(SerializeFormat.fromString(format));
+    }
+
+    // Pass the chosen text unit.
+    if (parser.hasTextUnit()) {
+      service.setTextUnit(TextUnit.fromString(parser.getTextUnit()));
+    }
+
+    // Pass the semantic roles filter for serialization & visualization.
+    if (parser.hasSemanticRolesFilters()) {
+      List<String> roles = parser.getSemanticRolesFilters();
+      service.setSemanticRolesFilters(SemanticRole.fromStrings(roles));
+    }
+
+    return service;
+  }
+
+  /**
+   * Processes the PDF files given by the command line arguments in a batch
+   * and writes the text output of each PDF file to the batch directory. Prints
+   * a summary of the batch to stderr.
+   * 
+   * @param parser
+   *        The parser of the command line arguments.
+   * @param lexicon
+   *        The dehyphenation lexicon to consult (or null).
+   * 
+   * @throws PdfActException
+   *         If the PDF files couldn't be listed or if at least one PDF file
+   *         couldn't be processed.
+   */
+  protected void processBatch(PdfActCommandLineParser parser,
+      DehyphenationLexicon lexicon) throws PdfActException {
+    SerializeFormat format = DEFAULT_SERIALIZE_FORMAT;
+    if (parser.hasSerializationFormat()) {
+      format = SerializeFormat.fromString(parser.getSerializeFormat());
+    }
+
+    PdfActBatchRunner runner = new PdfActBatchRunner(this.pdfDocumentFactory,
+        () -> createService(parser, lexicon), Paths.get(parser.getBatchPath()),
+        format.getName(), parser.getNumWorkers());
+    runner.setWritePerformanceReports(parser.hasPerformanceReportPath());
+
+    Map<Path, Path> outputPaths = runner.resolve(parser.getPdfPath());
+    BatchSummary summary = runner.run(outputPaths);
+    System.err.println(summary);
+
+    int numFailures = summary.getFailures().size();
+    if (numFailures > 0) {
+      throw new PdfActBatchException(numFailures + " of "
+          + outputPaths.size() + " PDF file(s) couldn't be processed.");
+    }
+  }
+
+  /**
+   * Processes the given PDF file (or all PDF files in the given directory),
+   * counts the normal words, compound words and prefixes of compound words
+   * and writes the counts as a dehyphenation lexicon to the given file.
+   * 
+   * @param service
+   *        The service pipe to use on processing the PDF files.
+   * @param pdfPath
+   *        The path to a PDF file or to a directory with PDF files.
+   * @param lexiconPath
+   *        The path to the file to which the lexicon should be written.
+   * 
+   * @throws PdfActException
+   *         If the PDF files couldn't be listed or the lexicon couldn't be
+   *         written.
+   */
+  protected void buildDehyphenationLexicon(PdfActServicePipe service,
+      Path pdfPath, Path lexiconPath) throws PdfActException {
+    List<Path> pdfPaths = new ArrayList<>();
+    if (Files.isDirectory(pdfPath)) {
+      try (DirectoryStream<Path> paths =
+          Files.newDirectoryStream(pdfPath, "*.{pdf,PDF}")) {
+        for (Path path : paths) {
+          pdfPaths.add(path);
+        }
+      } catch (IOException e) {
+        throw new PdfActLexiconException("Couldn't read the directory '"
+            + pdfPath + "': " + e.getMessage(), e);
+      }
+      Collections.sort(pdfPaths);
+    } else {
+      pdfPaths.add(pdfPath);
+    }
+
+    WordIndex index = this.wordIndexFactory.create();
+    service.setCorpusWordIndex(index);
+    for (Path path : pdfPaths) {
+      try {
+        service.execute(this.pdfDocumentFactory.create(path));
+      } catch (PdfActException e) {
+        // Skip the PDF files that couldn't be processed.
+        System.err.println("Skipping '" + path + "': " + e.getMessage());
+      }
+    }
+    MappedDehyphenationLexicon.write(index, lexiconPath);
+  }
+
   // ==========================================================================
 
   /**
@@ -237,6 +425,90 @@ public class PdfActCLI {
 
     // ========================================================================
 
+    /**
+     * The name of the option to define the path to a dehyphenation lexicon.
+     */
+    protected static final String DEHYPHENATION_LEXICON =
+        "dehyphenation-lexicon";
+
+    /**
+     * The path to the dehyphenation lexicon to consult.
+     */
+    @Arg(dest = DEHYPHENATION_LEXICON)
+    protected String dehyphenationLexiconPath;
+
+    // ========================================================================
+
+    /**
+     * The name of the option to build a dehyphenation lexicon.
+     */
+    protected static final String BUILD_DEHYPHENATION_LEXICON =
+        "build-dehyphenation-lexicon";
+
+    /**
+     * The path to the file to which a built dehyphenation lexicon is written.
+     */
+    @Arg(dest = BUILD_DEHYPHENATION_LEXICON)
+    protected String buildDehyphenationLexiconPath;
+
+    // ========================================================================
+
+    /**
+     * The name of the option to write a performance report.
+     */
+    protected static final String PERFORMANCE_REPORT = "performance-report";
+
+    /**
+     * The path to the file to which the performance report is written (empty
+     * if the default path should be used).
+     */
+    @Arg(dest = PERFORMANCE_REPORT)
+    protected String performanceReportPath;
+
+    // ========================================================================
+
+    /**
+     * The name of the option to write a flight recording.
+     */
+    protected static final String FLIGHT_RECORDING = "flight-recording";
+
+    /**
+     * The path to the file to which the flight recording is written (empty
+     * if the default path should be used).
+     */
+    @Arg(dest = FLIGHT_RECORDING)
+    protected String flightRecordingPath;
+
+    // ========================================================================
+
+    /**
+     * The name of the option to process the PDF files in a batch.
+     */
+    protected static final String BATCH = "batch";
+
+    /**
+     * The path to the directory to which the text outputs of a batch are
+     * written.
+     */
+    @Arg(dest = BATCH)
+    protected String batchPath;
+
+    // ========================================================================
+
+    /**
+     * The name of the option to define the number of worker threads in batch
+     * mode.
+     */
+    protected static final String WORKERS = "workers";
+
+    /**
+     * The number of worker threads in batch mode.
+     */
+    @Arg(dest = WORKERS)
+    protected int numWorkers;
+
+    // ========================================================================
+
     /**
      * The name of the option to enable log output.
      */
@@ -262,7 +534,13 @@ public class PdfActCLI {
           .dest(PDF_PATH)
           .required(true)
           .metavar("<pdf-path>")
-          .help("Defines the path to the PDF file to process.");
+          .help("Defines the path to the PDF file to process. In batch mode "
+              + "(see --" + BATCH + "), defines the PDF files to process: "
+              + "the path to a directory (all PDF files in the directory), "
+              + "a glob pattern (all files matching the pattern, for example "
+              + "'papers/**/*.pdf'; quote it to protect it from the shell) or "
+              + "'" + PdfActBatchRunner.STDIN + "' (the paths to the PDF "
+              + "files are read from stdin, one per line).");
 
       // Add an argument to define the target path for the serialization.
       this.parser.addArgument(SERIALIZE_PATH)
@@ -318,6 +596,89 @@ public class PdfActCLI {
               + "the chosen elements are surrounded by bounding boxes). If "
               + "not specified, no visualization will be created.");
 
+      // Add an argument to define the path to a dehyphenation lexicon.
+      this.parser.addArgument("--" + DEHYPHENATION_LEXICON)
+          .dest(DEHYPHENATION_LEXICON)
+          .required(false)
+          .metavar("<path>")
+          .help("Defines the path to a dehyphenation lexicon (built with the "
+              + "--" + BUILD_DEHYPHENATION_LEXICON + " option). The lexicon "
+              + "is consulted on dehyphenating words if the PDF file itself "
+              + "doesn't provide enough evidence.");
+
+      // Add an argument to build a dehyphenation lexicon.
+      this.parser.addArgument("--" + BUILD_DEHYPHENATION_LEXICON)
+          .dest(BUILD_DEHYPHENATION_LEXICON)
+          .required(false)
+          .metavar("<path>")
+          .help("Builds a dehyphenation lexicon from the given PDF file or "
+              + "from all PDF files in the given directory and writes it to "
+              + "the given path. If specified, no text output will be "
+              + "written.");
+
+      // Add an argument to write a performance report.
+      this.parser.addArgument("--" + PERFORMANCE_REPORT)
+          .dest(PERFORMANCE_REPORT)
+          .nargs("?")
+          .setConst("")
+          .required(false)
+          .metavar("<path>")
+          .help("Writes a report about the resources used on processing the "
+              + "PDF file (wall time, CPU time and allocated bytes, in total, "
+              + "per processing step and per page, together with the counters "
+              + "of the processing steps) in JSON format to the given path. "
+              + "If no path is given, the report is written next to the text "
+              + "output, to '<output-file>" + PERFORMANCE_REPORT_SUFFIX
+              + "' (or to '<pdf-path>" + PERFORMANCE_REPORT_SUFFIX + "' if "
+              + "the text output is written to stdout).");
+
+      // Add an argument to write a flight recording.
+      this.parser.addArgument("--" + FLIGHT_RECORDING)
+          .dest(FLIGHT_RECORDING)
+          .nargs("?")
+          .setConst("")
+          .required(false)
+          .metavar("<path>")
+          .help("Records the run with the Java Flight Recorder (with the "
+              + "default settings of the JVM, plus the events of PdfAct per "
+              + "executed processing step, per parsed page and per PDF "
+              + "operator that took longer than "
+              + SlowOperatorEvent.DEFAULT_THRESHOLD + ") and writes the "
+              + "recording to the given path. If no path is given, the "
+              + "recording is written next to the text output, to "
+              + "'<output-file>" + FLIGHT_RECORDING_SUFFIX + "' (or to "
+              + "'<pdf-path>" + FLIGHT_RECORDING_SUFFIX + "' if the text "
+              + "output is written to stdout, or to '<output-dir>/pdfact"
+              + FLIGHT_RECORDING_SUFFIX + "' in batch mode).");
+
+      // Add an argument to process the PDF files in a batch.
+      this.parser.addArgument("--" + BATCH)
+          .dest(BATCH)
+          .required(false)
+          .metavar("<output-dir>")
+          .help("Processes the PDF files given by <pdf-path> in a batch "
+              + "within a single process and writes the text output of each "
+              + "PDF file to its own file in the given directory (named "
+              + "after the PDF file, with the extension of the format). A PDF "
+              + "file that can't be processed is skipped. A summary of the "
+              + "batch (with the throughput in files and pages per second "
+              + "and the number of failures) is printed to stderr. Can't be "
+              + "combined with <output-file> and --" + VISUALIZATION_PATH
+              + "; --" + PERFORMANCE_REPORT + " writes a report next to each "
+              + "text output.");
+
+      // Add an argument to define the number of worker threads.
+      int numProcessors = Runtime.getRuntime().availableProcessors();
+      this.parser.addArgument("--" + WORKERS)
+          .dest(WORKERS)
+          .required(false)
+          .type(Integer.class)
+          .setDefault(numProcessors)
+          .metavar("<num>")
+          .help("Defines the number of PDF files that are processed "
+              + "concurrently in batch mode. If not specified, the number of "
+              + "available processors (" + numProcessors + ") is used.");
+
       // Add an argument to define the log level.
       StringBuilder choiceStr = new StringBuilder();
       for (LogLevel level : LogLevel.getLogLevels()) {
@@ -348,6 +709,7 @@ public class PdfActCLI {
     public void parseArgs(String[] args) throws PdfActException {
       try {
         this.parser.parseArgs(args, this);
+        validateBatchArgs();
       } catch (HelpScreenException e) {
         // Set the status code to 0, such that no error message is shown.
         throw new PdfActParseCommandLineException(null, 0, e);
@@ -357,6 +719,40 @@ public class PdfActCLI {
       }
     }
 
+    /**
+     * Checks if the options given in batch mode are compatible with each
+     * other.
+     *
+     * @throws ArgumentParserException
+     *         If the options are not compatible.
+     */
+    protected void validateBatchArgs() throws ArgumentParserException {
+      if (this.numWorkers < 1) {
+        throw new ArgumentParserException("The number of workers must be "
+            + "positive.", this.parser);
+      }
+      if (!hasBatchPath()) {
+        return;
+      }
+      if (hasSerializationPath()) {
+        throw new ArgumentParserException("<output-file> can't be combined "
+            + "with --" + BATCH + ".", this.parser);
+      }
+      if (hasVisualizationPath()) {
+        throw new ArgumentParserException("--" + VISUALIZATION_PATH
+            + " can't be combined with --" + BATCH + ".", this.parser);
+      }
+      if (hasBuildDehyphenationLexiconPath()) {
+        throw new ArgumentParserException("--" + BUILD_DEHYPHENATION_LEXICON
+            + " can't be combined with --" + BATCH + ".", this.parser);
+      }
+      if (hasPerformanceReportPath() && !this.performanceReportPath.isEmpty()) {
+        throw new ArgumentParserException("--" + PERFORMANCE_REPORT + " "
+            + "doesn't accept a path in combination with --" + BATCH + ".",
+            this.parser);
+      }
+    }
+
     /**
      * Returns the usage for this command line parser.
      *
@@ -502,6 +898,137 @@ public class PdfActCLI {
 
     // ========================================================================
 
+    /**
+     * Returns true, if a path to a dehyphenation lexicon is given.
+     *
+     * @return True, if a path to a dehyphenation lexicon is given.
+     */
+    public boolean hasDehyphenationLexiconPath() {
+      return this.dehyphenationLexiconPath != null;
+    }
+
+    /**
+     * Returns the path to the dehyphenation lexicon.
+     *
+     * @return The path to the dehyphenation lexicon.
+     */
+    public String getDehyphenationLexiconPath() {
+      return this.dehyphenationLexiconPath;
+    }
+
+    // ========================================================================
+
+    /**
+     * Returns true, if a path to which a built dehyphenation lexicon should be
+     * written is given.
+     *
+     * @return True, if a path for a built dehyphenation lexicon is given.
+     */
+    public boolean hasBuildDehyphenationLexiconPath() {
+      return this.buildDehyphenationLexiconPath != null;
+    }
+
+    /**
+     * Returns the path to which a built dehyphenation lexicon is written.
+     *
+     * @return The path to which a built dehyphenation lexicon is written.
+     */
+    public String getBuildDehyphenationLexiconPath() {
+      return this.buildDehyphenationLexiconPath;
+    }
+
+    // ========================================================================
+
+    /**
+     * Returns true, if a performance report should be written.
+     *
+     * @return True, if a performance report should be written.
+     */
+    public boolean hasPerformanceReportPath() {
+      return this.performanceReportPath != null;
+    }
+
+    /**
+     * Returns the path to which the performance report should be written.
+     *
+     * @return The given path or, if no path is given, the path next to the
+     *         text output.
+     */
+    public String getPerformanceReportPath() {
+      if (this.performanceReportPath == null
+          || !this.performanceReportPath.isEmpty()) {
+        return this.performanceReportPath;
+      }
+      if (hasSerializationPath()) {
+        return getSerializationPath() + PERFORMANCE_REPORT_SUFFIX;
+      }
+      return getPdfPath() + PERFORMANCE_REPORT_SUFFIX;
+    }
+
+    // ========================================================================
+
+    /**
+     * Returns true, if a flight recording should be written.
+     *
+     * @return True, if a flight recording should be written.
+     */
+    public boolean hasFlightRecordingPath() {
+      return this.flightRecordingPath != null;
+    }
+
+    /**
+     * Returns the path to which the flight recording should be written.
+     *
+     * @return The given path or, if no path is given, the path next to the
+     *         text output.
+     */
+    public String getFlightRecordingPath() {
+      if (this.flightRecordingPath == null
+          || !this.flightRecordingPath.isEmpty()) {
+        return this.flightRecordingPath;
+      }
+      if (hasBatchPath()) {
+        return Paths.get(getBatchPath(), "pdfact" + FLIGHT_RECORDING_SUFFIX)
+            .toString();
+      }
+      if (hasSerializationPath()) {
+        return getSerializationPath() + FLIGHT_RECORDING_SUFFIX;
+      }
+      return getPdfPath() + FLIGHT_RECORDING_SUFFIX;
+    }
+
+    // ========================================================================
+
+    /**
+     * Returns true, if the PDF files should be processed in a batch.
+     *
+     * @return True, if the PDF files should be processed in a batch.
+     */
+    public boolean hasBatchPath() {
+      return this.batchPath != null;
+    }
+
+    /**
+     * Returns the path to the directory to which the text outputs of a batch
+     * should be written.
+     *
+     * @return The path to the directory of the text outputs.
+     */
+    public String getBatchPath() {
+      return this.batchPath;
+    }
+
+    /**
+     * Returns the number of worker threads in batch mode.
+     *
+     * @return The number of worker threads.
+     */
+    public int getNumWorkers() {
+      return this.numWorkers;
+    }
+
+    // ========================================================================
+
     /**
      * Returns the log level.
      *
@@ -24,6 +24,18 @@ public class PdfActCLISettings {
    */
   public static final TextUnit DEFAULT_TEXT_UNIT = TextUnit.PARAGRAPH;
 
+  /**
+   * The suffix of the default path of a performance report, appended to the
+   * path of the text output (or of the PDF file if there is no such path).
+   */
+  public static final String PERFORMANCE_REPORT_SUFFIX = ".perf.json";
+
+  /**
+   * The suffix of the default path of a flight recording, appended to the
+   * path of the text output (or of the PDF file if there is no such path).
+   */
+  public static final String FLIGHT_RECORDING_SUFFIX = ".jfr";
+
   /**
    * The default semantic roles of text units to include on serialization and
    * visualization.
@@ -15,9 +15,12 @@ import pdfact.cli.pipes.serialize.PdfTxtSerializer;
 import pdfact.cli.pipes.serialize.PdfTxtSerializer.TxtSerializerFactory;
 import pdfact.cli.pipes.serialize.PdfXmlSerializer;
 import pdfact.cli.pipes.serialize.PdfXmlSerializer.XmlSerializerFactory;
+import pdfact.cli.pipes.serialize.PerformanceReportSerializer;
+import pdfact.cli.pipes.serialize.PerformanceReportSerializer.PerformanceReportSerializerFactory;
 import pdfact.cli.pipes.serialize.PlainPdfJsonSerializer;
 import pdfact.cli.pipes.serialize.PlainPdfTxtSerializer;
 import pdfact.cli.pipes.serialize.PlainPdfXmlSerializer;
+import pdfact.cli.pipes.serialize.PlainPerformanceReportSerializer;
 import pdfact.cli.pipes.serialize.PlainSerializePdfPipe;
 import pdfact.cli.pipes.serialize.SerializePdfPipe;
 import pdfact.cli.pipes.serialize.SerializePdfPipe.SerializePdfPipeFactory;
@@ -81,6 +84,12 @@ public class PdfActCliGuiceModule extends AbstractModule {
         .implement(PdfJsonSerializer.class, PlainPdfJsonSerializer.class)
         .build(JsonSerializerFactory.class));
 
+    // Install the factory of the performance report serializer.
+    install(new FactoryModuleBuilder()
+        .implement(PerformanceReportSerializer.class,
+            PlainPerformanceReportSerializer.class)
+        .build(PerformanceReportSerializerFactory.class));
+
     // Install the factory of the PDF drawer.
     install(new FactoryModuleBuilder()
         .implement(PdfDrawer.class, PdfBoxDrawer.class)
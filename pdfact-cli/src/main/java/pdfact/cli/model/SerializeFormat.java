@@ -64,7 +64,7 @@ public enum SerializeFormat {
    * 
    * @return The name of this serialization format.
    */
-  protected String getName() {
+  public String getName() {
     return this.name;
   }
 
@@ -7,6 +7,8 @@ import java.util.Set;
 import pdfact.cli.model.SerializeFormat;
 import pdfact.cli.model.TextUnit;
 import pdfact.core.model.SemanticRole;
+import pdfact.core.pipes.dehyphenate.DehyphenationLexicon;
+import pdfact.core.pipes.dehyphenate.WordIndex;
 import pdfact.core.util.pipeline.Pipe;
 
 /**
@@ -135,6 +137,60 @@ public interface PdfActServicePipe extends Pipe {
 
   // ==========================================================================
 
+  /**
+   * Returns the corpus-level lexicon that is consulted on dehyphenation.
+   * 
+   * @return The lexicon or null if there is no such lexicon.
+   */
+  DehyphenationLexicon getDehyphenationLexicon();
+
+  /**
+   * Sets the corpus-level lexicon that should be consulted on dehyphenation.
+   * 
+   * @param lexicon
+   *        The lexicon or null if no lexicon should be consulted.
+   */
+  void setDehyphenationLexicon(DehyphenationLexicon lexicon);
+
+  /**
+   * Returns the index to which the words of each processed PDF document are
+   * added.
+   * 
+   * @return The index or null if there is no such index.
+   */
+  WordIndex getCorpusWordIndex();
+
+  /**
+   * Sets the index to which the words of each processed PDF document should be
+   * added, for example to build a dehyphenation lexicon.
+   * 
+   * @param index
+   *        The index or null if the words shouldn't be added to any index.
+   */
+  void setCorpusWordIndex(WordIndex index);
+
+  // ==========================================================================
+
+  /**
+   * Returns the path to the file to which a report about the resources used
+   * on processing a PDF document is written.
+   * 
+   * @return The path or null if no report is written.
+   */
+  Path getPerformanceReportPath();
+
+  /**
+   * Sets the path to the file to which a report about the resources used on
+   * processing a PDF document (in total, per pipe and per page) should be
+   * written, in JSON format.
+   * 
+   * @param path
+   *        The path or null if no report should be written.
+   */
+  void setPerformanceReportPath(Path path);
+
+  // ==========================================================================
+
   /**
    * The factory to create instances of {@link PdfActServicePipe}.
    * 
@@ -4,7 +4,9 @@ import static pdfact.cli.PdfActCLISettings.DEFAULT_SEMANTIC_ROLES_TO_INCLUDE;
 import static pdfact.cli.PdfActCLISettings.DEFAULT_SERIALIZE_FORMAT;
 import static pdfact.cli.PdfActCLISettings.DEFAULT_TEXT_UNIT;
 
+import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Set;
 
@@ -14,17 +16,24 @@ import com.google.inject.Inject;
 
 import pdfact.cli.model.SerializeFormat;
 import pdfact.cli.model.TextUnit;
+import pdfact.cli.pipes.serialize.PerformanceReportSerializer.PerformanceReportSerializerFactory;
 import pdfact.cli.pipes.serialize.SerializePdfPipe;
 import pdfact.cli.pipes.serialize.SerializePdfPipe.SerializePdfPipeFactory;
 import pdfact.cli.pipes.validate.ValidatePathToWritePipe;
 import pdfact.cli.pipes.validate.ValidatePathToWritePipe.ValidatePathToWritePipeFactory;
 import pdfact.cli.pipes.visualize.VisualizePdfPipe;
 import pdfact.cli.pipes.visualize.VisualizePdfPipe.VisualizePdfPipeFactory;
+import pdfact.cli.util.exception.PdfActSerializeException;
 import pdfact.core.model.PdfDocument;
 import pdfact.core.model.SemanticRole;
+import pdfact.core.pipes.PdfActCorePipe;
 import pdfact.core.pipes.PdfActCorePipe.PdfActCorePipeFactory;
+import pdfact.core.pipes.dehyphenate.DehyphenationLexicon;
+import pdfact.core.pipes.dehyphenate.WordIndex;
 import pdfact.core.util.exception.PdfActException;
 import pdfact.core.util.log.InjectLogger;
+import pdfact.core.util.pipeline.InstrumentedPipeline;
+import pdfact.core.util.pipeline.PerformanceReport;
 import pdfact.core.util.pipeline.Pipeline;
 import pdfact.core.util.pipeline.Pipeline.PdfActPipelineFactory;
 
@@ -65,6 +74,11 @@ public class PlainPdfActServicePipe implements PdfActServicePipe {
    */
   protected VisualizePdfPipeFactory visualizePdfPipeFactory;
 
+  /**
+   * The factory to create serializers of performance reports.
+   */
+  protected PerformanceReportSerializerFactory reportSerializerFactory;
+
   // ==========================================================================
 
   /**
@@ -108,6 +122,25 @@ public class PlainPdfActServicePipe implements PdfActServicePipe {
 
   // ==========================================================================
 
+  /**
+   * The corpus-level lexicon to consult on dehyphenation.
+   */
+  protected DehyphenationLexicon dehyphenationLexicon;
+
+  /**
+   * The index to which the words of each processed document are added.
+   */
+  protected WordIndex corpusWordIndex;
+
+  // ==========================================================================
+
+  /**
+   * The path to the file to which the performance report is written.
+   */
+  protected Path performanceReportPath;
+
+  // ==========================================================================
+
   /**
    * The default constructor.
    * 
@@ -121,18 +154,22 @@ public class PlainPdfActServicePipe implements PdfActServicePipe {
    *        The factory to create the pipe that serializes PDF documents.
    * @param visualizePdfPipeFactory
    *        The factory to create the pipe that visualizes PDF documents.
+   * @param reportSerializerFactory
+   *        The factory to create serializers of performance reports.
    */
   @Inject
   public PlainPdfActServicePipe(PdfActPipelineFactory pipelineFactory,
       PdfActCorePipeFactory pdfActCorePipeFactory,
       ValidatePathToWritePipeFactory validatePathFactory,
       SerializePdfPipeFactory serializePdfPipeFactory,
-      VisualizePdfPipeFactory visualizePdfPipeFactory) {
+      VisualizePdfPipeFactory visualizePdfPipeFactory,
+      PerformanceReportSerializerFactory reportSerializerFactory) {
     this.pipelineFactory = pipelineFactory;
     this.pdfActCoreFactory = pdfActCorePipeFactory;
     this.validatePathPipeFactory = validatePathFactory;
     this.serializePdfPipeFactory = serializePdfPipeFactory;
     this.visualizePdfPipeFactory = visualizePdfPipeFactory;
+    this.reportSerializerFactory = reportSerializerFactory;
     this.serializationFormat = DEFAULT_SERIALIZE_FORMAT;
     this.textUnit = DEFAULT_TEXT_UNIT;
     this.roles = DEFAULT_SEMANTIC_ROLES_TO_INCLUDE;
@@ -158,8 +195,19 @@ public class PlainPdfActServicePipe implements PdfActServicePipe {
     
     Pipeline pipeline = this.pipelineFactory.create();
 
+    // Measure the resources used by the pipes, if requested.
+    PerformanceReport report = null;
+    if (this.performanceReportPath != null) {
+      report = new PerformanceReport();
+      pipeline = new InstrumentedPipeline(pipeline, report);
+    }
+
     // Parse the PDF document.
-    pipeline.addPipe(this.pdfActCoreFactory.create());
+    PdfActCorePipe corePipe = this.pdfActCoreFactory.create();
+    corePipe.setDehyphenationLexicon(this.dehyphenationLexicon);
+    corePipe.setCorpusWordIndex(this.corpusWordIndex);
+    corePipe.setPerformanceReport(report);
+    pipeline.addPipe(corePipe);
 
     // Validate the target path for the serialization if there is any given.
     if (this.serializationPath != null) {
@@ -205,11 +253,37 @@ public class PlainPdfActServicePipe implements PdfActServicePipe {
     log.debug("Processing the service pipeline done.");
     log.debug("Time needed to process the service pipeline: " + length + "ms.");
 
+    if (report != null) {
+      writePerformanceReport(report, this.performanceReportPath);
+    }
+
     log.debug("End of pipe: " + getClass().getSimpleName() + ".");
     
     return pdf;
   }
 
+  /**
+   * Writes the given performance report to the given file.
+   * 
+   * @param report
+   *        The performance report to write.
+   * @param path
+   *        The file to write to.
+   * 
+   * @throws PdfActException
+   *         If something went wrong while writing the report.
+   */
+  protected void writePerformanceReport(PerformanceReport report, Path path)
+      throws PdfActException {
+    byte[] bytes = this.reportSerializerFactory.create().serialize(report);
+    try {
+      Files.write(path, bytes);
+    } catch (IOException e) {
+      throw new PdfActSerializeException("Couldn't write the performance "
+          + "report to '" + path + "'.", e);
+    }
+  }
+
   // ==========================================================================
 
   @Override
@@ -293,4 +367,38 @@ public class PlainPdfActServicePipe implements PdfActServicePipe {
   public void setTextUnit(TextUnit textUnit) {
     this.textUnit = textUnit;
   }
-}
\ No newline at end of file
+
+  // ==========================================================================
+
+  @Override
+  public DehyphenationLexicon getDehyphenationLexicon() {
+    return this.dehyphenationLexicon;
+  }
+
+  @Override
+  public void setDehyphenationLexicon(DehyphenationLexicon lexicon) {
+    this.dehyphenationLexicon = lexicon;
+  }
+
+  @Override
+  public WordIndex getCorpusWordIndex() {
+    return this.corpusWordIndex;
+  }
+
+  @Override
+  public void setCorpusWordIndex(WordIndex index) {
+    this.corpusWordIndex = index;
+  }
+
+  // ==========================================================================
+
+  @Override
+  public Path getPerformanceReportPath() {
+    return this.performanceReportPath;
+  }
+
+  @Override
+  public void setPerformanceReportPath(Path path) {
+    this.performanceReportPath = path;
+  }
+}
@@ -0,0 +1,39 @@
+package pdfact.cli.pipes.serialize;
+
+import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.pipeline.PerformanceReport;
+
+/**
+ * A serializer to serialize a performance report in a machine-readable
+ * format.
+ *
+ * @author Claudius Korzen
+ */
+public interface PerformanceReportSerializer {
+  /**
+   * Serializes the given performance report.
+   * 
+   * @param report
+   *        The performance report to serialize.
+   * @return The serialization.
+   * @throws PdfActException
+   *         If the serialization failed.
+   */
+  byte[] serialize(PerformanceReport report) throws PdfActException;
+
+  // ==========================================================================
+
+  /**
+   * The factory to create instances of PerformanceReportSerializer.
+   * 
+   * @author Claudius Korzen
+   */
+  public interface PerformanceReportSerializerFactory {
+    /**
+     * Creates a new PerformanceReportSerializer.
+     * 
+     * @return An instance of PerformanceReportSerializer.
+     */
+    PerformanceReportSerializer create();
+  }
+}
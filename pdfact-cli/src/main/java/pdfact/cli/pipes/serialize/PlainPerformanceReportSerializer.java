@@ -0,0 +1,165 @@
+package pdfact.cli.pipes.serialize;
+
+import static pdfact.core.PdfActCoreSettings.DEFAULT_ENCODING;
+
+import java.util.List;
+import java.util.Map;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import com.google.inject.assistedinject.AssistedInject;
+
+import pdfact.core.util.pipeline.PageMeasurement;
+import pdfact.core.util.pipeline.PerformanceReport;
+import pdfact.core.util.pipeline.PipeMeasurement;
+import pdfact.core.util.pipeline.ResourceUsage;
+
+/**
+ * An implementation of {@link PerformanceReportSerializer} that serializes a
+ * performance report in JSON format. Times are given in nanoseconds; values
+ * that couldn't be measured are omitted.
+ *
+ * @author Claudius Korzen
+ */
+public class PlainPerformanceReportSerializer
+    implements PerformanceReportSerializer {
+  /**
+   * The indentation length.
+   */
+  protected static final int INDENT_LENGTH = 2;
+
+  /**
+   * The name of the field for the path to the PDF document.
+   */
+  protected static final String PATH = "path";
+
+  /**
+   * The name of the field for the name of a pipe.
+   */
+  protected static final String NAME = "name";
+
+  /**
+   * The name of the field for the measurements of pipes.
+   */
+  protected static final String PIPES = "pipes";
+
+  /**
+   * The name of the field for the measurements of pages.
+   */
+  protected static final String PAGES = "pages";
+
+  /**
+   * The name of the field for the number of a page.
+   */
+  protected static final String PAGE = "page";
+
+  /**
+   * The name of the field for the counters of a pipe.
+   */
+  protected static final String METRICS = "metrics";
+
+  /**
+   * The name of the field for the wall time.
+   */
+  protected static final String WALL_TIME = "wallTimeNanos";
+
+  /**
+   * The name of the field for the CPU time.
+   */
+  protected static final String CPU_TIME = "cpuTimeNanos";
+
+  /**
+   * The name of the field for the allocated bytes.
+   */
+  protected static final String ALLOCATED_BYTES = "allocatedBytes";
+
+  // ==========================================================================
+
+  /**
+   * Creates a new serializer that serializes a performance report in JSON
+   * format.
+   */
+  @AssistedInject
+  public PlainPerformanceReportSerializer() {}
+
+  // ==========================================================================
+
+  @Override
+  public byte[] serialize(PerformanceReport report) {
+    // The serialization to return.
+    String result = "";
+
+    if (report != null) {
+      JSONObject json = new JSONObject();
+      if (report.getPath() != null) {
+        json.put(PATH, report.getPath());
+      }
+      serializeUsage(report.getUsage(), json);
+      json.put(PIPES, serializePipes(report.getPipes()));
+
+      // Serialize the JSON object.
+      result = json.toString(INDENT_LENGTH);
+    }
+    return result.getBytes(DEFAULT_ENCODING);
+  }
+
+  // ==========================================================================
+
+  /**
+   * Serializes the given measurements of pipes.
+   * 
+   * @param pipes
+   *        The measurements to serialize.
+   * 
+   * @return A JSON array that represents the measurements.
+   */
+  protected JSONArray serializePipes(List<PipeMeasurement> pipes) {
+    JSONArray result = new JSONArray();
+    for (PipeMeasurement pipe : pipes) {
+      JSONObject pipeJson = new JSONObject();
+      pipeJson.put(NAME, pipe.getName());
+      serializeUsage(pipe.getUsage(), pipeJson);
+
+      Map<String, Long> metrics = pipe.getMetrics();
+      if (!metrics.isEmpty()) {
+        pipeJson.put(METRICS, new JSONObject(metrics));
+      }
+
+      JSONArray pagesJson = new JSONArray();
+      for (PageMeasurement page : pipe.getPages()) {
+        JSONObject pageJson = new JSONObject();
+        pageJson.put(PAGE, page.getPageNumber());
+        serializeUsage(page.getUsage(), pageJson);
+        pagesJson.put(pageJson);
+      }
+      if (pagesJson.length() > 0) {
+        pipeJson.put(PAGES, pagesJson);
+      }
+
+      if (!pipe.getChildren().isEmpty()) {
+        pipeJson.put(PIPES, serializePipes(pipe.getChildren()));
+      }
+      result.put(pipeJson);
+    }
+    return result;
+  }
+
+  /**
+   * Serializes the given resource usage to the given JSON object.
+   * 
+   * @param usage
+   *        The resource usage to serialize.
+   * @param json
+   *        The JSON object to which the resource usage should be added.
+   */
+  protected void serializeUsage(ResourceUsage usage, JSONObject json) {
+    json.put(WALL_TIME, usage.getWallTime());
+    if (usage.getCpuTime() >= 0) {
+      json.put(CPU_TIME, usage.getCpuTime());
+    }
+    if (usage.getAllocatedBytes() >= 0) {
+      json.put(ALLOCATED_BYTES, usage.getAllocatedBytes());
+    }
+  }
+}
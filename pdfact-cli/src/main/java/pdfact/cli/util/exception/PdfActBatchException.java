@@ -0,0 +1,43 @@
+package pdfact.cli.util.exception;
+
+import pdfact.core.util.exception.PdfActException;
+
+/**
+ * The standard exception to throw on any errors on processing a batch of PDF
+ * files (including the failure of single PDF files in the batch).
+ * 
+ * @author Claudius Korzen
+ */
+public class PdfActBatchException extends PdfActException {
+  /**
+   * The serial id.
+   */
+  protected static final long serialVersionUID = 4217630951382807413L;
+
+  /**
+   * The default exit code of this exception.
+   */
+  protected static final int EXIT_CODE = 80;
+
+  /**
+   * Creates a new exception.
+   * 
+   * @param message
+   *        The message of this exception.
+   */
+  public PdfActBatchException(String message) {
+    super(EXIT_CODE, message);
+  }
+
+  /**
+   * Creates a new Exception.
+   * 
+   * @param message
+   *        The message of this exception.
+   * @param cause
+   *        The cause of this exception.
+   */
+  public PdfActBatchException(String message, Throwable cause) {
+    super(EXIT_CODE, message, cause);
+  }
+}
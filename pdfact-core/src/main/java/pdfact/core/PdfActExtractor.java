@@ -0,0 +1,200 @@
+package pdfact.core;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import com.google.inject.assistedinject.Assisted;
+
+import pdfact.core.model.PdfDocument;
+import pdfact.core.pipes.PdfActCorePipe;
+
+/**
+ * An asynchronous facade of the core pipe, for embedding PdfAct into other
+ * applications: PDF documents are submitted to the extractor, which processes
+ * them on an executor and completes the returned futures with the processed
+ * documents (or with the exception thrown on processing a document).
+ * 
+ * The number of pending documents (submitted but not yet processed) is
+ * bounded. When the bound is reached, further submissions either block until
+ * a document was processed or are rejected with a
+ * {@link RejectedExecutionException}, depending on the configuration of the
+ * extractor.
+ * 
+ * The processing of a document can be cancelled by cancelling the returned
+ * future (dependent futures, like the future returned by
+ * {@link CompletableFuture#thenApply}, don't cancel the processing). The
+ * cancellation is cooperative: the processing stops before the next pipe or
+ * page. A processing that takes too long is stopped by setting a timeout (see
+ * {@link #setTimeout(long, TimeUnit)}), in which case the future is completed
+ * with a {@link TimeoutException}.
+ * 
+ * @author Claudius Korzen
+ */
+public interface PdfActExtractor extends AutoCloseable {
+  /**
+   * Submits the given PDF file with the default options.
+   * 
+   * @param pdf
+   *        The path to the PDF file to process.
+   * 
+   * @return The future of the processed PDF document.
+   * 
+   * @throws RejectedExecutionException
+   *         If the extractor is closed or the bound of pending documents is
+   *         reached (and the extractor doesn't block).
+   */
+  CompletableFuture<PdfDocument> submit(Path pdf);
+
+  /**
+   * Submits the given PDF file.
+   * 
+   * @param pdf
+   *        The path to the PDF file to process.
+   * @param options
+   *        The function that sets the options of the core pipe that processes
+   *        the document (for example, the dehyphenation lexicon or the metrics
+   *        registry), or null if the default options should be used. It is
+   *        called in the thread that processes the document.
+   * 
+   * @return The future of the processed PDF document.
+   * 
+   * @throws RejectedExecutionException
+   *         If the extractor is closed or the bound of pending documents is
+   *         reached (and the extractor doesn't block).
+   */
+  CompletableFuture<PdfDocument> submit(Path pdf,
+      Consumer<PdfActCorePipe> options);
+
+  /**
+   * Submits the PDF document read from the given stream with the default
+   * options. The stream is read into a temporary file (and closed) in the
+   * thread that processes the document, so it must not be closed by the
+   * caller.
+   * 
+   * @param pdf
+   *        The stream of the PDF document to process.
+   * 
+   * @return The future of the processed PDF document.
+   * 
+   * @throws RejectedExecutionException
+   *         If the extractor is closed or the bound of pending documents is
+   *         reached (and the extractor doesn't block).
+   */
+  CompletableFuture<PdfDocument> submit(InputStream pdf);
+
+  /**
+   * Submits the PDF document read from the given stream. The stream is read
+   * into a temporary file (and closed) in the thread that processes the
+   * document, so it must not be closed by the caller. The temporary file is
+   * deleted after processing.
+   * 
+   * @param pdf
+   *        The stream of the PDF document to process.
+   * @param options
+   *        The function that sets the options of the core pipe that processes
+   *        the document, or null if the default options should be used.
+   * 
+   * @return The future of the processed PDF document.
+   * 
+   * @throws RejectedExecutionException
+   *         If the extractor is closed or the bound of pending documents is
+   *         reached (and the extractor doesn't block).
+   */
+  CompletableFuture<PdfDocument> submit(InputStream pdf,
+      Consumer<PdfActCorePipe> options);
+
+  // ==========================================================================
+
+  /**
+   * Returns the timeout of the processing of a document.
+   * 
+   * @param unit
+   *        The unit of the timeout to return.
+   * 
+   * @return The timeout in the given unit, or 0 if there is no timeout.
+   */
+  long getTimeout(TimeUnit unit);
+
+  /**
+   * Sets the timeout of the processing of a document, for all documents that
+   * start processing afterwards. The timeout starts when the core pipe starts
+   * processing a document (the time waiting for a thread and reading a stream
+   * doesn't count). When the timeout expires, the future of the document is
+   * completed with a {@link TimeoutException} and the processing is
+   * cancelled.
+   * 
+   * @param timeout
+   *        The timeout, or 0 if there should be no timeout (the default).
+   * @param unit
+   *        The unit of the timeout.
+   */
+  void setTimeout(long timeout, TimeUnit unit);
+
+  // ==========================================================================
+
+  /**
+   * Returns the number of submitted documents that are not yet processed.
+   * 
+   * @return The number of pending documents.
+   */
+  int getNumPendingDocuments();
+
+  /**
+   * Closes the extractor: further submissions are rejected. The pending
+   * documents are still processed. The executor of the extractor is shut down
+   * if it was created by the extractor.
+   */
+  @Override
+  void close();
+
+  // ==========================================================================
+
+  /**
+   * The factory to create instances of {@link PdfActExtractor}.
+   * 
+   * @author Claudius Korzen
+   */
+  public interface PdfActExtractorFactory {
+    /**
+     * Creates a new extractor that processes the documents on its own pool of
+     * (daemon) threads.
+     * 
+     * @param numThreads
+     *        The number of threads.
+     * @param maxPendingDocuments
+     *        The maximum number of pending documents.
+     * @param blockWhenFull
+     *        True if submissions should block when the maximum number of
+     *        pending documents is reached; false if they should be rejected.
+     * 
+     * @return An instance of {@link PdfActExtractor}.
+     */
+    PdfActExtractor create(@Assisted("numThreads") int numThreads,
+        @Assisted("maxPendingDocuments") int maxPendingDocuments,
+        boolean blockWhenFull);
+
+    /**
+     * Creates a new extractor that processes the documents on the given
+     * executor.
+     * 
+     * @param executor
+     *        The executor (it is not shut down on closing the extractor).
+     * @param maxPendingDocuments
+     *        The maximum number of pending documents.
+     * @param blockWhenFull
+     *        True if submissions should block when the maximum number of
+     *        pending documents is reached; false if they should be rejected.
+     * 
+     * @return An instance of {@link PdfActExtractor}.
+     */
+    PdfActExtractor create(Executor executor,
+        @Assisted("maxPendingDocuments") int maxPendingDocuments,
+        boolean blockWhenFull);
+  }
+}
@@ -0,0 +1,493 @@
+package pdfact.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.apache.log4j.Logger;
+
+import com.google.inject.assistedinject.Assisted;
+import com.google.inject.assistedinject.AssistedInject;
+
+import pdfact.core.model.PdfDocument;
+import pdfact.core.model.PdfDocument.PdfDocumentFactory;
+import pdfact.core.pipes.PdfActCorePipe;
+import pdfact.core.pipes.PdfActCorePipe.PdfActCorePipeFactory;
+import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.exception.PdfActParseException;
+import pdfact.core.util.log.InjectLogger;
+import pdfact.core.util.pipeline.CancellationToken;
+
+/**
+ * A plain implementation of {@link PdfActExtractor}. Each document is
+ * processed by a new core pipe, so any number of documents can be processed
+ * concurrently. The number of pending documents is bounded by a semaphore, so
+ * the bound also holds for executors with unbounded queues.
+ * 
+ * The timeouts of all extractors are scheduled on a single shared (daemon)
+ * thread, which only completes the futures and cancels the tokens. A document
+ * whose processing timed out remains pending until its processing stopped.
+ * 
+ * @author Claudius Korzen
+ */
+public class PlainPdfActExtractor implements PdfActExtractor {
+  /**
+   * The logger.
+   */
+  @InjectLogger
+  protected static Logger log;
+
+  /**
+   * The scheduler of the timeouts, shared by all extractors.
+   */
+  protected static final ScheduledThreadPoolExecutor TIMEOUT_SCHEDULER =
+      createTimeoutScheduler();
+
+  /**
+   * The factory to create core pipes.
+   */
+  protected PdfActCorePipeFactory corePipeFactory;
+
+  /**
+   * The factory to create PDF documents.
+   */
+  protected PdfDocumentFactory documentFactory;
+
+  /**
+   * The executor on which the documents are processed.
+   */
+  protected Executor executor;
+
+  /**
+   * The executor created by this extractor, to shut down on closing (null if
+   * the executor was given).
+   */
+  protected ExecutorService ownExecutor;
+
+  /**
+   * The maximum number of pending documents.
+   */
+  protected int maxPendingDocuments;
+
+  /**
+   * The permits for pending documents.
+   */
+  protected Semaphore permits;
+
+  /**
+   * The boolean flag that indicates whether submissions should block when the
+   * maximum number of pending documents is reached.
+   */
+  protected boolean blockWhenFull;
+
+  /**
+   * The boolean flag that indicates whether the extractor is closed.
+   */
+  protected volatile boolean closed;
+
+  /**
+   * The timeout of the processing of a document in milliseconds (0 if there
+   * is no timeout).
+   */
+  protected volatile long timeoutMillis;
+
+  /**
+   * Creates a new extractor that processes the documents on its own pool of
+   * (daemon) threads.
+   * 
+   * @param corePipeFactory
+   *        The factory to create core pipes.
+   * @param documentFactory
+   *        The factory to create PDF documents.
+   * @param numThreads
+   *        The number of threads.
+   * @param maxPendingDocuments
+   *        The maximum number of pending documents.
+   * @param blockWhenFull
+   *        True if submissions should block when the maximum number of
+   *        pending documents is reached; false if they should be rejected.
+   */
+  @AssistedInject
+  public PlainPdfActExtractor(PdfActCorePipeFactory corePipeFactory,
+      PdfDocumentFactory documentFactory,
+      @Assisted("numThreads") int numThreads,
+      @Assisted("maxPendingDocuments") int maxPendingDocuments,
+      @Assisted boolean blockWhenFull) {
+    this(corePipeFactory, documentFactory, Executors.newFixedThreadPool(
+        numThreads, new ExtractorThreadFactory()), maxPendingDocuments,
+        blockWhenFull);
+    this.ownExecutor = (ExecutorService) this.executor;
+  }
+
+  /**
+   * Creates a new extractor that processes the documents on the given
+   * executor.
+   * 
+   * @param corePipeFactory
+   *        The factory to create core pipes.
+   * @param documentFactory
+   *        The factory to create PDF documents.
+   * @param executor
+   *        The executor (it is not shut down on closing the extractor).
+   * @param maxPendingDocuments
+   *        The maximum number of pending documents.
+   * @param blockWhenFull
+   *        True if submissions should block when the maximum number of
+   *        pending documents is reached; false if they should be rejected.
+   */
+  @AssistedInject
+  public PlainPdfActExtractor(PdfActCorePipeFactory corePipeFactory,
+      PdfDocumentFactory documentFactory,
+      @Assisted Executor executor,
+      @Assisted("maxPendingDocuments") int maxPendingDocuments,
+      @Assisted boolean blockWhenFull) {
+    if (maxPendingDocuments < 1) {
+      throw new IllegalArgumentException(
+          "The maximum number of pending documents must be at least 1.");
+    }
+    this.corePipeFactory = corePipeFactory;
+    this.documentFactory = documentFactory;
+    this.executor = executor;
+    this.maxPendingDocuments = maxPendingDocuments;
+    this.permits = new Semaphore(maxPendingDocuments);
+    this.blockWhenFull = blockWhenFull;
+  }
+
+  // ==========================================================================
+
+  @Override
+  public CompletableFuture<PdfDocument> submit(Path pdf) {
+    return submit(pdf, null);
+  }
+
+  @Override
+  public CompletableFuture<PdfDocument> submit(Path pdf,
+      Consumer<PdfActCorePipe> options) {
+    ExtractionFuture future = new ExtractionFuture(new CancellationToken());
+    return submit(() -> process(pdf, options, future), future);
+  }
+
+  @Override
+  public CompletableFuture<PdfDocument> submit(InputStream pdf) {
+    return submit(pdf, null);
+  }
+
+  @Override
+  public CompletableFuture<PdfDocument> submit(InputStream pdf,
+      Consumer<PdfActCorePipe> options) {
+    ExtractionFuture future = new ExtractionFuture(new CancellationToken());
+    return submit(() -> process(pdf, options, future), future);
+  }
+
+  /**
+   * Submits the given task to the executor, once there is a permit for a
+   * pending document.
+   * 
+   * @param task
+   *        The task that processes the document and completes the given
+   *        future.
+   * @param future
+   *        The future of the processed PDF document.
+   * 
+   * @return The given future.
+   */
+  protected CompletableFuture<PdfDocument> submit(Callable<PdfDocument> task,
+      ExtractionFuture future) {
+    if (this.closed) {
+      throw new RejectedExecutionException("The extractor is closed.");
+    }
+    acquirePermit();
+
+    try {
+      this.executor.execute(() -> {
+        try {
+          // Run the task also if the future was cancelled in the meantime, so
+          // that the task releases its resources (for example, closes the
+          // stream). It stops at its first check of the cancelled token.
+          future.complete(task.call());
+        } catch (Throwable e) {
+          future.completeExceptionally(e);
+        } finally {
+          this.permits.release();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      this.permits.release();
+      throw e;
+    }
+    return future;
+  }
+
+  /**
+   * Acquires a permit for a pending document, waiting for a free permit if
+   * the extractor blocks when full.
+   * 
+   * @throws RejectedExecutionException
+   *         If there is no free permit (and the extractor doesn't block) or if
+   *         the current thread was interrupted while waiting.
+   */
+  protected void acquirePermit() {
+    if (!this.blockWhenFull) {
+      if (!this.permits.tryAcquire()) {
+        throw new RejectedExecutionException("The maximum number of pending "
+            + "documents (" + this.maxPendingDocuments + ") is reached.");
+      }
+      return;
+    }
+    try {
+      this.permits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RejectedExecutionException(
+          "Interrupted while waiting for a pending document.", e);
+    }
+  }
+
+  /**
+   * Schedules the timeout of the processing of the document with the given
+   * future.
+   * 
+   * @param future
+   *        The future of the document.
+   * @param timeoutMillis
+   *        The timeout in milliseconds (0 if there is no timeout).
+   * 
+   * @return The scheduled timeout, or null if there is no timeout.
+   */
+  protected ScheduledFuture<?> scheduleTimeout(ExtractionFuture future,
+      long timeoutMillis) {
+    if (timeoutMillis <= 0) {
+      return null;
+    }
+    return TIMEOUT_SCHEDULER.schedule(() -> future.timeout(timeoutMillis),
+        timeoutMillis, TimeUnit.MILLISECONDS);
+  }
+
+  // ==========================================================================
+
+  /**
+   * Processes the given PDF file. The timeout starts once the core pipe is
+   * created and configured.
+   * 
+   * @param pdf
+   *        The path to the PDF file to process.
+   * @param options
+   *        The function that sets the options of the core pipe (or null).
+   * @param future
+   *        The future of the document, with the token to cancel the
+   *        processing.
+   * 
+   * @return The processed PDF document.
+   * 
+   * @throws PdfActException
+   *         If something went wrong on processing the PDF document or if the
+   *         processing was cancelled.
+   */
+  protected PdfDocument process(Path pdf, Consumer<PdfActCorePipe> options,
+      ExtractionFuture future) throws PdfActException {
+    future.token.check();
+
+    PdfActCorePipe corePipe = this.corePipeFactory.create();
+    if (options != null) {
+      options.accept(corePipe);
+    }
+    corePipe.setCancellationToken(future.token);
+
+    ScheduledFuture<?> timeout = scheduleTimeout(future, this.timeoutMillis);
+    try {
+      return corePipe.execute(this.documentFactory.create(pdf));
+    } finally {
+      if (timeout != null) {
+        timeout.cancel(false);
+      }
+    }
+  }
+
+  /**
+   * Processes the PDF document read from the given stream.
+   * 
+   * @param pdf
+   *        The stream of the PDF document to process.
+   * @param options
+   *        The function that sets the options of the core pipe (or null).
+   * @param future
+   *        The future of the document, with the token to cancel the
+   *        processing.
+   * 
+   * @return The processed PDF document.
+   * 
+   * @throws PdfActException
+   *         If the stream couldn't be read, if something went wrong on
+   *         processing the PDF document or if the processing was cancelled.
+   */
+  protected PdfDocument process(InputStream pdf,
+      Consumer<PdfActCorePipe> options, ExtractionFuture future)
+      throws PdfActException {
+    Path file = null;
+    try (InputStream stream = pdf) {
+      // Check the token within the try block, so that the stream is also
+      // closed if the processing was cancelled before it started.
+      future.token.check();
+      file = Files.createTempFile("pdfact-", ".pdf");
+      Files.copy(stream, file, StandardCopyOption.REPLACE_EXISTING);
+      return process(file, options, future);
+    } catch (IOException e) {
+      throw new PdfActParseException("Couldn't read the PDF stream.", e);
+    } finally {
+      if (file != null) {
+        try {
+          Files.deleteIfExists(file);
+        } catch (IOException e) {
+          log.warn("Couldn't delete the temporary file '" + file + "'.", e);
+        }
+      }
+    }
+  }
+
+  // ==========================================================================
+
+  @Override
+  public long getTimeout(TimeUnit unit) {
+    return unit.convert(this.timeoutMillis, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void setTimeout(long timeout, TimeUnit unit) {
+    if (timeout < 0) {
+      throw new IllegalArgumentException("The timeout must not be negative.");
+    }
+    // Round up, such that a positive timeout is never disabled.
+    this.timeoutMillis = timeout > 0
+        ? Math.max(1, unit.toMillis(timeout)) : 0;
+  }
+
+  // ==========================================================================
+
+  @Override
+  public int getNumPendingDocuments() {
+    return this.maxPendingDocuments - this.permits.availablePermits();
+  }
+
+  @Override
+  public void close() {
+    this.closed = true;
+    if (this.ownExecutor != null) {
+      this.ownExecutor.shutdown();
+    }
+  }
+
+  // ==========================================================================
+
+  /**
+   * The future of a processed document, which cancels the processing of the
+   * document when it is cancelled.
+   */
+  protected static class ExtractionFuture
+      extends CompletableFuture<PdfDocument> {
+    /**
+     * The token to cancel the processing of the document.
+     */
+    protected CancellationToken token;
+
+    /**
+     * The exception of the expired timeout (null if the timeout didn't
+     * expire).
+     */
+    protected volatile TimeoutException timeoutException;
+
+    /**
+     * Creates a new future.
+     * 
+     * @param token
+     *        The token to cancel the processing of the document.
+     */
+    protected ExtractionFuture(CancellationToken token) {
+      this.token = token;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+      this.token.cancel();
+      return super.cancel(mayInterruptIfRunning);
+    }
+
+    @Override
+    public boolean completeExceptionally(Throwable e) {
+      // After a timeout, complete with the timeout exception instead of the
+      // exception thrown on cancelling the processing.
+      TimeoutException timeout = this.timeoutException;
+      return super.completeExceptionally(timeout != null ? timeout : e);
+    }
+
+    /**
+     * Cancels the processing of the document and completes this future with a
+     * {@link TimeoutException}, if the document is not yet processed.
+     * 
+     * @param timeoutMillis
+     *        The expired timeout in milliseconds.
+     */
+    protected void timeout(long timeoutMillis) {
+      if (isDone()) {
+        return;
+      }
+      // Cancel the token before completing the future, such that the token
+      // is cancelled once the future is done.
+      this.timeoutException = new TimeoutException("The processing of the "
+          + "document exceeded the timeout of " + timeoutMillis + " ms.");
+      this.token.cancel();
+      completeExceptionally(this.timeoutException);
+    }
+  }
+
+  /**
+   * Creates the scheduler of the timeouts, with a single daemon thread. The
+   * timeouts are removed from the scheduler on cancellation, such that the
+   * futures of documents processed in time aren't retained.
+   * 
+   * @return The scheduler of the timeouts.
+   */
+  protected static ScheduledThreadPoolExecutor createTimeoutScheduler() {
+    ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1,
+        runnable -> {
+          Thread thread = new Thread(runnable, "pdfact-extractor-timeout");
+          thread.setDaemon(true);
+          return thread;
+        });
+    scheduler.setRemoveOnCancelPolicy(true);
+    return scheduler;
+  }
+
+  /**
+   * The factory of the (daemon) threads that process the documents.
+   */
+  protected static class ExtractorThreadFactory implements ThreadFactory {
+    /**
+     * The number of created threads.
+     */
+    protected static final AtomicInteger NUM_THREADS = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable,
+          "pdfact-extractor-" + NUM_THREADS.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
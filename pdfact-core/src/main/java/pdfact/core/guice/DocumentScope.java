@@ -0,0 +1,96 @@
+package pdfact.core.guice;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.inject.Key;
+import com.google.inject.OutOfScopeException;
+import com.google.inject.Provider;
+import com.google.inject.Scope;
+
+/**
+ * A scope that provides one instance of a binding per processed PDF document.
+ * A document scope is entered by the thread that processes a PDF document
+ * (see PdfActCorePipe#execute) and exited after the document was processed,
+ * such that the mutable state of the document-scoped objects (for example,
+ * the known fonts and colors of the converters) is never shared between
+ * documents, also not if they are processed concurrently with the same
+ * injector. Document scopes can be nested, in which case the innermost scope
+ * is used.
+ * 
+ * @author Claudius Korzen
+ */
+public class DocumentScope implements Scope {
+  /**
+   * The entered scopes per thread, with the innermost scope on top. Each
+   * scope maps the keys of the bindings to the instances of the document.
+   */
+  protected final ThreadLocal<Deque<Map<Key<?>, Object>>> scopes =
+      ThreadLocal.withInitial(ArrayDeque::new);
+
+  // ==========================================================================
+
+  /**
+   * Enters a new document scope in the current thread.
+   */
+  public void enter() {
+    this.scopes.get().push(new HashMap<>());
+  }
+
+  /**
+   * Exits the innermost document scope of the current thread and discards the
+   * instances of the scope.
+   * 
+   * @throws IllegalStateException
+   *         If the current thread didn't enter a document scope.
+   */
+  public void exit() {
+    Deque<Map<Key<?>, Object>> stack = this.scopes.get();
+    if (stack.isEmpty()) {
+      throw new IllegalStateException("No document scope was entered.");
+    }
+    stack.pop();
+    if (stack.isEmpty()) {
+      this.scopes.remove();
+    }
+  }
+
+  /**
+   * Returns true if the current thread is in a document scope.
+   * 
+   * @return True if the current thread is in a document scope; false
+   *         otherwise.
+   */
+  public boolean isActive() {
+    return !this.scopes.get().isEmpty();
+  }
+
+  // ==========================================================================
+
+  @Override
+  public <T> Provider<T> scope(Key<T> key, Provider<T> unscoped) {
+    return () -> {
+      Map<Key<?>, Object> instances = this.scopes.get().peek();
+      if (instances == null) {
+        throw new OutOfScopeException("Cannot access " + key
+            + " outside of a document scope.");
+      }
+      @SuppressWarnings("unchecked")
+      T instance = (T) instances.get(key);
+      if (instance == null && !instances.containsKey(key)) {
+        // Don't use computeIfAbsent(), the unscoped provider may create
+        // other document-scoped objects.
+        instance = unscoped.get();
+        instances.put(key, instance);
+      }
+      return instance;
+    };
+  }
+
+  @Override
+  public String toString() {
+    return "DocumentScope";
+  }
+}
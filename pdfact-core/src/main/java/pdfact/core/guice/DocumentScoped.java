@@ -0,0 +1,22 @@
+package pdfact.core.guice;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import com.google.inject.ScopeAnnotation;
+
+/**
+ * An annotation to bind objects to the {@link DocumentScope}, that is: one
+ * instance per processed PDF document.
+ * 
+ * @author Claudius Korzen
+ */
+@Target({ ElementType.TYPE, ElementType.METHOD })
+@Retention(RUNTIME)
+@ScopeAnnotation
+public @interface DocumentScoped {
+
+}
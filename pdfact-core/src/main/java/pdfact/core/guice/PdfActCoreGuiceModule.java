@@ -3,8 +3,11 @@ package pdfact.core.guice;
 import com.google.inject.TypeLiteral;
 import com.google.inject.assistedinject.FactoryModuleBuilder;
 import com.google.inject.matcher.Matchers;
-import com.google.inject.multibindings.Multibinder;
+import com.google.inject.multibindings.MapBinder;
 
+import pdfact.core.PdfActExtractor;
+import pdfact.core.PdfActExtractor.PdfActExtractorFactory;
+import pdfact.core.PlainPdfActExtractor;
 import pdfact.core.model.Character;
 import pdfact.core.model.Character.CharacterFactory;
 import pdfact.core.model.CharacterStatistic;
@@ -67,7 +70,13 @@ import pdfact.core.pipes.PdfActCorePipe.PdfActCorePipeFactory;
 import pdfact.core.pipes.PlainPdfActCorePipe;
 import pdfact.core.pipes.dehyphenate.DehyphenateWordsPipe;
 import pdfact.core.pipes.dehyphenate.DehyphenateWordsPipe.DehyphenateWordsPipeFactory;
+import pdfact.core.pipes.dehyphenate.HashWordIndex;
 import pdfact.core.pipes.dehyphenate.PlainDehyphenateWordsPipe;
+import pdfact.core.pipes.dehyphenate.WordIndex;
+import pdfact.core.pipes.dehyphenate.WordIndex.WordIndexFactory;
+import pdfact.core.pipes.estimate.EstimateStatisticsPipe;
+import pdfact.core.pipes.estimate.EstimateStatisticsPipe.EstimateStatisticsPipeFactory;
+import pdfact.core.pipes.estimate.SamplingEstimateStatisticsPipe;
 import pdfact.core.pipes.filter.characters.FilterCharactersPipe;
 import pdfact.core.pipes.filter.characters.FilterCharactersPipe.FilterCharactersPipeFactory;
 import pdfact.core.pipes.filter.characters.PlainFilterCharactersPipe;
@@ -77,12 +86,18 @@ import pdfact.core.pipes.filter.figures.PlainFilterFiguresPipe;
 import pdfact.core.pipes.filter.shapes.FilterShapesPipe;
 import pdfact.core.pipes.filter.shapes.FilterShapesPipe.FilterShapesPipeFactory;
 import pdfact.core.pipes.filter.shapes.PlainFilterShapesPipe;
+import pdfact.core.pipes.normalize.NormalizeCharactersPipe;
+import pdfact.core.pipes.normalize.NormalizeCharactersPipe.NormalizeCharactersPipeFactory;
+import pdfact.core.pipes.normalize.PlainNormalizeCharactersPipe;
 import pdfact.core.pipes.parse.ParsePdfStreamsPipe;
 import pdfact.core.pipes.parse.ParsePdfStreamsPipe.ParsePdfPipeFactory;
 import pdfact.core.pipes.parse.PlainParsePdfStreamsPipe;
 import pdfact.core.pipes.parse.stream.PdfStreamsParser;
 import pdfact.core.pipes.parse.stream.PdfStreamsParser.PdfStreamsParserFactory;
 import pdfact.core.pipes.parse.stream.pdfbox.PdfBoxPdfStreamsParser;
+import pdfact.core.pipes.parse.stream.pdfbox.convert.PDColorConverter;
+import pdfact.core.pipes.parse.stream.pdfbox.convert.PDFontConverter;
+import pdfact.core.pipes.parse.stream.pdfbox.convert.PDFontFaceConverter;
 import pdfact.core.pipes.parse.stream.pdfbox.guice.PdfBoxOperatorProcessorGuiceModule;
 import pdfact.core.pipes.semanticize.DetectSemanticsPipe;
 import pdfact.core.pipes.semanticize.DetectSemanticsPipe.DetectSemanticsPipeFactory;
@@ -114,9 +129,9 @@ import pdfact.core.pipes.tokenize.lines.TokenizeToTextLinesPipe.TokenizeToTextLi
 import pdfact.core.pipes.tokenize.paragraphs.PlainTokenizeToParagraphsPipe;
 import pdfact.core.pipes.tokenize.paragraphs.TokenizeToParagraphsPipe;
 import pdfact.core.pipes.tokenize.paragraphs.TokenizeToParagraphsPipe.TokenizeToParagraphsPipeFactory;
+import pdfact.core.pipes.tokenize.words.PlainTokenizeToWordsPipe;
 import pdfact.core.pipes.tokenize.words.TokenizeToWordsPipe;
 import pdfact.core.pipes.tokenize.words.TokenizeToWordsPipe.TokenizeToWordsPipeFactory;
-import pdfact.core.pipes.tokenize.words.XYCutTokenizeToWordsPipe;
 import pdfact.core.pipes.translate.characters.PlainStandardizeCharactersPipe;
 import pdfact.core.pipes.translate.characters.StandardizeCharactersPipe;
 import pdfact.core.pipes.translate.characters.StandardizeCharactersPipe.StandardizeCharactersPipeFactory;
@@ -129,25 +144,41 @@ import pdfact.core.pipes.translate.ligatures.SplitLigaturesPipe.SplitLigaturesPi
 import pdfact.core.pipes.validate.PlainValidatePdfPathPipe;
 import pdfact.core.pipes.validate.ValidatePdfPathPipe;
 import pdfact.core.pipes.validate.ValidatePdfPathPipe.ValidatePdfPathPipeFactory;
+import pdfact.core.util.counter.DenseIdObjectCounter;
+import pdfact.core.util.counter.FixedPointFloatCounter;
 import pdfact.core.util.counter.FloatCounter;
 import pdfact.core.util.counter.FloatCounter.FloatCounterFactory;
 import pdfact.core.util.counter.ObjectCounter;
 import pdfact.core.util.counter.ObjectCounter.ObjectCounterFactory;
-import pdfact.core.util.counter.PlainFloatCounter;
 import pdfact.core.util.counter.PlainObjectCounter;
+import pdfact.core.util.list.AggregatingElementList;
+import pdfact.core.util.list.AggregatingElementList.AggregatingElementListFactory;
 import pdfact.core.util.list.ElementList;
 import pdfact.core.util.list.ElementList.ElementListFactory;
+import pdfact.core.util.list.PlainAggregatingElementList;
 import pdfact.core.util.list.PlainElementList;
 import pdfact.core.util.log.Log4JTypeListener;
+import pdfact.core.util.metrics.CacheStatistics;
+import pdfact.core.util.metrics.MetricsRegistry;
+import pdfact.core.util.metrics.MetricsRegistry.MetricsRegistryFactory;
+import pdfact.core.util.metrics.PlainMetricsRegistry;
 import pdfact.core.util.normalize.PlainWordNormalizer;
 import pdfact.core.util.normalize.WordNormalizer;
 import pdfact.core.util.normalize.WordNormalizer.WordNormalizerFactory;
+import pdfact.core.util.pipeline.PageStreamingPipeline;
 import pdfact.core.util.pipeline.Pipeline;
+import pdfact.core.util.pipeline.Pipeline.PdfActPageStreamingPipelineFactory;
 import pdfact.core.util.pipeline.Pipeline.PdfActPipelineFactory;
 import pdfact.core.util.pipeline.PlainPipeline;
+import pdfact.core.util.statistician.CharacterStatisticAccumulator;
+import pdfact.core.util.statistician.CharacterStatisticAccumulator.CharacterStatisticAccumulatorFactory;
 import pdfact.core.util.statistician.CharacterStatistician;
+import pdfact.core.util.statistician.IndexedCharacterStatisticAccumulator;
+import pdfact.core.util.statistician.IndexedTextLineStatisticAccumulator;
 import pdfact.core.util.statistician.PlainCharacterStatistician;
 import pdfact.core.util.statistician.PlainTextLineStatistician;
+import pdfact.core.util.statistician.TextLineStatisticAccumulator;
+import pdfact.core.util.statistician.TextLineStatisticAccumulator.TextLineStatisticAccumulatorFactory;
 import pdfact.core.util.statistician.TextLineStatistician;
 
 /**
@@ -163,9 +194,24 @@ public class PdfActCoreGuiceModule extends com.google.inject.AbstractModule {
         .implement(Pipeline.class, PlainPipeline.class)
         .build(PdfActPipelineFactory.class));
 
+    // Install the factory of the pipeline that streams the pages.
+    install(new FactoryModuleBuilder()
+        .implement(Pipeline.class, PageStreamingPipeline.class)
+        .build(PdfActPageStreamingPipelineFactory.class));
+
     // Bind the listener to inject log4j loggers.
     bindListener(Matchers.any(), new Log4JTypeListener());
 
+    // Bind the scope of the objects that exist once per processed document.
+    DocumentScope documentScope = new DocumentScope();
+    bindScope(DocumentScoped.class, documentScope);
+    bind(DocumentScope.class).toInstance(documentScope);
+
+    // Install the factory of the registry of runtime metrics.
+    install(new FactoryModuleBuilder()
+        .implement(MetricsRegistry.class, PlainMetricsRegistry.class)
+        .build(MetricsRegistryFactory.class));
+
     // ========================================================================
 
     // Install the factory of the pipe that validates the paths of PDF files.
@@ -173,11 +219,24 @@ public class PdfActCoreGuiceModule extends com.google.inject.AbstractModule {
         .implement(ValidatePdfPathPipe.class, PlainValidatePdfPathPipe.class)
         .build(ValidatePdfPathPipeFactory.class));
 
+    // Install the factory of the pipe that estimates the statistics of PDFs.
+    install(new FactoryModuleBuilder()
+        .implement(EstimateStatisticsPipe.class,
+            SamplingEstimateStatisticsPipe.class)
+        .build(EstimateStatisticsPipeFactory.class));
+
     // Install the factory of the pipe that parses streams of PDF files.
     install(new FactoryModuleBuilder()
         .implement(ParsePdfStreamsPipe.class, PlainParsePdfStreamsPipe.class)
         .build(ParsePdfPipeFactory.class));
 
+    // Install the factory of the pipe that normalizes characters (combining the
+    // following four pipes in a single pass).
+    install(new FactoryModuleBuilder()
+        .implement(NormalizeCharactersPipe.class,
+            PlainNormalizeCharactersPipe.class)
+        .build(NormalizeCharactersPipeFactory.class));
+
     // Install the factory of the pipe that merges characters with diacritics.
     install(new FactoryModuleBuilder()
         .implement(MergeDiacriticsPipe.class, PlainMergeDiacriticsPipe.class)
@@ -223,7 +282,7 @@ public class PdfActCoreGuiceModule extends com.google.inject.AbstractModule {
 
     // Install the factory of the pipe that tokenizes text lines into words.
     install(new FactoryModuleBuilder()
-        .implement(TokenizeToWordsPipe.class, XYCutTokenizeToWordsPipe.class)
+        .implement(TokenizeToWordsPipe.class, PlainTokenizeToWordsPipe.class)
         .build(TokenizeToWordsPipeFactory.class));
 
     // Install the factory of the pipe that tokenizes text lines into blocks.
@@ -253,6 +312,11 @@ public class PdfActCoreGuiceModule extends com.google.inject.AbstractModule {
         .implement(PdfActCorePipe.class, PlainPdfActCorePipe.class)
         .build(PdfActCorePipeFactory.class));
 
+    // Install the factory of the asynchronous facade of the core pipe.
+    install(new FactoryModuleBuilder()
+        .implement(PdfActExtractor.class, PlainPdfActExtractor.class)
+        .build(PdfActExtractorFactory.class));
+
     // ========================================================================
     // Install the factories of the base models.
 
@@ -370,11 +434,22 @@ public class PdfActCoreGuiceModule extends com.google.inject.AbstractModule {
     bind(CharacterStatistician.class).to(PlainCharacterStatistician.class);
     bind(TextLineStatistician.class).to(PlainTextLineStatistician.class);
 
+    // Install the factories of the accumulators (combining the statistics of
+    // concurrently processed pages).
+    install(new FactoryModuleBuilder()
+        .implement(CharacterStatisticAccumulator.class,
+            IndexedCharacterStatisticAccumulator.class)
+        .build(CharacterStatisticAccumulatorFactory.class));
+    install(new FactoryModuleBuilder()
+        .implement(TextLineStatisticAccumulator.class,
+            IndexedTextLineStatisticAccumulator.class)
+        .build(TextLineStatisticAccumulatorFactory.class));
+
     // ========================================================================
 
     // Install the factory of the float counter.
     install(new FactoryModuleBuilder()
-        .implement(FloatCounter.class, PlainFloatCounter.class)
+        .implement(FloatCounter.class, FixedPointFloatCounter.class)
         .build(FloatCounterFactory.class));
 
     // Install the factory of the object counter to count strings.
@@ -386,13 +461,13 @@ public class PdfActCoreGuiceModule extends com.google.inject.AbstractModule {
     // Install the factory of the object counter to count colors.
     install(new FactoryModuleBuilder()
         .implement(new TypeLiteral<ObjectCounter<Color>>() {},
-            new TypeLiteral<PlainObjectCounter<Color>>() {})
+            new TypeLiteral<DenseIdObjectCounter<Color>>() {})
         .build(new TypeLiteral<ObjectCounterFactory<Color>>() {}));
 
-    // Install the factory of the object counter to count colors.
+    // Install the factory of the object counter to count font faces.
     install(new FactoryModuleBuilder()
         .implement(new TypeLiteral<ObjectCounter<FontFace>>() {},
-            new TypeLiteral<PlainObjectCounter<FontFace>>() {})
+            new TypeLiteral<DenseIdObjectCounter<FontFace>>() {})
         .build(new TypeLiteral<ObjectCounterFactory<FontFace>>() {}));
 
     // ========================================================================
@@ -446,6 +521,24 @@ public class PdfActCoreGuiceModule extends com.google.inject.AbstractModule {
             new TypeLiteral<PlainElementList<Paragraph>>() {})
         .build(new TypeLiteral<ElementListFactory<Paragraph>>() {}));
 
+    // Install the factory to create aggregating lists of characters.
+    install(new FactoryModuleBuilder()
+        .implement(new TypeLiteral<AggregatingElementList<Character>>() {},
+            new TypeLiteral<PlainAggregatingElementList<Character>>() {})
+        .build(new TypeLiteral<AggregatingElementListFactory<Character>>() {}));
+
+    // Install the factory to create aggregating lists of words.
+    install(new FactoryModuleBuilder()
+        .implement(new TypeLiteral<AggregatingElementList<Word>>() {},
+            new TypeLiteral<PlainAggregatingElementList<Word>>() {})
+        .build(new TypeLiteral<AggregatingElementListFactory<Word>>() {}));
+
+    // Install the factory to create aggregating lists of text lines.
+    install(new FactoryModuleBuilder()
+        .implement(new TypeLiteral<AggregatingElementList<TextLine>>() {},
+            new TypeLiteral<PlainAggregatingElementList<TextLine>>() {})
+        .build(new TypeLiteral<AggregatingElementListFactory<TextLine>>() {}));
+
     // ========================================================================
 
     // Install the module that gives the PDF operator modules bindings.
@@ -456,6 +549,14 @@ public class PdfActCoreGuiceModule extends com.google.inject.AbstractModule {
         .implement(PdfStreamsParser.class, PdfBoxPdfStreamsParser.class)
         .build(PdfStreamsParserFactory.class));
 
+    // Install the caches of the parser whose hit rates are published as
+    // metrics, keyed by their names (the caches are document-scoped).
+    MapBinder<String, CacheStatistics> cacheBinder =
+        MapBinder.newMapBinder(binder(), String.class, CacheStatistics.class);
+    cacheBinder.addBinding("font").to(PDFontConverter.class);
+    cacheBinder.addBinding("fontFace").to(PDFontFaceConverter.class);
+    cacheBinder.addBinding("color").to(PDColorConverter.class);
+
     // ========================================================================
 
     // Install the factory of the word normalizer.
@@ -463,25 +564,33 @@ public class PdfActCoreGuiceModule extends com.google.inject.AbstractModule {
         .implement(WordNormalizer.class, PlainWordNormalizer.class)
         .build(WordNormalizerFactory.class));
 
+    // Install the factory of the index of words used on dehyphenation.
+    install(new FactoryModuleBuilder()
+        .implement(WordIndex.class, HashWordIndex.class)
+        .build(WordIndexFactory.class));
+
     // ========================================================================
     // Install stuff needed for the pipe that semanticizes text blocks.
 
-    // Install the semanticizer modules.
-    Multibinder<PdfTextSemanticizerModule> binder =
-        Multibinder.newSetBinder(binder(), PdfTextSemanticizerModule.class);
-    binder.addBinding().to(TitleModule.class);
-    binder.addBinding().to(PageHeaderFooterModule.class);
-    binder.addBinding().to(HeadingModule.class);
-    binder.addBinding().to(AbstractModule.class);
-    binder.addBinding().to(KeywordsModule.class);
-    binder.addBinding().to(CategoriesModule.class);
-    binder.addBinding().to(GeneralTermsModule.class);
-    binder.addBinding().to(AcknowledgmentsModule.class);
-    binder.addBinding().to(ReferenceModule.class);
-    binder.addBinding().to(CaptionModule.class);
-    binder.addBinding().to(FootnoteModule.class);
-    binder.addBinding().to(ItemizeItemModule.class);
-    binder.addBinding().to(TableModule.class);
-    binder.addBinding().to(BodyTextModule.class);
+    // Install the semanticizer modules, keyed by their positions in the order
+    // in which they are run. A module sees the roles assigned by all modules
+    // with smaller positions.
+    MapBinder<Integer, PdfTextSemanticizerModule> binder =
+        MapBinder.newMapBinder(binder(), Integer.class,
+            PdfTextSemanticizerModule.class);
+    binder.addBinding(10).to(TitleModule.class);
+    binder.addBinding(20).to(PageHeaderFooterModule.class);
+    binder.addBinding(30).to(HeadingModule.class);
+    binder.addBinding(40).to(AbstractModule.class);
+    binder.addBinding(50).to(KeywordsModule.class);
+    binder.addBinding(60).to(CategoriesModule.class);
+    binder.addBinding(70).to(GeneralTermsModule.class);
+    binder.addBinding(80).to(AcknowledgmentsModule.class);
+    binder.addBinding(90).to(ReferenceModule.class);
+    binder.addBinding(100).to(CaptionModule.class);
+    binder.addBinding(110).to(FootnoteModule.class);
+    binder.addBinding(120).to(ItemizeItemModule.class);
+    binder.addBinding(130).to(TableModule.class);
+    binder.addBinding(140).to(BodyTextModule.class);
   }
 }
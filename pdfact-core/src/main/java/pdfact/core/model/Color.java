@@ -10,7 +10,7 @@ import com.google.inject.assistedinject.Assisted;
  * 
  * @author Claudius Korzen
  */
-public interface Color extends Resource {
+public interface Color extends Resource, HasDenseId {
   /**
    * Returns the name of this color.
    * 
@@ -6,7 +6,7 @@ package pdfact.core.model;
  * 
  * @author Claudius Korzen
  */
-public interface FontFace {
+public interface FontFace extends HasDenseId {
   /**
    * Returns the font.
    * 
@@ -8,7 +8,9 @@ package pdfact.core.model;
  */
 public interface HasCharacterStatistic {
   /**
-   * Returns the statistic about the characters.
+   * Returns the statistic about the characters. Implementations may compute
+   * the statistic on the first call of this method and memoize it, so that
+   * the statistic is only computed for elements where it is actually needed.
    * 
    * @return The statistic about the characters.
    */
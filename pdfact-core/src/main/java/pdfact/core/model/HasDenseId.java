@@ -0,0 +1,26 @@
+package pdfact.core.model;
+
+/**
+ * An interface that is implemented by objects that are interned per document
+ * (like font faces and colors) and carry a dense integer id, that is: the ids
+ * of the objects of the same type are 0, 1, 2, ... in the order of their
+ * registration. The ids allow to use such objects as array indexes.
+ *
+ * @author Claudius Korzen
+ */
+public interface HasDenseId {
+  /**
+   * Returns the dense id of this object.
+   * 
+   * @return The dense id of this object or -1 if this object wasn't interned.
+   */
+  int getDenseId();
+
+  /**
+   * Sets the dense id of this object.
+   * 
+   * @param id
+   *        The dense id of this object.
+   */
+  void setDenseId(int id);
+}
@@ -13,6 +13,15 @@ public interface HasText {
    */
   String getText();
 
+  /**
+   * Returns the text of this element as a character sequence. In contrast to
+   * getText(), the returned sequence may be a lazy view on the texts of the
+   * child elements that is materialized to a string only when needed.
+   * 
+   * @return The text of this element.
+   */
+  CharSequence getTextSequence();
+
   /**
    * Sets the text of this element.
    * 
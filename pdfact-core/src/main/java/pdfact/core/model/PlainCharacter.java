@@ -41,6 +41,11 @@ public class PlainCharacter extends PlainElement implements Character {
     return this.text;
   }
 
+  @Override
+  public CharSequence getTextSequence() {
+    return this.text;
+  }
+
   @Override
   public void setText(String text) {
     this.text = text;
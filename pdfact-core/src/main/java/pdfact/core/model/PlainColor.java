@@ -24,6 +24,11 @@ public class PlainColor extends PlainResource implements Color {
    */
   protected float[] rgb;
 
+  /**
+   * The dense id of this color.
+   */
+  protected int denseId = -1;
+
   // ==========================================================================
 
   /**
@@ -99,6 +104,18 @@ public class PlainColor extends PlainResource implements Color {
 
   // ==========================================================================
 
+  @Override
+  public int getDenseId() {
+    return this.denseId;
+  }
+
+  @Override
+  public void setDenseId(int id) {
+    this.denseId = id;
+  }
+
+  // ==========================================================================
+
   @Override
   public String toString() {
     return "Color(" + Arrays.toString(this.rgb) + ")";
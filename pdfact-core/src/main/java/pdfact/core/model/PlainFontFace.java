@@ -22,6 +22,11 @@ public class PlainFontFace implements FontFace {
    */
   protected float fontSize;
 
+  /**
+   * The dense id of this font face.
+   */
+  protected int denseId = -1;
+
   /**
    * Creates a new font face.
    * 
@@ -62,6 +67,18 @@ public class PlainFontFace implements FontFace {
 
   // ==========================================================================
 
+  @Override
+  public int getDenseId() {
+    return this.denseId;
+  }
+
+  @Override
+  public void setDenseId(int id) {
+    this.denseId = id;
+  }
+
+  // ==========================================================================
+
   @Override
   public String toString() {
     return "FontFace(" + this.font + ", " + this.fontSize + ")";
@@ -9,6 +9,8 @@ import com.google.inject.assistedinject.AssistedInject;
 
 import pdfact.core.util.list.ElementList;
 import pdfact.core.util.list.ElementList.ElementListFactory;
+import pdfact.core.util.statistician.CharacterStatistician;
+import pdfact.core.util.text.JoinedText;
 
 /**
  * A plain implementation of {@link Paragraph}.
@@ -22,10 +24,16 @@ public class PlainParagraph extends PlainElement implements Paragraph {
   protected ElementList<Word> words;
 
   /**
-   * The text of this paragraph.
+   * The text of this paragraph, if it was set explicitly. It is reset when the
+   * child elements change.
    */
   protected String text;
 
+  /**
+   * The lazy view on the joined texts of the words of this paragraph.
+   */
+  protected JoinedText textSequence;
+
   /**
    * The positions of this paragraph.
    */
@@ -42,19 +50,29 @@ public class PlainParagraph extends PlainElement implements Paragraph {
   protected SemanticRole secondaryRole;
 
   /**
-   * The statistics about the characters in this paragraph.
+   * The statistics about the characters in this paragraph, or null if it
+   * wasn't requested yet.
    */
   protected CharacterStatistic characterStatistic;
 
+  /**
+   * The statistician to compute the character statistic on demand.
+   */
+  protected CharacterStatistician characterStatistician;
+
   /**
    * Creates a new paragraph.
    * 
    * @param wordListFactory
    *        The factory to create lists of words.
+   * @param characterStatistician
+   *        The statistician to compute the character statistic on demand.
    */
   @AssistedInject
-  public PlainParagraph(ElementListFactory<Word> wordListFactory) {
+  public PlainParagraph(ElementListFactory<Word> wordListFactory,
+      CharacterStatistician characterStatistician) {
     this.words = wordListFactory.create();
+    this.characterStatistician = characterStatistician;
   }
 
   // ==========================================================================
@@ -83,23 +101,48 @@ public class PlainParagraph extends PlainElement implements Paragraph {
   @Override
   public void setWords(ElementList<Word> words) {
     this.words = words;
+    this.characterStatistic = null;
+    this.text = null;
+    this.textSequence = null;
   }
 
   @Override
   public void addWords(ElementList<Word> words) {
     this.words.addAll(words);
+    this.characterStatistic = null;
+    this.text = null;
+    this.textSequence = null;
   }
 
   @Override
   public void addWord(Word word) {
     this.words.add(word);
+    this.characterStatistic = null;
+    this.text = null;
+    this.textSequence = null;
   }
 
   // ==========================================================================
 
   @Override
   public String getText() {
-    return this.text;
+    if (this.text != null) {
+      return this.text;
+    }
+    CharSequence textSequence = getTextSequence();
+    return textSequence != null ? textSequence.toString() : null;
+  }
+
+  @Override
+  public CharSequence getTextSequence() {
+    if (this.text != null) {
+      return this.text;
+    }
+    if (this.textSequence == null && this.words != null
+        && !this.words.isEmpty()) {
+      this.textSequence = new JoinedText(this.words, " ");
+    }
+    return this.textSequence;
   }
 
   @Override
@@ -171,6 +214,12 @@ public class PlainParagraph extends PlainElement implements Paragraph {
 
   @Override
   public CharacterStatistic getCharacterStatistic() {
+    if (this.characterStatistic == null && this.words != null
+        && !this.words.isEmpty()) {
+      // Compute the statistic on the first request and memoize it.
+      this.characterStatistic =
+          this.characterStatistician.aggregate(this.words);
+    }
     return this.characterStatistic;
   }
 
@@ -4,6 +4,7 @@ import com.google.inject.assistedinject.AssistedInject;
 
 import pdfact.core.util.list.ElementList;
 import pdfact.core.util.list.ElementList.ElementListFactory;
+import pdfact.core.util.statistician.CharacterStatistician;
 
 /**
  * A plain implementation of {@link TextArea}.
@@ -22,19 +23,29 @@ public class PlainTextArea implements TextArea {
   protected Position position;
 
   /**
-   * The statistic about the characters in this area.
+   * The statistic about the characters in this area, or null if it wasn't
+   * requested yet.
    */
   protected CharacterStatistic characterStatistic;
 
+  /**
+   * The statistician to compute the character statistic on demand.
+   */
+  protected CharacterStatistician characterStatistician;
+
   /**
    * The default constructor.
    * 
    * @param characterListFactory
    *        The factory to create lists of characters.
+   * @param characterStatistician
+   *        The statistician to compute the character statistic on demand.
    */
   @AssistedInject
-  public PlainTextArea(ElementListFactory<Character> characterListFactory) {
+  public PlainTextArea(ElementListFactory<Character> characterListFactory,
+      CharacterStatistician characterStatistician) {
     this.characters = characterListFactory.create();
+    this.characterStatistician = characterStatistician;
   }
 
   // ==========================================================================
@@ -63,22 +74,31 @@ public class PlainTextArea implements TextArea {
   @Override
   public void setCharacters(ElementList<Character> characters) {
     this.characters = characters;
+    this.characterStatistic = null;
   }
 
   @Override
   public void addCharacters(ElementList<Character> characters) {
     this.characters.addAll(characters);
+    this.characterStatistic = null;
   }
 
   @Override
   public void addCharacter(Character character) {
     this.characters.add(character);
+    this.characterStatistic = null;
   }
 
   // ==========================================================================
 
   @Override
   public CharacterStatistic getCharacterStatistic() {
+    if (this.characterStatistic == null && this.characters != null
+        && !this.characters.isEmpty()) {
+      // Compute the statistic on the first request and memoize it.
+      this.characterStatistic =
+          this.characterStatistician.compute(this.characters);
+    }
     return this.characterStatistic;
   }
 
@@ -5,27 +5,63 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 import com.google.inject.assistedinject.AssistedInject;
 
+import pdfact.core.model.Position.PositionFactory;
+import pdfact.core.model.TextLineStatistic.TextLineStatisticFactory;
+import pdfact.core.util.list.AggregatingElementList;
+import pdfact.core.util.list.AggregatingElementList.AggregatingElementListFactory;
 import pdfact.core.util.list.ElementList;
-import pdfact.core.util.list.ElementList.ElementListFactory;
+import pdfact.core.util.statistician.TextLineStatistician;
+import pdfact.core.util.text.JoinedText;
 
 /**
- * A plain implementation of {@link TextBlock}.
+ * A plain implementation of {@link TextBlock}. The text lines are kept in an
+ * {@link AggregatingElementList}, which maintains the bounding box, the text
+ * length and the character statistic while text lines are added. The text line
+ * statistic is maintained incrementally as well, so that nothing needs to be
+ * computed in a second sweep over the text lines.
  * 
  * @author Claudius Korzen
  */
 public class PlainTextBlock extends PlainElement implements TextBlock {
+  /**
+   * The factory to create instances of {@link Position}.
+   */
+  protected PositionFactory positionFactory;
+
+  /**
+   * The factory to create lists of text lines.
+   */
+  protected AggregatingElementListFactory<TextLine> textLineListFactory;
+
+  /**
+   * The factory to create instances of {@link TextLineStatistic}.
+   */
+  protected TextLineStatisticFactory textLineStatisticFactory;
+
+  /**
+   * The statistician to compute statistics about text lines.
+   */
+  protected TextLineStatistician textLineStatistician;
+
   /**
    * The text lines of this text block.
    */
-  protected ElementList<TextLine> textLines;
+  protected AggregatingElementList<TextLine> textLines;
 
   /**
-   * The text of this text block.
+   * The text of this text block, if it was set explicitly. It is reset when the
+   * child elements change.
    */
   protected String text;
 
   /**
-   * The position of this text block.
+   * The lazy view on the joined texts of the text lines of this text block.
+   */
+  protected JoinedText textSequence;
+
+  /**
+   * The position of this text block, or null if it needs to be (re-)computed
+   * from the bounding box of the text lines.
    */
   protected Position position;
 
@@ -40,7 +76,8 @@ public class PlainTextBlock extends PlainElement implements TextBlock {
   protected SemanticRole secondaryRole;
 
   /**
-   * The statistics about the characters in this text block.
+   * The statistics about the characters in this text block, if it was set
+   * explicitly. Otherwise, the statistic is given by the text lines.
    */
   protected CharacterStatistic characterStatistic;
 
@@ -54,9 +91,23 @@ public class PlainTextBlock extends PlainElement implements TextBlock {
    * 
    * @param textLineListFactory
    *        The factory to create lists of text lines.
+   * @param positionFactory
+   *        The factory to create instances of {@link Position}.
+   * @param textLineStatisticFactory
+   *        The factory to create instances of {@link TextLineStatistic}.
+   * @param textLineStatistician
+   *        The statistician to compute statistics about text lines.
    */
   @AssistedInject
-  public PlainTextBlock(ElementListFactory<TextLine> textLineListFactory) {
+  public PlainTextBlock(
+      AggregatingElementListFactory<TextLine> textLineListFactory,
+      PositionFactory positionFactory,
+      TextLineStatisticFactory textLineStatisticFactory,
+      TextLineStatistician textLineStatistician) {
+    this.textLineListFactory = textLineListFactory;
+    this.positionFactory = positionFactory;
+    this.textLineStatisticFactory = textLineStatisticFactory;
+    this.textLineStatistician = textLineStatistician;
     this.textLines = textLineListFactory.create();
   }
 
@@ -85,24 +136,78 @@ public class PlainTextBlock extends PlainElement implements TextBlock {
 
   @Override
   public void setTextLines(ElementList<TextLine> textLines) {
-    this.textLines = textLines;
+    this.textLines = this.textLineListFactory.create(textLines.size());
+    this.position = null;
+    this.text = null;
+    this.textSequence = null;
+    this.characterStatistic = null;
+    this.textLineStatistic = null;
+    for (TextLine line : textLines) {
+      addTextLine(line);
+    }
   }
 
   @Override
   public void addTextLines(ElementList<TextLine> textLines) {
-    this.textLines.addAll(textLines);
+    for (TextLine line : textLines) {
+      addTextLine(line);
+    }
   }
 
   @Override
-  public void addTextLine(TextLine word) {
-    this.textLines.add(word);
+  public void addTextLine(TextLine line) {
+    TextLine prevLine = getLastTextLine();
+    this.textLines.add(line);
+    extend(prevLine, line);
+  }
+
+  /**
+   * Extends the text line statistic of this text block by the given text line,
+   * which was appended to this block. The position and the text of this block
+   * are derived from the text lines again on the next request.
+   * 
+   * @param prevLine
+   *        The text line that precedes the given line in this text block.
+   * @param line
+   *        The text line that was appended to this text block.
+   */
+  protected void extend(TextLine prevLine, TextLine line) {
+    if (line == null) {
+      return;
+    }
+
+    this.position = null;
+    this.text = null;
+    this.textSequence = null;
+
+    // Extend the text line statistic.
+    if (this.textLineStatistic == null) {
+      this.textLineStatistic = this.textLineStatisticFactory.create();
+    }
+    this.textLineStatistician.extend(this.textLineStatistic, prevLine, line);
   }
 
   // ==========================================================================
 
   @Override
   public String getText() {
-    return this.text;
+    if (this.text != null) {
+      return this.text;
+    }
+    CharSequence textSequence = getTextSequence();
+    return textSequence != null ? textSequence.toString() : null;
+  }
+
+  @Override
+  public CharSequence getTextSequence() {
+    if (this.text != null) {
+      return this.text;
+    }
+    if (this.textSequence == null && this.textLines != null
+        && !this.textLines.isEmpty()) {
+      this.textSequence = new JoinedText(this.textLines, " ");
+    }
+    return this.textSequence;
   }
 
   @Override
@@ -114,6 +219,14 @@ public class PlainTextBlock extends PlainElement implements TextBlock {
 
   @Override
   public Position getPosition() {
+    if (this.position == null && !this.textLines.isEmpty()) {
+      Rectangle rect = this.textLines.getRectangle();
+      Position firstPosition = getFirstTextLine().getPosition();
+      if (rect != null && firstPosition != null) {
+        Page page = firstPosition.getPage();
+        this.position = this.positionFactory.create(page, rect);
+      }
+    }
     return this.position;
   }
 
@@ -126,7 +239,13 @@ public class PlainTextBlock extends PlainElement implements TextBlock {
 
   @Override
   public CharacterStatistic getCharacterStatistic() {
-    return this.characterStatistic;
+    if (this.characterStatistic != null) {
+      return this.characterStatistic;
+    }
+    if (this.textLines.isEmpty()) {
+      return null;
+    }
+    return this.textLines.getCharacterStatistic();
   }
 
   @Override
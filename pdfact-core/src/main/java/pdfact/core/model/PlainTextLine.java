@@ -7,6 +7,8 @@ import com.google.inject.assistedinject.AssistedInject;
 
 import pdfact.core.util.list.ElementList;
 import pdfact.core.util.list.ElementList.ElementListFactory;
+import pdfact.core.util.statistician.CharacterStatistician;
+import pdfact.core.util.text.JoinedText;
 
 /**
  * A plain implementation of {@link TextLine}.
@@ -25,10 +27,16 @@ public class PlainTextLine extends PlainElement implements TextLine {
   protected ElementList<Word> words;
 
   /**
-   * The text of this text line.
+   * The text of this text line, if it was set explicitly. It is reset when the
+   * child elements change.
    */
   protected String text;
 
+  /**
+   * The lazy view on the joined texts of the words of this text line.
+   */
+  protected JoinedText textSequence;
+
   /**
    * The position of this text line.
    */
@@ -40,10 +48,16 @@ public class PlainTextLine extends PlainElement implements TextLine {
   protected Line baseLine;
 
   /**
-   * The statistics about the characters in this text line.
+   * The statistics about the characters in this text line, or null if it
+   * wasn't requested yet.
    */
   protected CharacterStatistic characterStatistic;
 
+  /**
+   * The statistician to compute the character statistic on demand.
+   */
+  protected CharacterStatistician characterStatistician;
+
   // ==========================================================================
 
   /**
@@ -53,13 +67,17 @@ public class PlainTextLine extends PlainElement implements TextLine {
    *        The factory to create lists of words.
    * @param wordListFactory
    *        The factory to create lists of words.
+   * @param characterStatistician
+   *        The statistician to compute the character statistic on demand.
    */
   @AssistedInject
   public PlainTextLine(
       ElementListFactory<Character> characterListFactory,
-      ElementListFactory<Word> wordListFactory) {
+      ElementListFactory<Word> wordListFactory,
+      CharacterStatistician characterStatistician) {
     this.characters = characterListFactory.create();
     this.words = wordListFactory.create();
+    this.characterStatistician = characterStatistician;
   }
 
   // ==========================================================================
@@ -88,16 +106,19 @@ public class PlainTextLine extends PlainElement implements TextLine {
   @Override
   public void setCharacters(ElementList<Character> characters) {
     this.characters = characters;
+    this.characterStatistic = null;
   }
 
   @Override
   public void addCharacters(ElementList<Character> characters) {
     this.characters.addAll(characters);
+    this.characterStatistic = null;
   }
 
   @Override
   public void addCharacter(Character character) {
     this.characters.add(character);
+    this.characterStatistic = null;
   }
 
   // ==========================================================================
@@ -126,23 +147,45 @@ public class PlainTextLine extends PlainElement implements TextLine {
   @Override
   public void setWords(ElementList<Word> words) {
     this.words = words;
+    this.text = null;
+    this.textSequence = null;
   }
 
   @Override
   public void addWords(ElementList<Word> words) {
     this.words.addAll(words);
+    this.text = null;
+    this.textSequence = null;
   }
 
   @Override
   public void addWord(Word word) {
     this.words.add(word);
+    this.text = null;
+    this.textSequence = null;
   }
 
   // ==========================================================================
 
   @Override
   public String getText() {
-    return this.text;
+    if (this.text != null) {
+      return this.text;
+    }
+    CharSequence textSequence = getTextSequence();
+    return textSequence != null ? textSequence.toString() : null;
+  }
+
+  @Override
+  public CharSequence getTextSequence() {
+    if (this.text != null) {
+      return this.text;
+    }
+    if (this.textSequence == null && this.words != null
+        && !this.words.isEmpty()) {
+      this.textSequence = new JoinedText(this.words, " ");
+    }
+    return this.textSequence;
   }
 
   @Override
@@ -178,6 +221,12 @@ public class PlainTextLine extends PlainElement implements TextLine {
 
   @Override
   public CharacterStatistic getCharacterStatistic() {
+    if (this.characterStatistic == null && this.characters != null
+        && !this.characters.isEmpty()) {
+      // Compute the statistic on the first request and memoize it.
+      this.characterStatistic =
+          this.characterStatistician.compute(this.characters);
+    }
     return this.characterStatistic;
   }
 
@@ -190,7 +239,7 @@ public class PlainTextLine extends PlainElement implements TextLine {
 
   @Override
   public String toString() {
-    return "TextLine(" + this.text + ")";
+    return "TextLine(" + getText() + ")";
   }
 
   // ==========================================================================
@@ -9,6 +9,8 @@ import com.google.inject.assistedinject.AssistedInject;
 
 import pdfact.core.util.list.ElementList;
 import pdfact.core.util.list.ElementList.ElementListFactory;
+import pdfact.core.util.statistician.CharacterStatistician;
+import pdfact.core.util.text.JoinedText;
 
 /**
  * A plain implementation of {@link Word}.
@@ -22,10 +24,16 @@ public class PlainWord extends PlainElement implements Word {
   protected ElementList<Character> characters;
 
   /**
-   * The text of this word.
+   * The text of this word, if it was set explicitly. It is reset when the
+   * child elements change.
    */
   protected String text;
 
+  /**
+   * The lazy view on the joined texts of the characters of this word.
+   */
+  protected JoinedText textSequence;
+
   /**
    * The positions of this word.
    */
@@ -42,10 +50,15 @@ public class PlainWord extends PlainElement implements Word {
   protected boolean isDehyphenated;
 
   /**
-   * The statistic about the characters.
+   * The statistic about the characters, or null if it wasn't requested yet.
    */
   protected CharacterStatistic characterStatistic;
 
+  /**
+   * The statistician to compute the character statistic on demand.
+   */
+  protected CharacterStatistician characterStatistician;
+
   // ==========================================================================
 
   /**
@@ -53,10 +66,14 @@ public class PlainWord extends PlainElement implements Word {
    * 
    * @param characterListFactory
    *        The factory to create lists of characters.
+   * @param characterStatistician
+   *        The statistician to compute the character statistic on demand.
    */
   @AssistedInject
-  public PlainWord(ElementListFactory<Character> characterListFactory) {
+  public PlainWord(ElementListFactory<Character> characterListFactory,
+      CharacterStatistician characterStatistician) {
     this.characters = characterListFactory.create();
+    this.characterStatistician = characterStatistician;
   }
 
   // ==========================================================================
@@ -85,23 +102,48 @@ public class PlainWord extends PlainElement implements Word {
   @Override
   public void setCharacters(ElementList<Character> characters) {
     this.characters = characters;
+    this.characterStatistic = null;
+    this.text = null;
+    this.textSequence = null;
   }
 
   @Override
   public void addCharacters(ElementList<Character> characters) {
     this.characters.addAll(characters);
+    this.characterStatistic = null;
+    this.text = null;
+    this.textSequence = null;
   }
 
   @Override
   public void addCharacter(Character character) {
     this.characters.add(character);
+    this.characterStatistic = null;
+    this.text = null;
+    this.textSequence = null;
   }
 
   // ==========================================================================
 
   @Override
   public String getText() {
-    return this.text;
+    if (this.text != null) {
+      return this.text;
+    }
+    CharSequence textSequence = getTextSequence();
+    return textSequence != null ? textSequence.toString() : null;
+  }
+
+  @Override
+  public CharSequence getTextSequence() {
+    if (this.text != null) {
+      return this.text;
+    }
+    if (this.textSequence == null && this.characters != null
+        && !this.characters.isEmpty()) {
+      this.textSequence = new JoinedText(this.characters, "");
+    }
+    return this.textSequence;
   }
 
   @Override
@@ -175,6 +217,12 @@ public class PlainWord extends PlainElement implements Word {
 
   @Override
   public CharacterStatistic getCharacterStatistic() {
+    if (this.characterStatistic == null && this.characters != null
+        && !this.characters.isEmpty()) {
+      // Compute the statistic on the first request and memoize it.
+      this.characterStatistic =
+          this.characterStatistician.compute(this.characters);
+    }
     return this.characterStatistic;
   }
 
@@ -187,7 +235,7 @@ public class PlainWord extends PlainElement implements Word {
 
   @Override
   public String toString() {
-    return "Word(" + this.text + ")";
+    return "Word(" + getText() + ")";
   }
 
   // ==========================================================================
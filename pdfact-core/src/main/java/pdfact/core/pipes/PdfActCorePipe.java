@@ -1,5 +1,12 @@
 package pdfact.core.pipes;
 
+import java.util.concurrent.ForkJoinPool;
+
+import pdfact.core.pipes.dehyphenate.DehyphenationLexicon;
+import pdfact.core.pipes.dehyphenate.WordIndex;
+import pdfact.core.util.metrics.MetricsRegistry;
+import pdfact.core.util.pipeline.CancellationToken;
+import pdfact.core.util.pipeline.PerformanceReport;
 import pdfact.core.util.pipeline.Pipe;
 
 /**
@@ -9,6 +16,131 @@ import pdfact.core.util.pipeline.Pipe;
  * @author Claudius Korzen
  */
 public interface PdfActCorePipe extends Pipe {
+  /**
+   * Returns true if the statistics of a PDF document are estimated from a
+   * sample of pages before the document is parsed.
+   * 
+   * @return True if the statistics are estimated; false otherwise.
+   */
+  boolean isEstimateStatistics();
+
+  /**
+   * Sets the flag that indicates whether the statistics of a PDF document
+   * should be estimated from a sample of pages before the document is parsed.
+   * 
+   * @param estimate
+   *        True if the statistics should be estimated; false otherwise.
+   */
+  void setEstimateStatistics(boolean estimate);
+
+  /**
+   * Returns the pool on which the pages of a PDF document are tokenized in
+   * parallel (into text areas, text lines, words and text blocks).
+   * 
+   * @return The pool or null if the pages are tokenized sequentially.
+   */
+  ForkJoinPool getForkJoinPool();
+
+  /**
+   * Sets the pool on which the pages of a PDF document should be tokenized in
+   * parallel (into text areas, text lines, words and text blocks). The result
+   * is the same as on tokenizing the pages sequentially.
+   * 
+   * @param pool
+   *        The pool or null if the pages should be tokenized sequentially.
+   */
+  void setForkJoinPool(ForkJoinPool pool);
+
+  /**
+   * Returns the token to cancel the processing of a PDF document.
+   * 
+   * @return The token or null if the processing can't be cancelled.
+   */
+  CancellationToken getCancellationToken();
+
+  /**
+   * Sets the token to cancel the processing of a PDF document. The token is
+   * checked between the pipes and between the pages, and the processing stops
+   * with a PdfActCancelledException once the token was cancelled.
+   * 
+   * @param token
+   *        The token or null if the processing can't be cancelled.
+   */
+  void setCancellationToken(CancellationToken token);
+
+  /**
+   * Returns the corpus-level lexicon that is consulted on dehyphenating the
+   * words of a PDF document.
+   * 
+   * @return The lexicon or null if there is no such lexicon.
+   */
+  DehyphenationLexicon getDehyphenationLexicon();
+
+  /**
+   * Sets the corpus-level lexicon that should be consulted on dehyphenating
+   * the words of a PDF document.
+   * 
+   * @param lexicon
+   *        The lexicon or null if no lexicon should be consulted.
+   */
+  void setDehyphenationLexicon(DehyphenationLexicon lexicon);
+
+  /**
+   * Returns the index to which the words of each processed PDF document are
+   * added on dehyphenation.
+   * 
+   * @return The index or null if there is no such index.
+   */
+  WordIndex getCorpusWordIndex();
+
+  /**
+   * Sets the index to which the words of each processed PDF document should be
+   * added on dehyphenation, for example to build a dehyphenation lexicon.
+   * 
+   * @param index
+   *        The index or null if the words shouldn't be added to any index.
+   */
+  void setCorpusWordIndex(WordIndex index);
+
+  /**
+   * Returns the report to which the resources used by the pipes of the core
+   * pipeline are written.
+   * 
+   * @return The report or null if the resources aren't measured.
+   */
+  PerformanceReport getPerformanceReport();
+
+  /**
+   * Sets the report to which the resources used by the pipes of the core
+   * pipeline should be written.
+   * 
+   * @param report
+   *        The report or null if the resources shouldn't be measured.
+   */
+  void setPerformanceReport(PerformanceReport report);
+
+  /**
+   * Returns the registry to which the runtime metrics of the core pipeline
+   * are written.
+   * 
+   * @return The registry or null if no metrics are written.
+   */
+  MetricsRegistry getMetricsRegistry();
+
+  /**
+   * Sets the registry to which the runtime metrics of the core pipeline should
+   * be written: the numbers of processed documents, pages, characters and
+   * shapes, the number of documents in process, the latencies per pipe and
+   * the hit rates of the caches of the parser. The registry can be shared by
+   * any number of core pipes (also in different threads).
+   * 
+   * @param registry
+   *        The registry or null if no metrics should be written.
+   */
+  void setMetricsRegistry(MetricsRegistry registry);
+
+  // ==========================================================================
+
   /**
    * The factory to create instances of {@link PdfActCorePipe}.
    * 
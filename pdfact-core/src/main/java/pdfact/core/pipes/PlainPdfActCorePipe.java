@@ -1,14 +1,24 @@
 package pdfact.core.pipes;
 
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
 import org.apache.log4j.Logger;
 
 import com.google.inject.Inject;
+import com.google.inject.Provider;
 
+import pdfact.core.guice.DocumentScope;
+import pdfact.core.model.Page;
 import pdfact.core.model.PdfDocument;
+import pdfact.core.pipes.dehyphenate.DehyphenateWordsPipe;
 import pdfact.core.pipes.dehyphenate.DehyphenateWordsPipe.DehyphenateWordsPipeFactory;
-import pdfact.core.pipes.filter.characters.FilterCharactersPipe.FilterCharactersPipeFactory;
+import pdfact.core.pipes.dehyphenate.DehyphenationLexicon;
+import pdfact.core.pipes.dehyphenate.WordIndex;
+import pdfact.core.pipes.estimate.EstimateStatisticsPipe.EstimateStatisticsPipeFactory;
 import pdfact.core.pipes.filter.figures.FilterFiguresPipe.FilterFiguresPipeFactory;
 import pdfact.core.pipes.filter.shapes.FilterShapesPipe.FilterShapesPipeFactory;
+import pdfact.core.pipes.normalize.NormalizeCharactersPipe.NormalizeCharactersPipeFactory;
 import pdfact.core.pipes.parse.ParsePdfStreamsPipe.ParsePdfPipeFactory;
 import pdfact.core.pipes.semanticize.DetectSemanticsPipe.DetectSemanticsPipeFactory;
 import pdfact.core.pipes.tokenize.areas.TokenizeToTextAreasPipe.TokenizeToTextAreasPipeFactory;
@@ -16,12 +26,18 @@ import pdfact.core.pipes.tokenize.blocks.TokenizeToTextBlocksPipe.TokenizeToText
 import pdfact.core.pipes.tokenize.lines.TokenizeToTextLinesPipe.TokenizeToTextLinesPipeFactory;
 import pdfact.core.pipes.tokenize.paragraphs.TokenizeToParagraphsPipe.TokenizeToParagraphsPipeFactory;
 import pdfact.core.pipes.tokenize.words.TokenizeToWordsPipe.TokenizeToWordsPipeFactory;
-import pdfact.core.pipes.translate.characters.StandardizeCharactersPipe.StandardizeCharactersPipeFactory;
-import pdfact.core.pipes.translate.diacritics.MergeDiacriticsPipe.MergeDiacriticsPipeFactory;
-import pdfact.core.pipes.translate.ligatures.SplitLigaturesPipe.SplitLigaturesPipeFactory;
 import pdfact.core.pipes.validate.ValidatePdfPathPipe.ValidatePdfPathPipeFactory;
 import pdfact.core.util.exception.PdfActException;
 import pdfact.core.util.log.InjectLogger;
+import pdfact.core.util.metrics.CacheStatistics;
+import pdfact.core.util.metrics.Counter;
+import pdfact.core.util.metrics.MetricsRegistry;
+import pdfact.core.util.pipeline.CancellationToken;
+import pdfact.core.util.pipeline.InstrumentedPipeline;
+import pdfact.core.util.pipeline.MeteredPipe;
+import pdfact.core.util.pipeline.ParallelPagePipe;
+import pdfact.core.util.pipeline.PerformanceReport;
+import pdfact.core.util.pipeline.Pipe;
 import pdfact.core.util.pipeline.Pipeline;
 import pdfact.core.util.pipeline.Pipeline.PdfActPipelineFactory;
 
@@ -38,39 +54,70 @@ public class PlainPdfActCorePipe implements PdfActCorePipe {
   protected static Logger log;
 
   /**
-   * The factory to create pipelines.
+   * The name of the counter of the processed documents.
    */
-  protected PdfActPipelineFactory pipelineFactory;
+  public static final String NUM_DOCUMENTS = "documents";
 
   /**
-   * The factory to create the pipe that validates PDF paths.
+   * The name of the counter of the documents that couldn't be processed.
    */
-  protected ValidatePdfPathPipeFactory validatePdfPathPipeFactory;
+  public static final String NUM_FAILED_DOCUMENTS = "failedDocuments";
 
   /**
-   * The factory to create the pipe that parses PDF files.
+   * The name of the counter of the documents in process.
    */
-  protected ParsePdfPipeFactory parsePdfPipeFactory;
+  public static final String NUM_IN_FLIGHT_DOCUMENTS = "inFlightDocuments";
 
   /**
-   * The factory to create the pipe that merges diacritic characters.
+   * The name of the counter of the processed pages.
    */
-  protected MergeDiacriticsPipeFactory mergeDiacriticsPipeFactory;
+  public static final String NUM_PAGES = "pages";
 
   /**
-   * The factory to create the pipe that splits ligatures.
+   * The name of the counter of the processed characters.
    */
-  protected SplitLigaturesPipeFactory splitLigaturesPipeFactory;
+  public static final String NUM_CHARACTERS = "characters";
 
   /**
-   * The factory to create the pipe that standardizes characters.
+   * The name of the counter of the processed shapes.
    */
-  protected StandardizeCharactersPipeFactory standardizeCharactersPipeFactory;
+  public static final String NUM_SHAPES = "shapes";
 
   /**
-   * The factory to create the pipe that filters chosen characters.
+   * The prefix of the names of the latency histograms of the pipes.
    */
-  protected FilterCharactersPipeFactory filterCharactersPipeFactory;
+  public static final String LATENCY_PREFIX = "latency.";
+
+  /**
+   * The prefix of the names of the metrics of the caches.
+   */
+  public static final String CACHE_PREFIX = "cache.";
+
+  /**
+   * The factory to create pipelines.
+   */
+  protected PdfActPipelineFactory pipelineFactory;
+
+  /**
+   * The factory to create the pipe that validates PDF paths.
+   */
+  protected ValidatePdfPathPipeFactory validatePdfPathPipeFactory;
+
+  /**
+   * The factory to create the pipe that estimates the statistics of PDFs.
+   */
+  protected EstimateStatisticsPipeFactory estimateStatisticsPipeFactory;
+
+  /**
+   * The factory to create the pipe that parses PDF files.
+   */
+  protected ParsePdfPipeFactory parsePdfPipeFactory;
+
+  /**
+   * The factory to create the pipe that normalizes characters (merges
+   * diacritics, splits ligatures, standardizes and filters characters).
+   */
+  protected NormalizeCharactersPipeFactory normalizeCharactersPipeFactory;
 
   /**
    * The factory to create the pipe that filters chosen figures.
@@ -117,6 +164,54 @@ public class PlainPdfActCorePipe implements PdfActCorePipe {
    */
   protected DehyphenateWordsPipeFactory dehyphenateWordsPipeFactory;
 
+  /**
+   * The scope of the objects that exist once per processed document.
+   */
+  protected DocumentScope documentScope;
+
+  /**
+   * The (document-scoped) caches of the parser whose hit rates are published
+   * as metrics, per name.
+   */
+  protected Map<String, Provider<CacheStatistics>> caches;
+
+  /**
+   * The boolean flag that indicates whether the statistics of a PDF document
+   * should be estimated before the document is parsed.
+   */
+  protected boolean estimateStatistics;
+
+  /**
+   * The pool on which the pages of a PDF document are tokenized in parallel
+   * (null if the pages are tokenized sequentially).
+   */
+  protected ForkJoinPool forkJoinPool = ForkJoinPool.commonPool();
+
+  /**
+   * The token to cancel the processing of a PDF document (or null).
+   */
+  protected CancellationToken cancellationToken;
+
+  /**
+   * The corpus-level lexicon to consult on dehyphenation.
+   */
+  protected DehyphenationLexicon dehyphenationLexicon;
+
+  /**
+   * The index to which the words of each processed document are added.
+   */
+  protected WordIndex corpusWordIndex;
+
+  /**
+   * The report to which the resources used by the pipes are written.
+   */
+  protected PerformanceReport performanceReport;
+
+  /**
+   * The registry to which the runtime metrics are written.
+   */
+  protected MetricsRegistry metricsRegistry;
+
   // ==========================================================================
 
   /**
@@ -126,16 +221,12 @@ public class PlainPdfActCorePipe implements PdfActCorePipe {
    *        The factory to create pipelines.
    * @param validatePdfPathPipeFactory
    *        The factory to create the pipe that validates PDF paths.
+   * @param estimateStatisticsPipeFactory
+   *        The factory to create the pipe that estimates the statistics.
    * @param parsePdfPipeFactory
    *        The factory to create the pipe that parses PDF files.
-   * @param mergeDiacriticsPipeFactory
-   *        The factory to create the pipe that merges diacritic characters.
-   * @param splitLigaturesPipeFactory
-   *        The factory to create the pipe that splits ligatures.
-   * @param standardizeCharactersPipeFactory
-   *        The factory to create the pipe that standardizes characters.
-   * @param filterCharactersPipeFactory
-   *        The factory to create the pipe that filters chosen characters.
+   * @param normalizeCharactersPipeFactory
+   *        The factory to create the pipe that normalizes characters.
    * @param filterFiguresPipeFactory
    *        The factory to create the pipe that filters chosen figures.
    * @param filterShapesPipeFactory
@@ -154,15 +245,18 @@ public class PlainPdfActCorePipe implements PdfActCorePipe {
    *        The factory to create the pipe that tokenizes blocks to paragraphs.
    * @param dehyphenateWordsPipeFactory
    *        The factory to create the pipe that dehyphenates words.
+   * @param documentScope
+   *        The scope of the objects that exist once per processed document.
+   * @param caches
+   *        The (document-scoped) caches of the parser whose hit rates are
+   *        published as metrics, per name.
    */
   @Inject
   public PlainPdfActCorePipe(PdfActPipelineFactory pipelineFactory,
       ValidatePdfPathPipeFactory validatePdfPathPipeFactory,
+      EstimateStatisticsPipeFactory estimateStatisticsPipeFactory,
       ParsePdfPipeFactory parsePdfPipeFactory,
-      MergeDiacriticsPipeFactory mergeDiacriticsPipeFactory,
-      SplitLigaturesPipeFactory splitLigaturesPipeFactory,
-      StandardizeCharactersPipeFactory standardizeCharactersPipeFactory,
-      FilterCharactersPipeFactory filterCharactersPipeFactory,
+      NormalizeCharactersPipeFactory normalizeCharactersPipeFactory,
       FilterFiguresPipeFactory filterFiguresPipeFactory,
       FilterShapesPipeFactory filterShapesPipeFactory,
       TokenizeToTextAreasPipeFactory tokenizeToTextAreasPipeFactory,
@@ -171,14 +265,14 @@ public class PlainPdfActCorePipe implements PdfActCorePipe {
       TokenizeToTextBlocksPipeFactory tokenizeToTextBlocksPipeFactory,
       DetectSemanticsPipeFactory semanticizeTextBlocksPipeFactory,
       TokenizeToParagraphsPipeFactory tokenizeToParagraphsPipeFactory,
-      DehyphenateWordsPipeFactory dehyphenateWordsPipeFactory) {
+      DehyphenateWordsPipeFactory dehyphenateWordsPipeFactory,
+      DocumentScope documentScope,
+      Map<String, Provider<CacheStatistics>> caches) {
     this.pipelineFactory = pipelineFactory;
     this.validatePdfPathPipeFactory = validatePdfPathPipeFactory;
+    this.estimateStatisticsPipeFactory = estimateStatisticsPipeFactory;
     this.parsePdfPipeFactory = parsePdfPipeFactory;
-    this.mergeDiacriticsPipeFactory = mergeDiacriticsPipeFactory;
-    this.splitLigaturesPipeFactory = splitLigaturesPipeFactory;
-    this.standardizeCharactersPipeFactory = standardizeCharactersPipeFactory;
-    this.filterCharactersPipeFactory = filterCharactersPipeFactory;
+    this.normalizeCharactersPipeFactory = normalizeCharactersPipeFactory;
     this.filterFiguresPipeFactory = filterFiguresPipeFactory;
     this.filterShapesPipeFactory = filterShapesPipeFactory;
     this.tokenizeToTextAreasPipeFactory = tokenizeToTextAreasPipeFactory;
@@ -188,12 +282,18 @@ public class PlainPdfActCorePipe implements PdfActCorePipe {
     this.semanticizeTextBlocksPipeFactory = semanticizeTextBlocksPipeFactory;
     this.tokenizeToParagraphsPipeFactory = tokenizeToParagraphsPipeFactory;
     this.dehyphenateWordsPipeFactory = dehyphenateWordsPipeFactory;
+    this.documentScope = documentScope;
+    this.caches = caches;
   }
 
   // ==========================================================================
 
   /**
-   * Processes the given PDF document.
+   * Processes the given PDF document. The document is processed in its own
+   * document scope, such that the mutable state of the pipes and parsers is
+   * never shared with other documents, also not with documents processed
+   * concurrently by other threads. The cancellation token (if any) is the
+   * token of the current thread while the document is processed.
    * 
    * @param pdf
    *        The PDF document to process.
@@ -204,48 +304,94 @@ public class PlainPdfActCorePipe implements PdfActCorePipe {
    *         If something went wrong on processing the PDF document.
    */
   public PdfDocument execute(PdfDocument pdf) throws PdfActException {
+    CancellationToken previousToken =
+        CancellationToken.setCurrent(this.cancellationToken);
+    this.documentScope.enter();
+    try {
+      return executeInScope(pdf);
+    } finally {
+      this.documentScope.exit();
+      CancellationToken.setCurrent(previousToken);
+    }
+  }
+
+  /**
+   * Processes the given PDF document in the current document scope.
+   * 
+   * @param pdf
+   *        The PDF document to process.
+   * 
+   * @return The PDF document after processing.
+   * 
+   * @throws PdfActException
+   *         If something went wrong on processing the PDF document.
+   */
+  protected PdfDocument executeInScope(PdfDocument pdf)
+      throws PdfActException {
     log.debug("Start of pipe: " + getClass().getSimpleName() + ".");
 
     log.debug("Process: Processing the core pipeline.");
 
     // Fill the pipeline with the pipes to execute
     Pipeline pipeline = this.pipelineFactory.create();
+    // Measure the resources used by the pipes, if requested.
+    if (this.performanceReport != null) {
+      pipeline = new InstrumentedPipeline(pipeline, this.performanceReport);
+    }
 
     // Validate the path to the PDF file.
-    pipeline.addPipe(this.validatePdfPathPipeFactory.create());
+    pipeline.addPipe(meter("validate",
+        this.validatePdfPathPipeFactory.create()));
+    // Estimate the statistics from a sample of pages, if requested. The
+    // estimates are replaced by the exact statistics on parsing.
+    if (this.estimateStatistics) {
+      pipeline.addPipe(meter("estimate",
+          this.estimateStatisticsPipeFactory.create()));
+    }
     // Extract the characters, shapes and figures.
-    pipeline.addPipe(this.parsePdfPipeFactory.create());
-    // Merge the diacritics.
-    pipeline.addPipe(this.mergeDiacriticsPipeFactory.create());
-    // Split the ligatures.
-    pipeline.addPipe(this.splitLigaturesPipeFactory.create());
-    // Standardize characters.
-    pipeline.addPipe(this.standardizeCharactersPipeFactory.create());
-    // Filter the characters.
-    pipeline.addPipe(this.filterCharactersPipeFactory.create());
+    pipeline.addPipe(meter("parse", this.parsePdfPipeFactory.create()));
+    // Merge the diacritics, split the ligatures, standardize and filter the
+    // characters (in a single pass).
+    pipeline.addPipe(meter("normalize",
+        this.normalizeCharactersPipeFactory.create()));
     // Filter the figures.
-    pipeline.addPipe(this.filterFiguresPipeFactory.create());
+    pipeline.addPipe(meter("figures",
+        this.filterFiguresPipeFactory.create()));
     // Filter the shapes.
-    pipeline.addPipe(this.filterShapesPipeFactory.create());
+    pipeline.addPipe(meter("shapes", this.filterShapesPipeFactory.create()));
     // Tokenize the page into text areas.
-    pipeline.addPipe(this.tokenizeToTextAreasPipeFactory.create());
+    pipeline.addPipe(meter("areas",
+        parallel(this.tokenizeToTextAreasPipeFactory.create())));
     // Tokenize the text areas into text lines.
-    pipeline.addPipe(this.tokenizeToTextLinesPipeFactory.create());
+    pipeline.addPipe(meter("lines",
+        parallel(this.tokenizeToTextLinesPipeFactory.create())));
     // Tokenize the text lines into words.
-    pipeline.addPipe(this.tokenizeToWordsPipeFactory.create());
+    pipeline.addPipe(meter("words",
+        parallel(this.tokenizeToWordsPipeFactory.create())));
     // Tokenize the text lines into text blocks.
-    pipeline.addPipe(this.tokenizeToTextBlocksPipeFactory.create());
+    pipeline.addPipe(meter("blocks",
+        parallel(this.tokenizeToTextBlocksPipeFactory.create())));
     // Identify the roles of the text blocks.
-    pipeline.addPipe(this.semanticizeTextBlocksPipeFactory.create());
+    pipeline.addPipe(meter("semantics",
+        this.semanticizeTextBlocksPipeFactory.create()));
     // Tokenize the text blocks into paragraphs.
-    pipeline.addPipe(this.tokenizeToParagraphsPipeFactory.create());
+    pipeline.addPipe(meter("paragraphs",
+        this.tokenizeToParagraphsPipeFactory.create()));
     // Dehyphenate the words.
-    pipeline.addPipe(this.dehyphenateWordsPipeFactory.create());
+    DehyphenateWordsPipe dehyphenateWordsPipe =
+        this.dehyphenateWordsPipeFactory.create();
+    dehyphenateWordsPipe.setDehyphenationLexicon(this.dehyphenationLexicon);
+    dehyphenateWordsPipe.setCorpusWordIndex(this.corpusWordIndex);
+    pipeline.addPipe(meter("dehyphenation", dehyphenateWordsPipe));
 
     log.debug("# pipes in the pipeline: " + pipeline.size());
 
     long start = System.currentTimeMillis();
-    pipeline.process(pdf);
+    if (this.metricsRegistry != null) {
+      processMetered(pipeline, pdf);
+    } else {
+      pipeline.process(pdf);
+    }
     long length = System.currentTimeMillis() - start;
 
     log.debug("Processing the core pipeline done.");
@@ -254,4 +400,194 @@ public class PlainPdfActCorePipe implements PdfActCorePipe {
     log.debug("End of pipe: " + getClass().getSimpleName() + ".");
     return pdf;
   }
+
+  /**
+   * Processes the given pipeline with the given PDF document and writes the
+   * runtime metrics to the registry.
+   * 
+   * @param pipeline
+   *        The pipeline to process.
+   * @param pdf
+   *        The PDF document to process.
+   * 
+   * @throws PdfActException
+   *         If something went wrong on processing the PDF document.
+   */
+  protected void processMetered(Pipeline pipeline, PdfDocument pdf)
+      throws PdfActException {
+    MetricsRegistry registry = this.metricsRegistry;
+    Counter inFlight = registry.getCounter(NUM_IN_FLIGHT_DOCUMENTS);
+
+    inFlight.increment();
+    try {
+      pipeline.process(pdf);
+    } catch (PdfActException | RuntimeException e) {
+      registry.getCounter(NUM_FAILED_DOCUMENTS).increment();
+      throw e;
+    } finally {
+      inFlight.decrement();
+      countCacheLookups(registry);
+    }
+
+    registry.getCounter(NUM_DOCUMENTS).increment();
+    if (pdf.getPages() == null) {
+      return;
+    }
+    int numCharacters = 0;
+    int numShapes = 0;
+    for (Page page : pdf.getPages()) {
+      if (page == null) {
+        continue;
+      }
+      if (page.getCharacters() != null) {
+        numCharacters += page.getCharacters().size();
+      }
+      if (page.getShapes() != null) {
+        numShapes += page.getShapes().size();
+      }
+    }
+    registry.getCounter(NUM_PAGES).add(pdf.getPages().size());
+    registry.getCounter(NUM_CHARACTERS).add(numCharacters);
+    registry.getCounter(NUM_SHAPES).add(numShapes);
+  }
+
+  /**
+   * Adds the hits and misses of the caches of the current document scope to
+   * the counters of the caches in the given registry.
+   * 
+   * @param registry
+   *        The registry to which the runtime metrics are written.
+   */
+  protected void countCacheLookups(MetricsRegistry registry) {
+    if (this.caches == null) {
+      return;
+    }
+    for (String name : this.caches.keySet()) {
+      String prefix = CACHE_PREFIX + name + ".";
+      CacheStatistics cache = this.caches.get(name).get();
+      registry.getCounter(prefix + "hits").add(cache.getNumHits());
+      registry.getCounter(prefix + "misses").add(cache.getNumMisses());
+    }
+  }
+
+  /**
+   * Wraps the given pipe, such that its latencies are recorded in the
+   * registry, if there is any.
+   * 
+   * @param name
+   *        The name of the pipe in the metrics.
+   * @param pipe
+   *        The pipe to wrap.
+   * 
+   * @return The wrapped pipe or the given pipe if there is no registry.
+   */
+  protected Pipe meter(String name, Pipe pipe) {
+    if (this.metricsRegistry == null) {
+      return pipe;
+    }
+    return new MeteredPipe(pipe,
+        this.metricsRegistry.getLatencyHistogram(LATENCY_PREFIX + name));
+  }
+
+  /**
+   * Sets the pool on which the given pipe should process the pages. The pages
+   * are processed sequentially if the resources used per page are measured,
+   * because the measurements are taken in the thread that executes the pipe.
+   * 
+   * @param pipe
+   *        The pipe.
+   * 
+   * @return The given pipe.
+   */
+  protected Pipe parallel(ParallelPagePipe pipe) {
+    pipe.setForkJoinPool(this.performanceReport != null ? null
+        : this.forkJoinPool);
+    return pipe;
+  }
+
+  // ==========================================================================
+
+  @Override
+  public boolean isEstimateStatistics() {
+    return this.estimateStatistics;
+  }
+
+  @Override
+  public void setEstimateStatistics(boolean estimate) {
+    this.estimateStatistics = estimate;
+  }
+
+  @Override
+  public ForkJoinPool getForkJoinPool() {
+    return this.forkJoinPool;
+  }
+
+  @Override
+  public void setForkJoinPool(ForkJoinPool pool) {
+    this.forkJoinPool = pool;
+  }
+
+  @Override
+  public CancellationToken getCancellationToken() {
+    return this.cancellationToken;
+  }
+
+  @Override
+  public void setCancellationToken(CancellationToken token) {
+    this.cancellationToken = token;
+  }
+
+  @Override
+  public DehyphenationLexicon getDehyphenationLexicon() {
+    return this.dehyphenationLexicon;
+  }
+
+  @Override
+  public void setDehyphenationLexicon(DehyphenationLexicon lexicon) {
+    this.dehyphenationLexicon = lexicon;
+  }
+
+  @Override
+  public WordIndex getCorpusWordIndex() {
+    return this.corpusWordIndex;
+  }
+
+  @Override
+  public void setCorpusWordIndex(WordIndex index) {
+    this.corpusWordIndex = index;
+  }
+
+  @Override
+  public PerformanceReport getPerformanceReport() {
+    return this.performanceReport;
+  }
+
+  @Override
+  public void setPerformanceReport(PerformanceReport report) {
+    this.performanceReport = report;
+  }
+
+  @Override
+  public MetricsRegistry getMetricsRegistry() {
+    return this.metricsRegistry;
+  }
+
+  @Override
+  public void setMetricsRegistry(MetricsRegistry registry) {
+    this.metricsRegistry = registry;
+    if (registry == null || this.caches == null) {
+      return;
+    }
+    // Publish the hit rates of the caches, over all processed documents.
+    for (String name : this.caches.keySet()) {
+      String prefix = CACHE_PREFIX + name + ".";
+      Counter hits = registry.getCounter(prefix + "hits");
+      Counter misses = registry.getCounter(prefix + "misses");
+      registry.registerGauge(prefix + "hitRate", () -> {
+        long numHits = hits.getCount();
+        long lookups = numHits + misses.getCount();
+        return lookups > 0 ? (double) numHits / lookups : 0;
+      });
+    }
+  }
 }
@@ -8,6 +8,43 @@ import pdfact.core.util.pipeline.Pipe;
  * @author Claudius Korzen
  */
 public interface DehyphenateWordsPipe extends Pipe {
+  /**
+   * Returns the corpus-level lexicon that is consulted on dehyphenation if the
+   * words of the current document don't provide enough evidence.
+   * 
+   * @return The lexicon or null if there is no such lexicon.
+   */
+  DehyphenationLexicon getDehyphenationLexicon();
+
+  /**
+   * Sets the corpus-level lexicon that is consulted on dehyphenation if the
+   * words of the current document don't provide enough evidence.
+   * 
+   * @param lexicon
+   *        The lexicon or null if no lexicon should be consulted.
+   */
+  void setDehyphenationLexicon(DehyphenationLexicon lexicon);
+
+  /**
+   * Returns the index to which the words of the processed documents are added
+   * (in addition to the index of the current document).
+   * 
+   * @return The index or null if there is no such index.
+   */
+  WordIndex getCorpusWordIndex();
+
+  /**
+   * Sets the index to which the words of the processed documents should be
+   * added (in addition to the index of the current document), for example to
+   * build a {@link DehyphenationLexicon} from a corpus of documents.
+   * 
+   * @param index
+   *        The index or null if the words shouldn't be added to any index.
+   */
+  void setCorpusWordIndex(WordIndex index);
+
+  // ==========================================================================
+
   /**
    * The factory to create instances of {@link DehyphenateWordsPipe}.
    * 
@@ -0,0 +1,40 @@
+package pdfact.core.pipes.dehyphenate;
+
+import pdfact.core.pipes.dehyphenate.WordIndex.WordType;
+
+/**
+ * A read-only lexicon with the frequencies of normal words, compound words
+ * and prefixes of compound words in a corpus of PDF documents. It is used on
+ * dehyphenation in addition to the frequencies of the words in the current
+ * document, in particular for short documents that provide too little
+ * evidence on their own.
+ *
+ * The lexicon is immutable and can be shared by any number of threads.
+ *
+ * @author Claudius Korzen
+ */
+public interface DehyphenationLexicon {
+  /**
+   * Returns the frequency of the given range of the given text with the given
+   * type in the corpus.
+   *
+   * @param type
+   *        The type of the word.
+   * @param text
+   *        The text that contains the word.
+   * @param start
+   *        The start index of the word in the text (inclusive).
+   * @param end
+   *        The end index of the word in the text (exclusive).
+   *
+   * @return The frequency of the word with the given type.
+   */
+  int getFrequency(WordType type, CharSequence text, int start, int end);
+
+  /**
+   * Returns the number of unique words in this lexicon.
+   *
+   * @return The number of unique words in this lexicon.
+   */
+  int getNumEntries();
+}
@@ -0,0 +1,320 @@
+package pdfact.core.pipes.dehyphenate;
+
+import java.util.Arrays;
+
+/**
+ * An implementation of {@link WordIndex} based on a single open-addressing
+ * hash table. The characters of all words are stored consecutively in one
+ * char array; an entry of the table consists of the offset and the length of
+ * a word in this array, its hash code and its frequencies per word type.
+ * Hence, adding a word that is already in the index and looking up a word
+ * don't allocate any objects.
+ *
+ * @author Claudius Korzen
+ */
+public class HashWordIndex implements WordIndex {
+  /**
+   * The initial number of slots of the hash table (must be a power of two).
+   */
+  protected static final int INITIAL_CAPACITY = 1024;
+
+  /**
+   * The number of word types.
+   */
+  protected static final int NUM_TYPES = WordType.values().length;
+
+  /**
+   * The slots of the hash table, holding the index of an entry + 1, or 0 if
+   * the slot is empty.
+   */
+  protected int[] slots;
+
+  /**
+   * The characters of all words in this index.
+   */
+  protected char[] chars;
+
+  /**
+   * The number of used characters in the char array.
+   */
+  protected int numChars;
+
+  /**
+   * The offsets of the words in the char array, indexed by entry.
+   */
+  protected int[] offsets;
+
+  /**
+   * The lengths of the words, indexed by entry.
+   */
+  protected int[] lengths;
+
+  /**
+   * The hash codes of the words, indexed by entry.
+   */
+  protected int[] hashes;
+
+  /**
+   * The frequencies of the words, indexed by (entry * NUM_TYPES + type).
+   */
+  protected int[] frequencies;
+
+  /**
+   * The number of entries.
+   */
+  protected int numEntries;
+
+  /**
+   * The number of unique words per type.
+   */
+  protected int[] sizes;
+
+  /**
+   * Creates a new, empty word index.
+   */
+  public HashWordIndex() {
+    this.slots = new int[INITIAL_CAPACITY];
+    this.chars = new char[INITIAL_CAPACITY * 8];
+    this.offsets = new int[INITIAL_CAPACITY / 2];
+    this.lengths = new int[INITIAL_CAPACITY / 2];
+    this.hashes = new int[INITIAL_CAPACITY / 2];
+    this.frequencies = new int[INITIAL_CAPACITY / 2 * NUM_TYPES];
+    this.sizes = new int[NUM_TYPES];
+  }
+
+  // ==========================================================================
+
+  @Override
+  public void add(WordType type, CharSequence text, int start, int end) {
+    add(type, text, start, end, 1);
+  }
+
+  @Override
+  public void add(WordIndex index) {
+    if (index == null) {
+      return;
+    }
+
+    for (int entry = 0; entry < index.getNumEntries(); entry++) {
+      String word = index.getWord(entry);
+      for (WordType type : WordType.values()) {
+        int frequency = index.getFrequency(type, entry);
+        if (frequency > 0) {
+          add(type, word, 0, word.length(), frequency);
+        }
+      }
+    }
+  }
+
+  /**
+   * Adds the given range of the given text with the given type and the given
+   * frequency to this index.
+   *
+   * @param type
+   *        The type of the word.
+   * @param text
+   *        The text that contains the word.
+   * @param start
+   *        The start index of the word in the text (inclusive).
+   * @param end
+   *        The end index of the word in the text (exclusive).
+   * @param frequency
+   *        The frequency of the word.
+   */
+  protected void add(WordType type, CharSequence text, int start, int end,
+      int frequency) {
+    int hash = hash(text, start, end);
+    int slot = findSlot(hash, text, start, end);
+    int entry = this.slots[slot] - 1;
+    if (entry < 0) {
+      entry = addEntry(slot, hash, text, start, end);
+    }
+
+    int index = entry * NUM_TYPES + type.ordinal();
+    if (this.frequencies[index] == 0) {
+      this.sizes[type.ordinal()]++;
+    }
+    this.frequencies[index] += frequency;
+  }
+
+  @Override
+  public int getFrequency(WordType type, CharSequence text, int start,
+      int end) {
+    int hash = hash(text, start, end);
+    int entry = this.slots[findSlot(hash, text, start, end)] - 1;
+    if (entry < 0) {
+      return 0;
+    }
+    return this.frequencies[entry * NUM_TYPES + type.ordinal()];
+  }
+
+  @Override
+  public int size(WordType type) {
+    return this.sizes[type.ordinal()];
+  }
+
+  // ==========================================================================
+
+  @Override
+  public int getNumEntries() {
+    return this.numEntries;
+  }
+
+  @Override
+  public String getWord(int entry) {
+    return new String(this.chars, this.offsets[entry], this.lengths[entry]);
+  }
+
+  @Override
+  public int getFrequency(WordType type, int entry) {
+    return this.frequencies[entry * NUM_TYPES + type.ordinal()];
+  }
+
+  // ==========================================================================
+
+  /**
+   * Returns the slot that holds the given word, or the empty slot at which the
+   * word should be inserted if the word is not in the index.
+   *
+   * @param hash
+   *        The hash code of the word.
+   * @param text
+   *        The text that contains the word.
+   * @param start
+   *        The start index of the word in the text (inclusive).
+   * @param end
+   *        The end index of the word in the text (exclusive).
+   *
+   * @return The index of the slot.
+   */
+  protected int findSlot(int hash, CharSequence text, int start, int end) {
+    int mask = this.slots.length - 1;
+    int slot = hash & mask;
+    while (true) {
+      int entry = this.slots[slot] - 1;
+      if (entry < 0) {
+        return slot;
+      }
+      if (this.hashes[entry] == hash && equals(entry, text, start, end)) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+  }
+
+  /**
+   * Adds a new entry for the given word and stores it in the given slot.
+   *
+   * @param slot
+   *        The (empty) slot at which the entry should be stored.
+   * @param hash
+   *        The hash code of the word.
+   * @param text
+   *        The text that contains the word.
+   * @param start
+   *        The start index of the word in the text (inclusive).
+   * @param end
+   *        The end index of the word in the text (exclusive).
+   *
+   * @return The index of the new entry.
+   */
+  protected int addEntry(int slot, int hash, CharSequence text, int start,
+      int end) {
+    int length = end - start;
+    if (this.numChars + length > this.chars.length) {
+      int capacity = Math.max(this.chars.length * 2, this.numChars + length);
+      this.chars = Arrays.copyOf(this.chars, capacity);
+    }
+    for (int i = start; i < end; i++) {
+      this.chars[this.numChars++] = text.charAt(i);
+    }
+
+    if (this.numEntries == this.offsets.length) {
+      int capacity = this.offsets.length * 2;
+      this.offsets = Arrays.copyOf(this.offsets, capacity);
+      this.lengths = Arrays.copyOf(this.lengths, capacity);
+      this.hashes = Arrays.copyOf(this.hashes, capacity);
+      this.frequencies = Arrays.copyOf(this.frequencies, capacity * NUM_TYPES);
+    }
+
+    int entry = this.numEntries++;
+    this.offsets[entry] = this.numChars - length;
+    this.lengths[entry] = length;
+    this.hashes[entry] = hash;
+    this.slots[slot] = entry + 1;
+
+    // Keep the load factor of the table at most 0.5.
+    if (this.numEntries * 2 > this.slots.length) {
+      rehash(this.slots.length * 2);
+    }
+    return entry;
+  }
+
+  /**
+   * Rebuilds the hash table with the given number of slots.
+   *
+   * @param capacity
+   *        The new number of slots (must be a power of two).
+   */
+  protected void rehash(int capacity) {
+    int[] slots = new int[capacity];
+    int mask = capacity - 1;
+    for (int entry = 0; entry < this.numEntries; entry++) {
+      int slot = this.hashes[entry] & mask;
+      while (slots[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      slots[slot] = entry + 1;
+    }
+    this.slots = slots;
+  }
+
+  /**
+   * Checks if the word of the given entry is equal to the given word.
+   *
+   * @param entry
+   *        The index of the entry.
+   * @param text
+   *        The text that contains the word.
+   * @param start
+   *        The start index of the word in the text (inclusive).
+   * @param end
+   *        The end index of the word in the text (exclusive).
+   *
+   * @return True, if the words are equal; false otherwise.
+   */
+  protected boolean equals(int entry, CharSequence text, int start, int end) {
+    int length = this.lengths[entry];
+    if (length != end - start) {
+      return false;
+    }
+    int offset = this.offsets[entry];
+    for (int i = 0; i < length; i++) {
+      if (this.chars[offset + i] != text.charAt(start + i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Computes the hash code of the given word.
+   *
+   * @param text
+   *        The text that contains the word.
+   * @param start
+   *        The start index of the word in the text (inclusive).
+   * @param end
+   *        The end index of the word in the text (exclusive).
+   *
+   * @return The hash code of the word.
+   */
+  protected static int hash(CharSequence text, int start, int end) {
+    int hash = 0;
+    for (int i = start; i < end; i++) {
+      hash = 31 * hash + text.charAt(i);
+    }
+    // Spread the higher bits to the lower bits, which select the slot.
+    return hash ^ (hash >>> 16);
+  }
+}
@@ -0,0 +1,290 @@
+package pdfact.core.pipes.dehyphenate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import pdfact.core.pipes.dehyphenate.WordIndex.WordType;
+import pdfact.core.util.exception.PdfActLexiconException;
+
+/**
+ * An implementation of {@link DehyphenationLexicon} that is stored in a
+ * binary file and memory-mapped on opening. The lexicon is queried directly
+ * on the mapped file, without deserializing it. Hence, opening a lexicon is
+ * cheap and all processes that open the same file share the same copy of the
+ * file in the page cache.
+ *
+ * The file consists of (all values in big-endian order):
+ *
+ * <pre>
+ * header:  magic (int), version (int), #entries (int), #slots (int)
+ * slots:   #slots ints, holding the index of an entry + 1 (0 if empty)
+ * entries: #entries records of 6 ints: offset of the word in the chars,
+ *          length of the word, hash of the word, and the frequencies of the
+ *          word as normal word, compound word and prefix
+ * chars:   the characters of all words (2 bytes per character)
+ * </pre>
+ *
+ * The slots form an open-addressing hash table with linear probing, using
+ * the same hash function as {@link HashWordIndex}. The number of slots is a
+ * power of two and larger than the number of entries, so that each probe
+ * sequence reaches an empty slot. A lookup still stops after #slots probes, so
+ * that a corrupted file can't make it loop forever.
+ *
+ * @author Claudius Korzen
+ */
+public class MappedDehyphenationLexicon implements DehyphenationLexicon {
+  /**
+   * The magic number that identifies a dehyphenation lexicon file.
+   */
+  protected static final int MAGIC = 0x50444846;
+
+  /**
+   * The version of the file format.
+   */
+  protected static final int VERSION = 1;
+
+  /**
+   * The size of the header in bytes.
+   */
+  protected static final int HEADER_SIZE = 4 * 4;
+
+  /**
+   * The number of ints per entry.
+   */
+  protected static final int ENTRY_INTS = 6;
+
+  /**
+   * The mapped file.
+   */
+  protected final ByteBuffer buffer;
+
+  /**
+   * The number of entries.
+   */
+  protected final int numEntries;
+
+  /**
+   * The number of slots (a power of two).
+   */
+  protected final int numSlots;
+
+  /**
+   * The position of the entries in the file.
+   */
+  protected final int entriesPosition;
+
+  /**
+   * The position of the characters in the file.
+   */
+  protected final int charsPosition;
+
+  /**
+   * Creates a new lexicon on top of the given mapped file.
+   *
+   * @param buffer
+   *        The mapped file.
+   *
+   * @throws PdfActLexiconException
+   *         If the file is not a valid dehyphenation lexicon.
+   */
+  protected MappedDehyphenationLexicon(ByteBuffer buffer)
+      throws PdfActLexiconException {
+    if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+      throw new PdfActLexiconException("Not a dehyphenation lexicon.");
+    }
+    if (buffer.getInt(4) != VERSION) {
+      throw new PdfActLexiconException("Unsupported version of the "
+          + "dehyphenation lexicon: " + buffer.getInt(4));
+    }
+
+    int numEntries = buffer.getInt(8);
+    int numSlots = buffer.getInt(12);
+    // Compute the positions in long, such that large counts don't overflow.
+    long entriesPosition = HEADER_SIZE + numSlots * 4L;
+    long charsPosition = entriesPosition + numEntries * (ENTRY_INTS * 4L);
+
+    if (numEntries < 0 || numSlots <= numEntries
+        || Integer.bitCount(numSlots) != 1
+        || charsPosition > buffer.capacity()) {
+      throw new PdfActLexiconException("The dehyphenation lexicon is "
+          + "corrupted.");
+    }
+
+    this.buffer = buffer;
+    this.numEntries = numEntries;
+    this.numSlots = numSlots;
+    this.entriesPosition = (int) entriesPosition;
+    this.charsPosition = (int) charsPosition;
+  }
+
+  // ==========================================================================
+
+  /**
+   * Opens the dehyphenation lexicon stored in the given file.
+   *
+   * @param path
+   *        The path to the file.
+   *
+   * @return The opened lexicon.
+   *
+   * @throws PdfActLexiconException
+   *         If the file couldn't be read or is not a valid lexicon.
+   */
+  public static MappedDehyphenationLexicon open(Path path)
+      throws PdfActLexiconException {
+    try (FileChannel channel = FileChannel.open(path)) {
+      // The mapping remains valid after the channel is closed.
+      MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0,
+          channel.size());
+      return new MappedDehyphenationLexicon(buffer);
+    } catch (IOException e) {
+      throw new PdfActLexiconException("Couldn't open the dehyphenation "
+          + "lexicon '" + path + "': " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Writes the words of the given index to the given file, in the format
+   * expected by {@link #open(Path)}.
+   *
+   * @param index
+   *        The index to write.
+   * @param path
+   *        The path to the file.
+   *
+   * @throws PdfActLexiconException
+   *         If the file couldn't be written.
+   */
+  public static void write(WordIndex index, Path path)
+      throws PdfActLexiconException {
+    int numEntries = index.getNumEntries();
+    int numSlots = Integer.highestOneBit(Math.max(1, numEntries * 2)) * 2;
+
+    // Compute the entries and the slots of the hash table.
+    String[] words = new String[numEntries];
+    int[] hashes = new int[numEntries];
+    int[] slots = new int[numSlots];
+    int numChars = 0;
+    for (int entry = 0; entry < numEntries; entry++) {
+      words[entry] = index.getWord(entry);
+      hashes[entry] = HashWordIndex.hash(words[entry], 0,
+          words[entry].length());
+      numChars += words[entry].length();
+
+      int slot = hashes[entry] & (numSlots - 1);
+      while (slots[slot] != 0) {
+        slot = (slot + 1) & (numSlots - 1);
+      }
+      slots[slot] = entry + 1;
+    }
+
+    long size = HEADER_SIZE + numSlots * 4L
+        + numEntries * ENTRY_INTS * 4L + numChars * 2L;
+    if (size > Integer.MAX_VALUE) {
+      throw new PdfActLexiconException("The dehyphenation lexicon is too "
+          + "large: " + size + " bytes.");
+    }
+
+    ByteBuffer buffer = ByteBuffer.allocate((int) size);
+    buffer.putInt(MAGIC);
+    buffer.putInt(VERSION);
+    buffer.putInt(numEntries);
+    buffer.putInt(numSlots);
+    for (int slot : slots) {
+      buffer.putInt(slot);
+    }
+    int offset = 0;
+    for (int entry = 0; entry < numEntries; entry++) {
+      buffer.putInt(offset);
+      buffer.putInt(words[entry].length());
+      buffer.putInt(hashes[entry]);
+      buffer.putInt(index.getFrequency(WordType.NORMAL_WORD, entry));
+      buffer.putInt(index.getFrequency(WordType.COMPOUND_WORD, entry));
+      buffer.putInt(index.getFrequency(WordType.PREFIX, entry));
+      offset += words[entry].length();
+    }
+    for (String word : words) {
+      for (int i = 0; i < word.length(); i++) {
+        buffer.putChar(word.charAt(i));
+      }
+    }
+    buffer.flip();
+
+    try (FileChannel channel = FileChannel.open(path,
+        StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    } catch (IOException e) {
+      throw new PdfActLexiconException("Couldn't write the dehyphenation "
+          + "lexicon '" + path + "': " + e.getMessage(), e);
+    }
+  }
+
+  // ==========================================================================
+
+  @Override
+  public int getFrequency(WordType type, CharSequence text, int start,
+      int end) {
+    int hash = HashWordIndex.hash(text, start, end);
+    int mask = this.numSlots - 1;
+    int slot = hash & mask;
+    for (int i = 0; i < this.numSlots; i++) {
+      int entry = this.buffer.getInt(HEADER_SIZE + slot * 4) - 1;
+      if (entry < 0 || entry >= this.numEntries) {
+        return 0;
+      }
+      int position = this.entriesPosition + entry * ENTRY_INTS * 4;
+      if (this.buffer.getInt(position + 8) == hash
+          && equals(position, text, start, end)) {
+        return this.buffer.getInt(position + 12 + type.ordinal() * 4);
+      }
+      slot = (slot + 1) & mask;
+    }
+    // All slots are occupied, which is not the case in a valid file.
+    return 0;
+  }
+
+  @Override
+  public int getNumEntries() {
+    return this.numEntries;
+  }
+
+  // ==========================================================================
+
+  /**
+   * Checks if the word of the entry at the given position is equal to the
+   * given word.
+   *
+   * @param position
+   *        The position of the entry in the file.
+   * @param text
+   *        The text that contains the word.
+   * @param start
+   *        The start index of the word in the text (inclusive).
+   * @param end
+   *        The end index of the word in the text (exclusive).
+   *
+   * @return True, if the words are equal; false otherwise.
+   */
+  protected boolean equals(int position, CharSequence text, int start,
+      int end) {
+    int length = this.buffer.getInt(position + 4);
+    if (length != end - start) {
+      return false;
+    }
+    int offset = this.charsPosition + this.buffer.getInt(position) * 2;
+    for (int i = 0; i < length; i++) {
+      if (this.buffer.getChar(offset + i * 2) != text.charAt(start + i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
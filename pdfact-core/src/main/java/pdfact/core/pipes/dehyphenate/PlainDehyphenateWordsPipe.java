@@ -1,37 +1,41 @@
 package pdfact.core.pipes.dehyphenate;
 
+import static pdfact.core.pipes.dehyphenate.WordIndex.WordType.COMPOUND_WORD;
+import static pdfact.core.pipes.dehyphenate.WordIndex.WordType.NORMAL_WORD;
+import static pdfact.core.pipes.dehyphenate.WordIndex.WordType.PREFIX;
 import static pdfact.core.util.lexicon.CharacterLexicon.HYPHENS;
 import static pdfact.core.util.lexicon.CharacterLexicon.LETTERS;
 
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.log4j.Logger;
 
 import com.google.inject.Inject;
 
-import gnu.trove.iterator.TIntIterator;
-import gnu.trove.list.TIntList;
 import pdfact.core.model.Character;
 import pdfact.core.model.Paragraph;
 import pdfact.core.model.PdfDocument;
 import pdfact.core.model.Word;
-import pdfact.core.util.PdfActUtils;
-import pdfact.core.util.counter.ObjectCounter;
-import pdfact.core.util.counter.ObjectCounter.ObjectCounterFactory;
+import pdfact.core.pipes.dehyphenate.WordIndex.WordIndexFactory;
 import pdfact.core.util.exception.PdfActException;
 import pdfact.core.util.list.ElementList;
+import pdfact.core.util.lexicon.CharacterLexicon;
 import pdfact.core.util.list.ElementList.ElementListFactory;
 import pdfact.core.util.log.InjectLogger;
 import pdfact.core.util.normalize.WordNormalizer;
 import pdfact.core.util.normalize.WordNormalizer.WordNormalizerFactory;
+import pdfact.core.util.pipeline.HasMetrics;
 
 /**
  * A plain implementation of {@link DehyphenateWordsPipe}.
  * 
  * @author Claudius Korzen
  */
-public class PlainDehyphenateWordsPipe implements DehyphenateWordsPipe {
+public class PlainDehyphenateWordsPipe
+    implements DehyphenateWordsPipe, HasMetrics {
   /**
    * The logger.
    */
@@ -54,19 +58,32 @@ public class PlainDehyphenateWordsPipe implements DehyphenateWordsPipe {
   protected WordNormalizer wordNormalizer;
 
   /**
-   * The index of all words which do not include a hyphen (normal words).
+   * The index of all words which do not include a hyphen (normal words), all
+   * words with an inner hyphen (compound words) and all prefixes of compound
+   * words.
    */
-  protected ObjectCounter<String> normalWordsIndex;
+  protected WordIndex wordIndex;
 
   /**
-   * The index of all words with an inner hyphen (compound words).
+   * The corpus-level lexicon to consult if the words of the current document
+   * don't provide enough evidence.
    */
-  protected ObjectCounter<String> compoundWordsIndex;
+  protected DehyphenationLexicon lexicon;
 
   /**
-   * The index of all prefixes of compound words.
+   * The index to which the words of the document are added in addition.
    */
-  protected ObjectCounter<String> prefixesIndex;
+  protected WordIndex corpusWordIndex;
+
+  /**
+   * The buffer to which the words are normalized.
+   */
+  protected StringBuilder wordBuffer = new StringBuilder();
+
+  /**
+   * The buffer to which the prefix of a hyphenated word is normalized.
+   */
+  protected StringBuilder prefixBuffer = new StringBuilder();
 
   /**
    * The total number of words in the PDF document.
@@ -102,20 +119,18 @@ public class PlainDehyphenateWordsPipe implements DehyphenateWordsPipe {
    *        The factory to create lists of words.
    * @param wordNormalizerFactory
    *        The factory to create instances of {@link WordNormalizer}.
-   * @param objectCounterFactory
-   *        The factory to create instances of {@link ObjectCounter}.
+   * @param wordIndexFactory
+   *        The factory to create instances of {@link WordIndex}.
    */
   @Inject
   public PlainDehyphenateWordsPipe(
       ElementListFactory<Character> characterListFactory,
       ElementListFactory<Word> wordListFactory,
       WordNormalizerFactory wordNormalizerFactory,
-      ObjectCounterFactory<String> objectCounterFactory) {
+      WordIndexFactory wordIndexFactory) {
     this.characterListFactory = characterListFactory;
     this.wordListFactory = wordListFactory;
-    this.normalWordsIndex = objectCounterFactory.create();
-    this.compoundWordsIndex = objectCounterFactory.create();
-    this.prefixesIndex = objectCounterFactory.create();
+    this.wordIndex = wordIndexFactory.create();
 
     this.wordNormalizer = wordNormalizerFactory.create();
     this.wordNormalizer.setIsToLowerCase(true);
@@ -134,9 +149,13 @@ public class PlainDehyphenateWordsPipe implements DehyphenateWordsPipe {
 
     log.debug("Counting words done.");
     log.debug("# words               : " + this.numWords);
-    log.debug("# uniq. normal words  : " + this.normalWordsIndex.size());
-    log.debug("# uniq. compound words: " + this.compoundWordsIndex.size());
-    log.debug("# uniq. prefixes      : " + this.prefixesIndex.size());
+    log.debug("# uniq. normal words  : " + this.wordIndex.size(NORMAL_WORD));
+    log.debug("# uniq. compound words: " + this.wordIndex.size(COMPOUND_WORD));
+    log.debug("# uniq. prefixes      : " + this.wordIndex.size(PREFIX));
+
+    if (this.corpusWordIndex != null) {
+      this.corpusWordIndex.add(this.wordIndex);
+    }
 
     log.debug("Process: Dehyphenating words.");
     dehyphenate(pdf);
@@ -153,6 +172,19 @@ public class PlainDehyphenateWordsPipe implements DehyphenateWordsPipe {
 
   // ==========================================================================
 
+  @Override
+  public Map<String, Long> getMetrics() {
+    Map<String, Long> metrics = new LinkedHashMap<>();
+    metrics.put("numWords", (long) this.numWords);
+    metrics.put("numProcessedWords", (long) this.numProcessedWords);
+    metrics.put("numDehyphenatedWords", (long) this.numDehyphenatedWords);
+    metrics.put("numNormalWords", (long) this.numNormalWords);
+    metrics.put("numCompoundWords", (long) this.numCompoundWords);
+    return metrics;
+  }
+
+  // ==========================================================================
+
   /**
    * Counts single, compound and prefixes of compound words.
    * 
@@ -193,38 +225,40 @@ public class PlainDehyphenateWordsPipe implements DehyphenateWordsPipe {
 
         // Normalize the word: Remove leading and trailing punctuation marks
         // (but not hyphens).
-        String wordStr = this.wordNormalizer.normalize(word);
+        StringBuilder wordStr = this.wordBuffer;
+        wordStr.setLength(0);
+        int length = this.wordNormalizer.normalize(word, wordStr);
 
-        if (wordStr == null || wordStr.isEmpty()) {
+        if (length == 0) {
           continue;
         }
 
         // Check if the word contains hyphens.
-        TIntList idxsHyphens = PdfActUtils.indexesOf(wordStr, HYPHENS);
+        int hyphenIndex = indexOfHyphen(wordStr, 0);
 
-        if (idxsHyphens.isEmpty()) {
+        if (hyphenIndex < 0) {
           // No hyphen was found. The word is a single word.
-          this.normalWordsIndex.add(wordStr);
+          this.wordIndex.add(NORMAL_WORD, wordStr, 0, length);
           continue;
         }
 
         // We are interested only in compound words with inner hyphens.
-        if (idxsHyphens.get(0) == 0) {
+        if (hyphenIndex == 0) {
           // The word starts with an hyphen. Ignore the word.
           continue;
         }
 
-        if (idxsHyphens.get(idxsHyphens.size() - 1) == wordStr.length() - 1) {
+        if (CharacterLexicon.isHyphen(wordStr.charAt(length - 1))) {
           // The word ends with an hyphen. Ignore it.
           continue;
         }
 
-        this.compoundWordsIndex.add(wordStr);
+        this.wordIndex.add(COMPOUND_WORD, wordStr, 0, length);
 
         // Count the prefixes of compound words.
-        TIntIterator itr = idxsHyphens.iterator();
-        while (itr.hasNext()) {
-          this.prefixesIndex.add(wordStr.substring(0, itr.next()));
+        while (hyphenIndex >= 0) {
+          this.wordIndex.add(PREFIX, wordStr, 0, hyphenIndex);
+          hyphenIndex = indexOfHyphen(wordStr, hyphenIndex + 1);
         }
       }
     }
@@ -284,8 +318,8 @@ public class PlainDehyphenateWordsPipe implements DehyphenateWordsPipe {
         }
       }
 
+      // The text of the paragraph is joined from the words lazily.
       paragraph.setWords(dehyphWords);
-      paragraph.setText(PdfActUtils.join(dehyphWords, " "));
     }
   }
 
@@ -322,18 +356,21 @@ public class PlainDehyphenateWordsPipe implements DehyphenateWordsPipe {
     this.numDehyphenatedWords++;
 
     mergedChars.addAll(chars2);
-    word1.setCharacters(chars2);
+    // The text of the word is joined from the merged characters lazily.
+    word1.setCharacters(mergedChars);
 
     word1.addPositions(word2.getPositions());
     word1.setIsHyphenated(false);
     word1.setIsDehyphenated(true);
-    word1.setText(PdfActUtils.join(mergedChars, ""));
 
     return word1;
   }
 
   /**
    * Returns true if the hyphen between the two given words is mandatory on.
+   * The decision is made on the frequencies of the words in the current
+   * document first. Only if they are inconclusive, the frequencies of the
+   * corpus-level lexicon (if any) are consulted.
    * 
    * @param word1
    *        The first word (the part before the hyphen).
@@ -344,22 +381,93 @@ public class PlainDehyphenateWordsPipe implements DehyphenateWordsPipe {
    *         False otherwise.
    */
   protected boolean isHyphenMandatory(Word word1, Word word2) {
-    String word1Str = this.wordNormalizer.normalize(word1);
-    String word2Str = this.wordNormalizer.normalize(word2);
+    // Normalize both words to the word buffer (the word with hyphen).
+    StringBuilder withHyphen = this.wordBuffer;
+    withHyphen.setLength(0);
+    int length1 = this.wordNormalizer.normalize(word1, withHyphen);
+    int length2 = this.wordNormalizer.normalize(word2, withHyphen);
+
+    // Remove the trailing hyphen from the first word to get the prefix and
+    // append the second word to the prefix (the word without hyphen).
+    int prefixLength = length1;
+    if (length1 > 0 && withHyphen.charAt(length1 - 1) == '-') {
+      prefixLength--;
+    }
+    StringBuilder withoutHyphen = this.prefixBuffer;
+    withoutHyphen.setLength(0);
+    withoutHyphen.append(withHyphen, 0, prefixLength);
+    withoutHyphen.append(withHyphen, length1, length1 + length2);
+
+    int singleWordFreq = this.wordIndex.getFrequency(NORMAL_WORD,
+        withoutHyphen, 0, prefixLength + length2);
+    int compoundWordFreq = this.wordIndex.getFrequency(COMPOUND_WORD,
+        withHyphen, 0, length1 + length2);
+    int compoundWordPrefixFreq = this.wordIndex.getFrequency(PREFIX,
+        withoutHyphen, 0, prefixLength);
 
-    // TODO: Use the word normalizer.
-    String prefix = word1Str.replaceAll("[-]$", "");
-    String withHyphen = word1Str + word2Str;
-    String withoutHyphen = prefix + word2Str;
+    if (compoundWordFreq != singleWordFreq) {
+      return compoundWordFreq > singleWordFreq;
+    }
 
-    int singleWordFreq = this.normalWordsIndex.getFrequency(withoutHyphen);
-    int compoundWordFreq = this.compoundWordsIndex.getFrequency(withHyphen);
-    int compoundWordPrefixFreq = this.prefixesIndex.getFrequency(prefix);
+    if (compoundWordPrefixFreq > 0 || this.lexicon == null) {
+      return compoundWordPrefixFreq > 0;
+    }
+
+    // The document doesn't provide enough evidence. Consult the lexicon.
+    singleWordFreq = this.lexicon.getFrequency(NORMAL_WORD, withoutHyphen, 0,
+        prefixLength + length2);
+    compoundWordFreq = this.lexicon.getFrequency(COMPOUND_WORD, withHyphen, 0,
+        length1 + length2);
 
     if (compoundWordFreq != singleWordFreq) {
       return compoundWordFreq > singleWordFreq;
     }
 
-    return compoundWordPrefixFreq > 0;
+    return this.lexicon.getFrequency(PREFIX, withoutHyphen, 0,
+        prefixLength) > 0;
+  }
+
+  // ==========================================================================
+
+  @Override
+  public DehyphenationLexicon getDehyphenationLexicon() {
+    return this.lexicon;
+  }
+
+  @Override
+  public void setDehyphenationLexicon(DehyphenationLexicon lexicon) {
+    this.lexicon = lexicon;
+  }
+
+  @Override
+  public WordIndex getCorpusWordIndex() {
+    return this.corpusWordIndex;
+  }
+
+  @Override
+  public void setCorpusWordIndex(WordIndex index) {
+    this.corpusWordIndex = index;
+  }
+
+  // ==========================================================================
+
+  /**
+   * Returns the index of the first hyphen in the given text, starting the
+   * search at the given index.
+   * 
+   * @param text
+   *        The text to search in.
+   * @param from
+   *        The index to start the search from.
+   * 
+   * @return The index of the first hyphen or -1 if there is no such hyphen.
+   */
+  protected static int indexOfHyphen(CharSequence text, int from) {
+    for (int i = from; i < text.length(); i++) {
+      if (CharacterLexicon.isHyphen(text.charAt(i))) {
+        return i;
+      }
+    }
+    return -1;
   }
 }
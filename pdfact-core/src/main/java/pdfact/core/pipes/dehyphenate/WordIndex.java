@@ -0,0 +1,134 @@
+package pdfact.core.pipes.dehyphenate;
+
+/**
+ * An index that counts the occurrences of normal words, compound words and
+ * prefixes of compound words in a PDF document, in order to decide whether
+ * the hyphen of a hyphenated word is mandatory or not.
+ *
+ * The words are given as ranges of character sequences, so that words can be
+ * added and looked up without creating a string per word.
+ *
+ * @author Claudius Korzen
+ */
+public interface WordIndex {
+  /**
+   * Adds the given range of the given text with the given type to this index.
+   *
+   * @param type
+   *        The type of the word.
+   * @param text
+   *        The text that contains the word.
+   * @param start
+   *        The start index of the word in the text (inclusive).
+   * @param end
+   *        The end index of the word in the text (exclusive).
+   */
+  void add(WordType type, CharSequence text, int start, int end);
+
+  /**
+   * Adds all words of the given index, with their frequencies, to this index.
+   *
+   * @param index
+   *        The index to add.
+   */
+  void add(WordIndex index);
+
+  /**
+   * Returns the frequency of the given range of the given text with the given
+   * type.
+   *
+   * @param type
+   *        The type of the word.
+   * @param text
+   *        The text that contains the word.
+   * @param start
+   *        The start index of the word in the text (inclusive).
+   * @param end
+   *        The end index of the word in the text (exclusive).
+   *
+   * @return The frequency of the word with the given type.
+   */
+  int getFrequency(WordType type, CharSequence text, int start, int end);
+
+  /**
+   * Returns the number of unique words with the given type in this index.
+   *
+   * @param type
+   *        The type of the words.
+   *
+   * @return The number of unique words with the given type.
+   */
+  int size(WordType type);
+
+  // ==========================================================================
+
+  /**
+   * Returns the number of entries in this index. An entry is a unique word
+   * together with its frequencies per type.
+   *
+   * @return The number of entries in this index.
+   */
+  int getNumEntries();
+
+  /**
+   * Returns the word of the given entry.
+   *
+   * @param entry
+   *        The index of the entry, in [0, getNumEntries()).
+   *
+   * @return The word of the given entry.
+   */
+  String getWord(int entry);
+
+  /**
+   * Returns the frequency of the word of the given entry with the given type.
+   *
+   * @param type
+   *        The type of the word.
+   * @param entry
+   *        The index of the entry, in [0, getNumEntries()).
+   *
+   * @return The frequency of the word of the given entry with the given type.
+   */
+  int getFrequency(WordType type, int entry);
+
+  // ==========================================================================
+
+  /**
+   * The types of words in a {@link WordIndex}.
+   *
+   * @author Claudius Korzen
+   */
+  public enum WordType {
+    /**
+     * A word that doesn't contain a hyphen.
+     */
+    NORMAL_WORD,
+
+    /**
+     * A word that contains an inner hyphen.
+     */
+    COMPOUND_WORD,
+
+    /**
+     * A prefix of a compound word, that is: the substring before a hyphen.
+     */
+    PREFIX;
+  }
+
+  // ==========================================================================
+
+  /**
+   * The factory to create instances of {@link WordIndex}.
+   *
+   * @author Claudius Korzen
+   */
+  public interface WordIndexFactory {
+    /**
+     * Creates a new instance of {@link WordIndex}.
+     *
+     * @return A new instance of {@link WordIndex}.
+     */
+    WordIndex create();
+  }
+}
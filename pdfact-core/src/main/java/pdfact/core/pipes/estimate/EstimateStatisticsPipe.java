@@ -0,0 +1,28 @@
+package pdfact.core.pipes.estimate;
+
+import pdfact.core.util.pipeline.Pipe;
+
+/**
+ * A pipe that estimates the character statistic and the text line statistic
+ * of a PDF document before the document is parsed, such that pipes that need
+ * document-wide statistics can process the pages before all pages were
+ * parsed. The estimated statistics are replaced by the exact statistics as
+ * soon as they are available.
+ *
+ * @author Claudius Korzen
+ */
+public interface EstimateStatisticsPipe extends Pipe {
+  /**
+   * The factory to create instances of {@link EstimateStatisticsPipe}.
+   *
+   * @author Claudius Korzen
+   */
+  public interface EstimateStatisticsPipeFactory {
+    /**
+     * Creates a new instance of {@link EstimateStatisticsPipe}.
+     *
+     * @return A new instance of {@link EstimateStatisticsPipe}.
+     */
+    EstimateStatisticsPipe create();
+  }
+}
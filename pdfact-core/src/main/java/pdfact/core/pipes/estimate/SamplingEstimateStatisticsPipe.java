@@ -0,0 +1,721 @@
+package pdfact.core.pipes.estimate;
+
+import static pdfact.core.PdfActCoreSettings.FLOATING_NUMBER_PRECISION;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.apache.pdfbox.contentstream.operator.Operator;
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSNumber;
+import org.apache.pdfbox.cos.COSString;
+import org.apache.pdfbox.pdfparser.PDFStreamParser;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.util.Matrix;
+
+import com.google.inject.assistedinject.AssistedInject;
+
+import pdfact.core.model.CharacterStatistic;
+import pdfact.core.model.CharacterStatistic.CharacterStatisticFactory;
+import pdfact.core.model.Color;
+import pdfact.core.model.FontFace;
+import pdfact.core.model.PdfDocument;
+import pdfact.core.model.TextLineStatistic;
+import pdfact.core.model.TextLineStatistic.TextLineStatisticFactory;
+import pdfact.core.pipes.parse.stream.pdfbox.convert.PDFontConverter;
+import pdfact.core.pipes.parse.stream.pdfbox.convert.PDFontFaceConverter;
+import pdfact.core.util.PdfActUtils;
+import pdfact.core.util.counter.FloatCounter;
+import pdfact.core.util.counter.FloatCounter.FloatCounterFactory;
+import pdfact.core.util.counter.ObjectCounter.ObjectCounterFactory;
+import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.log.InjectLogger;
+import pdfact.core.util.pipeline.HasMetrics;
+
+/**
+ * An implementation of {@link EstimateStatisticsPipe} that estimates the
+ * statistics from a sample of pages. The content streams of the sampled pages
+ * are scanned for text showing operators only, without building any
+ * characters: the widths and heights of the glyphs are read from the font
+ * metrics, the line pitches are derived from the changes of the baseline
+ * between consecutive text showing operators in the same font face, the
+ * whitespace widths from the shown spaces and the word gaps in TJ operators.
+ * Figures, shapes, colors and the contents of form XObjects are ignored.
+ *
+ * The font faces are obtained from the same converters as on parsing, such
+ * that the line pitches in the estimated text line statistic are keyed by the
+ * font faces of the parsed characters.
+ *
+ * @author Claudius Korzen
+ */
+public class SamplingEstimateStatisticsPipe
+    implements EstimateStatisticsPipe, HasMetrics {
+  /**
+   * The logger.
+   */
+  @InjectLogger
+  protected static Logger log;
+
+  /**
+   * The maximum number of pages to sample.
+   */
+  protected static final int MAX_NUM_SAMPLED_PAGES = 5;
+
+  /**
+   * The minimum width (relative to the font size) of a positioning
+   * adjustment in a TJ operator to be considered as a word gap (smaller
+   * adjustments are usually kerning).
+   */
+  protected static final float MIN_WORD_GAP_WIDTH_RATIO = 0.1f;
+
+  /**
+   * The converter to translate PDFont objects into Font objects.
+   */
+  protected PDFontConverter fontConverter;
+
+  /**
+   * The converter to create instances of {@link FontFace}.
+   */
+  protected PDFontFaceConverter fontFaceConverter;
+
+  /**
+   * The factory to create instances of {@link CharacterStatistic}.
+   */
+  protected CharacterStatisticFactory characterStatisticFactory;
+
+  /**
+   * The factory to create instances of {@link TextLineStatistic}.
+   */
+  protected TextLineStatisticFactory textLineStatisticFactory;
+
+  /**
+   * The factory to create instances of {@link FloatCounter}.
+   */
+  protected FloatCounterFactory floatCounterFactory;
+
+  /**
+   * The factory to create counters of font faces.
+   */
+  protected ObjectCounterFactory<FontFace> fontFaceCounterFactory;
+
+  /**
+   * The factory to create counters of colors.
+   */
+  protected ObjectCounterFactory<Color> colorCounterFactory;
+
+  /**
+   * The number of sampled pages.
+   */
+  protected int numSampledPages;
+
+  /**
+   * The number of sampled glyphs.
+   */
+  protected int numSampledGlyphs;
+
+  /**
+   * Creates a new pipe that estimates the statistics of a PDF document.
+   *
+   * @param fontConverter
+   *        The converter to translate PDFont objects into Font objects.
+   * @param fontFaceConverter
+   *        The converter to create instances of {@link FontFace}.
+   * @param characterStatisticFactory
+   *        The factory to create instances of {@link CharacterStatistic}.
+   * @param textLineStatisticFactory
+   *        The factory to create instances of {@link TextLineStatistic}.
+   * @param floatCounterFactory
+   *        The factory to create instances of {@link FloatCounter}.
+   * @param fontFaceCounterFactory
+   *        The factory to create counters of font faces.
+   * @param colorCounterFactory
+   *        The factory to create counters of colors.
+   */
+  @AssistedInject
+  public SamplingEstimateStatisticsPipe(PDFontConverter fontConverter,
+      PDFontFaceConverter fontFaceConverter,
+      CharacterStatisticFactory characterStatisticFactory,
+      TextLineStatisticFactory textLineStatisticFactory,
+      FloatCounterFactory floatCounterFactory,
+      ObjectCounterFactory<FontFace> fontFaceCounterFactory,
+      ObjectCounterFactory<Color> colorCounterFactory) {
+    this.fontConverter = fontConverter;
+    this.fontFaceConverter = fontFaceConverter;
+    this.characterStatisticFactory = characterStatisticFactory;
+    this.textLineStatisticFactory = textLineStatisticFactory;
+    this.floatCounterFactory = floatCounterFactory;
+    this.fontFaceCounterFactory = fontFaceCounterFactory;
+    this.colorCounterFactory = colorCounterFactory;
+  }
+
+  // ==========================================================================
+
+  @Override
+  public PdfDocument execute(PdfDocument pdf) throws PdfActException {
+    log.debug("Start of pipe: " + getClass().getSimpleName() + ".");
+
+    log.debug("Process: Estimating the statistics of the PDF.");
+    estimateStatistics(pdf);
+
+    log.debug("Estimating the statistics of the PDF done.");
+    log.debug("# sampled pages: " + this.numSampledPages);
+    log.debug("# sampled glyphs: " + this.numSampledGlyphs);
+
+    log.debug("End of pipe: " + getClass().getSimpleName() + ".");
+    return pdf;
+  }
+
+  // ==========================================================================
+
+  @Override
+  public Map<String, Long> getMetrics() {
+    Map<String, Long> metrics = new LinkedHashMap<>();
+    metrics.put("numSampledPages", (long) this.numSampledPages);
+    metrics.put("numSampledGlyphs", (long) this.numSampledGlyphs);
+    return metrics;
+  }
+
+  // ==========================================================================
+
+  /**
+   * Estimates the character statistic and the text line statistic of the
+   * given PDF document from a sample of its pages. The estimation is only an
+   * optimization, so any error is logged, but not thrown (a broken PDF will
+   * be reported by the parser anyway).
+   *
+   * @param pdf
+   *        The PDF document to process.
+   */
+  protected void estimateStatistics(PdfDocument pdf) {
+    if (pdf == null || pdf.getFile() == null) {
+      return;
+    }
+
+    Estimation estimation = new Estimation();
+    try (PDDocument doc = PDDocument.load(pdf.getFile())) {
+      int numPages = doc.getNumberOfPages();
+      int numSamples = Math.min(numPages, MAX_NUM_SAMPLED_PAGES);
+      for (int i = 0; i < numSamples; i++) {
+        // Sample the pages evenly, taking the middle page of each stratum.
+        int pageIndex = (int) ((2L * i + 1) * numPages / (2L * numSamples));
+        try {
+          estimate(doc.getPage(pageIndex), estimation);
+          this.numSampledPages++;
+        } catch (IOException e) {
+          log.warn("Couldn't sample page " + (pageIndex + 1) + ".", e);
+        }
+      }
+    } catch (IOException e) {
+      log.warn("Couldn't estimate the statistics of the PDF.", e);
+      return;
+    }
+
+    pdf.setCharacterStatistic(estimation.characterStatistic);
+    pdf.setTextLineStatistic(estimation.textLineStatistic);
+  }
+
+  /**
+   * Scans the content stream of the given page and adds the glyphs shown in
+   * the page to the given estimation.
+   *
+   * @param page
+   *        The page to scan.
+   * @param estimation
+   *        The estimation to extend.
+   *
+   * @throws IOException
+   *         If the content stream of the page couldn't be read.
+   */
+  protected void estimate(PDPage page, Estimation estimation)
+      throws IOException {
+    estimation.startPage(page.getResources());
+
+    PDFStreamParser parser = new PDFStreamParser(page);
+    List<COSBase> operands = new ArrayList<>();
+    Object token;
+    while ((token = parser.parseNextToken()) != null) {
+      if (token instanceof Operator) {
+        processOperator(((Operator) token).getName(), operands, estimation);
+        operands.clear();
+      } else if (token instanceof COSBase) {
+        operands.add((COSBase) token);
+      }
+    }
+  }
+
+  /**
+   * Processes the given operator of a content stream.
+   *
+   * @param op
+   *        The name of the operator.
+   * @param args
+   *        The operands of the operator.
+   * @param e
+   *        The current estimation.
+   *
+   * @throws IOException
+   *         If a font couldn't be read.
+   */
+  protected void processOperator(String op, List<COSBase> args, Estimation e)
+      throws IOException {
+    GraphicsState gs = e.state;
+    switch (op) {
+      case "q":
+        e.stack.push(gs.copy());
+        break;
+      case "Q":
+        if (!e.stack.isEmpty()) {
+          e.state = e.stack.pop();
+        }
+        break;
+      case "cm":
+        if (args.size() >= 6) {
+          gs.ctm = toMatrix(args).multiply(gs.ctm);
+        }
+        break;
+      case "BT":
+        e.textMatrix = new Matrix();
+        e.textLineMatrix = new Matrix();
+        break;
+      case "Tf":
+        if (args.size() >= 2 && args.get(0) instanceof COSName) {
+          PDResources resources = e.resources;
+          COSName name = (COSName) args.get(0);
+          gs.font = resources != null ? resources.getFont(name) : null;
+          gs.fontSize = toFloat(args.get(1));
+        }
+        break;
+      case "Tz":
+        if (args.size() >= 1) {
+          gs.horizontalScaling = toFloat(args.get(0)) / 100f;
+        }
+        break;
+      case "TL":
+        if (args.size() >= 1) {
+          gs.leading = toFloat(args.get(0));
+        }
+        break;
+      case "Tc":
+        if (args.size() >= 1) {
+          gs.charSpacing = toFloat(args.get(0));
+        }
+        break;
+      case "Tw":
+        if (args.size() >= 1) {
+          gs.wordSpacing = toFloat(args.get(0));
+        }
+        break;
+      case "Td":
+        if (args.size() >= 2) {
+          e.moveText(toFloat(args.get(0)), toFloat(args.get(1)));
+        }
+        break;
+      case "TD":
+        if (args.size() >= 2) {
+          gs.leading = -toFloat(args.get(1));
+          e.moveText(toFloat(args.get(0)), toFloat(args.get(1)));
+        }
+        break;
+      case "T*":
+        e.moveText(0, -gs.leading);
+        break;
+      case "Tm":
+        if (args.size() >= 6) {
+          e.textLineMatrix = toMatrix(args);
+          e.textMatrix = e.textLineMatrix.clone();
+        }
+        break;
+      case "Tj":
+        if (args.size() >= 1 && args.get(0) instanceof COSString) {
+          showText(((COSString) args.get(0)).getBytes(), e);
+        }
+        break;
+      case "'":
+        e.moveText(0, -gs.leading);
+        if (args.size() >= 1 && args.get(0) instanceof COSString) {
+          showText(((COSString) args.get(0)).getBytes(), e);
+        }
+        break;
+      case "\"":
+        if (args.size() >= 3 && args.get(2) instanceof COSString) {
+          gs.wordSpacing = toFloat(args.get(0));
+          gs.charSpacing = toFloat(args.get(1));
+          e.moveText(0, -gs.leading);
+          showText(((COSString) args.get(2)).getBytes(), e);
+        }
+        break;
+      case "TJ":
+        if (args.size() >= 1 && args.get(0) instanceof COSArray) {
+          for (COSBase obj : (COSArray) args.get(0)) {
+            if (obj instanceof COSString) {
+              showText(((COSString) obj).getBytes(), e);
+            } else if (obj instanceof COSNumber && e.textMatrix != null) {
+              float tj = ((COSNumber) obj).floatValue();
+              float tx = -tj / 1000 * gs.fontSize * gs.horizontalScaling;
+              // Many PDFs don't show spaces, but position the words by TJ.
+              if (tx >= MIN_WORD_GAP_WIDTH_RATIO * gs.fontSize) {
+                float scaleX = e.textMatrix.multiply(gs.ctm)
+                    .getScalingFactorX();
+                e.addWhitespace(tx * scaleX);
+              }
+              e.textMatrix.concatenate(Matrix.getTranslateInstance(tx, 0));
+            }
+          }
+        }
+        break;
+      default:
+        break;
+    }
+  }
+
+  /**
+   * Adds the glyphs of the given string to the given estimation and advances
+   * the text matrix.
+   *
+   * @param bytes
+   *        The bytes of the string to show.
+   * @param e
+   *        The current estimation.
+   *
+   * @throws IOException
+   *         If the glyphs couldn't be read from the font.
+   */
+  protected void showText(byte[] bytes, Estimation e) throws IOException {
+    GraphicsState gs = e.state;
+    PDFont pdFont = gs.font;
+    if (pdFont == null || e.textMatrix == null) {
+      return;
+    }
+
+    float fontSize = PdfActUtils.round(gs.fontSize, FLOATING_NUMBER_PRECISION);
+    FontFace fontFace = this.fontFaceConverter.convert(
+        this.fontConverter.convert(pdFont), fontSize);
+    float glyphScaleY = pdFont.getFontMatrix().getScaleY();
+
+    boolean isFirstGlyph = true;
+    try (InputStream in = new ByteArrayInputStream(bytes)) {
+      while (in.available() > 0) {
+        int before = in.available();
+        int code = pdFont.readCode(in);
+        boolean isSpace = before - in.available() == 1 && code == 32;
+
+        Matrix trm = e.textMatrix.multiply(gs.ctm);
+        float scaleX = trm.getScalingFactorX();
+        float scaleY = trm.getScalingFactorY();
+        float minX = trm.getTranslateX();
+        float minY = trm.getTranslateY();
+
+        if (isFirstGlyph) {
+          e.addBaseline(fontFace, minY);
+          isFirstGlyph = false;
+        }
+
+        // The displacement of the glyph, in text space.
+        float displacement = pdFont.getDisplacement(code).getX();
+        float wordSpacing = isSpace ? gs.wordSpacing : 0;
+        float width = displacement * gs.fontSize * gs.horizontalScaling
+            * scaleX;
+        float height = pdFont.getHeight(code) * glyphScaleY * gs.fontSize
+            * scaleY;
+        e.addGlyph(fontFace, minX, minY, width, height);
+        if (isSpace) {
+          e.addWhitespace(width + wordSpacing * gs.horizontalScaling * scaleX);
+        }
+        this.numSampledGlyphs++;
+
+        // Advance the text matrix.
+        float tx = (displacement * gs.fontSize + gs.charSpacing + wordSpacing)
+            * gs.horizontalScaling;
+        e.textMatrix.concatenate(Matrix.getTranslateInstance(tx, 0));
+      }
+    }
+  }
+
+  // ==========================================================================
+
+  /**
+   * Returns the float value of the given operand.
+   *
+   * @param operand
+   *        The operand to process.
+   *
+   * @return The float value of the operand or 0 if the operand is not a
+   *         number.
+   */
+  protected static float toFloat(COSBase operand) {
+    if (operand instanceof COSNumber) {
+      return ((COSNumber) operand).floatValue();
+    }
+    return 0;
+  }
+
+  /**
+   * Creates a matrix from the first six operands of the given list.
+   *
+   * @param args
+   *        The operands to process.
+   *
+   * @return The created matrix.
+   */
+  protected static Matrix toMatrix(List<COSBase> args) {
+    return new Matrix(toFloat(args.get(0)), toFloat(args.get(1)),
+        toFloat(args.get(2)), toFloat(args.get(3)), toFloat(args.get(4)),
+        toFloat(args.get(5)));
+  }
+
+  // ==========================================================================
+
+  /**
+   * The parameters of the graphics state that are relevant for the
+   * estimation.
+   *
+   * @author Claudius Korzen
+   */
+  protected static class GraphicsState {
+    /**
+     * The current transformation matrix.
+     */
+    protected Matrix ctm = new Matrix();
+
+    /**
+     * The current font.
+     */
+    protected PDFont font;
+
+    /**
+     * The current font size.
+     */
+    protected float fontSize;
+
+    /**
+     * The current horizontal scaling (1 = 100%).
+     */
+    protected float horizontalScaling = 1;
+
+    /**
+     * The current leading.
+     */
+    protected float leading;
+
+    /**
+     * The current character spacing.
+     */
+    protected float charSpacing;
+
+    /**
+     * The current word spacing.
+     */
+    protected float wordSpacing;
+
+    /**
+     * Creates a copy of this graphics state.
+     *
+     * @return The copy.
+     */
+    protected GraphicsState copy() {
+      GraphicsState copy = new GraphicsState();
+      copy.ctm = this.ctm.clone();
+      copy.font = this.font;
+      copy.fontSize = this.fontSize;
+      copy.horizontalScaling = this.horizontalScaling;
+      copy.leading = this.leading;
+      copy.charSpacing = this.charSpacing;
+      copy.wordSpacing = this.wordSpacing;
+      return copy;
+    }
+  }
+
+  /**
+   * The state of an estimation, that is: the state of the currently scanned
+   * content stream and the statistics estimated so far.
+   *
+   * @author Claudius Korzen
+   */
+  protected class Estimation {
+    /**
+     * The resources of the current page.
+     */
+    protected PDResources resources;
+
+    /**
+     * The current graphics state.
+     */
+    protected GraphicsState state = new GraphicsState();
+
+    /**
+     * The saved graphics states.
+     */
+    protected Deque<GraphicsState> stack = new ArrayDeque<>();
+
+    /**
+     * The current text matrix, or null if outside of a text object.
+     */
+    protected Matrix textMatrix;
+
+    /**
+     * The current text line matrix, or null if outside of a text object.
+     */
+    protected Matrix textLineMatrix;
+
+    /**
+     * The font face of the previous text showing operator.
+     */
+    protected FontFace prevFontFace;
+
+    /**
+     * The baseline of the previous text showing operator.
+     */
+    protected float prevBaseline = Float.NaN;
+
+    /**
+     * The estimated character statistic.
+     */
+    protected CharacterStatistic characterStatistic;
+
+    /**
+     * The estimated text line statistic.
+     */
+    protected TextLineStatistic textLineStatistic;
+
+    /**
+     * Creates a new, empty estimation.
+     */
+    protected Estimation() {
+      CharacterStatistic cs = characterStatisticFactory.create();
+      cs.setHeightFrequencies(floatCounterFactory.create());
+      cs.setWidthFrequencies(floatCounterFactory.create());
+      cs.setFontSizeFrequencies(floatCounterFactory.create());
+      cs.setFontFaceFrequencies(fontFaceCounterFactory.create());
+      cs.setColorFrequencies(colorCounterFactory.create());
+      this.characterStatistic = cs;
+
+      TextLineStatistic ts = textLineStatisticFactory.create();
+      ts.setLinePitchFrequencies(new HashMap<>());
+      ts.setWhitespaceWidthFrequencies(floatCounterFactory.create());
+      this.textLineStatistic = ts;
+    }
+
+    /**
+     * Resets the state of the content stream to scan the next page.
+     *
+     * @param resources
+     *        The resources of the next page.
+     */
+    protected void startPage(PDResources resources) {
+      this.resources = resources;
+      this.state = new GraphicsState();
+      this.stack.clear();
+      this.textMatrix = null;
+      this.textLineMatrix = null;
+      this.prevFontFace = null;
+      this.prevBaseline = Float.NaN;
+    }
+
+    /**
+     * Moves to the start of the next line, offset by the given values.
+     *
+     * @param tx
+     *        The horizontal offset.
+     * @param ty
+     *        The vertical offset.
+     */
+    protected void moveText(float tx, float ty) {
+      if (this.textLineMatrix == null) {
+        return;
+      }
+      this.textLineMatrix.concatenate(Matrix.getTranslateInstance(tx, ty));
+      this.textMatrix = this.textLineMatrix.clone();
+    }
+
+    /**
+     * Adds a glyph to the estimated character statistic.
+     *
+     * @param fontFace
+     *        The font face of the glyph.
+     * @param minX
+     *        The minX value of the glyph.
+     * @param minY
+     *        The minY value of the glyph.
+     * @param width
+     *        The width of the glyph.
+     * @param height
+     *        The height of the glyph.
+     */
+    protected void addGlyph(FontFace fontFace, float minX, float minY,
+        float width, float height) {
+      CharacterStatistic cs = this.characterStatistic;
+      cs.getWidthFrequencies().add(round(Math.abs(width)));
+      cs.getHeightFrequencies().add(round(Math.abs(height)));
+      cs.getFontFaceFrequencies().add(fontFace);
+      cs.getFontSizeFrequencies().add(fontFace.getFontSize());
+      cs.setSmallestMinX(Math.min(cs.getSmallestMinX(), minX));
+      cs.setSmallestMinY(Math.min(cs.getSmallestMinY(), minY));
+      cs.setLargestMaxX(Math.max(cs.getLargestMaxX(), minX + width));
+      cs.setLargestMaxY(Math.max(cs.getLargestMaxY(), minY + height));
+    }
+
+    /**
+     * Adds the baseline of a text showing operator. If the font face is the
+     * same as in the previous text showing operator, but the baseline
+     * differs, the difference is added as a line pitch of the font face.
+     *
+     * @param fontFace
+     *        The font face of the text showing operator.
+     * @param baseline
+     *        The baseline of the text showing operator.
+     */
+    protected void addBaseline(FontFace fontFace, float baseline) {
+      if (fontFace == this.prevFontFace && !Float.isNaN(this.prevBaseline)) {
+        float linePitch = round(Math.abs(baseline - this.prevBaseline));
+        if (linePitch > 0) {
+          Map<FontFace, FloatCounter> linePitches =
+              this.textLineStatistic.getLinePitchFrequencies();
+          FloatCounter counter = linePitches.get(fontFace);
+          if (counter == null) {
+            counter = floatCounterFactory.create();
+            linePitches.put(fontFace, counter);
+          }
+          counter.add(linePitch);
+        }
+      }
+      this.prevFontFace = fontFace;
+      this.prevBaseline = baseline;
+    }
+
+    /**
+     * Adds the width of a whitespace to the estimated text line statistic.
+     *
+     * @param width
+     *        The width of the whitespace.
+     */
+    protected void addWhitespace(float width) {
+      this.textLineStatistic.getWhitespaceWidthFrequencies().add(round(width));
+    }
+
+    /**
+     * Rounds the given value to the precision of the parsed characters.
+     *
+     * @param value
+     *        The value to round.
+     *
+     * @return The rounded value.
+     */
+    protected float round(float value) {
+      return PdfActUtils.round(value, FLOATING_NUMBER_PRECISION);
+    }
+  }
+}
@@ -1,6 +1,8 @@
 package pdfact.core.pipes.filter.characters;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.log4j.Logger;
 
@@ -13,13 +15,16 @@ import pdfact.core.util.exception.PdfActException;
 import pdfact.core.util.list.ElementList;
 import pdfact.core.util.list.ElementList.ElementListFactory;
 import pdfact.core.util.log.InjectLogger;
+import pdfact.core.util.pipeline.HasMetrics;
+import pdfact.core.util.pipeline.PageMeter;
 
 /**
  * A plain implementation of {@link FilterCharactersPipe}.
  * 
  * @author Claudius Korzen
  */
-public class PlainFilterCharactersPipe implements FilterCharactersPipe {
+public class PlainFilterCharactersPipe
+    implements FilterCharactersPipe, HasMetrics {
   /**
    * The logger.
    */
@@ -73,6 +78,16 @@ public class PlainFilterCharactersPipe implements FilterCharactersPipe {
 
   // ==========================================================================
 
+  @Override
+  public Map<String, Long> getMetrics() {
+    Map<String, Long> metrics = new LinkedHashMap<>();
+    metrics.put("numProcessedCharacters", (long) this.numProcessedCharacters);
+    metrics.put("numFilteredCharacters", (long) this.numFilteredCharacters);
+    return metrics;
+  }
+
+  // ==========================================================================
+
   /**
    * Filters those characters of a PDF document that should not be considered.
    * 
@@ -83,6 +98,7 @@ public class PlainFilterCharactersPipe implements FilterCharactersPipe {
     if (pdf != null) {
       List<Page> pages = pdf.getPages();
       for (Page page : pages) {
+        PageMeter.startPage(page.getPageNumber());
         ElementList<Character> before = page.getCharacters();
         // Create a new list of characters which should not be filtered.
         ElementList<Character> after =
@@ -99,6 +115,7 @@ public class PlainFilterCharactersPipe implements FilterCharactersPipe {
         }
         page.setCharacters(after);
       }
+      PageMeter.stopPage();
     }
   }
 
@@ -1,6 +1,8 @@
 package pdfact.core.pipes.filter.figures;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.log4j.Logger;
 
@@ -13,13 +15,15 @@ import pdfact.core.util.exception.PdfActException;
 import pdfact.core.util.list.ElementList;
 import pdfact.core.util.list.ElementList.ElementListFactory;
 import pdfact.core.util.log.InjectLogger;
+import pdfact.core.util.pipeline.HasMetrics;
+import pdfact.core.util.pipeline.PageMeter;
 
 /**
  * A plain implementation of {@link FilterFiguresPipe}.
  * 
  * @author Claudius Korzen
  */
-public class PlainFilterFiguresPipe implements FilterFiguresPipe {
+public class PlainFilterFiguresPipe implements FilterFiguresPipe, HasMetrics {
   /**
    * The logger.
    */
@@ -72,6 +76,28 @@ public class PlainFilterFiguresPipe implements FilterFiguresPipe {
 
   // ==========================================================================
 
+  @Override
+  public Map<String, Long> getMetrics() {
+    Map<String, Long> metrics = new LinkedHashMap<>();
+    metrics.put("numProcessedFigures", (long) this.numProcessedFigures);
+    metrics.put("numFilteredFigures", (long) this.numFilteredFigures);
+    return metrics;
+  }
+
+  // ==========================================================================
+
+  @Override
+  public void executePage(PdfDocument pdf, Page page) {
+    filterFigures(page);
+  }
+
+  @Override
+  public void completeDocument(PdfDocument pdf) {
+    // Nothing to do, there are no document-wide results.
+  }
+
+  // ==========================================================================
+
   /**
    * Filters those figures of a PDF document that should not be considered.
    * 
@@ -82,23 +108,34 @@ public class PlainFilterFiguresPipe implements FilterFiguresPipe {
     if (pdf != null) {
       List<Page> pages = pdf.getPages();
       for (Page page : pages) {
-        ElementList<Figure> before = page.getFigures();
-        // Create a new list of figures which should not be filtered.
-        ElementList<Figure> after =
-            this.figureListFactory.create(before.size());
-        for (Figure figure : before) {
-          this.numProcessedFigures++;
-
-          if (isFilterFigure(figure)) {
-            this.numFilteredFigures++;
-            continue;
-          }
-
-          after.add(figure);
-        }
-        page.setFigures(after);
+        PageMeter.startPage(page.getPageNumber());
+        filterFigures(page);
+      }
+      PageMeter.stopPage();
+    }
+  }
+
+  /**
+   * Filters those figures of the given page that should not be considered.
+   * 
+   * @param page
+   *        The page to process.
+   */
+  protected void filterFigures(Page page) {
+    ElementList<Figure> before = page.getFigures();
+    // Create a new list of figures which should not be filtered.
+    ElementList<Figure> after = this.figureListFactory.create(before.size());
+    for (Figure figure : before) {
+      this.numProcessedFigures++;
+
+      if (isFilterFigure(figure)) {
+        this.numFilteredFigures++;
+        continue;
       }
+
+      after.add(figure);
     }
+    page.setFigures(after);
   }
 
   /**
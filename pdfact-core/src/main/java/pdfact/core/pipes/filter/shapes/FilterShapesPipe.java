@@ -1,6 +1,6 @@
 package pdfact.core.pipes.filter.shapes;
 
-import pdfact.core.util.pipeline.Pipe;
+import pdfact.core.util.pipeline.PagePipe;
 
 /**
  * A pipe that filters those shapes of a PDF document that should not be
@@ -8,7 +8,7 @@ import pdfact.core.util.pipeline.Pipe;
  * 
  * @author Claudius Korzen
  */
-public interface FilterShapesPipe extends Pipe {
+public interface FilterShapesPipe extends PagePipe {
   /**
    * The factory to create instances of {@link FilterShapesPipe}.
    * 
@@ -1,6 +1,8 @@
 package pdfact.core.pipes.filter.shapes;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.log4j.Logger;
 
@@ -13,13 +15,15 @@ import pdfact.core.util.exception.PdfActException;
 import pdfact.core.util.list.ElementList;
 import pdfact.core.util.list.ElementList.ElementListFactory;
 import pdfact.core.util.log.InjectLogger;
+import pdfact.core.util.pipeline.HasMetrics;
+import pdfact.core.util.pipeline.PageMeter;
 
 /**
  * A plain implementation of {@link FilterShapesPipe}.
  * 
  * @author Claudius Korzen
  */
-public class PlainFilterShapesPipe implements FilterShapesPipe {
+public class PlainFilterShapesPipe implements FilterShapesPipe, HasMetrics {
   /**
    * The logger.
    */
@@ -73,6 +77,28 @@ public class PlainFilterShapesPipe implements FilterShapesPipe {
 
   // ==========================================================================
 
+  @Override
+  public Map<String, Long> getMetrics() {
+    Map<String, Long> metrics = new LinkedHashMap<>();
+    metrics.put("numProcessedShapes", (long) this.numProcessedShapes);
+    metrics.put("numFilteredShapes", (long) this.numFilteredShapes);
+    return metrics;
+  }
+
+  // ==========================================================================
+
+  @Override
+  public void executePage(PdfDocument pdf, Page page) {
+    filterShapes(page);
+  }
+
+  @Override
+  public void completeDocument(PdfDocument pdf) {
+    // Nothing to do, there are no document-wide results.
+  }
+
+  // ==========================================================================
+
   /**
    * Filters those shapes of a PDF document that should not be considered.
    * 
@@ -83,22 +109,34 @@ public class PlainFilterShapesPipe implements FilterShapesPipe {
     if (pdf != null) {
       List<Page> pages = pdf.getPages();
       for (Page page : pages) {
-        ElementList<Shape> before = page.getShapes();
-        // Create a new list of shapes which should not be filtered.
-        ElementList<Shape> after = this.shapeListFactory.create(before.size());
-        for (Shape shape : before) {
-          this.numProcessedShapes++;
-
-          if (isFilterShape(shape)) {
-            this.numFilteredShapes++;
-            continue;
-          }
-
-          after.add(shape);
-        }
-        page.setShapes(after);
+        PageMeter.startPage(page.getPageNumber());
+        filterShapes(page);
+      }
+      PageMeter.stopPage();
+    }
+  }
+
+  /**
+   * Filters those shapes of the given page that should not be considered.
+   * 
+   * @param page
+   *        The page to process.
+   */
+  protected void filterShapes(Page page) {
+    ElementList<Shape> before = page.getShapes();
+    // Create a new list of shapes which should not be filtered.
+    ElementList<Shape> after = this.shapeListFactory.create(before.size());
+    for (Shape shape : before) {
+      this.numProcessedShapes++;
+
+      if (isFilterShape(shape)) {
+        this.numFilteredShapes++;
+        continue;
       }
+
+      after.add(shape);
     }
+    page.setShapes(after);
   }
 
   /**
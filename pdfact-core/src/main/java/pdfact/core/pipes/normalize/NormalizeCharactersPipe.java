@@ -0,0 +1,29 @@
+package pdfact.core.pipes.normalize;
+
+import pdfact.core.util.pipeline.PagePipe;
+
+/**
+ * A pipe that normalizes the characters of a PDF document in a single pass:
+ * it merges diacritics with their base characters, splits ligatures,
+ * standardizes characters with synonyms and filters the characters to ignore.
+ * The result is the same as the result of executing the MergeDiacriticsPipe,
+ * the SplitLigaturesPipe, the StandardizeCharactersPipe and the
+ * FilterCharactersPipe one after another.
+ * 
+ * @author Claudius Korzen
+ */
+public interface NormalizeCharactersPipe extends PagePipe {
+  /**
+   * The factory to create instances of {@link NormalizeCharactersPipe}.
+   * 
+   * @author Claudius Korzen
+   */
+  public interface NormalizeCharactersPipeFactory {
+    /**
+     * Creates a new {@link NormalizeCharactersPipe}.
+     * 
+     * @return An instance of {@link NormalizeCharactersPipe}.
+     */
+    NormalizeCharactersPipe create();
+  }
+}
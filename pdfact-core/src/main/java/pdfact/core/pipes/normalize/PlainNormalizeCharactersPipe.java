@@ -0,0 +1,247 @@
+package pdfact.core.pipes.normalize;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+
+import com.google.inject.Inject;
+
+import pdfact.core.model.Character;
+import pdfact.core.model.Page;
+import pdfact.core.model.PdfDocument;
+import pdfact.core.pipes.filter.characters.PlainFilterCharactersPipe;
+import pdfact.core.pipes.translate.diacritics.MergeDiacriticsPipe;
+import pdfact.core.pipes.translate.diacritics.MergeDiacriticsPipe.MergeDiacriticsPipeFactory;
+import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.lexicon.CharacterLexicon;
+import pdfact.core.util.list.ElementList;
+import pdfact.core.util.list.ElementList.ElementListFactory;
+import pdfact.core.util.log.InjectLogger;
+import pdfact.core.util.pipeline.HasMetrics;
+import pdfact.core.util.pipeline.PageMeter;
+
+/**
+ * A plain implementation of {@link NormalizeCharactersPipe}.
+ *
+ * The characters of a page are scanned once, in extraction order. A diacritic
+ * is merged with its previous or next character (as chosen by the
+ * MergeDiacriticsPipe) and dropped. Since a diacritic can only be merged with
+ * one of its direct neighbors, a character is final as soon as its next
+ * character was scanned. At this point, its ligature is split, its text is
+ * standardized and it is either filtered or appended to the new list of
+ * characters of the page.
+ *
+ * @author Claudius Korzen
+ */
+public class PlainNormalizeCharactersPipe
+    implements NormalizeCharactersPipe, HasMetrics {
+  /**
+   * The logger.
+   */
+  @InjectLogger
+  protected static Logger log;
+
+  /**
+   * The factory to create lists of characters.
+   */
+  protected ElementListFactory<Character> characterListFactory;
+
+  /**
+   * The pipe to merge diacritics with their base characters.
+   */
+  protected MergeDiacriticsPipe mergeDiacriticsPipe;
+
+  /**
+   * The number of processed characters.
+   */
+  protected int numProcessedCharacters;
+
+  /**
+   * The number of merged diacritics.
+   */
+  protected int numMergedDiacritics;
+
+  /**
+   * The number of split ligatures.
+   */
+  protected int numSplitLigatures;
+
+  /**
+   * The number of standardized characters.
+   */
+  protected int numStandardizedCharacters;
+
+  /**
+   * The number of filtered characters.
+   */
+  protected int numFilteredCharacters;
+
+  /**
+   * Creates a new pipe that normalizes characters.
+   *
+   * @param characterListFactory
+   *        The factory to create lists of characters.
+   * @param mergeDiacriticsPipeFactory
+   *        The factory to create the pipe that merges diacritics.
+   */
+  @Inject
+  public PlainNormalizeCharactersPipe(
+      ElementListFactory<Character> characterListFactory,
+      MergeDiacriticsPipeFactory mergeDiacriticsPipeFactory) {
+    this.characterListFactory = characterListFactory;
+    this.mergeDiacriticsPipe = mergeDiacriticsPipeFactory.create();
+  }
+
+  // ==========================================================================
+
+  @Override
+  public PdfDocument execute(PdfDocument pdf) throws PdfActException {
+    log.debug("Start of pipe: " + getClass().getSimpleName() + ".");
+
+    log.debug("Process: Normalizing the characters.");
+    normalizeCharacters(pdf);
+
+    log.debug("Normalizing the characters done.");
+    log.debug("# processed characters: " + this.numProcessedCharacters);
+    log.debug("# merged diacritics: " + this.numMergedDiacritics);
+    log.debug("# split ligatures: " + this.numSplitLigatures);
+    log.debug("# standardized characters: " + this.numStandardizedCharacters);
+    log.debug("# filtered characters: " + this.numFilteredCharacters);
+
+    log.debug("End of pipe: " + getClass().getSimpleName() + ".");
+    return pdf;
+  }
+
+  // ==========================================================================
+
+  @Override
+  public Map<String, Long> getMetrics() {
+    Map<String, Long> metrics = new LinkedHashMap<>();
+    metrics.put("numProcessedCharacters", (long) this.numProcessedCharacters);
+    metrics.put("numMergedDiacritics", (long) this.numMergedDiacritics);
+    metrics.put("numSplitLigatures", (long) this.numSplitLigatures);
+    metrics.put("numStandardizedCharacters",
+        (long) this.numStandardizedCharacters);
+    metrics.put("numFilteredCharacters", (long) this.numFilteredCharacters);
+    return metrics;
+  }
+
+  // ==========================================================================
+
+  @Override
+  public void executePage(PdfDocument pdf, Page page) {
+    normalizeCharacters(page);
+  }
+
+  @Override
+  public void completeDocument(PdfDocument pdf) {
+    // Nothing to do, there are no document-wide results.
+  }
+
+  // ==========================================================================
+
+  /**
+   * Normalizes the characters in the pages of the given PDF document.
+   *
+   * @param pdf
+   *        The PDF document to process.
+   */
+  protected void normalizeCharacters(PdfDocument pdf) {
+    if (pdf == null) {
+      return;
+    }
+
+    List<Page> pages = pdf.getPages();
+    if (pages == null) {
+      return;
+    }
+
+    for (Page page : pages) {
+      normalizeCharacters(page);
+    }
+    PageMeter.stopPage();
+  }
+
+  /**
+   * Normalizes the characters of the given page.
+   *
+   * @param page
+   *        The page to process.
+   */
+  protected void normalizeCharacters(Page page) {
+    if (page == null) {
+      return;
+    }
+    PageMeter.startPage(page.getPageNumber());
+
+    ElementList<Character> before = page.getCharacters();
+    if (before == null) {
+      return;
+    }
+
+    int size = before.size();
+    ElementList<Character> after = this.characterListFactory.create(size);
+    boolean isPrevDiacritic = false;
+    for (int i = 0; i < size; i++) {
+      Character character = before.get(i);
+
+      boolean isDiacritic = CharacterLexicon.isDiacritic(character);
+      if (isDiacritic) {
+        Character prev = i > 0 ? before.get(i - 1) : null;
+        Character next = i < size - 1 ? before.get(i + 1) : null;
+        this.mergeDiacriticsPipe.mergeDiacritic(prev, character, next);
+        this.numMergedDiacritics++;
+      }
+
+      // No diacritic can be merged with the previous character anymore.
+      if (i > 0 && !isPrevDiacritic) {
+        normalizeCharacter(before.get(i - 1), after);
+      }
+      isPrevDiacritic = isDiacritic;
+      this.numProcessedCharacters++;
+    }
+
+    // Don't forget the last character.
+    if (size > 0 && !isPrevDiacritic) {
+      normalizeCharacter(before.get(size - 1), after);
+    }
+
+    page.setCharacters(after);
+  }
+
+  /**
+   * Splits the ligature of the given character, standardizes its text and
+   * appends it to the given list, if it shouldn't be filtered.
+   *
+   * @param character
+   *        The character to process.
+   * @param result
+   *        The list to which the character should be appended.
+   */
+  protected void normalizeCharacter(Character character,
+      ElementList<Character> result) {
+    if (character != null) {
+      String ligature = CharacterLexicon.getLigatureCharacters(
+          character.getText());
+      if (ligature != null) {
+        character.setText(ligature);
+        this.numSplitLigatures++;
+      }
+
+      String synonym = CharacterLexicon.getCharacterSynonym(
+          character.getText());
+      if (synonym != null) {
+        character.setText(synonym);
+        this.numStandardizedCharacters++;
+      }
+    }
+
+    if (PlainFilterCharactersPipe.isFilterCharacter(character)) {
+      this.numFilteredCharacters++;
+      return;
+    }
+    result.add(character);
+  }
+}
@@ -1,6 +1,6 @@
 package pdfact.core.pipes.parse;
 
-import pdfact.core.util.pipeline.Pipe;
+import pdfact.core.util.pipeline.PageSourcePipe;
 
 /**
  * A pipe that parses the streams of a PDF file for characters, figures and
@@ -8,7 +8,7 @@ import pdfact.core.util.pipeline.Pipe;
  * 
  * @author Claudius Korzen
  */
-public interface ParsePdfStreamsPipe extends Pipe {
+public interface ParsePdfStreamsPipe extends PageSourcePipe {
   /**
    * The factory to create instances of {@link ParsePdfStreamsPipe}.
    * 
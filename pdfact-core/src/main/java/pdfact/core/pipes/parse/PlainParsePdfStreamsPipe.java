@@ -5,9 +5,11 @@ import org.apache.log4j.Logger;
 import com.google.inject.assistedinject.AssistedInject;
 
 import pdfact.core.model.PdfDocument;
+import pdfact.core.pipes.parse.stream.PdfStreamsParser;
 import pdfact.core.pipes.parse.stream.PdfStreamsParser.PdfStreamsParserFactory;
 import pdfact.core.util.exception.PdfActException;
 import pdfact.core.util.log.InjectLogger;
+import pdfact.core.util.pipeline.PageConsumer;
 
 /**
  * A plain implementation of {@link ParsePdfStreamsPipe}.
@@ -26,6 +28,12 @@ public class PlainParsePdfStreamsPipe implements ParsePdfStreamsPipe {
    */
   protected PdfStreamsParserFactory factory;
 
+  /**
+   * The parser of the document whose pages are parsed but which is not
+   * completed yet.
+   */
+  protected PdfStreamsParser parser;
+
   /**
    * Creates a new pipe that parses the streams of a PDF file for characters,
    * figures and shapes.
@@ -64,4 +72,23 @@ public class PlainParsePdfStreamsPipe implements ParsePdfStreamsPipe {
   protected void parsePdf(PdfDocument pdf) throws PdfActException {
     this.factory.create().parse(pdf);
   }
+
+  // ==========================================================================
+
+  @Override
+  public void executePages(PdfDocument pdf, PageConsumer consumer)
+      throws PdfActException {
+    log.debug("Process: Parsing the pages of the PDF.");
+    this.parser = this.factory.create();
+    this.parser.parsePages(pdf, consumer);
+    log.debug("Parsing the pages of the PDF done.");
+  }
+
+  @Override
+  public void completeDocument(PdfDocument pdf) throws PdfActException {
+    if (this.parser != null) {
+      this.parser.completeDocument(pdf);
+      this.parser = null;
+    }
+  }
 }
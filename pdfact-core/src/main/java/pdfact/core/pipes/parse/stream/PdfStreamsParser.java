@@ -2,6 +2,7 @@ package pdfact.core.pipes.parse.stream;
 
 import pdfact.core.model.PdfDocument;
 import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.pipeline.PageConsumer;
 
 /**
  * A parser that parses the streams of a PDF file.
@@ -22,6 +23,33 @@ public interface PdfStreamsParser {
    */
   void parse(PdfDocument pdf) throws PdfActException;
 
+  /**
+   * Parses the streams of the given PDF document page by page and passes each
+   * page to the given consumer as soon as it was parsed. The statistics of
+   * the whole document are not computed before
+   * {@link #completeDocument(PdfDocument)} is called.
+   * 
+   * @param pdf
+   *        The PDF document to parse.
+   * @param consumer
+   *        The consumer of the parsed pages (or null).
+   *
+   * @throws PdfActException
+   *         If something went wrong while parsing the PDF or if the consumer
+   *         failed.
+   */
+  void parsePages(PdfDocument pdf, PageConsumer consumer)
+      throws PdfActException;
+
+  /**
+   * Computes the statistics of the whole document after all pages were parsed
+   * by {@link #parsePages(PdfDocument, PageConsumer)}.
+   * 
+   * @param pdf
+   *        The parsed PDF document.
+   */
+  void completeDocument(PdfDocument pdf);
+
   // ==========================================================================
 
   /**
@@ -25,6 +25,7 @@ import org.apache.pdfbox.util.Matrix;
 import com.google.inject.Inject;
 
 import pdfact.core.model.Character;
+import pdfact.core.model.CharacterStatistic;
 import pdfact.core.model.Figure;
 import pdfact.core.model.Page;
 import pdfact.core.model.Page.PageFactory;
@@ -36,7 +37,14 @@ import pdfact.core.pipes.parse.stream.PdfStreamsParser;
 import pdfact.core.pipes.parse.stream.pdfbox.operators.OperatorProcessor;
 import pdfact.core.util.exception.PdfActException;
 import pdfact.core.util.exception.PdfActParseException;
+import pdfact.core.util.jfr.FlightRecorder;
+import pdfact.core.util.jfr.FlightRecorders;
 import pdfact.core.util.log.InjectLogger;
+import pdfact.core.util.pipeline.CancellationToken;
+import pdfact.core.util.pipeline.PageConsumer;
+import pdfact.core.util.pipeline.PageMeter;
+import pdfact.core.util.statistician.CharacterStatisticAccumulator;
+import pdfact.core.util.statistician.CharacterStatisticAccumulator.CharacterStatisticAccumulatorFactory;
 import pdfact.core.util.statistician.CharacterStatistician;
 
 // TODO: Refactor all the PDFBox utils (remove unnecessary stuff).
@@ -69,6 +77,17 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
    */
   protected CharacterStatistician statistician;
 
+  /**
+   * The factory to create accumulators of character statistics.
+   */
+  protected CharacterStatisticAccumulatorFactory accumulatorFactory;
+
+  /**
+   * The accumulator that combines the character statistics of the pages to
+   * the character statistic of the document.
+   */
+  protected CharacterStatisticAccumulator pdfStatistic;
+
   /**
    * The current page in the PDF file.
    */
@@ -150,6 +169,16 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
    */
   protected int numShapes;
 
+  /**
+   * The number of operators processed on the current page.
+   */
+  protected int numPageOperators;
+
+  /**
+   * The number of Type3 glyph procedures processed on the current page.
+   */
+  protected int numPageType3Invocations;
+
   /**
    * Creates a new stream engine.
    * 
@@ -159,16 +188,20 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
    *        The operator processors to investigate on parsing.
    * @param statistician
    *        The statistician to compute statistics about characters.
+   * @param accumulatorFactory
+   *        The factory to create accumulators of character statistics.
    */
   @Inject
   public PdfBoxPdfStreamsParser(PageFactory pageFactory,
-      Set<OperatorProcessor> operators, CharacterStatistician statistician) {
+      Set<OperatorProcessor> operators, CharacterStatistician statistician,
+      CharacterStatisticAccumulatorFactory accumulatorFactory) {
     this.pageFactory = pageFactory;
     this.operatorProcessors = new HashMap<>();
     for (OperatorProcessor operator : operators) {
       this.operatorProcessors.put(operator.getName(), operator);
     }
     this.statistician = statistician;
+    this.accumulatorFactory = accumulatorFactory;
     this.graphicsStack = new Stack<PDGraphicsState>();
     this.linePath = new GeneralPath();
   }
@@ -178,6 +211,13 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
 
   @Override
   public void parse(PdfDocument pdf) throws PdfActException {
+    parsePages(pdf, null);
+    completeDocument(pdf);
+  }
+
+  @Override
+  public void parsePages(PdfDocument pdf, PageConsumer consumer)
+      throws PdfActException {
     log.debug("Parsing the streams of the PDF file.");
     try (PDDocument doc = PDDocument.load(pdf.getFile())) {
       int numProcessors = this.operatorProcessors.size();
@@ -185,9 +225,14 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
 
       handlePdfFileStart(pdf);
       for (int i = 0; i < doc.getPages().getCount(); i++) {
-        processPage(pdf, doc.getPages().get(i), i + 1);
+        CancellationToken.checkCurrent();
+        PageMeter.startPage(i + 1);
+        Page page = processPage(pdf, doc.getPages().get(i), i + 1);
+        if (consumer != null) {
+          consumer.accept(page);
+        }
       }
-      handlePdfFileEnd(pdf);
+      PageMeter.stopPage();
 
       log.debug("Parsing the streams of the PDF file done.");
       log.debug("# extracted pages: " + this.numPages);
@@ -199,6 +244,11 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
     }
   }
 
+  @Override
+  public void completeDocument(PdfDocument pdf) {
+    handlePdfFileEnd(pdf);
+  }
+
   /**
    * Processes the given page.
    * 
@@ -208,10 +258,11 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
    *        The page to process
    * @param pageNum
    *        The number of the page in the PDF document.
+   * @return The parsed page.
    * @throws IOException
    *         If something went wrong while parsing the page.
    */
-  protected void processPage(PdfDocument pdf, PDPage page, int pageNum)
+  protected Page processPage(PdfDocument pdf, PDPage page, int pageNum)
       throws IOException {
     this.page = page;
     this.graphicsStack.clear();
@@ -226,12 +277,24 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
     this.clippingWindingRule = -1;
     this.currentType3GlyphBoundingBox = null;
     this.isType3Stream = false;
+    this.numPageOperators = 0;
+    this.numPageType3Invocations = 0;
 
     Page pdfPage = this.pageFactory.create(pageNum);
 
+    FlightRecorder recorder = FlightRecorders.get();
+    Object event = recorder.beginPage();
+    int numCharactersBefore = this.numCharacters;
+    int numShapesBefore = this.numShapes;
+
     handlePdfPageStart(pdf, pdfPage);
     processStream(pdf, pdfPage, page);
     handlePdfPageEnd(pdf, pdfPage);
+
+    recorder.endPage(event, pageNum, this.numPageOperators,
+        this.numCharacters - numCharactersBefore,
+        this.numShapes - numShapesBefore, this.numPageType3Invocations);
+    return pdfPage;
   }
 
   /**
@@ -285,6 +348,7 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
    */
   public void processType3Stream(PdfDocument pdf, Page page,
       PDType3CharProc proc, Matrix trm) throws IOException {
+    this.numPageType3Invocations++;
     PDResources parent = pushResources(proc);
     Stack<PDGraphicsState> savedStack = saveGraphicsStack();
 
@@ -382,14 +446,18 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
     OperatorProcessor processor = this.operatorProcessors.get(op.getName());
 
     log.trace("Processing PDF operator: " + op + "; args: " + args);
+    this.numPageOperators++;
 
     if (processor != null) {
+      FlightRecorder recorder = FlightRecorders.get();
+      Object event = recorder.beginOperator();
       try {
         processor.setStreamEngine(this);
         processor.process(pdf, page, op, args);
       } catch (IOException e) {
         log.warn("Error on processing operator '" + op + "'. ", e);
       }
+      recorder.endOperator(event, op.getName(), page.getPageNumber());
     } else {
       log.trace("Unsupported operator: " + op + "; args: " + args);
     }
@@ -732,7 +800,7 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
    *        The PDF document.
    */
   public void handlePdfFileStart(PdfDocument pdf) {
-    // Nothing to do so far.
+    this.pdfStatistic = this.accumulatorFactory.create();
   }
 
   /**
@@ -742,8 +810,10 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
    *        The PDF document.
    */
   public void handlePdfFileEnd(PdfDocument pdf) {
-    // Compute the character statistics for the whole PDF document.
-    pdf.setCharacterStatistic(this.statistician.aggregate(pdf.getPages()));
+    // Combine the character statistics of the pages to the statistic of the
+    // whole PDF document.
+    pdf.setCharacterStatistic(this.pdfStatistic.combine());
+    this.pdfStatistic = null;
   }
 
   /**
@@ -769,7 +839,9 @@ public class PdfBoxPdfStreamsParser implements PdfStreamsParser {
    */
   public void handlePdfPageEnd(PdfDocument pdf, Page page) {
     // Compute the character statistics for the page.
-    page.setCharacterStatistic(this.statistician.compute(page));
+    CharacterStatistic statistic = this.statistician.compute(page);
+    page.setCharacterStatistic(statistic);
+    this.pdfStatistic.add(page.getPageNumber(), statistic);
   }
 
   /**
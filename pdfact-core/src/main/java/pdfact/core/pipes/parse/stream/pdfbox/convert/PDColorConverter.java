@@ -13,13 +13,16 @@ import com.google.inject.Inject;
 import pdfact.core.model.Color;
 import pdfact.core.model.Color.ColorFactory;
 import pdfact.core.util.log.InjectLogger;
+import pdfact.core.util.metrics.CacheStatistics;
 
 /**
- * A converter that converts PDColor objects to {@link Color} objects.
+ * A converter that converts PDColor objects to {@link Color} objects. A
+ * converter is bound to the scope of a single PDF document, so the known
+ * colors (and the ids of the colors) are never shared between documents.
  * 
  * @author Claudius Korzen
  */
-public class PDColorConverter {
+public class PDColorConverter implements CacheStatistics {
   /**
    * The logger.
    */
@@ -36,6 +39,16 @@ public class PDColorConverter {
    */
   protected Map<String, Color> knownColors;
 
+  /**
+   * The number of conversions that were answered from the known colors.
+   */
+  protected long numHits;
+
+  /**
+   * The number of conversions that required to create a new object.
+   */
+  protected long numMisses;
+
   /**
    * Creates a new color converter.
    * 
@@ -68,12 +81,30 @@ public class PDColorConverter {
     // Check if the color is already known.
     Color knownColor = getKnownColor(color, colorSpace);
     if (knownColor != null) {
+      this.numHits++;
       return knownColor;
     }
+    return registerColor(color, colorSpace);
+  }
+
+  /**
+   * Creates a new {@link Color} object for the given color and adds it to the
+   * known colors.
+   * 
+   * @param color
+   *        The color to register.
+   * @param colorSpace
+   *        The color space.
+   * 
+   * @return The registered color.
+   */
+  protected Color registerColor(PDColor color, PDColorSpace colorSpace) {
+    this.numMisses++;
 
     // The color is not known. Create a new color.
     Color newColor = this.colorFactory.create();
     newColor.setId("color-" + this.knownColors.size());
+    newColor.setDenseId(this.knownColors.size());
     newColor.setName(computeColorName(color, colorSpace));
     newColor.setRGB(computeRGB(color, colorSpace));
 
@@ -155,4 +186,16 @@ public class PDColorConverter {
       return null;
     }
   }
+
+  // ==========================================================================
+
+  @Override
+  public long getNumHits() {
+    return this.numHits;
+  }
+
+  @Override
+  public long getNumMisses() {
+    return this.numMisses;
+  }
 }
@@ -1,13 +1,5 @@
 package pdfact.core.pipes.parse.stream.pdfbox.convert;
 
-import static pdfact.core.PdfActCoreSettings.AFM_FILE_FIELD_DELIMITER;
-import static pdfact.core.PdfActCoreSettings.AFM_FILE_PATH;
-import static pdfact.core.PdfActCoreSettings.DEFAULT_ENCODING;
-
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -20,13 +12,16 @@ import com.google.inject.Inject;
 import pdfact.core.model.Font;
 import pdfact.core.model.Font.FontFactory;
 import pdfact.core.util.log.InjectLogger;
+import pdfact.core.util.metrics.CacheStatistics;
 
 /**
- * A converter that converts PDFont objects to {@link Font} objects.
+ * A converter that converts PDFont objects to {@link Font} objects. A
+ * converter is bound to the scope of a single PDF document, so the known fonts
+ * (and the ids of the fonts) are never shared between documents.
  * 
  * @author Claudius Korzen
  */
-public class PDFontConverter {
+public class PDFontConverter implements CacheStatistics {
   /**
    * The logger.
    */
@@ -43,16 +38,29 @@ public class PDFontConverter {
    */
   protected Map<String, Font> knownFonts;
 
+  /**
+   * The number of conversions that were answered from the known fonts.
+   */
+  protected long numHits;
+
+  /**
+   * The number of conversions that required to create a new object.
+   */
+  protected long numMisses;
+
   /**
    * Creates a new font converter.
    * 
    * @param fontFactory
    *        The factory to create instances of {@link Font}.
+   * @param wellKnownFonts
+   *        The well-known fonts, shared by the converters of all documents.
    */
   @Inject
-  public PDFontConverter(FontFactory fontFactory) {
+  public PDFontConverter(FontFactory fontFactory,
+      WellKnownFonts wellKnownFonts) {
     this.fontFactory = fontFactory;
-    this.knownFonts = readWellKnownFontsFromFile();
+    this.knownFonts = new HashMap<>(wellKnownFonts.getFonts());
   }
 
   // ==========================================================================
@@ -73,8 +81,23 @@ public class PDFontConverter {
     // Check if the font is already known.
     Font knownFont = getKnownFont(font);
     if (knownFont != null) {
+      this.numHits++;
       return knownFont;
     }
+    return registerFont(font);
+  }
+
+  /**
+   * Creates a new {@link Font} object for the given font and adds it to the
+   * known fonts.
+   * 
+   * @param font
+   *        The font to register.
+   * 
+   * @return The registered font.
+   */
+  protected Font registerFont(PDFont font) {
+    this.numMisses++;
 
     // The font is not known. Create a new font.
     Font newFont = this.fontFactory.create();
@@ -94,57 +117,6 @@ public class PDFontConverter {
 
   // ==========================================================================
 
-  /**
-   * Reads some font specifications from file. This method was introduced to get
-   * meta data about fonts like "cmr9", from which we can't derive from the font
-   * name, if the font is bold (or italic).
-   * 
-   * @return The well-known fonts per name.
-   */
-  protected Map<String, Font> readWellKnownFontsFromFile() {
-    Map<String, Font> knownFonts = new HashMap<>();
-
-    // Read the AFM file that contains some metadata about common fonts.
-    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-    InputStream afm = classLoader.getResourceAsStream(AFM_FILE_PATH);
-
-    log.debug("Reading the AFM file '" + AFM_FILE_PATH + "'.");
-
-    try (BufferedReader br =
-        new BufferedReader(new InputStreamReader(afm, DEFAULT_ENCODING))) {
-      String line;
-      while ((line = br.readLine()) != null) {
-        if (line.trim().isEmpty()) {
-          continue;
-        }
-
-        String[] fields = line.split(AFM_FILE_FIELD_DELIMITER);
-        if (fields.length != 5) {
-          continue;
-        }
-
-        // Create the font from the line.
-        Font font = this.fontFactory.create();
-        font.setId("font-" + knownFonts.size());
-        font.setNormalizedName(fields[0]);
-        font.setBasename(computeBasename(font));
-        font.setFontFamilyName(fields[2].trim());
-        font.setIsBold(fields[3].trim().equals("1"));
-        font.setIsItalic(fields[4].trim().equals("1"));
-        font.setIsType3Font(false);
-
-        knownFonts.put(font.getNormalizedName(), font);
-        log.trace("Read font: " + font);
-      }
-    } catch (IOException e) {
-      log.warn("An error occurred on reading the AFM file.", e);
-    }
-
-    log.debug("Reading the AFM file done.");
-    log.debug("# read fonts: " + knownFonts.size());
-    return knownFonts;
-  }
-
   /**
    * Checks if the given font is an already known font.
    * 
@@ -213,8 +185,21 @@ public class PDFontConverter {
    * @return The basename of the given font.
    */
   public String computeBasename(Font font) {
+    return computeBasename(font.getNormalizedName());
+  }
+
+  /**
+   * Computes the basename of the given normalized font name, that is the name
+   * without the part after the "-" symbol.
+   * 
+   * @param normalizedName
+   *        The normalized font name to process.
+   *
+   * @return The basename of the given font name.
+   */
+  public static String computeBasename(String normalizedName) {
     // Compute the basename from the name: "LTSLOS+NimbusSanL-Bold"
-    String basename = font.getNormalizedName();
+    String basename = normalizedName;
 
     // Eliminate trailing characters starting at the "-": nimbussanl
     int indexMinus = basename.indexOf("-");
@@ -279,4 +264,16 @@ public class PDFontConverter {
 
     return false;
   }
+
+  // ==========================================================================
+
+  @Override
+  public long getNumHits() {
+    return this.numHits;
+  }
+
+  @Override
+  public long getNumMisses() {
+    return this.numMisses;
+  }
 }
@@ -11,14 +11,16 @@ import pdfact.core.model.Font;
 import pdfact.core.model.FontFace;
 import pdfact.core.model.FontFace.FontFaceFactory;
 import pdfact.core.util.log.InjectLogger;
+import pdfact.core.util.metrics.CacheStatistics;
 
 /**
  * A converter that converts PDFont objects and font sizes to {@link FontFace}
- * objects.
+ * objects. A converter is bound to the scope of a single PDF document, so the
+ * known font faces (and their dense ids) are never shared between documents.
  * 
  * @author Claudius Korzen
  */
-public class PDFontFaceConverter {
+public class PDFontFaceConverter implements CacheStatistics {
   /**
    * The logger.
    */
@@ -35,6 +37,16 @@ public class PDFontFaceConverter {
    */
   protected Map<String, FontFace> knownFontFaces;
 
+  /**
+   * The number of conversions that were answered from the known font faces.
+   */
+  protected long numHits;
+
+  /**
+   * The number of conversions that required to create a new object.
+   */
+  protected long numMisses;
+
   /**
    * Creates a new font face converter.
    * 
@@ -68,11 +80,29 @@ public class PDFontFaceConverter {
     // Check if the font face is already known.
     FontFace knownFontFace = getKnownFontFace(font, fontSize);
     if (knownFontFace != null) {
+      this.numHits++;
       return knownFontFace;
     }
+    return registerFontFace(font, fontSize);
+  }
+
+  /**
+   * Creates a new {@link FontFace} object for the given font and font size and
+   * adds it to the known font faces.
+   * 
+   * @param font
+   *        The font of the font face to register.
+   * @param fontSize
+   *        The font size of the font face to register.
+   * 
+   * @return The registered font face.
+   */
+  protected FontFace registerFontFace(Font font, float fontSize) {
+    this.numMisses++;
 
     // The font face is not known. Create a new font face.
     FontFace newFontFace = this.fontFaceFactory.create(font, fontSize);
+    newFontFace.setDenseId(this.knownFontFaces.size());
 
     // Add the new font face to the map of known font faces.
     this.knownFontFaces.put(font.getId() + ":" + fontSize, newFontFace);
@@ -96,4 +126,16 @@ public class PDFontFaceConverter {
   protected FontFace getKnownFontFace(Font font, float fontSize) {
     return this.knownFontFaces.get(font.getId() + ":" + fontSize);
   }
+
+  // ==========================================================================
+
+  @Override
+  public long getNumHits() {
+    return this.numHits;
+  }
+
+  @Override
+  public long getNumMisses() {
+    return this.numMisses;
+  }
 }
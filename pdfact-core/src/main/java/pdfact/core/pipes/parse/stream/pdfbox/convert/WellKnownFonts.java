@@ -0,0 +1,122 @@
+package pdfact.core.pipes.parse.stream.pdfbox.convert;
+
+import static pdfact.core.PdfActCoreSettings.AFM_FILE_FIELD_DELIMITER;
+import static pdfact.core.PdfActCoreSettings.AFM_FILE_PATH;
+import static pdfact.core.PdfActCoreSettings.DEFAULT_ENCODING;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+
+import com.google.inject.Inject;
+
+import pdfact.core.model.Font;
+import pdfact.core.model.Font.FontFactory;
+import pdfact.core.util.log.InjectLogger;
+
+/**
+ * The well-known fonts, read from the AFM file that contains some metadata
+ * about common fonts. The fonts are read once and are shared by the font
+ * converters of all documents, so they must not be modified.
+ * 
+ * @author Claudius Korzen
+ */
+public class WellKnownFonts {
+  /**
+   * The logger.
+   */
+  @InjectLogger
+  protected static Logger log;
+
+  /**
+   * The factory to create instances of {@link Font}.
+   */
+  protected FontFactory fontFactory;
+
+  /**
+   * The (unmodifiable) well-known fonts per normalized name.
+   */
+  protected Map<String, Font> fonts;
+
+  /**
+   * Creates the well-known fonts.
+   * 
+   * @param fontFactory
+   *        The factory to create instances of {@link Font}.
+   */
+  @Inject
+  public WellKnownFonts(FontFactory fontFactory) {
+    this.fontFactory = fontFactory;
+    this.fonts = Collections.unmodifiableMap(readWellKnownFontsFromFile());
+  }
+
+  // ==========================================================================
+
+  /**
+   * Reads some font specifications from file. This method was introduced to get
+   * meta data about fonts like "cmr9", from which we can't derive from the font
+   * name, if the font is bold (or italic).
+   * 
+   * @return The well-known fonts per name.
+   */
+  protected Map<String, Font> readWellKnownFontsFromFile() {
+    Map<String, Font> knownFonts = new HashMap<>();
+
+    // Read the AFM file that contains some metadata about common fonts.
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    InputStream afm = classLoader.getResourceAsStream(AFM_FILE_PATH);
+
+    log.debug("Reading the AFM file '" + AFM_FILE_PATH + "'.");
+
+    try (BufferedReader br =
+        new BufferedReader(new InputStreamReader(afm, DEFAULT_ENCODING))) {
+      String line;
+      while ((line = br.readLine()) != null) {
+        if (line.trim().isEmpty()) {
+          continue;
+        }
+
+        String[] fields = line.split(AFM_FILE_FIELD_DELIMITER);
+        if (fields.length != 5) {
+          continue;
+        }
+
+        // Create the font from the line.
+        Font font = this.fontFactory.create();
+        font.setId("font-" + knownFonts.size());
+        font.setNormalizedName(fields[0]);
+        font.setBasename(PDFontConverter.computeBasename(fields[0]));
+        font.setFontFamilyName(fields[2].trim());
+        font.setIsBold(fields[3].trim().equals("1"));
+        font.setIsItalic(fields[4].trim().equals("1"));
+        font.setIsType3Font(false);
+
+        knownFonts.put(font.getNormalizedName(), font);
+        log.trace("Read font: " + font);
+      }
+    } catch (IOException e) {
+      log.warn("An error occurred on reading the AFM file.", e);
+    }
+
+    log.debug("Reading the AFM file done.");
+    log.debug("# read fonts: " + knownFonts.size());
+    return knownFonts;
+  }
+
+  // ==========================================================================
+
+  /**
+   * Returns the well-known fonts.
+   * 
+   * @return The (unmodifiable) well-known fonts per normalized name.
+   */
+  public Map<String, Font> getFonts() {
+    return this.fonts;
+  }
+}
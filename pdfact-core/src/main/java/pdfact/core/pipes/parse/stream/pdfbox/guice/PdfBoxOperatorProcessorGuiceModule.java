@@ -4,9 +4,11 @@ import com.google.inject.AbstractModule;
 import com.google.inject.Singleton;
 import com.google.inject.multibindings.Multibinder;
 
+import pdfact.core.guice.DocumentScoped;
 import pdfact.core.pipes.parse.stream.pdfbox.convert.PDColorConverter;
 import pdfact.core.pipes.parse.stream.pdfbox.convert.PDFontConverter;
 import pdfact.core.pipes.parse.stream.pdfbox.convert.PDFontFaceConverter;
+import pdfact.core.pipes.parse.stream.pdfbox.convert.WellKnownFonts;
 import pdfact.core.pipes.parse.stream.pdfbox.operators.OperatorProcessor;
 import pdfact.core.pipes.parse.stream.pdfbox.operators.color.SetNonStrokingColor;
 import pdfact.core.pipes.parse.stream.pdfbox.operators.color.SetNonStrokingColorN;
@@ -69,11 +71,14 @@ public class PdfBoxOperatorProcessorGuiceModule extends AbstractModule {
   @Override
   protected void configure() {
     // ========================================================================
-    // Install the converters.
+    // Install the converters. The converters keep the known fonts, font faces
+    // and colors of a document, so there is one converter per document. The
+    // well-known fonts are immutable and shared by all documents.
 
-    bind(PDFontFaceConverter.class).in(Singleton.class);
-    bind(PDFontConverter.class).in(Singleton.class);
-    bind(PDColorConverter.class).in(Singleton.class);
+    bind(PDFontFaceConverter.class).in(DocumentScoped.class);
+    bind(PDFontConverter.class).in(DocumentScoped.class);
+    bind(PDColorConverter.class).in(DocumentScoped.class);
+    bind(WellKnownFonts.class).in(Singleton.class);
 
     // ========================================================================
     // Install the utils.
@@ -8,6 +8,26 @@ import pdfact.core.util.pipeline.Pipe;
  * @author Claudius Korzen
  */
 public interface DetectSemanticsPipe extends Pipe {
+  /**
+   * Returns true if the features of the pages that are shared by the
+   * semanticizer modules are computed in parallel.
+   * 
+   * @return True if the features are computed in parallel; false otherwise.
+   */
+  boolean isParallel();
+
+  /**
+   * Sets the flag that indicates whether the features of the pages that are
+   * shared by the semanticizer modules should be computed in parallel.
+   * 
+   * @param parallel
+   *        True if the features should be computed in parallel; false
+   *        otherwise.
+   */
+  void setParallel(boolean parallel);
+
+  // ==========================================================================
+
   /**
    * The factory to create instances of {@link DetectSemanticsPipe}.
    * 
@@ -1,19 +1,32 @@
 package pdfact.core.pipes.semanticize;
 
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 import org.apache.log4j.Logger;
 
 import com.google.inject.Inject;
 
 import pdfact.core.model.PdfDocument;
+import pdfact.core.model.TextBlock;
 import pdfact.core.pipes.semanticize.modules.PdfTextSemanticizerModule;
+import pdfact.core.pipes.semanticize.modules.SemanticizerContext;
 import pdfact.core.util.exception.PdfActException;
 import pdfact.core.util.log.InjectLogger;
+import pdfact.core.util.text.TextClassifier;
 
 /**
  * A plain implementation of {@link DetectSemanticsPipe}.
  * 
+ * The semanticizer modules are run in a single traversal over the text blocks
+ * of a document: the features shared by the modules are computed once per
+ * document (page by page, optionally in parallel), including the matches of
+ * the texts of the blocks in a text classifier that combines the patterns and
+ * keywords of all modules. Then each module is prepared and then each text
+ * block is passed to each module, in the order of the modules.
+ * 
  * @author Claudius Korzen
  */
 public class PlainDetectSemanticsPipe
@@ -25,19 +38,38 @@ public class PlainDetectSemanticsPipe
   protected static Logger log;
 
   /**
-   * The semanticizer modules.
+   * The semanticizer modules, in the order in which they are run.
+   */
+  protected List<PdfTextSemanticizerModule> modules;
+
+  /**
+   * The text classifier with the patterns and keywords of all modules.
+   */
+  protected TextClassifier classifier;
+
+  /**
+   * The boolean flag that indicates whether the features of the pages should
+   * be computed in parallel.
    */
-  protected Set<PdfTextSemanticizerModule> modules;
+  protected boolean parallel = true;
 
   /**
    * The default constructor.
    * 
-   * @param set
-   *        The semanticizer modules.
+   * @param modules
+   *        The semanticizer modules, keyed by their positions in the order in
+   *        which they are run.
    */
   @Inject
-  public PlainDetectSemanticsPipe(Set<PdfTextSemanticizerModule> set) {
-    this.modules = set;
+  public PlainDetectSemanticsPipe(
+      Map<Integer, PdfTextSemanticizerModule> modules) {
+    this.modules = new ArrayList<>(new TreeMap<>(modules).values());
+
+    TextClassifier.Builder builder = new TextClassifier.Builder();
+    for (PdfTextSemanticizerModule module : this.modules) {
+      module.register(builder);
+    }
+    this.classifier = builder.build();
   }
 
   // ==========================================================================
@@ -65,9 +97,42 @@ public class PlainDetectSemanticsPipe
    * @return The processed PDF document.
    */
   protected PdfDocument detectSemantics(PdfDocument pdf) {
+    if (pdf == null) {
+      return pdf;
+    }
+
+    // Compute the features shared by all modules.
+    SemanticizerContext context = new SemanticizerContext(pdf,
+        this.classifier, this.parallel);
+
     for (PdfTextSemanticizerModule module : this.modules) {
-      module.semanticize(pdf);
+      module.prepare(context);
+    }
+
+    for (int page = 0; page < context.getNumPages(); page++) {
+      List<TextBlock> blocks = context.getTextBlocks(page);
+      for (int block = 0; block < blocks.size(); block++) {
+        if (blocks.get(block) == null) {
+          continue;
+        }
+        context.moveTo(page, block);
+        for (PdfTextSemanticizerModule module : this.modules) {
+          module.semanticize(context);
+        }
+      }
     }
     return pdf;
   }
+
+  // ==========================================================================
+
+  @Override
+  public boolean isParallel() {
+    return this.parallel;
+  }
+
+  @Override
+  public void setParallel(boolean parallel) {
+    this.parallel = parallel;
+  }
 }
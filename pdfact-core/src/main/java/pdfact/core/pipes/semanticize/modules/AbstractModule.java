@@ -1,11 +1,8 @@
 package pdfact.core.pipes.semanticize.modules;
 
-import java.util.List;
-
-import pdfact.core.model.Page;
-import pdfact.core.model.PdfDocument;
 import pdfact.core.model.SemanticRole;
 import pdfact.core.model.TextBlock;
+import pdfact.core.util.text.TextClassifier;
 
 /**
  * A module that identifies the text blocks with the semantic role "abstract".
@@ -20,46 +17,37 @@ public class AbstractModule implements PdfTextSemanticizerModule {
   protected boolean isAbstract = false;
 
   @Override
-  public void semanticize(PdfDocument pdf) {
-    if (pdf == null) {
-      return;
-    }
-
-    List<Page> pages = pdf.getPages();
-    if (pages == null) {
-      return;
-    }
+  public void register(TextClassifier.Builder builder) {
+    // Nothing to register.
+  }
 
-    for (Page page : pages) {
-      if (page == null) {
-        continue;
-      }
+  @Override
+  public void prepare(SemanticizerContext context) {
+    this.isAbstract = false;
+  }
 
-      for (TextBlock block : page.getTextBlocks()) {
-        if (block == null) {
-          continue;
-        }
+  @Override
+  public void semanticize(SemanticizerContext context) {
+    TextBlock block = context.getTextBlock();
 
-        SemanticRole role = block.getSemanticRole();
-        SemanticRole secondaryRole = block.getSecondarySemanticRole();
+    SemanticRole role = block.getSemanticRole();
+    SemanticRole secondaryRole = block.getSecondarySemanticRole();
 
-        // Check if the current block is a section heading (which would
-        // denote the end of the abstract).
-        if (this.isAbstract && role == SemanticRole.HEADING) {
-          this.isAbstract = false;
-        }
+    // Check if the current block is a section heading (which would
+    // denote the end of the abstract).
+    if (this.isAbstract && role == SemanticRole.HEADING) {
+      this.isAbstract = false;
+    }
 
-        if (this.isAbstract) {
-          block.setSemanticRole(SemanticRole.ABSTRACT);
-        }
+    if (this.isAbstract) {
+      block.setSemanticRole(SemanticRole.ABSTRACT);
+    }
 
-        // Check if the current block is the heading of the abstract (which
-        // would denote the start of the abstract).
-        if (role == SemanticRole.HEADING
-            && secondaryRole == SemanticRole.ABSTRACT) {
-          this.isAbstract = true;
-        }
-      }
+    // Check if the current block is the heading of the abstract (which
+    // would denote the start of the abstract).
+    if (role == SemanticRole.HEADING
+        && secondaryRole == SemanticRole.ABSTRACT) {
+      this.isAbstract = true;
     }
   }
 }
@@ -1,11 +1,8 @@
 package pdfact.core.pipes.semanticize.modules;
 
-import java.util.List;
-
-import pdfact.core.model.Page;
-import pdfact.core.model.PdfDocument;
 import pdfact.core.model.SemanticRole;
 import pdfact.core.model.TextBlock;
+import pdfact.core.util.text.TextClassifier;
 
 /**
  * A module that identifies the text blocks with the semantic role
@@ -21,47 +18,38 @@ public class AcknowledgmentsModule implements PdfTextSemanticizerModule {
   protected boolean isAcknowledgments = false;
 
   @Override
-  public void semanticize(PdfDocument pdf) {
-    if (pdf == null) {
-      return;
-    }
-
-    List<Page> pages = pdf.getPages();
-    if (pages == null) {
-      return;
-    }
+  public void register(TextClassifier.Builder builder) {
+    // Nothing to register.
+  }
 
-    for (Page page : pages) {
-      if (page == null) {
-        continue;
-      }
+  @Override
+  public void prepare(SemanticizerContext context) {
+    this.isAcknowledgments = false;
+  }
 
-      for (TextBlock block : page.getTextBlocks()) {
-        if (block == null) {
-          continue;
-        }
+  @Override
+  public void semanticize(SemanticizerContext context) {
+    TextBlock block = context.getTextBlock();
 
-        SemanticRole role = block.getSemanticRole();
-        SemanticRole secondRole = block.getSecondarySemanticRole();
+    SemanticRole role = block.getSemanticRole();
+    SemanticRole secondRole = block.getSecondarySemanticRole();
 
-        // Check if the current block is a section heading (which would
-        // denote the end of the Acknowledgments section).
-        if (this.isAcknowledgments && role == SemanticRole.HEADING) {
-          this.isAcknowledgments = false;
-        }
+    // Check if the current block is a section heading (which would
+    // denote the end of the Acknowledgments section).
+    if (this.isAcknowledgments && role == SemanticRole.HEADING) {
+      this.isAcknowledgments = false;
+    }
 
-        if (this.isAcknowledgments) {
-          block.setSemanticRole(SemanticRole.ACKNOWLEDGMENTS);
-        }
+    if (this.isAcknowledgments) {
+      block.setSemanticRole(SemanticRole.ACKNOWLEDGMENTS);
+    }
 
-        // Check if the current block is the heading of the Acknowledgments
-        // section (which would denote the start of the Acknowledgments
-        // section).
-        if (role == SemanticRole.HEADING
-            && secondRole == SemanticRole.ACKNOWLEDGMENTS) {
-          this.isAcknowledgments = true;
-        }
-      }
+    // Check if the current block is the heading of the Acknowledgments
+    // section (which would denote the start of the Acknowledgments
+    // section).
+    if (role == SemanticRole.HEADING
+        && secondRole == SemanticRole.ACKNOWLEDGMENTS) {
+      this.isAcknowledgments = true;
     }
   }
 }
@@ -1,11 +1,8 @@
 package pdfact.core.pipes.semanticize.modules;
 
-import java.util.List;
-
-import pdfact.core.model.Page;
-import pdfact.core.model.PdfDocument;
 import pdfact.core.model.SemanticRole;
 import pdfact.core.model.TextBlock;
+import pdfact.core.util.text.TextClassifier;
 
 /**
  * A module that identifies the text blocks with the semantic role "appendix".
@@ -20,46 +17,37 @@ public class AppendixModule implements PdfTextSemanticizerModule {
   protected boolean isAppendix = false;
 
   @Override
-  public void semanticize(PdfDocument pdf) {
-    if (pdf == null) {
-      return;
-    }
-
-    List<Page> pages = pdf.getPages();
-    if (pages == null) {
-      return;
-    }
+  public void register(TextClassifier.Builder builder) {
+    // Nothing to register.
+  }
 
-    for (Page page : pages) {
-      if (page == null) {
-        continue;
-      }
+  @Override
+  public void prepare(SemanticizerContext context) {
+    this.isAppendix = false;
+  }
 
-      for (TextBlock block : page.getTextBlocks()) {
-        if (block == null) {
-          continue;
-        }
+  @Override
+  public void semanticize(SemanticizerContext context) {
+    TextBlock block = context.getTextBlock();
 
-        SemanticRole role = block.getSemanticRole();
-        SemanticRole secondaryRole = block.getSecondarySemanticRole();
+    SemanticRole role = block.getSemanticRole();
+    SemanticRole secondaryRole = block.getSecondarySemanticRole();
 
-        // Check if the current block is a section heading (which would
-        // denote the end of the appendix).
-        if (this.isAppendix && role == SemanticRole.HEADING) {
-          this.isAppendix = false;
-        }
+    // Check if the current block is a section heading (which would
+    // denote the end of the appendix).
+    if (this.isAppendix && role == SemanticRole.HEADING) {
+      this.isAppendix = false;
+    }
 
-        if (this.isAppendix) {
-          block.setSemanticRole(SemanticRole.APPENDIX);
-        }
+    if (this.isAppendix) {
+      block.setSemanticRole(SemanticRole.APPENDIX);
+    }
 
-        // Check if the current block is the heading of the appendix (which
-        // would denote the start of the appendix).
-        if (role == SemanticRole.HEADING
-            && secondaryRole == SemanticRole.APPENDIX) {
-          this.isAppendix = true;
-        }
-      }
+    // Check if the current block is the heading of the appendix (which
+    // would denote the start of the appendix).
+    if (role == SemanticRole.HEADING
+        && secondaryRole == SemanticRole.APPENDIX) {
+      this.isAppendix = true;
     }
   }
 }
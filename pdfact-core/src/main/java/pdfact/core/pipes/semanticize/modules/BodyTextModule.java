@@ -1,13 +1,11 @@
 package pdfact.core.pipes.semanticize.modules;
 
-import java.util.List;
 
 import pdfact.core.model.CharacterStatistic;
 import pdfact.core.model.FontFace;
-import pdfact.core.model.Page;
-import pdfact.core.model.PdfDocument;
 import pdfact.core.model.SemanticRole;
 import pdfact.core.model.TextBlock;
+import pdfact.core.util.text.TextClassifier;
 
 /**
  * A module that identifies the text blocks with the semantic role "body".
@@ -15,43 +13,36 @@ import pdfact.core.model.TextBlock;
  * @author Claudius Korzen
  */
 public class BodyTextModule implements PdfTextSemanticizerModule {
+  /**
+   * The most common font face in the PDF document.
+   */
+  protected FontFace pdfFontFace;
+
   @Override
-  public void semanticize(PdfDocument pdf) {
-    if (pdf == null) {
-      return;
-    }
+  public void register(TextClassifier.Builder builder) {
+    // Nothing to register.
+  }
 
-    List<Page> pages = pdf.getPages();
-    if (pages == null) {
+  @Override
+  public void prepare(SemanticizerContext context) {
+    // Compute the most common font face in the PDF document.
+    this.pdfFontFace = context.getMostCommonFontFace();
+  }
+
+  @Override
+  public void semanticize(SemanticizerContext context) {
+    TextBlock block = context.getTextBlock();
+
+    if (block.getSemanticRole() != null) {
       return;
     }
 
-    // Compute the most common font face in the PDF document.
-    CharacterStatistic pdfCharStats = pdf.getCharacterStatistic();
-    FontFace pdfFontFace = pdfCharStats.getMostCommonFontFace();
-
-    for (Page page : pages) {
-      if (page == null) {
-        continue;
-      }
-
-      for (TextBlock block : page.getTextBlocks()) {
-        if (block == null) {
-          continue;
-        }
-
-        if (block.getSemanticRole() != null) {
-          continue;
-        }
-
-        // The text block is a member of the body text if its font face is
-        // equal to the most common font face.
-        CharacterStatistic blockCharStats = block.getCharacterStatistic();
-        FontFace fontFace = blockCharStats.getMostCommonFontFace();
-        if (fontFace == pdfFontFace) {
-          block.setSemanticRole(SemanticRole.BODY_TEXT);
-        }
-      }
+    // The text block is a member of the body text if its font face is
+    // equal to the most common font face.
+    CharacterStatistic blockCharStats = block.getCharacterStatistic();
+    FontFace fontFace = blockCharStats.getMostCommonFontFace();
+    if (fontFace == this.pdfFontFace) {
+      block.setSemanticRole(SemanticRole.BODY_TEXT);
     }
   }
 }
@@ -1,15 +1,13 @@
 package pdfact.core.pipes.semanticize.modules;
 
 import java.util.HashMap;
-import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import pdfact.core.model.Page;
-import pdfact.core.model.PdfDocument;
 import pdfact.core.model.SemanticRole;
 import pdfact.core.model.TextBlock;
+import pdfact.core.util.text.TextClassifier;
 
 /**
  * A module that identifies the text blocks with the semantic role "caption".
@@ -34,47 +32,47 @@ public class CaptionModule implements PdfTextSemanticizerModule {
     CAPTION_PATTERNS.put(SemanticRole.TABLE, tableCaptionPattern);
   }
 
+  /**
+   * The ids of the caption patterns in the text classifier, per *secondary*
+   * role (in the order in which the patterns are checked).
+   */
+  protected Map<SemanticRole, Integer> captionPatternIds =
+      new LinkedHashMap<>();
+
   // ==========================================================================
 
   @Override
-  public void semanticize(PdfDocument pdf) {
-    if (pdf == null) {
-      return;
-    }
-
-    List<Page> pages = pdf.getPages();
-    if (pages == null) {
-      return;
+  public void register(TextClassifier.Builder builder) {
+    for (SemanticRole role : CAPTION_PATTERNS.keySet()) {
+      int id = builder.addPattern(CAPTION_PATTERNS.get(role));
+      this.captionPatternIds.put(role, id);
     }
+  }
 
-    for (Page page : pages) {
-      if (page == null) {
-        continue;
-      }
+  @Override
+  public void prepare(SemanticizerContext context) {
+    // Nothing to prepare.
+  }
 
-      for (TextBlock block : page.getTextBlocks()) {
-        if (block == null) {
-          continue;
-        }
+  @Override
+  public void semanticize(SemanticizerContext context) {
+    TextBlock block = context.getTextBlock();
 
-        // Don't overwrite existing roles.
-        if (block.getSemanticRole() != null) {
-          continue;
-        }
+    // Don't overwrite existing roles.
+    if (block.getSemanticRole() != null) {
+      return;
+    }
 
-        // The text block is a caption if its text matches to one of the given
-        // patterns.
-        for (SemanticRole role : CAPTION_PATTERNS.keySet()) {
-          Pattern captionPattern = CAPTION_PATTERNS.get(role);
-          Matcher captionMatcher = captionPattern.matcher(block.getText());
-          if (captionMatcher.find()) {
-            block.setSemanticRole(SemanticRole.CAPTION);
-            // Set also the secondary role, e.g. "figure" for a figures
-            // caption.
-            block.setSecondarySemanticRole(role);
-            break;
-          }
-        }
+    // The text block is a caption if its text matches to one of the given
+    // patterns.
+    long matches = context.getMatches();
+    for (SemanticRole role : this.captionPatternIds.keySet()) {
+      if ((matches & (1L << this.captionPatternIds.get(role))) != 0) {
+        block.setSemanticRole(SemanticRole.CAPTION);
+        // Set also the secondary role, e.g. "figure" for a figures
+        // caption.
+        block.setSecondarySemanticRole(role);
+        break;
       }
     }
   }
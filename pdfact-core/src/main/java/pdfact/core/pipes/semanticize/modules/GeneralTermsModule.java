@@ -1,11 +1,8 @@
 package pdfact.core.pipes.semanticize.modules;
 
-import java.util.List;
-
-import pdfact.core.model.Page;
-import pdfact.core.model.PdfDocument;
 import pdfact.core.model.SemanticRole;
 import pdfact.core.model.TextBlock;
+import pdfact.core.util.text.TextClassifier;
 
 /**
  * A module that identifies the text blocks with the semantic role "General
@@ -21,47 +18,38 @@ public class GeneralTermsModule implements PdfTextSemanticizerModule {
   protected boolean isGeneralTerms = false;
 
   @Override
-  public void semanticize(PdfDocument pdf) {
-    if (pdf == null) {
-      return;
-    }
-
-    List<Page> pages = pdf.getPages();
-    if (pages == null) {
-      return;
-    }
+  public void register(TextClassifier.Builder builder) {
+    // Nothing to register.
+  }
 
-    for (Page page : pages) {
-      if (page == null) {
-        continue;
-      }
+  @Override
+  public void prepare(SemanticizerContext context) {
+    this.isGeneralTerms = false;
+  }
 
-      for (TextBlock block : page.getTextBlocks()) {
-        if (block == null) {
-          continue;
-        }
+  @Override
+  public void semanticize(SemanticizerContext context) {
+    TextBlock block = context.getTextBlock();
 
-        SemanticRole role = block.getSemanticRole();
-        SemanticRole secondaryRole = block.getSecondarySemanticRole();
+    SemanticRole role = block.getSemanticRole();
+    SemanticRole secondaryRole = block.getSecondarySemanticRole();
 
-        // Check if the current block is a section heading (which would
-        // denote the end of the "General Terms" section).
-        if (this.isGeneralTerms && role == SemanticRole.HEADING) {
-          this.isGeneralTerms = false;
-        }
+    // Check if the current block is a section heading (which would
+    // denote the end of the "General Terms" section).
+    if (this.isGeneralTerms && role == SemanticRole.HEADING) {
+      this.isGeneralTerms = false;
+    }
 
-        if (this.isGeneralTerms) {
-          block.setSemanticRole(SemanticRole.GENERAL_TERMS);
-        }
+    if (this.isGeneralTerms) {
+      block.setSemanticRole(SemanticRole.GENERAL_TERMS);
+    }
 
-        // Check if the current block is the heading of the "General Terms"
-        // section heading (which would denote the start of the "General Terms"
-        // section).
-        if (role == SemanticRole.HEADING
-            && secondaryRole == SemanticRole.GENERAL_TERMS) {
-          this.isGeneralTerms = true;
-        }
-      }
+    // Check if the current block is the heading of the "General Terms"
+    // section heading (which would denote the start of the "General Terms"
+    // section).
+    if (role == SemanticRole.HEADING
+        && secondaryRole == SemanticRole.GENERAL_TERMS) {
+      this.isGeneralTerms = true;
     }
   }
-}
\ No newline at end of file
+}
@@ -2,6 +2,7 @@ package pdfact.core.pipes.semanticize.modules;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -11,8 +12,6 @@ import com.google.inject.Inject;
 import pdfact.core.model.Character;
 import pdfact.core.model.CharacterStatistic;
 import pdfact.core.model.FontFace;
-import pdfact.core.model.Page;
-import pdfact.core.model.PdfDocument;
 import pdfact.core.model.SemanticRole;
 import pdfact.core.model.TextBlock;
 import pdfact.core.model.TextLine;
@@ -20,6 +19,7 @@ import pdfact.core.model.Word;
 import pdfact.core.util.list.ElementList;
 import pdfact.core.util.list.ElementList.ElementListFactory;
 import pdfact.core.util.statistician.CharacterStatistician;
+import pdfact.core.util.text.TextClassifier;
 
 /**
  * A module that identifies the text blocks with the semantic role "heading".
@@ -37,6 +37,11 @@ public class HeadingModule implements PdfTextSemanticizerModule {
    */
   protected CharacterStatistician charStatistician;
 
+  /**
+   * The expected font face of section headings in the current document.
+   */
+  protected FontFace headingFontFace;
+
   /**
    * The texts of known headings, per *secondary* role.
    */
@@ -97,6 +102,17 @@ public class HeadingModule implements PdfTextSemanticizerModule {
     KNOWN_HEADINGS.put(SemanticRole.BODY_TEXT, otherHeadings);
   }
 
+  /**
+   * The bit masks of the ids of the known headings in the text classifier, per
+   * *secondary* role (in the order in which the roles are checked).
+   */
+  protected Map<SemanticRole, Long> knownHeadingIds = new LinkedHashMap<>();
+
+  /**
+   * The bit mask of the ids of all known headings in the text classifier.
+   */
+  protected long allKnownHeadingIds;
+
   // ==========================================================================
   // Constructors.
 
@@ -118,50 +134,45 @@ public class HeadingModule implements PdfTextSemanticizerModule {
   // ==========================================================================
 
   @Override
-  public void semanticize(PdfDocument pdf) {
-    if (pdf == null) {
-      return;
-    }
-
-    List<Page> pages = pdf.getPages();
-    if (pages == null) {
-      return;
+  public void register(TextClassifier.Builder builder) {
+    for (SemanticRole role : KNOWN_HEADINGS.keySet()) {
+      long ids = 0;
+      for (String heading : KNOWN_HEADINGS.get(role)) {
+        ids |= 1L << builder.addKeyword(heading);
+      }
+      this.knownHeadingIds.put(role, ids);
+      this.allKnownHeadingIds |= ids;
     }
+  }
 
+  @Override
+  public void prepare(SemanticizerContext context) {
     // Compute the expected font face of section headings.
-    FontFace headingFontFace = findSectionHeadingFontFace(pdf);
-
-    for (Page page : pages) {
-      if (page == null) {
-        continue;
-      }
+    this.headingFontFace = findSectionHeadingFontFace(context);
+  }
 
-      for (TextBlock block : page.getTextBlocks()) {
-        if (block == null) {
-          continue;
-        }
+  @Override
+  public void semanticize(SemanticizerContext context) {
+    TextBlock block = context.getTextBlock();
 
-        // Don't overwrite existing roles.
-        if (block.getSemanticRole() != null) {
-          continue;
-        }
+    // Don't overwrite existing roles.
+    if (block.getSemanticRole() != null) {
+      return;
+    }
 
-        CharacterStatistic blockCharStats = block.getCharacterStatistic();
-        FontFace fontFace = blockCharStats.getMostCommonFontFace();
-        String text = toNormalizedText(block);
-
-        // The text block is a heading if its font face is equal to the
-        // computed section heading font face.
-        if (headingFontFace == fontFace) {
-          block.setSemanticRole(SemanticRole.HEADING);
-          // Iterate through the known headings to obtain the secondary role.
-          for (SemanticRole role : KNOWN_HEADINGS.keySet()) {
-            Set<String> headings = KNOWN_HEADINGS.get(role);
-            if (headings.contains(text)) {
-              block.setSecondarySemanticRole(role);
-              break;
-            }
-          }
+    CharacterStatistic blockCharStats = block.getCharacterStatistic();
+    FontFace fontFace = blockCharStats.getMostCommonFontFace();
+
+    // The text block is a heading if its font face is equal to the computed
+    // section heading font face.
+    if (this.headingFontFace == fontFace) {
+      block.setSemanticRole(SemanticRole.HEADING);
+      // Iterate through the known headings to obtain the secondary role.
+      long matches = context.getMatches();
+      for (SemanticRole role : this.knownHeadingIds.keySet()) {
+        if ((matches & this.knownHeadingIds.get(role)) != 0) {
+          block.setSecondarySemanticRole(role);
+          break;
         }
       }
     }
@@ -171,19 +182,13 @@ public class HeadingModule implements PdfTextSemanticizerModule {
    * Searches the PDF document for known section headings and analyzes their
    * font faces.
    * 
-   * @param pdf
-   *        The PDF document.
+   * @param context
+   *        The context of the PDF document.
    * 
    * @return The most common font face of all known section headings.
    */
-  protected FontFace findSectionHeadingFontFace(PdfDocument pdf) {
-    if (pdf == null) {
-      return null;
-    }
-
-    CharacterStatistic pdfCharStats = pdf.getCharacterStatistic();
-    FontFace pdfFontFace = pdfCharStats.getMostCommonFontFace();
-
+  protected FontFace findSectionHeadingFontFace(SemanticizerContext context) {
+    FontFace pdfFontFace = context.getMostCommonFontFace();
     if (pdfFontFace == null) {
       return null;
     }
@@ -191,9 +196,15 @@ public class HeadingModule implements PdfTextSemanticizerModule {
     // The characters of all known section headings.
     ElementList<Character> headingChars = this.charListFactory.create();
 
-    for (Page page : pdf.getPages()) {
-      for (TextBlock block : page.getTextBlocks()) {
-        if (!hasKnownSectionHeadingText(block)) {
+    for (int page = 0; page < context.getNumPages(); page++) {
+      List<TextBlock> blocks = context.getTextBlocks(page);
+      for (int i = 0; i < blocks.size(); i++) {
+        TextBlock block = blocks.get(i);
+        if (block == null) {
+          continue;
+        }
+
+        if (!isKnownSectionHeadingText(context.getMatches(page, i))) {
           continue;
         }
 
@@ -222,37 +233,14 @@ public class HeadingModule implements PdfTextSemanticizerModule {
   }
 
   /**
-   * Checks if the text of the given text block is a known section heading.
-   * 
-   * @param block
-   *        The block to check.
+   * Checks if the text with the given matches is a known section heading.
    * 
-   * @return True if the text of the given text block is a known section
-   *         heading.
-   */
-  protected boolean hasKnownSectionHeadingText(TextBlock block) {
-    String text = toNormalizedText(block);
-    for (SemanticRole role : KNOWN_HEADINGS.keySet()) {
-      Set<String> headings = KNOWN_HEADINGS.get(role);
-      if (headings.contains(text)) {
-        return true;
-      }
-    }
-    return false;
-  }
-
-  /**
-   * Normalizes the text of the given text block.
+   * @param matches
+   *        The matches of the text in the text classifier.
    * 
-   * @param block
-   *        The text block to normalize.
-   * @return The normalized text of the given text block.
+   * @return True if the text is a known section heading.
    */
-  @Deprecated
-  protected static String toNormalizedText(TextBlock block) {
-    if (block == null || block.getText() == null) {
-      return null;
-    }
-    return block.getText().replaceAll("[^A-Za-z]", "").toLowerCase().trim();
+  protected boolean isKnownSectionHeadingText(long matches) {
+    return (matches & this.allKnownHeadingIds) != 0;
   }
 }
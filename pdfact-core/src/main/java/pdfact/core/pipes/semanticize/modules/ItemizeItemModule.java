@@ -2,13 +2,11 @@ package pdfact.core.pipes.semanticize.modules;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import pdfact.core.model.Page;
-import pdfact.core.model.PdfDocument;
 import pdfact.core.model.SemanticRole;
 import pdfact.core.model.TextBlock;
+import pdfact.core.util.text.TextClassifier;
 
 /**
  * A module that identifies the text blocks with the semantic role "caption".
@@ -30,13 +28,16 @@ public class ItemizeItemModule implements PdfTextSemanticizerModule {
     ITEMIZE_ITEM_PATTERNS.add(pattern1);
 
     // A pattern to find items that start with "I.", "II.", "III.", "IV.", etc.
+    // The numeral must not be empty (such that ". Foo" is no item).
     Pattern pattern2 = Pattern.compile(
-        "^(X{0,1}(IX|IV|V?I{0,3}))\\.(\\s+\\w|$)", Pattern.CASE_INSENSITIVE);
+        "^(X(IX|IV|V?I{0,3})|IX|IV|VI{0,3}|I{1,3})\\.(\\s+\\w|$)",
+        Pattern.CASE_INSENSITIVE);
     ITEMIZE_ITEM_PATTERNS.add(pattern2);
 
     // A pattern to find items that start with "(I)", "(II)", "(III)", etc.
     Pattern pattern3 = Pattern.compile(
-        "^\\((X{0,1}(IX|IV|V?I{0,3}))\\)(\\s+\\w|$)", Pattern.CASE_INSENSITIVE);
+        "^\\((X(IX|IV|V?I{0,3})|IX|IV|VI{0,3}|I{1,3})\\)(\\s+\\w|$)",
+        Pattern.CASE_INSENSITIVE);
     ITEMIZE_ITEM_PATTERNS.add(pattern3);
 
     // A pattern to find items that start with "A.", "B.", "C.", 0., 1., etc.
@@ -56,44 +57,39 @@ public class ItemizeItemModule implements PdfTextSemanticizerModule {
     ITEMIZE_ITEM_PATTERNS.add(pattern6);
   }
 
+  /**
+   * The bit mask of the ids of the itemize item patterns in the text
+   * classifier.
+   */
+  protected long itemizeItemPatternIds;
+
   // ==========================================================================
 
   @Override
-  public void semanticize(PdfDocument pdf) {
-    if (pdf == null) {
-      return;
+  public void register(TextClassifier.Builder builder) {
+    for (Pattern pattern : ITEMIZE_ITEM_PATTERNS) {
+      this.itemizeItemPatternIds |= 1L << builder.addPattern(pattern);
     }
+  }
+
+  @Override
+  public void prepare(SemanticizerContext context) {
+    // Nothing to prepare.
+  }
+
+  @Override
+  public void semanticize(SemanticizerContext context) {
+    TextBlock block = context.getTextBlock();
 
-    List<Page> pages = pdf.getPages();
-    if (pages == null) {
+    // Don't overwrite existing roles.
+    if (block.getSemanticRole() != null) {
       return;
     }
 
-    for (Page page : pages) {
-      if (page == null) {
-        continue;
-      }
-
-      for (TextBlock block : page.getTextBlocks()) {
-        if (block == null) {
-          continue;
-        }
-
-        // Don't overwrite existing roles.
-        if (block.getSemanticRole() != null) {
-          continue;
-        }
-
-        // The text block is a itemize item if its text matches to one of the
-        // given patterns.
-        for (Pattern pattern : ITEMIZE_ITEM_PATTERNS) {
-          Matcher matcher = pattern.matcher(block.getText());
-          if (matcher.find() && !matcher.group(1).isEmpty()) {
-            block.setSemanticRole(SemanticRole.ITEMIZE_ITEM);
-            break;
-          }
-        }
-      }
+    // The text block is a itemize item if its text matches to one of the
+    // given patterns.
+    if ((context.getMatches() & this.itemizeItemPatternIds) != 0) {
+      block.setSemanticRole(SemanticRole.ITEMIZE_ITEM);
     }
   }
 }
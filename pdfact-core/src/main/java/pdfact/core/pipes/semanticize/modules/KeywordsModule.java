@@ -1,11 +1,8 @@
 package pdfact.core.pipes.semanticize.modules;
 
-import java.util.List;
-
-import pdfact.core.model.Page;
-import pdfact.core.model.PdfDocument;
 import pdfact.core.model.SemanticRole;
 import pdfact.core.model.TextBlock;
+import pdfact.core.util.text.TextClassifier;
 
 /**
  * A module that identifies the text blocks with the semantic role "keywords".
@@ -20,46 +17,37 @@ public class KeywordsModule implements PdfTextSemanticizerModule {
   protected boolean isKeywords = false;
 
   @Override
-  public void semanticize(PdfDocument pdf) {
-    if (pdf == null) {
-      return;
-    }
-
-    List<Page> pages = pdf.getPages();
-    if (pages == null) {
-      return;
-    }
+  public void register(TextClassifier.Builder builder) {
+    // Nothing to register.
+  }
 
-    for (Page page : pages) {
-      if (page == null) {
-        continue;
-      }
+  @Override
+  public void prepare(SemanticizerContext context) {
+    this.isKeywords = false;
+  }
 
-      for (TextBlock block : page.getTextBlocks()) {
-        if (block == null) {
-          continue;
-        }
+  @Override
+  public void semanticize(SemanticizerContext context) {
+    TextBlock block = context.getTextBlock();
 
-        SemanticRole role = block.getSemanticRole();
-        SemanticRole secondaryRole = block.getSecondarySemanticRole();
+    SemanticRole role = block.getSemanticRole();
+    SemanticRole secondaryRole = block.getSecondarySemanticRole();
 
-        // Check if the current block is a section heading (which would
-        // denote the end of the Keywords section).
-        if (this.isKeywords && role == SemanticRole.HEADING) {
-          this.isKeywords = false;
-        }
+    // Check if the current block is a section heading (which would
+    // denote the end of the Keywords section).
+    if (this.isKeywords && role == SemanticRole.HEADING) {
+      this.isKeywords = false;
+    }
 
-        if (this.isKeywords) {
-          block.setSemanticRole(SemanticRole.KEYWORDS);
-        }
+    if (this.isKeywords) {
+      block.setSemanticRole(SemanticRole.KEYWORDS);
+    }
 
-        // Check if the current block is the heading of the Keywords section
-        // (which would denote the start of the Keywords section).
-        if (role == SemanticRole.HEADING
-            && secondaryRole == SemanticRole.KEYWORDS) {
-          this.isKeywords = true;
-        }
-      }
+    // Check if the current block is the heading of the Keywords section
+    // (which would denote the start of the Keywords section).
+    if (role == SemanticRole.HEADING
+        && secondaryRole == SemanticRole.KEYWORDS) {
+      this.isKeywords = true;
     }
   }
 }
@@ -1,139 +1,293 @@
 package pdfact.core.pipes.semanticize.modules;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.Arrays;
 
-import com.google.inject.Inject;
-
-import pdfact.core.model.Page;
-import pdfact.core.model.PdfDocument;
+import pdfact.core.model.Position;
+import pdfact.core.model.Rectangle;
 import pdfact.core.model.SemanticRole;
 import pdfact.core.model.TextBlock;
-import pdfact.core.util.comparator.MinYComparator;
-import pdfact.core.util.counter.ObjectCounter;
-import pdfact.core.util.counter.ObjectCounter.ObjectCounterFactory;
+import pdfact.core.util.text.TextClassifier;
 
 /**
  * A module that identifies the text blocks with the semantic role "page header"
  * and "page footer".
  * 
+ * Running headers and footers are detected by recurring texts at recurring
+ * positions: for each of the (up to
+ * {@link SemanticizerContext#NUM_EDGE_BLOCKS}) topmost and lowest text blocks
+ * of a page, a 64-bit fingerprint of its text without digits (such that page numbers don't matter) is computed. The blocks
+ * are clustered by their fingerprints and, within a cluster, a block is
+ * matched with the blocks of other pages whose vertical positions differ by
+ * at most {@link #POSITION_TOLERANCE}, so that headers that shift slightly
+ * from page to page are still recognized. Blocks that recur on enough pages
+ * are page headers and footers. Hence, also headers that consist of multiple
+ * blocks (like the name of a journal and a separate page number) are detected.
+ * 
+ * A single-page document has no recurring blocks, so its topmost block is
+ * considered to be the page header and its lowest block to be the page
+ * footer, as before the detection by recurrence.
+ * 
  * @author Claudius Korzen
  */
 public class PageHeaderFooterModule implements PdfTextSemanticizerModule {
   /**
-   * The factory to create instances of {@link ObjectCounter}.
+   * The maximum difference (in pt) between the vertical positions of two
+   * blocks with the same text to be considered as the same header or footer.
    */
-  protected ObjectCounterFactory<String> objectCounterFactory;
+  protected static final float POSITION_TOLERANCE = 3f;
 
   /**
-   * Creates a new module that identifies the page headers and footers.
-   * 
-   * @param objectCounterFactory
-   *        The factory to create instances of {@link ObjectCounter}.
+   * The minimum number of pages on which a block must recur to be a page
+   * header or footer (in documents with multiple pages).
    */
-  @Inject
-  public PageHeaderFooterModule(
-      ObjectCounterFactory<String> objectCounterFactory) {
-    this.objectCounterFactory = objectCounterFactory;
-  }
+  protected static final int MIN_NUM_PAGES = 2;
+
+  /**
+   * The offset basis of the 64-bit FNV-1a hash.
+   */
+  protected static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+  /**
+   * The prime of the 64-bit FNV-1a hash.
+   */
+  protected static final long FNV_PRIME = 0x100000001b3L;
+
+  /**
+   * The number of pages on which the lowest text blocks recur, per page.
+   */
+  protected int[][] lowestBlockNumPages;
+
+  /**
+   * The number of pages on which the topmost text blocks recur, per page.
+   */
+  protected int[][] topmostBlockNumPages;
+
+  /**
+   * The number of pages with at least one text block.
+   */
+  protected int numPagesWithBlocks;
+
+  /**
+   * The minimum number of pages on which a block must recur to be a page
+   * header or footer in the current document.
+   */
+  protected int minNumPages;
 
   // ==========================================================================
 
   @Override
-  public void semanticize(PdfDocument pdf) {
-    if (pdf == null) {
-      return;
-    }
+  public void register(TextClassifier.Builder builder) {
+    // Nothing to register.
+  }
 
-    List<Page> pages = pdf.getPages();
-    if (pages == null) {
-      return;
+  @Override
+  public void prepare(SemanticizerContext context) {
+    int numPages = context.getNumPages();
+    this.numPagesWithBlocks = 0;
+    for (int page = 0; page < numPages; page++) {
+      if (context.getLowestBlocks(page).length > 0) {
+        this.numPagesWithBlocks++;
+      }
     }
 
-    // Compute the lowest and topmost blocks of the pages.
-    List<TextBlock> lowestBlocks = new ArrayList<>(pages.size());
-    List<TextBlock> topMostBlocks = new ArrayList<>(pages.size());
-
-    for (Page page : pages) {
-      if (page == null) {
-        continue;
-      }
+    // A block is a header or footer if it recurs on at least half of the
+    // pages.
+    this.minNumPages = Math.max(MIN_NUM_PAGES, this.numPagesWithBlocks / 2);
 
-      List<TextBlock> textBlocks = page.getTextBlocks();
-      if (textBlocks == null || textBlocks.isEmpty()) {
-        continue;
-      }
+    this.lowestBlockNumPages = countPages(context, false);
+    this.topmostBlockNumPages = countPages(context, true);
+  }
 
-      // Sort the blocks by minY to obtain the lowest and topmost block.
-      List<TextBlock> sortedBlocks = new ArrayList<>(textBlocks);
-      Collections.sort(sortedBlocks, new MinYComparator());
+  @Override
+  public void semanticize(SemanticizerContext context) {
+    TextBlock block = context.getTextBlock();
+    int page = context.getPageIndex();
+    int index = context.getBlockIndex();
 
-      lowestBlocks.add(sortedBlocks.get(0));
-      topMostBlocks.add(sortedBlocks.get(sortedBlocks.size() - 1));
+    if (isRunningBlock(index, context.getLowestBlocks(page),
+        this.lowestBlockNumPages[page])) {
+      block.setSemanticRole(SemanticRole.PAGE_FOOTER);
     }
 
-    semanticizeBlocks(lowestBlocks, SemanticRole.PAGE_FOOTER);
-    semanticizeBlocks(topMostBlocks, SemanticRole.PAGE_HEADER);
+    if (isRunningBlock(index, context.getTopmostBlocks(page),
+        this.topmostBlockNumPages[page])) {
+      block.setSemanticRole(SemanticRole.PAGE_HEADER);
+    }
   }
 
   // ==========================================================================
 
   /**
-   * Searches the given text blocks for page headers (or page footers). Assigns
-   * the given role to each text block that we consider as an member of a page
-   * header (or page footer).
+   * Counts for each of the lowest (or topmost) text blocks of each page the
+   * number of pages with a lowest (or topmost) block with the same text
+   * fingerprint and a vertical position within the tolerance.
    * 
-   * @param blocks
-   *        The text blocks to process.
-   * @param role
-   *        The semantic role to assign to the related text blocks.
+   * @param context
+   *        The context of the PDF document.
+   * @param top
+   *        True, if the topmost blocks should be processed; false if the
+   *        lowest blocks should be processed.
+   * 
+   * @return The number of pages per block, per page (in the order of the
+   *         lowest or topmost blocks of the page).
    */
-  protected void semanticizeBlocks(List<TextBlock> blocks, SemanticRole role) {
-    if (blocks == null || blocks.isEmpty()) {
-      return;
-    }
+  protected int[][] countPages(SemanticizerContext context, boolean top) {
+    int numPages = context.getNumPages();
+    int[][] numPagesPerBlock = new int[numPages][];
 
-    // Count the frequencies of texts in the blocks.
-    ObjectCounter<String> textCounter = this.objectCounterFactory.create();
-    for (TextBlock block : blocks) {
-      textCounter.add(getNormalizedText(block));
+    // Collect the fingerprints and positions of the blocks.
+    int numBlocks = 0;
+    for (int page = 0; page < numPages; page++) {
+      numBlocks += getEdgeBlocks(context, page, top).length;
     }
-
-    int mostCommonTextFreq = textCounter.getMostCommonObjectFrequency();
-    if (mostCommonTextFreq < blocks.size() / 2) {
-      return;
+    long[] fingerprints = new long[numBlocks];
+    float[] positions = new float[numBlocks];
+    int[] pages = new int[numBlocks];
+    int[] slots = new int[numBlocks];
+    Integer[] order = new Integer[numBlocks];
+    int n = 0;
+    for (int page = 0; page < numPages; page++) {
+      int[] blocks = getEdgeBlocks(context, page, top);
+      numPagesPerBlock[page] = new int[blocks.length];
+      for (int i = 0; i < blocks.length; i++, n++) {
+        TextBlock block = context.getTextBlocks(page).get(blocks[i]);
+        fingerprints[n] = computeFingerprint(context.getText(page, blocks[i]));
+        positions[n] = computePosition(block, top);
+        pages[n] = page;
+        slots[n] = i;
+        order[n] = n;
+      }
     }
 
-    String mostCommonText = textCounter.getMostCommonObject();
-    for (TextBlock block : blocks) {
-      String normalizedText = getNormalizedText(block);
-      if (normalizedText.equals(mostCommonText)) {
-        block.setSemanticRole(role);
+    // Sort the blocks by their fingerprints and then by their positions, so
+    // that the blocks of a cluster are consecutive.
+    Arrays.sort(order, (a, b) -> {
+      int cmp = Long.compare(fingerprints[a], fingerprints[b]);
+      return cmp != 0 ? cmp : Float.compare(positions[a], positions[b]);
+    });
+
+    // Slide a window of the tolerance over the blocks of each cluster and
+    // count the distinct pages in the window.
+    int[] pageCounts = new int[numPages];
+    int numDistinctPages = 0;
+    int left = 0;
+    int right = 0;
+    for (int i = 0; i < numBlocks; i++) {
+      int block = order[i];
+      if (i > 0 && fingerprints[order[i - 1]] != fingerprints[block]) {
+        // A new cluster starts; clear the window.
+        for (; left < right; left++) {
+          pageCounts[pages[order[left]]]--;
+        }
+        numDistinctPages = 0;
+        left = right = i;
+      }
+      while (right < numBlocks
+          && fingerprints[order[right]] == fingerprints[block]
+          && positions[order[right]] - positions[block] <= POSITION_TOLERANCE) {
+        if (pageCounts[pages[order[right]]]++ == 0) {
+          numDistinctPages++;
+        }
+        right++;
       }
+      while (positions[block] - positions[order[left]] > POSITION_TOLERANCE) {
+        if (--pageCounts[pages[order[left]]] == 0) {
+          numDistinctPages--;
+        }
+        left++;
+      }
+      numPagesPerBlock[pages[block]][slots[block]] = numDistinctPages;
     }
+    return numPagesPerBlock;
   }
 
-  // ==========================================================================
+  /**
+   * Returns the indexes of the lowest (or topmost) text blocks of the given
+   * page.
+   * 
+   * @param context
+   *        The context of the PDF document.
+   * @param page
+   *        The index of the page.
+   * @param top
+   *        True, if the topmost blocks should be returned; false if the
+   *        lowest blocks should be returned.
+   * 
+   * @return The indexes of the lowest (or topmost) text blocks.
+   */
+  protected int[] getEdgeBlocks(SemanticizerContext context, int page,
+      boolean top) {
+    return top ? context.getTopmostBlocks(page) : context.getLowestBlocks(page);
+  }
 
   /**
-   * Returns the text of the given text blocks without any numbers.
+   * Computes the fingerprint of the given text, that is: a 64-bit FNV-1a hash
+   * of the text without digits.
    * 
-   * @param block
-   *        The text block to process.
+   * @param text
+   *        The text of a text block.
    * 
-   * @return The text of the given text blocks without any numbers.
+   * @return The fingerprint of the text.
    */
-  protected String getNormalizedText(TextBlock block) {
-    if (block == null) {
-      return null;
+  protected long computeFingerprint(String text) {
+    long hash = FNV_OFFSET_BASIS;
+    for (int i = 0; text != null && i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c < '0' || c > '9') {
+        hash = (hash ^ c) * FNV_PRIME;
+      }
     }
+    return hash;
+  }
 
-    String text = block.getText();
-    if (text == null) {
-      return null;
+  /**
+   * Returns the vertical position of the given text block, that is: the edge
+   * of the block that faces the page boundary (the upper edge of header
+   * blocks and the lower edge of footer blocks), such that the number of lines
+   * of a block doesn't matter.
+   * 
+   * @param block
+   *        The text block.
+   * @param top
+   *        True, if the block is at the top of the page; false if it is at the
+   *        bottom of the page.
+   * 
+   * @return The vertical position of the block or 0 if the block has no
+   *         position (such blocks are compared by their texts only).
+   */
+  protected float computePosition(TextBlock block, boolean top) {
+    Position position = block.getPosition();
+    Rectangle rect = position != null ? position.getRectangle() : null;
+    if (rect == null) {
+      return 0;
     }
+    return top ? rect.getMaxY() : rect.getMinY();
+  }
 
-    return text.replaceAll("\\d", "");
+  /**
+   * Checks if the text block with the given index is one of the given blocks
+   * and recurs on enough pages to be a page header (or page footer).
+   * 
+   * @param index
+   *        The index of the text block in its page.
+   * @param blocks
+   *        The indexes of the lowest (or topmost) text blocks of the page.
+   * @param numPages
+   *        The number of pages on which the lowest (or topmost) text blocks of
+   *        the page recur.
+   * 
+   * @return True, if the text block is a page footer (or page header).
+   */
+  protected boolean isRunningBlock(int index, int[] blocks, int[] numPages) {
+    for (int i = 0; i < blocks.length; i++) {
+      if (blocks[i] == index) {
+        if (this.numPagesWithBlocks == 1) {
+          // Consider the outermost block of a single page.
+          return i == 0;
+        }
+        return numPages[i] >= this.minNumPages;
+      }
+    }
+    return false;
   }
 }
@@ -1,19 +1,55 @@
 package pdfact.core.pipes.semanticize.modules;
 
-import pdfact.core.model.PdfDocument;
+import pdfact.core.util.text.TextClassifier;
 
 /**
  * A semantic role module that identifies the text blocks of a specific semantic
  * role in a PDF document.
  * 
+ * The texts of the blocks are matched against the patterns and keywords of all
+ * modules in a single pass: each module registers its patterns and keywords
+ * once via {@link #register(TextClassifier.Builder)} and looks up the matches
+ * of a text block in the context.
+ * 
+ * The modules are run by a single traversal over the text blocks of a
+ * document: first, {@link #prepare(SemanticizerContext)} is called on each
+ * module (in the declared order of the modules). Then, for each text block (in
+ * the order of the pages and the blocks in the pages),
+ * {@link #semanticize(SemanticizerContext)} is called on each module (again
+ * in the declared order). Hence, a module sees the roles that were assigned to
+ * the current block by all preceding modules.
+ * 
  * @author Claudius Korzen
  */
 public interface PdfTextSemanticizerModule {
   /**
-   * Identifies the text blocks of a specific semantic role.
+   * Registers the patterns and keywords needed by this module to the builder
+   * of the text classifier shared by all modules. The ids returned by the
+   * builder identify the patterns and keywords in the matches provided by
+   * {@link SemanticizerContext#getMatches()}.
+   * 
+   * @param builder
+   *        The builder of the text classifier.
+   */
+  void register(TextClassifier.Builder builder);
+
+  /**
+   * Prepares this module for the PDF document of the given context, for
+   * example by computing document-level features from the shared features of
+   * the context. Resets any state from a previous document.
+   * 
+   * @param context
+   *        The context of the PDF document to semanticize.
+   */
+  void prepare(SemanticizerContext context);
+
+  /**
+   * Checks if the current text block of the given context is of the specific
+   * semantic role and, if so, assigns the role to the block.
    * 
-   * @param pdf
-   *        The PDF document to semanticize.
+   * @param context
+   *        The context of the PDF document to semanticize, pointing to the
+   *        current text block (which is never null).
    */
-  void semanticize(PdfDocument pdf);
-}
\ No newline at end of file
+  void semanticize(SemanticizerContext context);
+}
@@ -1,11 +1,8 @@
 package pdfact.core.pipes.semanticize.modules;
 
-import java.util.List;
-
-import pdfact.core.model.Page;
-import pdfact.core.model.PdfDocument;
 import pdfact.core.model.SemanticRole;
 import pdfact.core.model.TextBlock;
+import pdfact.core.util.text.TextClassifier;
 
 /**
  * A module that identifies the text blocks with the semantic role "reference".
@@ -20,46 +17,37 @@ public class ReferenceModule implements PdfTextSemanticizerModule {
   protected boolean isReferences = false;
 
   @Override
-  public void semanticize(PdfDocument pdf) {
-    if (pdf == null) {
-      return;
-    }
-
-    List<Page> pages = pdf.getPages();
-    if (pages == null) {
-      return;
-    }
+  public void register(TextClassifier.Builder builder) {
+    // Nothing to register.
+  }
 
-    for (Page page : pages) {
-      if (page == null) {
-        continue;
-      }
+  @Override
+  public void prepare(SemanticizerContext context) {
+    this.isReferences = false;
+  }
 
-      for (TextBlock block : page.getTextBlocks()) {
-        if (block == null) {
-          continue;
-        }
+  @Override
+  public void semanticize(SemanticizerContext context) {
+    TextBlock block = context.getTextBlock();
 
-        SemanticRole role = block.getSemanticRole();
-        SemanticRole secondaryRole = block.getSecondarySemanticRole();
+    SemanticRole role = block.getSemanticRole();
+    SemanticRole secondaryRole = block.getSecondarySemanticRole();
 
-        // Check if the current block is a section heading (which would
-        // denote the end of the Reference section).
-        if (this.isReferences && role == SemanticRole.HEADING) {
-          this.isReferences = false;
-        }
+    // Check if the current block is a section heading (which would
+    // denote the end of the Reference section).
+    if (this.isReferences && role == SemanticRole.HEADING) {
+      this.isReferences = false;
+    }
 
-        if (this.isReferences) {
-          block.setSemanticRole(SemanticRole.REFERENCE);
-        }
+    if (this.isReferences) {
+      block.setSemanticRole(SemanticRole.REFERENCE);
+    }
 
-        // Check if the current block is the section heading of the Reference
-        // section (which would denote the end of the Reference section).
-        if (role == SemanticRole.HEADING
-            && secondaryRole == SemanticRole.REFERENCE) {
-          this.isReferences = true;
-        }
-      }
+    // Check if the current block is the section heading of the Reference
+    // section (which would denote the end of the Reference section).
+    if (role == SemanticRole.HEADING
+        && secondaryRole == SemanticRole.REFERENCE) {
+      this.isReferences = true;
     }
   }
 }
@@ -0,0 +1,433 @@
+package pdfact.core.pipes.semanticize.modules;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import pdfact.core.model.CharacterStatistic;
+import pdfact.core.model.FontFace;
+import pdfact.core.model.HasPosition;
+import pdfact.core.model.Page;
+import pdfact.core.model.PdfDocument;
+import pdfact.core.model.TextBlock;
+import pdfact.core.util.comparator.MinYComparator;
+import pdfact.core.util.text.TextClassifier;
+
+/**
+ * The context shared by all semanticizer modules on processing a PDF
+ * document. It holds the features that are needed by several modules and are
+ * computed once per document (the texts of the text blocks and their matches
+ * in the text classifier of the modules, the most common font face and the
+ * extreme text blocks per page), and a cursor that points to the text block
+ * currently visited.
+ *
+ * The text blocks are addressed by the index of their page in the document and
+ * their index in the page. The features of the pages are independent from each
+ * other and can be computed in parallel.
+ *
+ * @author Claudius Korzen
+ */
+public class SemanticizerContext {
+  /**
+   * The number of lowest and topmost text blocks to select per page.
+   */
+  public static final int NUM_EDGE_BLOCKS = 3;
+
+  /**
+   * The comparator to find the lowest and topmost text blocks of a page.
+   */
+  protected static final Comparator<HasPosition> MIN_Y_COMPARATOR =
+      new MinYComparator();
+
+  /**
+   * The PDF document.
+   */
+  protected PdfDocument pdf;
+
+  /**
+   * The pages of the PDF document.
+   */
+  protected List<Page> pages;
+
+  /**
+   * The most common font face in the PDF document.
+   */
+  protected FontFace mostCommonFontFace;
+
+  /**
+   * The text blocks, per page.
+   */
+  protected List<List<TextBlock>> textBlocks;
+
+  /**
+   * The texts of the text blocks, per page.
+   */
+  protected String[][] texts;
+
+  /**
+   * The text classifier with the patterns and keywords of the modules.
+   */
+  protected TextClassifier classifier;
+
+  /**
+   * The matches of the texts of the text blocks in the text classifier, per
+   * page.
+   */
+  protected long[][] matches;
+
+  /**
+   * The indexes of the (up to NUM_EDGE_BLOCKS) lowest text blocks, per page,
+   * starting with the lowest block.
+   */
+  protected int[][] lowestBlocks;
+
+  /**
+   * The indexes of the (up to NUM_EDGE_BLOCKS) topmost text blocks, per page,
+   * starting with the topmost block.
+   */
+  protected int[][] topmostBlocks;
+
+  /**
+   * The indexes of the text blocks with the largest font sizes of the pages
+   * (-1 if none).
+   */
+  protected int[] largestFontSizeBlocks;
+
+  /**
+   * The index of the page of the current text block.
+   */
+  protected int pageIndex;
+
+  /**
+   * The index of the current text block in its page.
+   */
+  protected int blockIndex;
+
+  // ==========================================================================
+
+  /**
+   * Creates a new context for the given PDF document and computes the
+   * features of its pages.
+   *
+   * @param pdf
+   *        The PDF document.
+   * @param classifier
+   *        The text classifier with the patterns and keywords of the modules.
+   * @param parallel
+   *        True, if the features of the pages should be computed in parallel;
+   *        false otherwise.
+   */
+  public SemanticizerContext(PdfDocument pdf, TextClassifier classifier,
+      boolean parallel) {
+    this.pdf = pdf;
+    this.classifier = classifier;
+    this.pages = pdf.getPages();
+    if (this.pages == null) {
+      this.pages = Collections.emptyList();
+    }
+
+    CharacterStatistic pdfCharStats = pdf.getCharacterStatistic();
+    if (pdfCharStats != null) {
+      this.mostCommonFontFace = pdfCharStats.getMostCommonFontFace();
+    }
+
+    int numPages = this.pages.size();
+    this.textBlocks = new ArrayList<>(numPages);
+    for (Page page : this.pages) {
+      List<TextBlock> blocks = page != null ? page.getTextBlocks() : null;
+      this.textBlocks.add(blocks != null ? blocks : new ArrayList<>());
+    }
+    this.texts = new String[numPages][];
+    this.matches = new long[numPages][];
+    this.lowestBlocks = new int[numPages][];
+    this.topmostBlocks = new int[numPages][];
+    this.largestFontSizeBlocks = new int[numPages];
+
+    // Each page writes to its own slots only.
+    IntStream pageIndexes = IntStream.range(0, numPages);
+    if (parallel) {
+      pageIndexes = pageIndexes.parallel();
+    }
+    pageIndexes.forEach(this::computePageFeatures);
+  }
+
+  // ==========================================================================
+
+  /**
+   * Computes the features of the page with the given index.
+   *
+   * @param page
+   *        The index of the page.
+   */
+  protected void computePageFeatures(int page) {
+    List<TextBlock> blocks = this.textBlocks.get(page);
+    int numBlocks = blocks.size();
+
+    String[] texts = new String[numBlocks];
+    long[] matches = new long[numBlocks];
+    int[] lowest = new int[NUM_EDGE_BLOCKS];
+    int[] topmost = new int[NUM_EDGE_BLOCKS];
+    int numLowest = 0;
+    int numTopmost = 0;
+    int largestFontSize = -1;
+    float largestFontSizeValue = -Float.MAX_VALUE;
+
+    for (int i = 0; i < numBlocks; i++) {
+      TextBlock block = blocks.get(i);
+      if (block == null) {
+        continue;
+      }
+
+      // Select the lowest and topmost blocks in a single pass.
+      numLowest = select(blocks, lowest, numLowest, i, true);
+      numTopmost = select(blocks, topmost, numTopmost, i, false);
+
+      String text = block.getText();
+      texts[i] = text;
+      matches[i] = this.classifier.classify(text);
+
+      CharacterStatistic blockCharStats = block.getCharacterStatistic();
+      FontFace fontFace = blockCharStats != null
+          ? blockCharStats.getMostCommonFontFace() : null;
+      if (fontFace != null && fontFace.getFontSize() > largestFontSizeValue) {
+        largestFontSizeValue = fontFace.getFontSize();
+        largestFontSize = i;
+      }
+    }
+
+    this.texts[page] = texts;
+    this.matches[page] = matches;
+    this.lowestBlocks[page] = Arrays.copyOf(lowest, numLowest);
+    this.topmostBlocks[page] = Arrays.copyOf(topmost, numTopmost);
+    this.largestFontSizeBlocks[page] = largestFontSize;
+  }
+
+  /**
+   * Inserts the given text block into the given selection of the lowest (or
+   * topmost) text blocks, if it is lower (or higher) than any of them or if
+   * the selection is not full yet. Of several blocks with the same minY, the
+   * first block is the lower and the last block is the higher one.
+   *
+   * @param blocks
+   *        The text blocks of the page.
+   * @param selected
+   *        The indexes of the selected blocks, ordered by their rank.
+   * @param size
+   *        The number of selected blocks.
+   * @param block
+   *        The index of the text block to insert.
+   * @param lowest
+   *        True, to select the lowest blocks; false to select the topmost
+   *        blocks.
+   *
+   * @return The new number of selected blocks.
+   */
+  protected static int select(List<TextBlock> blocks, int[] selected,
+      int size, int block, boolean lowest) {
+    int pos = size;
+    while (pos > 0) {
+      int cmp = MIN_Y_COMPARATOR.compare(blocks.get(block),
+          blocks.get(selected[pos - 1]));
+      if (lowest ? cmp >= 0 : cmp < 0) {
+        break;
+      }
+      pos--;
+    }
+    if (pos >= selected.length) {
+      return size;
+    }
+    int newSize = Math.min(size + 1, selected.length);
+    System.arraycopy(selected, pos, selected, pos + 1, newSize - pos - 1);
+    selected[pos] = block;
+    return newSize;
+  }
+
+  // ==========================================================================
+  // Methods to access the features of the document.
+
+  /**
+   * Returns the PDF document.
+   *
+   * @return The PDF document.
+   */
+  public PdfDocument getPdfDocument() {
+    return this.pdf;
+  }
+
+  /**
+   * Returns the most common font face in the PDF document.
+   *
+   * @return The most common font face in the PDF document.
+   */
+  public FontFace getMostCommonFontFace() {
+    return this.mostCommonFontFace;
+  }
+
+  /**
+   * Returns the number of pages in the PDF document.
+   *
+   * @return The number of pages in the PDF document.
+   */
+  public int getNumPages() {
+    return this.pages.size();
+  }
+
+  /**
+   * Returns the page with the given index.
+   *
+   * @param page
+   *        The index of the page.
+   *
+   * @return The page with the given index.
+   */
+  public Page getPage(int page) {
+    return this.pages.get(page);
+  }
+
+  /**
+   * Returns the text blocks of the page with the given index.
+   *
+   * @param page
+   *        The index of the page.
+   *
+   * @return The text blocks of the page (an empty list if there are none).
+   */
+  public List<TextBlock> getTextBlocks(int page) {
+    return this.textBlocks.get(page);
+  }
+
+  /**
+   * Returns the text of the given text block.
+   *
+   * @param page
+   *        The index of the page.
+   * @param block
+   *        The index of the text block in the page.
+   *
+   * @return The text of the text block.
+   */
+  public String getText(int page, int block) {
+    return this.texts[page][block];
+  }
+
+  /**
+   * Returns the matches of the text of the given text block in the text
+   * classifier of the modules.
+   *
+   * @param page
+   *        The index of the page.
+   * @param block
+   *        The index of the text block in the page.
+   *
+   * @return The bit mask of the ids of the matching patterns and keywords.
+   */
+  public long getMatches(int page, int block) {
+    return this.matches[page][block];
+  }
+
+  /**
+   * Returns the indexes of the (up to NUM_EDGE_BLOCKS) lowest text blocks in
+   * the given page.
+   *
+   * @param page
+   *        The index of the page.
+   *
+   * @return The indexes of the lowest text blocks, starting with the lowest
+   *         block (an empty array if there are none).
+   */
+  public int[] getLowestBlocks(int page) {
+    return this.lowestBlocks[page];
+  }
+
+  /**
+   * Returns the indexes of the (up to NUM_EDGE_BLOCKS) topmost text blocks in
+   * the given page.
+   *
+   * @param page
+   *        The index of the page.
+   *
+   * @return The indexes of the topmost text blocks, starting with the topmost
+   *         block (an empty array if there are none).
+   */
+  public int[] getTopmostBlocks(int page) {
+    return this.topmostBlocks[page];
+  }
+
+  /**
+   * Returns the index of the first text block with the largest font size in
+   * the given page.
+   *
+   * @param page
+   *        The index of the page.
+   *
+   * @return The index of the text block or -1 if there is none.
+   */
+  public int getLargestFontSizeBlock(int page) {
+    return this.largestFontSizeBlocks[page];
+  }
+
+  // ==========================================================================
+  // Methods to access the current text block.
+
+  /**
+   * Moves the cursor to the given text block.
+   *
+   * @param page
+   *        The index of the page.
+   * @param block
+   *        The index of the text block in the page.
+   */
+  public void moveTo(int page, int block) {
+    this.pageIndex = page;
+    this.blockIndex = block;
+  }
+
+  /**
+   * Returns the index of the page of the current text block.
+   *
+   * @return The index of the page of the current text block.
+   */
+  public int getPageIndex() {
+    return this.pageIndex;
+  }
+
+  /**
+   * Returns the index of the current text block in its page.
+   *
+   * @return The index of the current text block in its page.
+   */
+  public int getBlockIndex() {
+    return this.blockIndex;
+  }
+
+  /**
+   * Returns the current text block.
+   *
+   * @return The current text block.
+   */
+  public TextBlock getTextBlock() {
+    return this.textBlocks.get(this.pageIndex).get(this.blockIndex);
+  }
+
+  /**
+   * Returns the text of the current text block.
+   *
+   * @return The text of the current text block.
+   */
+  public String getText() {
+    return getText(this.pageIndex, this.blockIndex);
+  }
+
+  /**
+   * Returns the matches of the text of the current text block in the text
+   * classifier of the modules.
+   *
+   * @return The bit mask of the ids of the matching patterns and keywords.
+   */
+  public long getMatches() {
+    return getMatches(this.pageIndex, this.blockIndex);
+  }
+}
@@ -2,12 +2,11 @@ package pdfact.core.pipes.semanticize.modules;
 
 import java.util.List;
 
-import pdfact.core.model.Page;
-import pdfact.core.model.PdfDocument;
 import pdfact.core.model.Rectangle;
 import pdfact.core.model.SemanticRole;
 import pdfact.core.model.Shape;
 import pdfact.core.model.TextBlock;
+import pdfact.core.util.text.TextClassifier;
 
 /**
  * A module that identifies the text blocks with the semantic role "table".
@@ -16,50 +15,40 @@ import pdfact.core.model.TextBlock;
  */
 public class TableModule implements PdfTextSemanticizerModule {
   @Override
-  public void semanticize(PdfDocument pdf) {
-    if (pdf == null) {
-      return;
-    }
+  public void register(TextClassifier.Builder builder) {
+    // Nothing to register.
+  }
+
+  @Override
+  public void prepare(SemanticizerContext context) {
+    // Nothing to prepare.
+  }
+
+  @Override
+  public void semanticize(SemanticizerContext context) {
+    TextBlock block = context.getTextBlock();
 
-    List<Page> pages = pdf.getPages();
-    if (pages == null) {
+    if (block.getSemanticRole() != null) {
       return;
     }
 
-    for (Page page : pages) {
-      if (page == null) {
+    Rectangle blockRectangle = block.getPosition().getRectangle();
+
+    List<Shape> shapes = context.getPage(context.getPageIndex()).getShapes();
+    for (Shape shape : shapes) {
+      // The block is a part of a table if there is a shape that overlaps
+      // the block, but the shape is not completely included in the block
+      // (that avoids that blocks that contains underlined words would be
+      // identified as table).
+      Rectangle shapeRectangle = shape.getPosition().getRectangle();
+      if (blockRectangle.contains(shapeRectangle)) {
         continue;
       }
-
-      List<Shape> shapes = page.getShapes();
-
-      for (TextBlock block : page.getTextBlocks()) {
-        if (block == null) {
-          continue;
-        }
-
-        if (block.getSemanticRole() != null) {
-          continue;
-        }
-
-        Rectangle blockRectangle = block.getPosition().getRectangle();
-
-        for (Shape shape : shapes) {
-          // The block is a part of a table if there is a shape that overlaps
-          // the block, but the shape is not completely included in the block
-          // (that avoids that blocks that contains underlined words would be
-          // identified as table).
-          Rectangle shapeRectangle = shape.getPosition().getRectangle();
-          if (blockRectangle.contains(shapeRectangle)) {
-            continue;
-          }
-          if (!shapeRectangle.overlaps(blockRectangle)) {
-            continue;
-          }
-          block.setSemanticRole(SemanticRole.TABLE);
-          break;
-        }
+      if (!shapeRectangle.overlaps(blockRectangle)) {
+        continue;
       }
+      block.setSemanticRole(SemanticRole.TABLE);
+      break;
     }
   }
 }
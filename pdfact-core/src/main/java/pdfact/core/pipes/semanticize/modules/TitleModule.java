@@ -1,13 +1,8 @@
 package pdfact.core.pipes.semanticize.modules;
 
-import java.util.List;
-
-import pdfact.core.model.CharacterStatistic;
-import pdfact.core.model.FontFace;
-import pdfact.core.model.Page;
-import pdfact.core.model.PdfDocument;
 import pdfact.core.model.SemanticRole;
 import pdfact.core.model.TextBlock;
+import pdfact.core.util.text.TextClassifier;
 
 /**
  * A module that identifies the text blocks with the semantic role "title".
@@ -15,47 +10,37 @@ import pdfact.core.model.TextBlock;
  * @author Claudius Korzen
  */
 public class TitleModule implements PdfTextSemanticizerModule {
+  /**
+   * The text block with the largest font size in the first page.
+   */
+  protected TextBlock titleBlock;
+
   @Override
-  public void semanticize(PdfDocument pdf) {
-    if (pdf == null) {
-      return;
-    }
+  public void register(TextClassifier.Builder builder) {
+    // Nothing to register.
+  }
 
-    List<Page> pages = pdf.getPages();
-    if (pages == null || pages.isEmpty()) {
-      return;
-    }
+  @Override
+  public void prepare(SemanticizerContext context) {
+    this.titleBlock = null;
 
     // Search the text blocks of only the first page.
-    Page firstPage = pages.get(0);
-    if (firstPage == null) {
-      return;
-    }
-
-    List<TextBlock> textBlocks = firstPage.getTextBlocks();
-    if (textBlocks == null) {
+    if (context.getNumPages() == 0) {
       return;
     }
 
     // Find the block with largest font size in the first page.
-    float largestFontsize = -Float.MAX_VALUE;
-    TextBlock largestFontSizeBlock = null;
-
-    for (TextBlock block : textBlocks) {
-      if (block == null) {
-        continue;
-      }
-
-      CharacterStatistic blockCharStats = block.getCharacterStatistic();
-      FontFace fontFace = blockCharStats.getMostCommonFontFace();
-      if (fontFace.getFontSize() > largestFontsize) {
-        largestFontsize = fontFace.getFontSize();
-        largestFontSizeBlock = block;
-      }
+    int index = context.getLargestFontSizeBlock(0);
+    if (index >= 0) {
+      this.titleBlock = context.getTextBlocks(0).get(index);
     }
+  }
 
-    if (largestFontSizeBlock != null) {
-      largestFontSizeBlock.setSemanticRole(SemanticRole.TITLE);
+  @Override
+  public void semanticize(SemanticizerContext context) {
+    TextBlock block = context.getTextBlock();
+    if (block == this.titleBlock) {
+      block.setSemanticRole(SemanticRole.TITLE);
     }
   }
 }
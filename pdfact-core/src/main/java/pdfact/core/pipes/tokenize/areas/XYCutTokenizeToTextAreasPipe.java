@@ -1,8 +1,12 @@
 package pdfact.core.pipes.tokenize.areas;
 
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.log4j.Logger;
 
@@ -15,14 +19,17 @@ import pdfact.core.model.PdfDocument;
 import pdfact.core.model.Position;
 import pdfact.core.model.Position.PositionFactory;
 import pdfact.core.model.Rectangle;
-import pdfact.core.model.Rectangle.RectangleFactory;
 import pdfact.core.model.TextArea;
 import pdfact.core.model.TextArea.TextAreaFactory;
 import pdfact.core.util.PdfActUtils;
 import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.list.AggregatingElementList;
+import pdfact.core.util.list.AggregatingElementList.AggregatingElementListFactory;
 import pdfact.core.util.list.ElementList;
 import pdfact.core.util.list.ElementList.ElementListFactory;
 import pdfact.core.util.log.InjectLogger;
+import pdfact.core.util.pipeline.HasMetrics;
+import pdfact.core.util.pipeline.PageTasks;
 import pdfact.core.util.statistician.CharacterStatistician;
 import pdfact.core.util.xycut.XYCut;
 
@@ -32,7 +39,7 @@ import pdfact.core.util.xycut.XYCut;
  * @author Claudius Korzen
  */
 public class XYCutTokenizeToTextAreasPipe extends XYCut
-    implements TokenizeToTextAreasPipe {
+    implements TokenizeToTextAreasPipe, HasMetrics {
   /**
    * The logger.
    */
@@ -44,6 +51,11 @@ public class XYCutTokenizeToTextAreasPipe extends XYCut
    */
   protected ElementListFactory<TextArea> textAreaListFactory;
 
+  /**
+   * The factory to create lists of characters.
+   */
+  protected AggregatingElementListFactory<Character> charListFactory;
+
   /**
    * The factory to create instances of {@link TextArea}.
    */
@@ -54,11 +66,6 @@ public class XYCutTokenizeToTextAreasPipe extends XYCut
    */
   protected PositionFactory positionFactory;
 
-  /**
-   * The factory to create instances of {@link Rectangle}.
-   */
-  protected RectangleFactory rectangleFactory;
-
   /**
    * The statistician to compute statistics about characters.
    */
@@ -67,12 +74,18 @@ public class XYCutTokenizeToTextAreasPipe extends XYCut
   /**
    * The number of processed pages.
    */
-  protected int numProcessedPages;
+  protected LongAdder numProcessedPages = new LongAdder();
 
   /**
    * The number of tokenized text areas.
    */
-  protected int numTokenizedTextAreas;
+  protected LongAdder numTokenizedTextAreas = new LongAdder();
+
+  /**
+   * The pool on which the pages are processed (null if the pages are
+   * processed sequentially).
+   */
+  protected ForkJoinPool forkJoinPool = ForkJoinPool.commonPool();
 
   /**
    * Creates a new pipe that tokenizes the pages of a PDF document into text
@@ -80,26 +93,26 @@ public class XYCutTokenizeToTextAreasPipe extends XYCut
    * 
    * @param textAreaListFactory
    *        The factory to create lists of text areas.
+   * @param charListFactory
+   *        The factory to create lists of characters.
    * @param textAreaFactory
    *        The factory to create instances of {@link TextArea}.
    * @param positionFactory
    *        The factory to create instances of {@link Position}.
-   * @param rectangleFactory
-   *        The factory to create instances of {@link Rectangle}.
    * @param characterStatistician
    *        The statistician to compute statistics about characters.
    */
   @Inject
   public XYCutTokenizeToTextAreasPipe(
       ElementListFactory<TextArea> textAreaListFactory,
+      AggregatingElementListFactory<Character> charListFactory,
       TextAreaFactory textAreaFactory,
       PositionFactory positionFactory,
-      RectangleFactory rectangleFactory,
       CharacterStatistician characterStatistician) {
     this.textAreaListFactory = textAreaListFactory;
+    this.charListFactory = charListFactory;
     this.textAreaFactory = textAreaFactory;
     this.positionFactory = positionFactory;
-    this.rectangleFactory = rectangleFactory;
     this.characterStatistician = characterStatistician;
   }
 
@@ -113,8 +126,8 @@ public class XYCutTokenizeToTextAreasPipe extends XYCut
     tokenizeToTextAreas(pdf);
 
     log.debug("Tokenizing the pages into text areas done.");
-    log.debug("# processed pages     : " + this.numProcessedPages);
-    log.debug("# tokenized text areas: " + this.numTokenizedTextAreas);
+    log.debug("# processed pages     : " + this.numProcessedPages.sum());
+    log.debug("# tokenized text areas: " + this.numTokenizedTextAreas.sum());
 
     log.debug("End of pipe: " + getClass().getSimpleName() + ".");
     return pdf;
@@ -122,6 +135,45 @@ public class XYCutTokenizeToTextAreasPipe extends XYCut
 
   // ==========================================================================
 
+  @Override
+  public Map<String, Long> getMetrics() {
+    Map<String, Long> metrics = new LinkedHashMap<>();
+    metrics.put("numProcessedPages", this.numProcessedPages.sum());
+    metrics.put("numTokenizedTextAreas", this.numTokenizedTextAreas.sum());
+    return metrics;
+  }
+
+  // ==========================================================================
+
+  @Override
+  public void executePage(PdfDocument pdf, Page page) throws PdfActException {
+    this.numProcessedPages.increment();
+
+    ElementList<TextArea> textAreas = tokenizeToTextAreas(pdf, page);
+
+    page.setTextAreas(textAreas);
+    this.numTokenizedTextAreas.add(textAreas.size());
+  }
+
+  @Override
+  public void completeDocument(PdfDocument pdf) {
+    // Nothing to do, there are no document-wide results.
+  }
+
+  // ==========================================================================
+
+  @Override
+  public ForkJoinPool getForkJoinPool() {
+    return this.forkJoinPool;
+  }
+
+  @Override
+  public void setForkJoinPool(ForkJoinPool pool) {
+    this.forkJoinPool = pool;
+  }
+
+  // ==========================================================================
+
   /**
    * Tokenizes the pages of the given PDF document into text areas.
    * 
@@ -141,18 +193,8 @@ public class XYCutTokenizeToTextAreasPipe extends XYCut
       return;
     }
 
-    for (Page page : pages) {
-      if (page == null) {
-        continue;
-      }
-
-      this.numProcessedPages++;
-
-      ElementList<TextArea> textAreas = tokenizeToTextAreas(pdf, page);
-
-      page.setTextAreas(textAreas);
-      this.numTokenizedTextAreas += textAreas.size();
-    }
+    PageTasks.executeAll(this.forkJoinPool, pages,
+        (i, page) -> executePage(pdf, page));
   }
 
   /**
@@ -176,10 +218,16 @@ public class XYCutTokenizeToTextAreasPipe extends XYCut
     List<ElementList<Character>> areaCharsList = cut(pdf, page, characters);
     if (areaCharsList != null) {
       for (ElementList<Character> areaChars : areaCharsList) {
+        // Collect the characters in a list that computes the bounding box of
+        // the area while the characters are added.
+        AggregatingElementList<Character> chars =
+            this.charListFactory.create(areaChars.size());
+        chars.addAll(areaChars);
+
+        // The character statistic of the area is computed lazily on demand.
         TextArea area = this.textAreaFactory.create();
-        area.setCharacters(areaChars);
-        area.setPosition(computePosition(pdf, page, area));
-        area.setCharacterStatistic(computeCharacterStatistic(pdf, page, area));
+        area.setCharacters(chars);
+        area.setPosition(computePosition(pdf, page, chars));
         result.add(area);
       }
     }
@@ -194,32 +242,14 @@ public class XYCutTokenizeToTextAreasPipe extends XYCut
    *        The PDF document to which the given text area belongs to.
    * @param page
    *        The PDF page to which the given text area belongs to.
-   * @param a
-   *        The text area to process.
+   * @param chars
+   *        The characters of the text area.
    * 
    * @return The computed position.
    */
-  protected Position computePosition(PdfDocument pdf, Page page, TextArea a) {
-    ElementList<Character> characters = a.getCharacters();
-    Rectangle r = this.rectangleFactory.fromHasPositionElements(characters);
-    return this.positionFactory.create(page, r);
-  }
-
-  /**
-   * Computes the statistic about the given characters.
-   * 
-   * @param pdf
-   *        The PDF document to which the given text area belongs to.
-   * @param page
-   *        The PDF page to which the given text area belongs to.
-   * @param area
-   *        The text area to process.
-   * 
-   * @return The computed statistic.
-   */
-  protected CharacterStatistic computeCharacterStatistic(PdfDocument pdf,
-      Page page, TextArea area) {
-    return this.characterStatistician.compute(area.getCharacters());
+  protected Position computePosition(PdfDocument pdf, Page page,
+      AggregatingElementList<Character> chars) {
+    return this.positionFactory.create(page, chars.getRectangle());
   }
 
   // ==========================================================================
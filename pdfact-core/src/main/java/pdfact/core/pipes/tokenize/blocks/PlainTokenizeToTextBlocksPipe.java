@@ -1,6 +1,10 @@
 package pdfact.core.pipes.tokenize.blocks;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Pattern;
 
 import org.apache.log4j.Logger;
@@ -14,27 +18,26 @@ import pdfact.core.model.Line;
 import pdfact.core.model.Page;
 import pdfact.core.model.PdfDocument;
 import pdfact.core.model.Position;
-import pdfact.core.model.Position.PositionFactory;
 import pdfact.core.model.Rectangle;
-import pdfact.core.model.Rectangle.RectangleFactory;
 import pdfact.core.model.TextBlock;
 import pdfact.core.model.TextBlock.TextBlockFactory;
 import pdfact.core.model.TextLine;
 import pdfact.core.model.TextLineStatistic;
-import pdfact.core.util.PdfActUtils;
 import pdfact.core.util.exception.PdfActException;
 import pdfact.core.util.list.ElementList;
 import pdfact.core.util.list.ElementList.ElementListFactory;
 import pdfact.core.util.log.InjectLogger;
-import pdfact.core.util.statistician.CharacterStatistician;
-import pdfact.core.util.statistician.TextLineStatistician;
+import pdfact.core.util.pipeline.HasMetrics;
+import pdfact.core.util.pipeline.PageTasks;
+import pdfact.core.util.text.TextClassifier;
 
 /**
  * A plain implementation of {@link TokenizeToTextBlocksPipe}.
  * 
  * @author Claudius Korzen
  */
-public class PlainTokenizeToTextBlocksPipe implements TokenizeToTextBlocksPipe {
+public class PlainTokenizeToTextBlocksPipe
+    implements TokenizeToTextBlocksPipe, HasMetrics {
   /**
    * The logger.
    */
@@ -52,34 +55,20 @@ public class PlainTokenizeToTextBlocksPipe implements TokenizeToTextBlocksPipe {
   protected TextBlockFactory textBlockFactory;
 
   /**
-   * The factory to create instances of {@link Rectangle}.
-   */
-  protected RectangleFactory rectangleFactory;
-
-  /**
-   * The factory to create instances of {@link Position}.
-   */
-  protected PositionFactory positionFactory;
-
-  /**
-   * The statistician to compute statistics about characters.
-   */
-  protected CharacterStatistician characterStatistician;
-
-  /**
-   * The statistician to compute statistics about text lines.
+   * The number of processed text lines.
    */
-  protected TextLineStatistician textLineStatistician;
+  protected LongAdder numProcessedTextLines = new LongAdder();
 
   /**
-   * The number of processed text lines.
+   * The number of tokenized text blocks.
    */
-  protected int numProcessedTextLines;
+  protected LongAdder numTokenizedTextBlocks = new LongAdder();
 
   /**
-   * The number of tokenized text blocks.
+   * The pool on which the pages are processed (null if the pages are
+   * processed sequentially).
    */
-  protected int numTokenizedTextBlocks;
+  protected ForkJoinPool forkJoinPool = ForkJoinPool.commonPool();
 
   /**
    * The default constructor.
@@ -88,29 +77,13 @@ public class PlainTokenizeToTextBlocksPipe implements TokenizeToTextBlocksPipe {
    *        The factory to create lists of text blocks.
    * @param textBlockFactory
    *        The factory to create instances of {@link TextBlock}.
-   * @param rectangleFactory
-   *        The factory to create instances of {@link Rectangle}.
-   * @param positionFactory
-   *        The factory to create instances of {@link Position}.
-   * @param characterStatistician
-   *        The statistician to compute statistics about characters.
-   * @param textLineStatistician
-   *        The statistician to compute statistics about text lines.
    */
   @Inject
   public PlainTokenizeToTextBlocksPipe(
       ElementListFactory<TextBlock> textBlockListFactory,
-      TextBlockFactory textBlockFactory,
-      RectangleFactory rectangleFactory,
-      PositionFactory positionFactory,
-      CharacterStatistician characterStatistician,
-      TextLineStatistician textLineStatistician) {
+      TextBlockFactory textBlockFactory) {
     this.textBlockListFactory = textBlockListFactory;
     this.textBlockFactory = textBlockFactory;
-    this.rectangleFactory = rectangleFactory;
-    this.positionFactory = positionFactory;
-    this.characterStatistician = characterStatistician;
-    this.textLineStatistician = textLineStatistician;
   }
 
   // ==========================================================================
@@ -123,8 +96,8 @@ public class PlainTokenizeToTextBlocksPipe implements TokenizeToTextBlocksPipe {
     tokenizeToTextBlocks(pdf);
 
     log.debug("Tokenizing the text lines into text blocks done.");
-    log.debug("# processed text lines : " + this.numProcessedTextLines);
-    log.debug("# tokenized text blocks: " + this.numTokenizedTextBlocks);
+    log.debug("# processed text lines : " + this.numProcessedTextLines.sum());
+    log.debug("# tokenized text blocks: " + this.numTokenizedTextBlocks.sum());
 
     log.debug("End of pipe: " + getClass().getSimpleName() + ".");
     return pdf;
@@ -132,6 +105,40 @@ public class PlainTokenizeToTextBlocksPipe implements TokenizeToTextBlocksPipe {
 
   // ==========================================================================
 
+  @Override
+  public Map<String, Long> getMetrics() {
+    Map<String, Long> metrics = new LinkedHashMap<>();
+    metrics.put("numProcessedTextLines", this.numProcessedTextLines.sum());
+    metrics.put("numTokenizedTextBlocks", this.numTokenizedTextBlocks.sum());
+    return metrics;
+  }
+
+  // ==========================================================================
+
+  @Override
+  public void executePage(PdfDocument pdf, Page page) throws PdfActException {
+    page.setTextBlocks(tokenizeToTextBlocks(pdf, page));
+  }
+
+  @Override
+  public void completeDocument(PdfDocument pdf) {
+    // Nothing to do, there are no document-wide results.
+  }
+
+  // ==========================================================================
+
+  @Override
+  public ForkJoinPool getForkJoinPool() {
+    return this.forkJoinPool;
+  }
+
+  @Override
+  public void setForkJoinPool(ForkJoinPool pool) {
+    this.forkJoinPool = pool;
+  }
+
+  // ==========================================================================
+
   /**
    * Tokenizes the text lines in the pages of the given PDF document into text
    * blocks.
@@ -152,19 +159,16 @@ public class PlainTokenizeToTextBlocksPipe implements TokenizeToTextBlocksPipe {
       return;
     }
 
-    for (Page page : pages) {
-      if (page == null) {
-        continue;
-      }
-
-      page.setTextBlocks(tokenizeToTextBlocks(pdf, page));
-    }
+    PageTasks.executeAll(this.forkJoinPool, pages,
+        (i, page) -> executePage(pdf, page));
   }
 
   // ==========================================================================
 
   /**
-   * Tokenizes the text lines in the given page into text lines.
+   * Tokenizes the text lines in the given page into text blocks. The text
+   * blocks maintain their position, text and statistics while the text lines
+   * are added, so the text lines are processed in a single pass.
    * 
    * @param pdf
    *        The PDF document to which the given page belongs to.
@@ -187,7 +191,7 @@ public class PlainTokenizeToTextBlocksPipe implements TokenizeToTextBlocksPipe {
       TextLine line = lines.get(i);
       TextLine next = i < lines.size() - 1 ? lines.get(i + 1) : null;
 
-      this.numProcessedTextLines++;
+      this.numProcessedTextLines.increment();
 
       if (introducesNewTextBlock(pdf, page, textBlock, prev, line, next)) {
         if (!textBlock.getTextLines().isEmpty()) {
@@ -205,71 +209,11 @@ public class PlainTokenizeToTextBlocksPipe implements TokenizeToTextBlocksPipe {
       textBlocks.add(textBlock);
     }
 
-    // Iterate through the text blocks in order to compute their properties.
-    for (TextBlock block : textBlocks) {
-      block.setCharacterStatistic(computeCharacterStatistic(block));
-      block.setTextLineStatistic(computeTextLineStatistic(block));
-      block.setPosition(computePosition(page, block));
-      block.setText(computeText(block));
-    }
-
-    this.numTokenizedTextBlocks += textBlocks.size();
+    this.numTokenizedTextBlocks.add(textBlocks.size());
 
     return textBlocks;
   }
 
-  // ==========================================================================
-
-  /**
-   * Computes the character statistic for the given text block.
-   *
-   * @param block
-   *        The text block to process.
-   * 
-   * @return The character statistic for the given text block.
-   */
-  protected CharacterStatistic computeCharacterStatistic(TextBlock block) {
-    return this.characterStatistician.aggregate(block.getTextLines());
-  }
-
-  /**
-   * Computes the text line statistic for the given text block.
-   *
-   * @param block
-   *        The text block to process.
-   * 
-   * @return The text line statistic for the given text block.
-   */
-  protected TextLineStatistic computeTextLineStatistic(TextBlock block) {
-    return this.textLineStatistician.compute(block.getTextLines());
-  }
-
-  /**
-   * Computes the position for the given text block.
-   *
-   * @param page
-   *        The PDF page in which the block is located.
-   * @param block
-   *        The text block to process.
-   * @return The position for the given text block.
-   */
-  protected Position computePosition(Page page, TextBlock block) {
-    ElementList<TextLine> textLines = block.getTextLines();
-    Rectangle rect = this.rectangleFactory.fromHasPositionElements(textLines);
-    return this.positionFactory.create(page, rect);
-  }
-
-  /**
-   * Computes the text for the given text block.
-   *
-   * @param block
-   *        The text block to process.
-   * @return The text for the given text block.
-   */
-  protected String computeText(TextBlock block) {
-    return PdfActUtils.join(block.getTextLines(), " ");
-  }
-
   // ===========================================================================
 
   /**
@@ -368,8 +312,13 @@ public class PlainTokenizeToTextBlocksPipe implements TokenizeToTextBlocksPipe {
       return false;
     }
 
-    ElementList<TextLine> lines = block.getTextLines();
-    Rectangle blockRect = this.rectangleFactory.fromHasPositionElements(lines);
+    // The position of the block is maintained while lines are added.
+    Position blockPosition = block.getPosition();
+    if (blockPosition == null) {
+      return false;
+    }
+
+    Rectangle blockRect = blockPosition.getRectangle();
     Rectangle lineRect = line.getPosition().getRectangle();
     if (blockRect == null || lineRect == null) {
       return false;
@@ -638,6 +587,19 @@ public class PlainTokenizeToTextBlocksPipe implements TokenizeToTextBlocksPipe {
   protected static final Pattern REFERENCE_ANCHOR = Pattern
       .compile("^\\[(.*)\\]\\s+");
 
+  /**
+   * The classifier to identify reference anchors, compiled from
+   * REFERENCE_ANCHOR. It matches the text sequence of a line in a single pass,
+   * without creating a string or a matcher per line.
+   */
+  protected static final TextClassifier REFERENCE_ANCHOR_CLASSIFIER;
+
+  static {
+    TextClassifier.Builder builder = new TextClassifier.Builder();
+    builder.addPattern(REFERENCE_ANCHOR);
+    REFERENCE_ANCHOR_CLASSIFIER = builder.build();
+  }
+
   /**
    * Checks is the given text line starts with a reference anchor like "[1]",
    * "[2]", etc.
@@ -653,12 +615,7 @@ public class PlainTokenizeToTextBlocksPipe implements TokenizeToTextBlocksPipe {
       return false;
     }
 
-    String text = line.getText();
-    if (text == null) {
-      return false;
-    }
-
-    return REFERENCE_ANCHOR.matcher(text).find();
+    return REFERENCE_ANCHOR_CLASSIFIER.classify(line.getTextSequence()) != 0;
   }
 
   /**
@@ -1,13 +1,13 @@
 package pdfact.core.pipes.tokenize.blocks;
 
-import pdfact.core.util.pipeline.Pipe;
+import pdfact.core.util.pipeline.ParallelPagePipe;
 
 /**
  * A pipe that tokenizes the text lines of a PDF page into text blocks.
  * 
  * @author Claudius Korzen
  */
-public interface TokenizeToTextBlocksPipe extends Pipe {
+public interface TokenizeToTextBlocksPipe extends ParallelPagePipe {
   /**
    * The factory to create instances of {@link TokenizeToTextBlocksPipe}.
    * 
@@ -1,7 +1,11 @@
 package pdfact.core.pipes.tokenize.lines;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.log4j.Logger;
 
@@ -16,19 +20,25 @@ import pdfact.core.model.PdfDocument;
 import pdfact.core.model.Position;
 import pdfact.core.model.Position.PositionFactory;
 import pdfact.core.model.Rectangle;
-import pdfact.core.model.Rectangle.RectangleFactory;
 import pdfact.core.model.TextArea;
 import pdfact.core.model.TextLine;
 import pdfact.core.model.TextLine.TextLineFactory;
+import pdfact.core.model.TextLineStatistic;
 import pdfact.core.util.comparator.MinXComparator;
 import pdfact.core.util.counter.FloatCounter;
 import pdfact.core.util.counter.FloatCounter.FloatCounterFactory;
 import pdfact.core.util.exception.PdfActException;
 import pdfact.core.util.lexicon.CharacterLexicon;
+import pdfact.core.util.list.AggregatingElementList;
+import pdfact.core.util.list.AggregatingElementList.AggregatingElementListFactory;
 import pdfact.core.util.list.ElementList;
 import pdfact.core.util.list.ElementList.ElementListFactory;
 import pdfact.core.util.log.InjectLogger;
+import pdfact.core.util.pipeline.HasMetrics;
+import pdfact.core.util.pipeline.PageTasks;
 import pdfact.core.util.statistician.CharacterStatistician;
+import pdfact.core.util.statistician.TextLineStatisticAccumulator;
+import pdfact.core.util.statistician.TextLineStatisticAccumulator.TextLineStatisticAccumulatorFactory;
 import pdfact.core.util.statistician.TextLineStatistician;
 import pdfact.core.util.xycut.XYCut;
 
@@ -38,7 +48,7 @@ import pdfact.core.util.xycut.XYCut;
  * @author Claudius Korzen
  */
 public class PlainTokenizeToTextLinesPipe extends XYCut
-    implements TokenizeToTextLinesPipe {
+    implements TokenizeToTextLinesPipe, HasMetrics {
   /**
    * The logger.
    */
@@ -50,6 +60,11 @@ public class PlainTokenizeToTextLinesPipe extends XYCut
    */
   protected ElementListFactory<TextLine> textLineListFactory;
 
+  /**
+   * The factory to create lists of characters.
+   */
+  protected AggregatingElementListFactory<Character> charListFactory;
+
   /**
    * The factory to create instances of {@link TextLine}.
    */
@@ -60,11 +75,6 @@ public class PlainTokenizeToTextLinesPipe extends XYCut
    */
   protected PositionFactory positionFactory;
 
-  /**
-   * The factory to create instances of {@link Rectangle}.
-   */
-  protected RectangleFactory rectangleFactory;
-
   /**
    * The factory to create instances of {@link Line}.
    */
@@ -80,6 +90,16 @@ public class PlainTokenizeToTextLinesPipe extends XYCut
    */
   protected TextLineStatistician textLineStatistician;
 
+  /**
+   * The factory to create accumulators of text line statistics.
+   */
+  protected TextLineStatisticAccumulatorFactory accumulatorFactory;
+
+  /**
+   * The accumulator of the text line statistics of the processed pages.
+   */
+  protected TextLineStatisticAccumulator pdfStatistic;
+
   /**
    * The factory to create instances of {@link FloatCounter}.
    */
@@ -88,51 +108,62 @@ public class PlainTokenizeToTextLinesPipe extends XYCut
   /**
    * The number of processed text areas.
    */
-  protected int numProcessedTextAreas;
+  protected LongAdder numProcessedTextAreas = new LongAdder();
 
   /**
    * The number of tokenized text lines.
    */
-  protected int numTokenizedTextLines;
+  protected LongAdder numTokenizedTextLines = new LongAdder();
+
+  /**
+   * The pool on which the pages are processed (null if the pages are
+   * processed sequentially).
+   */
+  protected ForkJoinPool forkJoinPool = ForkJoinPool.commonPool();
 
   /**
    * Creates a new text line tokenizer.
    * 
    * @param textLineListFactory
    *        The factory to create lists of text lines.
+   * @param charListFactory
+   *        The factory to create lists of characters.
    * @param textLineFactory
    *        The factory to create instances of {@link TextLine}.
    * @param positionFactory
    *        The factory to create instances of {@link Position}.
-   * @param rectangleFactory
-   *        The factory to create instances of {@link Rectangle}.
    * @param lineFactory
    *        The factory to create instances of {@link Line}.
    * @param characterStatistician
    *        The statistician to compute statistics about characters.
    * @param textLineStatistician
    *        The statistician to compute statistics about text lines.
+   * @param accumulatorFactory
+   *        The factory to create accumulators of text line statistics.
    * @param floatCounterFactory
    *        The factory to create instances of {@link Line}.
    */
   @Inject
   public PlainTokenizeToTextLinesPipe(
       ElementListFactory<TextLine> textLineListFactory,
+      AggregatingElementListFactory<Character> charListFactory,
       TextLineFactory textLineFactory,
       PositionFactory positionFactory,
-      RectangleFactory rectangleFactory,
       LineFactory lineFactory,
       CharacterStatistician characterStatistician,
       TextLineStatistician textLineStatistician,
+      TextLineStatisticAccumulatorFactory accumulatorFactory,
       FloatCounterFactory floatCounterFactory) {
     this.textLineListFactory = textLineListFactory;
+    this.charListFactory = charListFactory;
     this.textLineFactory = textLineFactory;
     this.positionFactory = positionFactory;
-    this.rectangleFactory = rectangleFactory;
     this.lineFactory = lineFactory;
     this.characterStatistician = characterStatistician;
     this.textLineStatistician = textLineStatistician;
+    this.accumulatorFactory = accumulatorFactory;
     this.floatCounterFactory = floatCounterFactory;
+    this.pdfStatistic = accumulatorFactory.create();
   }
 
   // ==========================================================================
@@ -145,8 +176,8 @@ public class PlainTokenizeToTextLinesPipe extends XYCut
     tokenizeToTextLines(pdf);
 
     log.debug("Tokenizing the text areas into text lines done.");
-    log.debug("# processed text areas: " + this.numProcessedTextAreas);
-    log.debug("# tokenized text lines: " + this.numTokenizedTextLines);
+    log.debug("# processed text areas: " + this.numProcessedTextAreas.sum());
+    log.debug("# tokenized text lines: " + this.numTokenizedTextLines.sum());
 
     log.debug("End of pipe: " + getClass().getSimpleName() + ".");
 
@@ -155,6 +186,47 @@ public class PlainTokenizeToTextLinesPipe extends XYCut
 
   // ==========================================================================
 
+  @Override
+  public Map<String, Long> getMetrics() {
+    Map<String, Long> metrics = new LinkedHashMap<>();
+    metrics.put("numProcessedTextAreas", this.numProcessedTextAreas.sum());
+    metrics.put("numTokenizedTextLines", this.numTokenizedTextLines.sum());
+    return metrics;
+  }
+
+  // ==========================================================================
+
+  @Override
+  public void executePage(PdfDocument pdf, Page page) throws PdfActException {
+    ElementList<TextLine> textLines = tokenizeToTextLines(pdf, page);
+    TextLineStatistic stat = this.textLineStatistician.compute(textLines);
+    page.setTextLineStatistic(stat);
+    page.setTextLines(textLines);
+    this.pdfStatistic.add(page.getPageNumber(), stat);
+  }
+
+  @Override
+  public void completeDocument(PdfDocument pdf) {
+    // Combine the text line statistics of the pages to the statistic of the
+    // whole PDF document.
+    pdf.setTextLineStatistic(this.pdfStatistic.combine());
+    this.pdfStatistic = this.accumulatorFactory.create();
+  }
+
+  // ==========================================================================
+
+  @Override
+  public ForkJoinPool getForkJoinPool() {
+    return this.forkJoinPool;
+  }
+
+  @Override
+  public void setForkJoinPool(ForkJoinPool pool) {
+    this.forkJoinPool = pool;
+  }
+
+  // ==========================================================================
+
   /**
    * Tokenizes the text areas in the pages of the given PDF document into text
    * lines.
@@ -175,16 +247,9 @@ public class PlainTokenizeToTextLinesPipe extends XYCut
       return;
     }
 
-    for (Page page : pages) {
-      if (page == null) {
-        continue;
-      }
-
-      ElementList<TextLine> textLines = tokenizeToTextLines(pdf, page);
-      page.setTextLineStatistic(this.textLineStatistician.compute(textLines));
-      page.setTextLines(textLines);
-    }
-    pdf.setTextLineStatistic(this.textLineStatistician.aggregate(pages));
+    PageTasks.executeAll(this.forkJoinPool, pages,
+        (i, page) -> executePage(pdf, page));
+    completeDocument(pdf);
   }
 
   /**
@@ -208,20 +273,30 @@ public class PlainTokenizeToTextLinesPipe extends XYCut
       ElementList<Character> characters = area.getCharacters();
       List<ElementList<Character>> charLists = cut(pdf, page, characters);
 
-      this.numProcessedTextAreas++;
+      this.numProcessedTextAreas.increment();
 
       for (ElementList<Character> charList : charLists) {
+        // Sort the characters by their minX values and collect them in a list
+        // that maintains their bounding box, such that the baseline and the
+        // position of the text line don't require a further scan.
+        Collections.sort(charList, new MinXComparator());
+        AggregatingElementList<Character> chars =
+            this.charListFactory.create(charList.size());
+        chars.addAll(charList);
+
         // Create a PdfTextLine object.
         TextLine textLine = this.textLineFactory.create();
-        textLine.setCharacters(charList);
-        textLine.setBaseline(computeBaseline(charList));
-        textLine.setCharacterStatistic(computeCharacterStatistic(charList));
-        textLine.setPosition(computePosition(page, charList));
+        textLine.setCharacters(chars);
+        textLine.setBaseline(computeBaseline(chars));
+        // The character statistic is consumed by the text line statistician
+        // and the text block tokenizer anyway, so compute it eagerly.
+        textLine.setCharacterStatistic(chars.getCharacterStatistic());
+        textLine.setPosition(computePosition(page, chars));
         result.add(textLine);
       }
     }
 
-    this.numTokenizedTextLines += result.size();
+    this.numTokenizedTextLines.add(result.size());
 
     return result;
   }
@@ -235,45 +310,28 @@ public class PlainTokenizeToTextLinesPipe extends XYCut
    *        The list of characters to process.
    * @return The computed baseline.
    */
-  protected Line computeBaseline(ElementList<Character> characters) {
+  protected Line computeBaseline(AggregatingElementList<Character> characters) {
     Line baseLine = null;
     FloatCounter minYCounter = this.floatCounterFactory.create();
 
     if (characters != null && !characters.isEmpty()) {
-      Collections.sort(characters, new MinXComparator());
-
-      float minX = Float.MAX_VALUE;
-      float maxX = -Float.MAX_VALUE;
       for (Character character : characters) {
         if (CharacterLexicon.isBaselineCharacter(character)) {
           minYCounter.add(character.getPosition().getRectangle().getMinY());
         }
-
-        minX = Math.min(minX, character.getPosition().getRectangle().getMinX());
-        maxX = Math.max(maxX, character.getPosition().getRectangle().getMaxX());
       }
 
       if (!minYCounter.isEmpty()) {
+        Rectangle rect = characters.getRectangle();
         float minY = minYCounter.getMostCommonFloat();
-        baseLine = this.lineFactory.create(minX, minY, maxX, minY);
+        baseLine = this.lineFactory.create(rect.getMinX(), minY,
+            rect.getMaxX(), minY);
       }
     }
 
     return baseLine;
   }
 
-  /**
-   * Computes the character statistics for the given text line.
-   * 
-   * @param chars
-   *        The characters to process.
-   * @return The character statistics for the given text line.
-   */
-  protected CharacterStatistic computeCharacterStatistic(
-      ElementList<Character> chars) {
-    return this.characterStatistician.compute(chars);
-  }
-
   /**
    * Computes the position for the given text line.
    * 
@@ -283,9 +341,9 @@ public class PlainTokenizeToTextLinesPipe extends XYCut
    *        The characters of the text line.
    * @return The position for the given text line.
    */
-  protected Position computePosition(Page page, ElementList<Character> chars) {
-    Rectangle rect = this.rectangleFactory.fromHasPositionElements(chars);
-    return this.positionFactory.create(page, rect);
+  protected Position computePosition(Page page,
+      AggregatingElementList<Character> chars) {
+    return this.positionFactory.create(page, chars.getRectangle());
   }
 
   // ==========================================================================
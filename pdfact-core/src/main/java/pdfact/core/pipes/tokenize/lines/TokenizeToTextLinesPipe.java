@@ -1,13 +1,13 @@
 package pdfact.core.pipes.tokenize.lines;
 
-import pdfact.core.util.pipeline.Pipe;
+import pdfact.core.util.pipeline.ParallelPagePipe;
 
 /**
  * A pipe that tokenize the text areas of a PDF page into text lines.
  * 
  * @author Claudius Korzen
  */
-public interface TokenizeToTextLinesPipe extends Pipe {
+public interface TokenizeToTextLinesPipe extends ParallelPagePipe {
   /**
    * The factory to create instances of {@link TokenizeToTextLinesPipe}.
    * 
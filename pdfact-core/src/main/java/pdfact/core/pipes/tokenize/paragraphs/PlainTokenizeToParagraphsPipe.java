@@ -1,7 +1,9 @@
 package pdfact.core.pipes.tokenize.paragraphs;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.log4j.Logger;
 
@@ -10,7 +12,6 @@ import com.google.inject.Inject;
 import gnu.trove.set.TIntSet;
 import gnu.trove.set.hash.TIntHashSet;
 import pdfact.core.model.Character;
-import pdfact.core.model.CharacterStatistic;
 import pdfact.core.model.Page;
 import pdfact.core.model.Paragraph;
 import pdfact.core.model.Paragraph.ParagraphFactory;
@@ -20,12 +21,12 @@ import pdfact.core.model.SemanticRole;
 import pdfact.core.model.TextBlock;
 import pdfact.core.model.TextLine;
 import pdfact.core.model.Word;
-import pdfact.core.util.PdfActUtils;
 import pdfact.core.util.exception.PdfActException;
 import pdfact.core.util.lexicon.CharacterLexicon;
 import pdfact.core.util.list.ElementList;
 import pdfact.core.util.list.ElementList.ElementListFactory;
 import pdfact.core.util.log.InjectLogger;
+import pdfact.core.util.pipeline.HasMetrics;
 import pdfact.core.util.statistician.CharacterStatistician;
 import pdfact.core.util.statistician.TextLineStatistician;
 
@@ -34,7 +35,8 @@ import pdfact.core.util.statistician.TextLineStatistician;
  * 
  * @author Claudius Korzen
  */
-public class PlainTokenizeToParagraphsPipe implements TokenizeToParagraphsPipe {
+public class PlainTokenizeToParagraphsPipe
+    implements TokenizeToParagraphsPipe, HasMetrics {
   /**
    * The logger.
    */
@@ -114,6 +116,16 @@ public class PlainTokenizeToParagraphsPipe implements TokenizeToParagraphsPipe {
 
   // ==========================================================================
 
+  @Override
+  public Map<String, Long> getMetrics() {
+    Map<String, Long> metrics = new LinkedHashMap<>();
+    metrics.put("numProcessedTextBlocks", (long) this.numProcessedTextBlocks);
+    metrics.put("numTokenizedParagraphs", (long) this.numTokenizedParagraphs);
+    return metrics;
+  }
+
+  // ==========================================================================
+
   /**
    * Tokenizes the text block of the given PDF document into paragraphs.
    * 
@@ -134,10 +146,10 @@ public class PlainTokenizeToParagraphsPipe implements TokenizeToParagraphsPipe {
           paragraph.addWords(line.getWords());
         }
       }
-      paragraph.setText(computeText(paragraph));
       paragraph.setPositions(computePositions(segment));
       paragraph.setSemanticRole(computeRole(segment));
-      paragraph.setCharacterStatistic(computeCharacterStatistic(paragraph));
+      // The text and the character statistic of the paragraph are computed
+      // lazily on demand.
       paragraphs.add(paragraph);
     }
 
@@ -146,17 +158,6 @@ public class PlainTokenizeToParagraphsPipe implements TokenizeToParagraphsPipe {
     pdf.setParagraphs(paragraphs);
   }
 
-  /**
-   * Computes the text for the given paragraph.
-   * 
-   * @param p
-   *        The paragraph to process.
-   * @return The text for the given paragraph.
-   */
-  protected String computeText(Paragraph p) {
-    return PdfActUtils.join(p.getWords(), " ");
-  }
-
   /**
    * Computes the positions for the given paragraph.
    * 
@@ -189,18 +190,6 @@ public class PlainTokenizeToParagraphsPipe implements TokenizeToParagraphsPipe {
     return blocks.get(0).getSemanticRole();
   }
 
-  /**
-   * Computes the statistic about the characters of the given paragraph.
-   * 
-   * @param paragraph
-   *        The paragraph to process.
-   * 
-   * @return The statistic.
-   */
-  protected CharacterStatistic computeCharacterStatistic(Paragraph paragraph) {
-    return this.characterStatistician.aggregate(paragraph.getWords());
-  }
-
   // ==========================================================================
 
   /**
@@ -0,0 +1,345 @@
+package pdfact.core.pipes.tokenize.words;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.log4j.Logger;
+
+import com.google.inject.Inject;
+
+import pdfact.core.model.Character;
+import pdfact.core.model.Page;
+import pdfact.core.model.PdfDocument;
+import pdfact.core.model.Position;
+import pdfact.core.model.Position.PositionFactory;
+import pdfact.core.model.Rectangle;
+import pdfact.core.model.TextLine;
+import pdfact.core.model.Word;
+import pdfact.core.model.Word.WordFactory;
+import pdfact.core.util.comparator.MinXComparator;
+import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.lexicon.CharacterLexicon;
+import pdfact.core.util.list.AggregatingElementList;
+import pdfact.core.util.list.AggregatingElementList.AggregatingElementListFactory;
+import pdfact.core.util.list.ElementList;
+import pdfact.core.util.log.InjectLogger;
+import pdfact.core.util.pipeline.HasMetrics;
+import pdfact.core.util.pipeline.PageTasks;
+
+/**
+ * An implementation of {@link TokenizeToWordsPipe} that scans the characters of
+ * a text line once, sorted by their minX values, and splits them into words at
+ * each gap that is at least {@link #MIN_WORD_GAP_WIDTH} wide. The threshold
+ * is fixed (and the same as in {@link XYCutTokenizeToWordsPipe}) on purpose:
+ * the whitespace widths don't exist before the words are known, and a
+ * threshold derived from the gaps of a line merges words whose gaps are
+ * narrower than the typical gap of the line (which is common in real-world
+ * PDFs, where word gaps of about 1pt occur next to gaps of 2-3pt). In contrast
+ * to {@link XYCutTokenizeToWordsPipe}, the bounding box of a word is built in
+ * the same pass: the characters of a word are collected in an
+ * {@link AggregatingElementList} that maintains the bounding box while the
+ * characters are added. The texts of the words and text lines are not joined
+ * here, but are given by lazy views on the texts of their characters/words.
+ *
+ * @author Claudius Korzen
+ */
+public class PlainTokenizeToWordsPipe
+    implements TokenizeToWordsPipe, HasMetrics {
+  /**
+   * The logger.
+   */
+  @InjectLogger
+  protected static Logger log;
+
+  /**
+   * The minimum width of a gap between two characters to be considered as a
+   * word delimiter (this is the threshold used by the XY-cut approach).
+   */
+  protected static final float MIN_WORD_GAP_WIDTH = 1f;
+
+  /**
+   * The factory to create lists of words.
+   */
+  protected AggregatingElementListFactory<Word> wordListFactory;
+
+  /**
+   * The factory to create lists of characters.
+   */
+  protected AggregatingElementListFactory<Character> charListFactory;
+
+  /**
+   * The factory to create instances of {@link Word}.
+   */
+  protected WordFactory wordFactory;
+
+  /**
+   * The factory to create instances of {@link PositionFactory}.
+   */
+  protected PositionFactory positionFactory;
+
+  /**
+   * The number of processed text lines.
+   */
+  protected LongAdder numProcessedTextLines = new LongAdder();
+
+  /**
+   * The number of tokenized words.
+   */
+  protected LongAdder numTokenizedWords = new LongAdder();
+
+  /**
+   * The pool on which the pages are processed (null if the pages are
+   * processed sequentially).
+   */
+  protected ForkJoinPool forkJoinPool = ForkJoinPool.commonPool();
+
+  /**
+   * Creates a new word tokenizer.
+   *
+   * @param wordListFactory
+   *        The factory to create lists of words.
+   * @param charListFactory
+   *        The factory to create lists of characters.
+   * @param wordFactory
+   *        The factory to create instances of {@link Word}.
+   * @param positionFactory
+   *        The factory to create instance of {@link Position}.
+   */
+  @Inject
+  public PlainTokenizeToWordsPipe(
+      AggregatingElementListFactory<Word> wordListFactory,
+      AggregatingElementListFactory<Character> charListFactory,
+      WordFactory wordFactory,
+      PositionFactory positionFactory) {
+    this.wordListFactory = wordListFactory;
+    this.charListFactory = charListFactory;
+    this.wordFactory = wordFactory;
+    this.positionFactory = positionFactory;
+  }
+
+  // ==========================================================================
+
+  @Override
+  public PdfDocument execute(PdfDocument pdf) throws PdfActException {
+    log.debug("Start of pipe: " + getClass().getSimpleName() + ".");
+
+    log.debug("Process: Tokenizing the text lines into words.");
+    tokenizeToWords(pdf);
+
+    log.debug("Tokenizing the text lines into words done.");
+    log.debug("# processed text lines: " + this.numProcessedTextLines.sum());
+    log.debug("# tokenized words : " + this.numTokenizedWords.sum());
+
+    log.debug("End of pipe: " + getClass().getSimpleName() + ".");
+
+    return pdf;
+  }
+
+  // ==========================================================================
+
+  @Override
+  public Map<String, Long> getMetrics() {
+    Map<String, Long> metrics = new LinkedHashMap<>();
+    metrics.put("numProcessedTextLines", this.numProcessedTextLines.sum());
+    metrics.put("numTokenizedWords", this.numTokenizedWords.sum());
+    return metrics;
+  }
+
+  // ==========================================================================
+
+  @Override
+  public void executePage(PdfDocument pdf, Page page) throws PdfActException {
+    tokenizeToWords(pdf, page);
+  }
+
+  @Override
+  public void completeDocument(PdfDocument pdf) {
+    // Nothing to do, the pages don't have any document-wide results.
+  }
+
+  // ==========================================================================
+
+  @Override
+  public ForkJoinPool getForkJoinPool() {
+    return this.forkJoinPool;
+  }
+
+  @Override
+  public void setForkJoinPool(ForkJoinPool pool) {
+    this.forkJoinPool = pool;
+  }
+
+  // ==========================================================================
+
+  /**
+   * Tokenizes the text lines in the pages of the given PDF document into words.
+   *
+   * @param pdf
+   *        The PDF document to process.
+   *
+   * @throws PdfActException
+   *         If something went wrong while tokenization.
+   */
+  protected void tokenizeToWords(PdfDocument pdf) throws PdfActException {
+    if (pdf == null) {
+      return;
+    }
+
+    List<Page> pages = pdf.getPages();
+    if (pages == null) {
+      return;
+    }
+
+    PageTasks.executeAll(this.forkJoinPool, pages,
+        (i, page) -> tokenizeToWords(pdf, page));
+    completeDocument(pdf);
+  }
+
+  /**
+   * Tokenizes the text lines in the given page into words.
+   *
+   * @param pdf
+   *        The PDF document to which the given page belongs to.
+   * @param page
+   *        The PDF page to process.
+   */
+  protected void tokenizeToWords(PdfDocument pdf, Page page) {
+    for (TextLine line : page.getTextLines()) {
+      ElementList<Word> words = tokenizeToWords(page, line,
+          MIN_WORD_GAP_WIDTH);
+      line.setWords(words);
+
+      this.numProcessedTextLines.increment();
+      this.numTokenizedWords.add(words.size());
+    }
+  }
+
+  /**
+   * Tokenizes the given text line into words.
+   *
+   * @param page
+   *        The PDF page to which the given text line belongs to.
+   * @param line
+   *        The text line to process.
+   * @param threshold
+   *        The minimum width of a gap between two characters to be considered
+   *        as a word delimiter.
+   *
+   * @return The words.
+   */
+  protected ElementList<Word> tokenizeToWords(Page page, TextLine line,
+      float threshold) {
+    AggregatingElementList<Word> result = this.wordListFactory.create();
+
+    ElementList<Character> chars = line.getCharacters();
+    if (chars == null || chars.isEmpty()) {
+      return result;
+    }
+
+    // The characters are usually sorted already by the text line tokenizer.
+    // Sort them only if necessary, because sorting a sorted list is expensive.
+    MinXComparator comparator = new MinXComparator();
+    if (!isSorted(chars, comparator)) {
+      Collections.sort(chars, comparator);
+    }
+
+    // The characters of the current word.
+    AggregatingElementList<Character> wordChars = this.charListFactory.create();
+    // The largest maxX value of the characters in the current word.
+    float maxX = -Float.MAX_VALUE;
+
+    for (Character character : chars) {
+      Rectangle rect = character.getPosition().getRectangle();
+
+      float gap = rect.getMinX() - maxX;
+      if (!wordChars.isEmpty() && gap >= threshold) {
+        // The gap delimits the current word. Pack it.
+        result.add(createWord(page, wordChars));
+
+        // Start a new word.
+        wordChars = this.charListFactory.create();
+        maxX = -Float.MAX_VALUE;
+      }
+
+      wordChars.add(character);
+      maxX = Math.max(maxX, rect.getMaxX());
+    }
+
+    // Don't forget the last word.
+    Word lastWord = createWord(page, wordChars);
+    lastWord.setIsHyphenated(computeIsHyphenated(lastWord));
+    result.add(lastWord);
+
+    return result;
+  }
+
+  /**
+   * Creates a new word from the given properties.
+   *
+   * @param page
+   *        The PDF page in which the word is located.
+   * @param chars
+   *        The characters of the word.
+   *
+   * @return The created word.
+   */
+  protected Word createWord(Page page,
+      AggregatingElementList<Character> chars) {
+    List<Position> positions = new ArrayList<>(1);
+    positions.add(this.positionFactory.create(page, chars.getRectangle()));
+
+    Word word = this.wordFactory.create();
+    word.setCharacters(chars);
+    word.setPositions(positions);
+    // The text and the character statistic of the word are computed lazily.
+    return word;
+  }
+
+  // ==========================================================================
+
+  /**
+   * Checks if the given word is hyphenated.
+   *
+   * @param word
+   *        The word to check.
+   * @return True if the given word is hyphenated; false otherwise.
+   */
+  protected boolean computeIsHyphenated(Word word) {
+    if (word == null) {
+      return false;
+    }
+
+    ElementList<Character> characters = word.getCharacters();
+    if (characters == null || characters.size() < 2) {
+      return false;
+    }
+
+    return CharacterLexicon.isHyphen(word.getLastCharacter());
+  }
+
+  /**
+   * Checks if the given characters are sorted with respect to the given
+   * comparator.
+   *
+   * @param chars
+   *        The characters to check.
+   * @param comparator
+   *        The comparator to use.
+   *
+   * @return True, if the characters are sorted; false otherwise.
+   */
+  protected static boolean isSorted(ElementList<Character> chars,
+      MinXComparator comparator) {
+    for (int i = 1; i < chars.size(); i++) {
+      if (comparator.compare(chars.get(i - 1), chars.get(i)) > 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
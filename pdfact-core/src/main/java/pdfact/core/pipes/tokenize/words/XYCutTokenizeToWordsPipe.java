@@ -2,7 +2,11 @@ package pdfact.core.pipes.tokenize.words;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.log4j.Logger;
 
@@ -26,6 +30,8 @@ import pdfact.core.util.lexicon.CharacterLexicon;
 import pdfact.core.util.list.ElementList;
 import pdfact.core.util.list.ElementList.ElementListFactory;
 import pdfact.core.util.log.InjectLogger;
+import pdfact.core.util.pipeline.HasMetrics;
+import pdfact.core.util.pipeline.PageTasks;
 import pdfact.core.util.statistician.CharacterStatistician;
 import pdfact.core.util.xycut.XYCut;
 
@@ -35,7 +41,7 @@ import pdfact.core.util.xycut.XYCut;
  * @author Claudius Korzen
  */
 public class XYCutTokenizeToWordsPipe extends XYCut
-    implements TokenizeToWordsPipe {
+    implements TokenizeToWordsPipe, HasMetrics {
   /**
    * The logger.
    */
@@ -70,12 +76,18 @@ public class XYCutTokenizeToWordsPipe extends XYCut
   /**
    * The number of processed text lines.
    */
-  protected int numProcessedTextLines;
+  protected LongAdder numProcessedTextLines = new LongAdder();
 
   /**
    * The number of tokenized words.
    */
-  protected int numTokenizedWords;
+  protected LongAdder numTokenizedWords = new LongAdder();
+
+  /**
+   * The pool on which the pages are processed (null if the pages are
+   * processed sequentially).
+   */
+  protected ForkJoinPool forkJoinPool = ForkJoinPool.commonPool();
 
   /**
    * Creates a new word tokenizer.
@@ -115,8 +127,8 @@ public class XYCutTokenizeToWordsPipe extends XYCut
     tokenizeToWords(pdf);
 
     log.debug("Tokenizing the text lines into words done.");
-    log.debug("# processed text lines: " + this.numProcessedTextLines);
-    log.debug("# tokenized words : " + this.numTokenizedWords);
+    log.debug("# processed text lines: " + this.numProcessedTextLines.sum());
+    log.debug("# tokenized words : " + this.numTokenizedWords.sum());
 
     log.debug("End of pipe: " + getClass().getSimpleName() + ".");
 
@@ -125,6 +137,47 @@ public class XYCutTokenizeToWordsPipe extends XYCut
 
   // ==========================================================================
 
+  @Override
+  public Map<String, Long> getMetrics() {
+    Map<String, Long> metrics = new LinkedHashMap<>();
+    metrics.put("numProcessedTextLines", this.numProcessedTextLines.sum());
+    metrics.put("numTokenizedWords", this.numTokenizedWords.sum());
+    return metrics;
+  }
+
+  // ==========================================================================
+
+  @Override
+  public void executePage(PdfDocument pdf, Page page) throws PdfActException {
+    for (TextLine line : page.getTextLines()) {
+      ElementList<Word> words = tokenizeToWords(pdf, page, line);
+      line.setWords(words);
+      line.setText(PdfActUtils.join(words, " "));
+
+      this.numProcessedTextLines.increment();
+      this.numTokenizedWords.add(words.size());
+    }
+  }
+
+  @Override
+  public void completeDocument(PdfDocument pdf) {
+    // Nothing to do, there are no document-wide results.
+  }
+
+  // ==========================================================================
+
+  @Override
+  public ForkJoinPool getForkJoinPool() {
+    return this.forkJoinPool;
+  }
+
+  @Override
+  public void setForkJoinPool(ForkJoinPool pool) {
+    this.forkJoinPool = pool;
+  }
+
+  // ==========================================================================
+
   /**
    * Tokenizes the text lines in the pages of the given PDF document into words.
    * 
@@ -139,16 +192,8 @@ public class XYCutTokenizeToWordsPipe extends XYCut
       return;
     }
 
-    for (Page page : pdf.getPages()) {
-      for (TextLine line : page.getTextLines()) {
-        ElementList<Word> words = tokenizeToWords(pdf, page, line);
-        line.setWords(words);
-        line.setText(PdfActUtils.join(words, " "));
-
-        this.numProcessedTextLines++;
-        this.numTokenizedWords += words.size();
-      }
-    }
+    PageTasks.executeAll(this.forkJoinPool, pdf.getPages(),
+        (i, page) -> executePage(pdf, page));
   }
 
   /**
@@ -1,8 +1,6 @@
 package pdfact.core.pipes.translate.characters;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.apache.log4j.Logger;
 
@@ -10,6 +8,7 @@ import pdfact.core.model.Character;
 import pdfact.core.model.Page;
 import pdfact.core.model.PdfDocument;
 import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.lexicon.CharacterLexicon;
 import pdfact.core.util.log.InjectLogger;
 
 /**
@@ -25,12 +24,6 @@ public class PlainStandardizeCharactersPipe
   @InjectLogger
   protected static Logger log;
 
-  /**
-   * A map that maps some characters to a character with the same semantic
-   * meaning.
-   */
-  protected static final Map<String, String> CHARACTER_SYNONYMS;
-
   /**
    * The number of processed characters.
    */
@@ -41,21 +34,6 @@ public class PlainStandardizeCharactersPipe
    */
   protected int numStandardizedCharacters;
 
-  // TODO: Move this to character lexicon.
-  static {
-    CHARACTER_SYNONYMS = new HashMap<String, String>();
-    CHARACTER_SYNONYMS.put("\u2018", "'"); // ‘
-    CHARACTER_SYNONYMS.put("\u2019", "'"); // ’
-    CHARACTER_SYNONYMS.put("\u201b", "'"); // ‛
-    CHARACTER_SYNONYMS.put("\u201c", "\""); // “
-    CHARACTER_SYNONYMS.put("\u201d", "\""); // ”
-    CHARACTER_SYNONYMS.put("\u201f", "\""); // ‟
-    CHARACTER_SYNONYMS.put("\u301d", "\""); // 〝
-    CHARACTER_SYNONYMS.put("\u301e", "\""); // 〞
-    CHARACTER_SYNONYMS.put("\uff02", "\""); // ＂
-    CHARACTER_SYNONYMS.put("\uff07", "'"); // ＇
-  }
-
   // ==========================================================================
 
   @Override
@@ -124,8 +102,9 @@ public class PlainStandardizeCharactersPipe
       return;
     }
 
-    if (CHARACTER_SYNONYMS.containsKey(ch.getText())) {
-      ch.setText(CHARACTER_SYNONYMS.get(ch.getText()));
+    String synonym = CharacterLexicon.getCharacterSynonym(ch.getText());
+    if (synonym != null) {
+      ch.setText(synonym);
       this.numStandardizedCharacters++;
     }
     this.numProcessedCharacters++;
@@ -1,5 +1,6 @@
 package pdfact.core.pipes.translate.diacritics;
 
+import pdfact.core.model.Character;
 import pdfact.core.util.pipeline.Pipe;
 
 /**
@@ -8,6 +9,22 @@ import pdfact.core.util.pipeline.Pipe;
  * @author Claudius Korzen
  */
 public interface MergeDiacriticsPipe extends Pipe {
+  /**
+   * Chooses the belonging base character (either the given character to the
+   * left or the given character to the right of the diacritic) and merges the
+   * given diacritic with this base character.
+   * 
+   * @param prev
+   *        The character to the left of the diacritic.
+   * @param diacritic
+   *        The diacritic.
+   * @param next
+   *        The character to the right of the diacritic.
+   */
+  void mergeDiacritic(Character prev, Character diacritic, Character next);
+
+  // ==========================================================================
+
   /**
    * The factory to create instances of {@link MergeDiacriticsPipe}.
    * 
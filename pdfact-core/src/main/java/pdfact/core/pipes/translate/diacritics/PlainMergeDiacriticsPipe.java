@@ -1,9 +1,6 @@
 package pdfact.core.pipes.translate.diacritics;
 
-import java.text.Normalizer;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.apache.log4j.Logger;
 
@@ -16,9 +13,11 @@ import pdfact.core.model.Position;
 import pdfact.core.model.Rectangle;
 import pdfact.core.model.Rectangle.RectangleFactory;
 import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.lexicon.CharacterLexicon;
 import pdfact.core.util.list.ElementList;
 import pdfact.core.util.list.ElementList.ElementListFactory;
 import pdfact.core.util.log.InjectLogger;
+import pdfact.core.util.text.DiacriticComposer;
 
 /**
  * A plain implementation of {@link MergeDiacriticsPipe}.
@@ -125,18 +124,7 @@ public class PlainMergeDiacriticsPipe implements MergeDiacriticsPipe {
     }
   }
 
-  /**
-   * Chooses the belonging base character (either the given character to the
-   * left or the given character to the right of the diacritic) and merges the
-   * given diacritic with this base character.
-   * 
-   * @param prev
-   *        The character to the left of the diacritic.
-   * @param diacritic
-   *        The diacritic.
-   * @param next
-   *        The character to the right of the diacritic.
-   */
+  @Override
   public void mergeDiacritic(Character prev, Character diacritic,
       Character next) {
     if (diacritic == null) {
@@ -209,14 +197,13 @@ public class PlainMergeDiacriticsPipe implements MergeDiacriticsPipe {
     }
 
     // Replace non-combining diacritics by their combining equivalents.
-    int diacriticCode = diacriticText.codePointAt(0);
-    if (COMBINING_DIACRITICS.containsKey(diacriticCode)) {
-      diacriticText = COMBINING_DIACRITICS.get(diacriticCode);
+    String combining = CharacterLexicon.getCombiningDiacritic(diacriticText);
+    if (combining != null) {
+      diacriticText = combining;
     }
 
     // Merge the diacritic with the base character.
-    String mergedText = baseText + diacriticText;
-    return Normalizer.normalize(mergedText, Normalizer.Form.NFC);
+    return DiacriticComposer.compose(baseText, diacriticText);
   }
 
   /**
@@ -263,71 +250,6 @@ public class PlainMergeDiacriticsPipe implements MergeDiacriticsPipe {
    * @return True, if the given character is a diacritic; false otherwise.
    */
   public static boolean isDiacritic(Character character) {
-    if (character == null) {
-      return false;
-    }
-
-    String text = character.getText();
-    if (text == null || text.length() != 1) {
-      return false;
-    }
-
-    int type = java.lang.Character.getType(text.charAt(0));
-    return type == java.lang.Character.NON_SPACING_MARK
-        || type == java.lang.Character.MODIFIER_SYMBOL
-        || type == java.lang.Character.MODIFIER_LETTER;
-  }
-
-  /**
-   * Adds non-decomposing diacritics to the hash with their related combining
-   * character. These are values that the unicode spec claims are equivalent but
-   * are not mapped in the form NFKC normalization method. Determined by going
-   * through the Combining Diacritical Marks section of the Unicode spec and
-   * identifying which characters are not mapped to by the normalization. For
-   * example, maps "ACUTE ACCENT" to "COMBINING ACUTE ACCENT".
-   */
-  static final Map<Integer, String> COMBINING_DIACRITICS;
-
-  // TODO: Move it to character lexicon.
-  static {
-    COMBINING_DIACRITICS = new HashMap<Integer, String>(31);
-    COMBINING_DIACRITICS.put(0x0060, "\u0300");
-    COMBINING_DIACRITICS.put(0x02CB, "\u0300");
-    COMBINING_DIACRITICS.put(0x0027, "\u0301");
-    COMBINING_DIACRITICS.put(0x00B4, "\u0301");
-    COMBINING_DIACRITICS.put(0x02B9, "\u0301");
-    COMBINING_DIACRITICS.put(0x02CA, "\u0301");
-    COMBINING_DIACRITICS.put(0x0384, "\u0301");
-    COMBINING_DIACRITICS.put(0x005E, "\u0302");
-    COMBINING_DIACRITICS.put(0x02C6, "\u0302");
-    COMBINING_DIACRITICS.put(0x007E, "\u0303");
-    COMBINING_DIACRITICS.put(0x02DC, "\u0303");
-    COMBINING_DIACRITICS.put(0x00AF, "\u0304");
-    COMBINING_DIACRITICS.put(0x02C9, "\u0304");
-    COMBINING_DIACRITICS.put(0x00A8, "\u0308");
-    COMBINING_DIACRITICS.put(0x00B0, "\u030A");
-    COMBINING_DIACRITICS.put(0x02DA, "\u030A");
-    COMBINING_DIACRITICS.put(0x0022, "\u030B");
-    COMBINING_DIACRITICS.put(0x02BA, "\u030B");
-    COMBINING_DIACRITICS.put(0x02DD, "\u030B");
-    COMBINING_DIACRITICS.put(0x02C7, "\u030C");
-    COMBINING_DIACRITICS.put(0x02C8, "\u030D");
-    COMBINING_DIACRITICS.put(0x02BB, "\u0312");
-    COMBINING_DIACRITICS.put(0x02BC, "\u0313");
-    COMBINING_DIACRITICS.put(0x0486, "\u0313");
-    COMBINING_DIACRITICS.put(0x055A, "\u0313");
-    COMBINING_DIACRITICS.put(0x02BD, "\u0314");
-    COMBINING_DIACRITICS.put(0x0485, "\u0314");
-    COMBINING_DIACRITICS.put(0x0559, "\u0314");
-    COMBINING_DIACRITICS.put(0x02D4, "\u031D");
-    COMBINING_DIACRITICS.put(0x02D5, "\u031E");
-    COMBINING_DIACRITICS.put(0x02D6, "\u031F");
-    COMBINING_DIACRITICS.put(0x02D7, "\u0320");
-    COMBINING_DIACRITICS.put(0x02B2, "\u0321");
-    COMBINING_DIACRITICS.put(0x02CC, "\u0329");
-    COMBINING_DIACRITICS.put(0x02B7, "\u032B");
-    COMBINING_DIACRITICS.put(0x02CD, "\u0331");
-    COMBINING_DIACRITICS.put(0x005F, "\u0332");
-    COMBINING_DIACRITICS.put(0x204E, "\u0359");
+    return CharacterLexicon.isDiacritic(character);
   }
 }
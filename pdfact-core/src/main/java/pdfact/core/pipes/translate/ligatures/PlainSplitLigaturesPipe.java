@@ -1,8 +1,6 @@
 package pdfact.core.pipes.translate.ligatures;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.apache.log4j.Logger;
 
@@ -10,6 +8,7 @@ import pdfact.core.model.Character;
 import pdfact.core.model.Page;
 import pdfact.core.model.PdfDocument;
 import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.lexicon.CharacterLexicon;
 import pdfact.core.util.log.InjectLogger;
 
 // FIXME: Adjust bounding box.
@@ -26,11 +25,6 @@ public class PlainSplitLigaturesPipe implements SplitLigaturesPipe {
   @InjectLogger
   protected static Logger log;
 
-  /**
-   * A map with the unicodes of ligatures and its individual characters.
-   */
-  protected static final Map<String, String> LIGATURES;
-
   /**
    * The number of processed characters.
    */
@@ -41,40 +35,6 @@ public class PlainSplitLigaturesPipe implements SplitLigaturesPipe {
    */
   protected int numSplitLigatures;
 
-  // TODO: Move it to character lexicon.
-  static {
-    // Fill the ligatures.
-    LIGATURES = new HashMap<String, String>();
-    LIGATURES.put("\u00C6", "AE");
-    LIGATURES.put("\u00E6", "ae");
-    LIGATURES.put("\u0152", "OE");
-    LIGATURES.put("\u0153", "oe");
-    LIGATURES.put("\u0132", "IJ");
-    LIGATURES.put("\u0133", "ij");
-    LIGATURES.put("\u1D6B", "ue");
-    LIGATURES.put("\uA728", "TZ");
-    LIGATURES.put("\uA729", "tz");
-    LIGATURES.put("\uA732", "AA");
-    LIGATURES.put("\uA733", "aa");
-    LIGATURES.put("\uA734", "AO");
-    LIGATURES.put("\uA735", "ao");
-    LIGATURES.put("\uA736", "AU");
-    LIGATURES.put("\uA737", "au");
-    LIGATURES.put("\uA738", "AV");
-    LIGATURES.put("\uA739", "av");
-    LIGATURES.put("\uA73C", "AY");
-    LIGATURES.put("\uA73D", "ay");
-    LIGATURES.put("\uA74E", "OO");
-    LIGATURES.put("\uA74F", "oo");
-    LIGATURES.put("\uAB50", "ui");
-    LIGATURES.put("\uFB00", "ff");
-    LIGATURES.put("\uFB01", "fi");
-    LIGATURES.put("\uFB02", "fl");
-    LIGATURES.put("\uFB03", "ffi");
-    LIGATURES.put("\uFB04", "ffl");
-    LIGATURES.put("\uFB06", "st");
-  }
-
   // ==========================================================================
 
   @Override
@@ -143,7 +103,8 @@ public class PlainSplitLigaturesPipe implements SplitLigaturesPipe {
    * @return True if the given character is a ligature; false otherwise.
    */
   protected boolean isLigature(Character character) {
-    return character != null && LIGATURES.containsKey(character.getText());
+    return character != null
+        && CharacterLexicon.getLigatureCharacters(character.getText()) != null;
   }
 
   /**
@@ -157,6 +118,6 @@ public class PlainSplitLigaturesPipe implements SplitLigaturesPipe {
    *         ligature or null if the given character is not a ligature.
    */
   protected String getResolvedLigatureText(Character character) {
-    return LIGATURES.get(character.getText());
+    return CharacterLexicon.getLigatureCharacters(character.getText());
   }
 }
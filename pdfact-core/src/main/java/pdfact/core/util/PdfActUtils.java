@@ -24,6 +24,7 @@ import gnu.trove.list.TIntList;
 import gnu.trove.list.array.TIntArrayList;
 import gnu.trove.set.TCharSet;
 import pdfact.core.model.HasText;
+import pdfact.core.util.list.AggregatingElementList;
 
 /**
  * A collection of some common methods.
@@ -111,7 +112,9 @@ public class PdfActUtils {
   }
 
   /**
-   * Joins the given text elements.
+   * Joins the given text elements. If the elements are given by an
+   * {@link AggregatingElementList}, the result is built in a buffer of the
+   * final size.
    * 
    * @param elements
    *        The text elements to join.
@@ -125,7 +128,15 @@ public class PdfActUtils {
       return null;
     }
 
-    StringBuilder result = new StringBuilder();
+    StringBuilder result;
+    if (elements instanceof AggregatingElementList && !elements.isEmpty()) {
+      int textLength = ((AggregatingElementList<?>) elements).getTextLength();
+      int delimLength = delim != null ? delim.length() : 0;
+      result = new StringBuilder(
+          textLength + (elements.size() - 1) * delimLength);
+    } else {
+      result = new StringBuilder();
+    }
 
     Iterator<? extends HasText> iterator = elements.iterator();
     while (iterator.hasNext()) {
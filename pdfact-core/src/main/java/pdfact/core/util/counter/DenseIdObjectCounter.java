@@ -0,0 +1,442 @@
+package pdfact.core.util.counter;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import com.google.inject.assistedinject.Assisted;
+import com.google.inject.assistedinject.AssistedInject;
+
+import gnu.trove.iterator.TObjectIntIterator;
+import pdfact.core.model.HasDenseId;
+
+/**
+ * An implementation of {@link ObjectCounter} for objects with a dense id (font
+ * faces and colors, which are interned by the converters on parsing). The
+ * most common object is maintained on insertion.
+ *
+ * The objects are stored in compact arrays (the ids in use, their frequencies
+ * and their objects), so that merging and iterating a counter only visits the
+ * objects it contains and not all ids of the document. While the counter
+ * contains only a few objects (like the counters of words and text lines),
+ * an object is found by a linear scan over the ids in use. Beyond that, a
+ * table that maps the dense ids (up to the largest id in use) to the slots in
+ * the compact arrays is maintained, so that counting an object needs neither
+ * hashing nor an equals() check.
+ *
+ * The objects are iterated (and merged into other counters) in the order of
+ * their dense ids.
+ *
+ * Objects without a dense id (that is, objects that weren't interned) are
+ * counted in a hash-based counter instead.
+ *
+ * @param <T>
+ *        The type of the objects to count.
+ *
+ * @author Claudius Korzen
+ */
+public class DenseIdObjectCounter<T extends HasDenseId>
+    implements ObjectCounter<T> {
+  /**
+   * The default initial capacity of this counter.
+   */
+  protected static final int DEFAULT_INITIAL_CAPACITY = 4;
+
+  /**
+   * The maximum number of objects that are found by a linear scan, without an
+   * id table.
+   */
+  protected static final int MAX_NUM_SCANNED_OBJECTS = 8;
+
+  /**
+   * The dense ids of the objects in this counter (in the first {@link #size}
+   * slots).
+   */
+  protected int[] ids;
+
+  /**
+   * The frequencies of the objects, per slot.
+   */
+  protected int[] frequencies;
+
+  /**
+   * The objects, per slot.
+   */
+  protected Object[] objects;
+
+  /**
+   * The number of unique objects with a dense id in this counter.
+   */
+  protected int size;
+
+  /**
+   * The boolean flag that indicates whether the slots are sorted by the ids.
+   */
+  protected boolean isSorted = true;
+
+  /**
+   * The table that maps a dense id to its slot + 1 (0 if the id is not in
+   * use), with a length of at most the largest id in use + 1. Null while the
+   * objects are found by a linear scan.
+   */
+  protected int[] idTable;
+
+  /**
+   * The counter for the objects without a dense id, or null if there were no
+   * such objects yet.
+   */
+  protected PlainObjectCounter<T> overflow;
+
+  /**
+   * The most common object.
+   */
+  protected T mostCommonObject;
+
+  /**
+   * The frequency of the most common object.
+   */
+  protected int mostCommonObjectFrequency;
+
+  /**
+   * Creates a new ObjectCounter with the default initial capacity.
+   */
+  @AssistedInject
+  public DenseIdObjectCounter() {
+    this(DEFAULT_INITIAL_CAPACITY);
+  }
+
+  /**
+   * Creates a new ObjectCounter with the given initial capacity.
+   *
+   * @param initialCapacity
+   *        The initial capacity (the expected number of unique objects).
+   */
+  @AssistedInject
+  public DenseIdObjectCounter(@Assisted int initialCapacity) {
+    int capacity = Math.max(1, initialCapacity);
+    this.ids = new int[capacity];
+    this.frequencies = new int[capacity];
+    this.objects = new Object[capacity];
+  }
+
+  // ==========================================================================
+
+  @Override
+  public void add(T o) {
+    add(o, 1);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void add(ObjectCounter<T> counter) {
+    if (counter == null) {
+      return;
+    }
+
+    if (counter instanceof DenseIdObjectCounter) {
+      // Merge the compact arrays directly, in the order of the ids.
+      DenseIdObjectCounter<T> other = (DenseIdObjectCounter<T>) counter;
+      other.sort();
+      for (int i = 0; i < other.size; i++) {
+        add((T) other.objects[i], other.ids[i], other.frequencies[i]);
+      }
+      if (other.overflow != null) {
+        add(other.overflow);
+      }
+      return;
+    }
+
+    TObjectIntIterator<T> itr = counter.iterator();
+    while (itr.hasNext()) {
+      itr.advance();
+      add(itr.key(), itr.value());
+    }
+  }
+
+  /**
+   * Adds the given object with the given frequency to this counter.
+   *
+   * @param o
+   *        The object to add.
+   * @param frequency
+   *        The frequency of the object.
+   */
+  protected void add(T o, int frequency) {
+    add(o, o != null ? o.getDenseId() : -1, frequency);
+  }
+
+  /**
+   * Adds the given object with the given dense id and the given frequency to
+   * this counter.
+   *
+   * @param o
+   *        The object to add.
+   * @param id
+   *        The dense id of the object (negative if it has no dense id).
+   * @param frequency
+   *        The frequency of the object.
+   */
+  protected void add(T o, int id, int frequency) {
+    if (frequency <= 0) {
+      return;
+    }
+
+    int newFrequency;
+    if (id < 0) {
+      if (this.overflow == null) {
+        this.overflow = new PlainObjectCounter<>();
+      }
+      newFrequency = this.overflow.adjustOrPutValue(o, frequency, frequency);
+    } else {
+      int slot = findSlot(id);
+      if (slot < 0) {
+        slot = addSlot(o, id);
+      }
+      newFrequency = this.frequencies[slot] += frequency;
+    }
+
+    // Keep track of the most common object.
+    if (newFrequency > this.mostCommonObjectFrequency) {
+      this.mostCommonObject = o;
+      this.mostCommonObjectFrequency = newFrequency;
+    }
+  }
+
+  // ==========================================================================
+
+  /**
+   * Returns the slot of the given dense id.
+   *
+   * @param id
+   *        The dense id.
+   *
+   * @return The slot of the given id or -1 if the id is not in use.
+   */
+  protected int findSlot(int id) {
+    if (this.idTable != null) {
+      return id < this.idTable.length ? this.idTable[id] - 1 : -1;
+    }
+    for (int i = 0; i < this.size; i++) {
+      if (this.ids[i] == id) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Adds a slot for the given object with the given dense id.
+   *
+   * @param o
+   *        The object.
+   * @param id
+   *        The dense id of the object.
+   *
+   * @return The slot of the object.
+   */
+  protected int addSlot(T o, int id) {
+    if (this.size == this.ids.length) {
+      int capacity = this.ids.length * 2;
+      this.ids = Arrays.copyOf(this.ids, capacity);
+      this.frequencies = Arrays.copyOf(this.frequencies, capacity);
+      this.objects = Arrays.copyOf(this.objects, capacity);
+    }
+    int slot = this.size++;
+    this.ids[slot] = id;
+    this.frequencies[slot] = 0;
+    this.objects[slot] = o;
+    if (slot > 0 && this.ids[slot - 1] > id) {
+      this.isSorted = false;
+    }
+
+    if (this.idTable != null) {
+      if (id >= this.idTable.length) {
+        int length = Math.max(id + 1, this.idTable.length * 2);
+        this.idTable = Arrays.copyOf(this.idTable, length);
+      }
+      this.idTable[id] = slot + 1;
+    } else if (this.size > MAX_NUM_SCANNED_OBJECTS) {
+      buildIdTable();
+    }
+    return slot;
+  }
+
+  /**
+   * Builds the table that maps the dense ids to the slots.
+   */
+  protected void buildIdTable() {
+    int maxId = 0;
+    for (int i = 0; i < this.size; i++) {
+      maxId = Math.max(maxId, this.ids[i]);
+    }
+    this.idTable = new int[maxId + 1];
+    for (int i = 0; i < this.size; i++) {
+      this.idTable[this.ids[i]] = i + 1;
+    }
+  }
+
+  /**
+   * Sorts the slots by the ids, if they are not sorted yet. The ids are
+   * usually added in ascending order (because they are assigned in the order
+   * of their first occurrence), so an insertion sort is used.
+   */
+  protected void sort() {
+    if (this.isSorted) {
+      return;
+    }
+    for (int i = 1; i < this.size; i++) {
+      int id = this.ids[i];
+      int frequency = this.frequencies[i];
+      Object object = this.objects[i];
+      int j = i - 1;
+      while (j >= 0 && this.ids[j] > id) {
+        this.ids[j + 1] = this.ids[j];
+        this.frequencies[j + 1] = this.frequencies[j];
+        this.objects[j + 1] = this.objects[j];
+        j--;
+      }
+      this.ids[j + 1] = id;
+      this.frequencies[j + 1] = frequency;
+      this.objects[j + 1] = object;
+    }
+    if (this.idTable != null) {
+      for (int i = 0; i < this.size; i++) {
+        this.idTable[this.ids[i]] = i + 1;
+      }
+    }
+    this.isSorted = true;
+  }
+
+  // ==========================================================================
+
+  @Override
+  public T getMostCommonObject() {
+    return this.mostCommonObject;
+  }
+
+  @Override
+  public int getMostCommonObjectFrequency() {
+    return this.mostCommonObjectFrequency;
+  }
+
+  // ==========================================================================
+
+  @Override
+  public Object[] getObjects() {
+    sort();
+    Object[] result = new Object[size()];
+    System.arraycopy(this.objects, 0, result, 0, this.size);
+    int j = this.size;
+    if (this.overflow != null) {
+      for (Object o : this.overflow.getObjects()) {
+        result[j++] = o;
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public int getFrequency(T object) {
+    int id = object != null ? object.getDenseId() : -1;
+    if (id < 0) {
+      return this.overflow != null ? this.overflow.getFrequency(object) : 0;
+    }
+    int slot = findSlot(id);
+    return slot >= 0 ? this.frequencies[slot] : 0;
+  }
+
+  // ==========================================================================
+
+  @Override
+  public TObjectIntIterator<T> iterator() {
+    sort();
+    return new DenseIdObjectCounterIterator();
+  }
+
+  // ==========================================================================
+
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  @Override
+  public int size() {
+    return this.size + (this.overflow != null ? this.overflow.size() : 0);
+  }
+
+  // ==========================================================================
+
+  /**
+   * An iterator over the objects with a dense id (in the order of their ids)
+   * and the objects in the overflow counter. The iterator is read-only.
+   *
+   * @author Claudius Korzen
+   */
+  protected class DenseIdObjectCounterIterator
+      implements TObjectIntIterator<T> {
+    /**
+     * The current slot.
+     */
+    protected int slot = -1;
+
+    /**
+     * The iterator over the overflow counter, or null if the iterator didn't
+     * reach the overflow counter yet.
+     */
+    protected TObjectIntIterator<T> overflowIterator;
+
+    @Override
+    public boolean hasNext() {
+      if (this.overflowIterator != null) {
+        return this.overflowIterator.hasNext();
+      }
+      if (this.slot + 1 < DenseIdObjectCounter.this.size) {
+        return true;
+      }
+      return DenseIdObjectCounter.this.overflow != null
+          && !DenseIdObjectCounter.this.overflow.isEmpty();
+    }
+
+    @Override
+    public void advance() {
+      if (this.overflowIterator == null) {
+        if (this.slot + 1 < DenseIdObjectCounter.this.size) {
+          this.slot++;
+          return;
+        }
+        if (DenseIdObjectCounter.this.overflow == null) {
+          throw new NoSuchElementException();
+        }
+        this.overflowIterator = DenseIdObjectCounter.this.overflow.iterator();
+      }
+      this.overflowIterator.advance();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T key() {
+      if (this.overflowIterator != null) {
+        return this.overflowIterator.key();
+      }
+      return (T) DenseIdObjectCounter.this.objects[this.slot];
+    }
+
+    @Override
+    public int value() {
+      if (this.overflowIterator != null) {
+        return this.overflowIterator.value();
+      }
+      return DenseIdObjectCounter.this.frequencies[this.slot];
+    }
+
+    @Override
+    public int setValue(int val) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
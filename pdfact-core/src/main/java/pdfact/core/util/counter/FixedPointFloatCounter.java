@@ -0,0 +1,297 @@
+package pdfact.core.util.counter;
+
+import static pdfact.core.PdfActCoreSettings.FLOATING_NUMBER_PRECISION;
+
+import com.google.inject.assistedinject.Assisted;
+import com.google.inject.assistedinject.AssistedInject;
+
+/**
+ * An implementation of {@link FloatCounter} that stores the floats as
+ * fixed-point integers with FLOATING_NUMBER_PRECISION decimal places (all
+ * coordinates and font sizes are rounded to this precision on parsing anyway)
+ * in an int-keyed hash table with open addressing. The most common float and
+ * the sum of the floats are maintained on insertion, so that no statistics
+ * need to be computed afterwards.
+ *
+ * @author Claudius Korzen
+ */
+public class FixedPointFloatCounter implements FloatCounter {
+  /**
+   * The default initial capacity of this counter.
+   */
+  protected static final int DEFAULT_INITIAL_CAPACITY = 8;
+
+  /**
+   * The factor to translate a float into its fixed-point representation.
+   */
+  protected static final float SCALE =
+      (float) Math.pow(10, FLOATING_NUMBER_PRECISION);
+
+  /**
+   * The keys (the fixed-point representations of the floats) of the table.
+   */
+  protected int[] keys;
+
+  /**
+   * The frequencies of the keys. A frequency of 0 marks an empty slot.
+   */
+  protected int[] frequencies;
+
+  /**
+   * The number of unique keys in this counter.
+   */
+  protected int size;
+
+  /**
+   * The most common key.
+   */
+  protected int mostCommonKey;
+
+  /**
+   * The frequency of the most common key.
+   */
+  protected int mostCommonKeyFrequency;
+
+  /**
+   * The sum of all keys (weighted by their frequencies).
+   */
+  protected long sumKeys;
+
+  /**
+   * The sum of all frequencies.
+   */
+  protected long sumFrequencies;
+
+  /**
+   * Creates a new FloatCounter with the default initial capacity.
+   */
+  @AssistedInject
+  public FixedPointFloatCounter() {
+    this(DEFAULT_INITIAL_CAPACITY);
+  }
+
+  /**
+   * Creates a new FloatCounter with the given initial capacity.
+   *
+   * @param initialCapacity
+   *        The initial capacity.
+   */
+  @AssistedInject
+  public FixedPointFloatCounter(@Assisted int initialCapacity) {
+    int capacity = Integer.highestOneBit(Math.max(4, initialCapacity) * 2 - 1);
+    this.keys = new int[capacity];
+    this.frequencies = new int[capacity];
+  }
+
+  // ==========================================================================
+
+  @Override
+  public void add(float f) {
+    if (Float.isNaN(f)) {
+      return;
+    }
+    add(toKey(f), 1);
+  }
+
+  @Override
+  public void add(FloatCounter counter) {
+    if (counter == null) {
+      return;
+    }
+
+    if (counter instanceof FixedPointFloatCounter) {
+      // Merge the tables directly, without translating the keys to floats.
+      FixedPointFloatCounter other = (FixedPointFloatCounter) counter;
+      int[] otherKeys = other.keys;
+      int[] otherFrequencies = other.frequencies;
+      for (int i = 0; i < otherKeys.length; i++) {
+        if (otherFrequencies[i] > 0) {
+          add(otherKeys[i], otherFrequencies[i]);
+        }
+      }
+      return;
+    }
+
+    for (float f : counter.getFloats()) {
+      if (!Float.isNaN(f)) {
+        add(toKey(f), counter.getFrequency(f));
+      }
+    }
+  }
+
+  /**
+   * Adds the given key with the given frequency to this counter.
+   *
+   * @param key
+   *        The key to add.
+   * @param frequency
+   *        The frequency of the key.
+   */
+  protected void add(int key, int frequency) {
+    if (frequency <= 0) {
+      return;
+    }
+
+    int slot = findSlot(this.keys, this.frequencies, key);
+    if (this.frequencies[slot] == 0) {
+      this.keys[slot] = key;
+      this.size++;
+    }
+    int newFrequency = this.frequencies[slot] += frequency;
+
+    // Keep track of the most common key.
+    if (newFrequency > this.mostCommonKeyFrequency) {
+      this.mostCommonKey = key;
+      this.mostCommonKeyFrequency = newFrequency;
+    }
+
+    this.sumKeys += (long) key * frequency;
+    this.sumFrequencies += frequency;
+
+    // Keep the load factor below 0.5.
+    if (this.size * 2 > this.keys.length) {
+      rehash(this.keys.length * 2);
+    }
+  }
+
+  // ==========================================================================
+
+  @Override
+  public float getMostCommonFloat() {
+    if (isEmpty()) {
+      return Float.NaN;
+    }
+    return toFloat(this.mostCommonKey);
+  }
+
+  @Override
+  public float getMostCommonFloatFrequency() {
+    return this.mostCommonKeyFrequency;
+  }
+
+  // ==========================================================================
+
+  @Override
+  public float getAverageFloat() {
+    if (this.sumFrequencies == 0) {
+      return 0;
+    }
+    return (float) (this.sumKeys / (this.sumFrequencies * (double) SCALE));
+  }
+
+  // ==========================================================================
+
+  @Override
+  public float[] getFloats() {
+    float[] floats = new float[this.size];
+    int j = 0;
+    for (int i = 0; i < this.keys.length; i++) {
+      if (this.frequencies[i] > 0) {
+        floats[j++] = toFloat(this.keys[i]);
+      }
+    }
+    return floats;
+  }
+
+  @Override
+  public int getFrequency(float value) {
+    if (Float.isNaN(value)) {
+      return 0;
+    }
+    int slot = findSlot(this.keys, this.frequencies, toKey(value));
+    return this.frequencies[slot];
+  }
+
+  // ==========================================================================
+
+  @Override
+  public boolean isEmpty() {
+    return this.size == 0;
+  }
+
+  @Override
+  public int size() {
+    return this.size;
+  }
+
+  // ==========================================================================
+
+  /**
+   * Returns the slot of the given key in the given table, or the empty slot
+   * where the key is to be inserted.
+   *
+   * @param keys
+   *        The keys of the table.
+   * @param frequencies
+   *        The frequencies of the table.
+   * @param key
+   *        The key to search for.
+   *
+   * @return The slot of the given key.
+   */
+  protected static int findSlot(int[] keys, int[] frequencies, int key) {
+    int mask = keys.length - 1;
+    int slot = hash(key) & mask;
+    while (frequencies[slot] > 0 && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /**
+   * Resizes the table to the given capacity.
+   *
+   * @param capacity
+   *        The new capacity (a power of two).
+   */
+  protected void rehash(int capacity) {
+    int[] newKeys = new int[capacity];
+    int[] newFrequencies = new int[capacity];
+    for (int i = 0; i < this.keys.length; i++) {
+      if (this.frequencies[i] > 0) {
+        int slot = findSlot(newKeys, newFrequencies, this.keys[i]);
+        newKeys[slot] = this.keys[i];
+        newFrequencies[slot] = this.frequencies[i];
+      }
+    }
+    this.keys = newKeys;
+    this.frequencies = newFrequencies;
+  }
+
+  /**
+   * Spreads the bits of the given key.
+   *
+   * @param key
+   *        The key to hash.
+   *
+   * @return The hash of the given key.
+   */
+  protected static int hash(int key) {
+    int h = key * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * Translates the given float into its fixed-point representation.
+   *
+   * @param f
+   *        The float to translate.
+   *
+   * @return The fixed-point representation of the given float.
+   */
+  protected static int toKey(float f) {
+    return Math.round(f * SCALE);
+  }
+
+  /**
+   * Translates the given fixed-point representation into a float.
+   *
+   * @param key
+   *        The fixed-point representation to translate.
+   *
+   * @return The float.
+   */
+  protected static float toFloat(int key) {
+    return key / SCALE;
+  }
+}
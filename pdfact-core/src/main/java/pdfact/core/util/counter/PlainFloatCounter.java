@@ -57,6 +57,7 @@ public class PlainFloatCounter extends TFloatIntHashMap
   @Override
   public void add(float f) {
     adjustOrPutValue(f, 1, 1);
+    this.isStatisticsComputed = false;
   }
 
   @Override
@@ -64,6 +65,7 @@ public class PlainFloatCounter extends TFloatIntHashMap
     for (float key : f.getFloats()) {
       adjustOrPutValue(key, f.getFrequency(key), f.getFrequency(key));
     }
+    this.isStatisticsComputed = false;
   }
 
   // ==========================================================================
@@ -60,6 +60,7 @@ public class PlainObjectCounter<T> extends TObjectIntHashMap<T>
    */
   public void add(T o) {
     adjustOrPutValue(o, 1, 1);
+    this.isStatisticsComputed = false;
   }
 
   /**
@@ -76,6 +77,7 @@ public class PlainObjectCounter<T> extends TObjectIntHashMap<T>
       int count = itr.value();
       adjustOrPutValue(key, count, count);
     }
+    this.isStatisticsComputed = false;
   }
 
   /**
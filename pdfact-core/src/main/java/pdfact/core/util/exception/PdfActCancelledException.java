@@ -0,0 +1,40 @@
+package pdfact.core.util.exception;
+
+/**
+ * The exception to throw when the processing of a PDF document was cancelled.
+ * 
+ * @author Claudius Korzen
+ */
+public class PdfActCancelledException extends PdfActException {
+  /**
+   * The serial id.
+   */
+  protected static final long serialVersionUID = 6410387324862617905L;
+
+  /**
+   * The default exit code of this exception.
+   */
+  protected static final int EXIT_CODE = 90;
+
+  /**
+   * Creates a new cancelled exception.
+   * 
+   * @param message
+   *        The error message to show when the exception was caught.
+   */
+  public PdfActCancelledException(String message) {
+    super(EXIT_CODE, message);
+  }
+
+  /**
+   * Creates a new cancelled exception.
+   * 
+   * @param message
+   *        The error message to show when the exception was caught.
+   * @param cause
+   *        The cause of this exception (can be used to trace the error).
+   */
+  public PdfActCancelledException(String message, Throwable cause) {
+    super(EXIT_CODE, message, cause);
+  }
+}
@@ -0,0 +1,40 @@
+package pdfact.core.util.exception;
+
+/**
+ * The exception to throw on errors while reading or writing a lexicon.
+ * 
+ * @author Claudius Korzen
+ */
+public class PdfActLexiconException extends PdfActException {
+  /**
+   * The serial id.
+   */
+  protected static final long serialVersionUID = -6083914375262957419L;
+
+  /**
+   * The default exit code of this exception.
+   */
+  protected static final int EXIT_CODE = 50;
+
+  /**
+   * Creates a new lexicon exception.
+   * 
+   * @param message
+   *        The error message to show when the exception was caught.
+   */
+  public PdfActLexiconException(String message) {
+    super(EXIT_CODE, message);
+  }
+
+  /**
+   * Creates a new lexicon exception.
+   * 
+   * @param message
+   *        The error message to show when the exception was caught.
+   * @param cause
+   *        The cause of this exception (can be used to trace the error).
+   */
+  public PdfActLexiconException(String message, Throwable cause) {
+    super(EXIT_CODE, message, cause);
+  }
+}
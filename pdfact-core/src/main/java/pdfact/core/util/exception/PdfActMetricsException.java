@@ -0,0 +1,40 @@
+package pdfact.core.util.exception;
+
+/**
+ * The exception to throw on errors while publishing or writing metrics.
+ * 
+ * @author Claudius Korzen
+ */
+public class PdfActMetricsException extends PdfActException {
+  /**
+   * The serial id.
+   */
+  protected static final long serialVersionUID = -2360937180541736472L;
+
+  /**
+   * The default exit code of this exception.
+   */
+  protected static final int EXIT_CODE = 60;
+
+  /**
+   * Creates a new metrics exception.
+   * 
+   * @param message
+   *        The error message to show when the exception was caught.
+   */
+  public PdfActMetricsException(String message) {
+    super(EXIT_CODE, message);
+  }
+
+  /**
+   * Creates a new metrics exception.
+   * 
+   * @param message
+   *        The error message to show when the exception was caught.
+   * @param cause
+   *        The cause of this exception (can be used to trace the error).
+   */
+  public PdfActMetricsException(String message, Throwable cause) {
+    super(EXIT_CODE, message, cause);
+  }
+}
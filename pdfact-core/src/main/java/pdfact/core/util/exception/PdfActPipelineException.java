@@ -0,0 +1,41 @@
+package pdfact.core.util.exception;
+
+/**
+ * The exception to throw on errors while running a pipeline (for example, if
+ * a pipeline was interrupted).
+ * 
+ * @author Claudius Korzen
+ */
+public class PdfActPipelineException extends PdfActException {
+  /**
+   * The serial id.
+   */
+  protected static final long serialVersionUID = 4818244390570316221L;
+
+  /**
+   * The default exit code of this exception.
+   */
+  protected static final int EXIT_CODE = 70;
+
+  /**
+   * Creates a new pipeline exception.
+   * 
+   * @param message
+   *        The error message to show when the exception was caught.
+   */
+  public PdfActPipelineException(String message) {
+    super(EXIT_CODE, message);
+  }
+
+  /**
+   * Creates a new pipeline exception.
+   * 
+   * @param message
+   *        The error message to show when the exception was caught.
+   * @param cause
+   *        The cause of this exception (can be used to trace the error).
+   */
+  public PdfActPipelineException(String message, Throwable cause) {
+    super(EXIT_CODE, message, cause);
+  }
+}
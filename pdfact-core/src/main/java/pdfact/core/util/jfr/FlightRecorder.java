@@ -0,0 +1,78 @@
+package pdfact.core.util.jfr;
+
+import pdfact.core.model.PdfDocument;
+import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.pipeline.Pipe;
+
+/**
+ * The interface of the flight recorder hooks of PdfAct. The hooks don't refer
+ * to any type of jdk.jfr, so that the core can be run on JVMs without the
+ * flight recorder (see {@link FlightRecorders}, which provides a recorder
+ * that does nothing in this case).
+ *
+ * @author Claudius Korzen
+ */
+public interface FlightRecorder {
+  /**
+   * Executes the given pipe on the given PDF document and records the
+   * execution (as a {@link PipeExecutionEvent}).
+   *
+   * @param pipe
+   *        The pipe to execute.
+   * @param pdf
+   *        The PDF document to process.
+   *
+   * @return The processed PDF document.
+   *
+   * @throws PdfActException
+   *         If the execution of the pipe fails.
+   */
+  PdfDocument execute(Pipe pipe, PdfDocument pdf) throws PdfActException;
+
+  /**
+   * Starts to record the parsing of a page (as a {@link PageEvent}).
+   *
+   * @return The handle to pass to
+   *         {@link #endPage(Object, int, int, int, int, int)}.
+   */
+  Object beginPage();
+
+  /**
+   * Stops to record the parsing of a page.
+   *
+   * @param handle
+   *        The handle returned by {@link #beginPage()}.
+   * @param pageNumber
+   *        The number of the page.
+   * @param numOperators
+   *        The number of processed operators.
+   * @param numGlyphs
+   *        The number of extracted glyphs.
+   * @param numShapes
+   *        The number of extracted shapes.
+   * @param numType3Invocations
+   *        The number of processed Type3 glyph procedures.
+   */
+  void endPage(Object handle, int pageNumber, int numOperators, int numGlyphs,
+      int numShapes, int numType3Invocations);
+
+  /**
+   * Starts to record the processing of a PDF operator (as a
+   * {@link SlowOperatorEvent}).
+   *
+   * @return The handle to pass to {@link #endOperator(Object, String, int)}.
+   */
+  Object beginOperator();
+
+  /**
+   * Stops to record the processing of a PDF operator.
+   *
+   * @param handle
+   *        The handle returned by {@link #beginOperator()}.
+   * @param operator
+   *        The name of the operator.
+   * @param pageNumber
+   *        The number of the page on which the operator was processed.
+   */
+  void endOperator(Object handle, String operator, int pageNumber);
+}
@@ -0,0 +1,73 @@
+package pdfact.core.util.jfr;
+
+/**
+ * The factory of the {@link FlightRecorder} of PdfAct. The recorder emits
+ * events to the flight recorder of the JVM if jdk.jfr is available (from
+ * Java 11 on, or on a Java 8 runtime with the backported flight recorder) and
+ * does nothing otherwise. The recorder that emits the events is loaded
+ * reflectively, so no class that refers to jdk.jfr is linked on JVMs without
+ * it.
+ *
+ * @author Claudius Korzen
+ */
+public final class FlightRecorders {
+  /**
+   * The name of the class of the events of the flight recorder.
+   */
+  protected static final String JFR_EVENT_CLASS = "jdk.jfr.Event";
+
+  /**
+   * The name of the recorder that emits the events to the flight recorder.
+   */
+  protected static final String JFR_RECORDER_CLASS =
+      "pdfact.core.util.jfr.JfrFlightRecorder";
+
+  /**
+   * The recorder of this JVM.
+   */
+  protected static final FlightRecorder RECORDER = create();
+
+  /**
+   * Hides the constructor.
+   */
+  private FlightRecorders() {}
+
+  // ==========================================================================
+
+  /**
+   * Returns the recorder of this JVM.
+   *
+   * @return The recorder of this JVM.
+   */
+  public static FlightRecorder get() {
+    return RECORDER;
+  }
+
+  /**
+   * Checks if the flight recorder is available in this JVM.
+   *
+   * @return True, if the flight recorder is available; false otherwise.
+   */
+  public static boolean isAvailable() {
+    return !(RECORDER instanceof NoopFlightRecorder);
+  }
+
+  // ==========================================================================
+
+  /**
+   * Creates the recorder of this JVM.
+   *
+   * @return The recorder that emits the events to the flight recorder if
+   *         jdk.jfr is available; a recorder that does nothing otherwise.
+   */
+  protected static FlightRecorder create() {
+    ClassLoader loader = FlightRecorders.class.getClassLoader();
+    try {
+      Class.forName(JFR_EVENT_CLASS, false, loader);
+      return (FlightRecorder) Class.forName(JFR_RECORDER_CLASS, true, loader)
+          .getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException | LinkageError e) {
+      return new NoopFlightRecorder();
+    }
+  }
+}
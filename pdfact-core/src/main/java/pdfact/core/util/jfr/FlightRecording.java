@@ -0,0 +1,91 @@
+package pdfact.core.util.jfr;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import pdfact.core.util.exception.PdfActMetricsException;
+
+/**
+ * A flight recording of a single run of PdfAct. The recording uses the
+ * "default" configuration of the JVM and additionally enables the events of
+ * PdfAct ({@link PipeExecutionEvent}, {@link PageEvent} and
+ * {@link SlowOperatorEvent}, with its default threshold).
+ *
+ * @author Claudius Korzen
+ */
+public class FlightRecording implements AutoCloseable {
+  /**
+   * The name of the JVM configuration used by the recording.
+   */
+  public static final String CONFIGURATION = "default";
+
+  /**
+   * The recording.
+   */
+  protected Recording recording;
+
+  /**
+   * Creates a new flight recording (which is not started yet).
+   * 
+   * @throws PdfActMetricsException
+   *         If the configuration of the recording couldn't be loaded.
+   */
+  public FlightRecording() throws PdfActMetricsException {
+    try {
+      this.recording = new Recording(
+          Configuration.getConfiguration(CONFIGURATION));
+    } catch (IOException | ParseException e) {
+      throw new PdfActMetricsException("Couldn't load the flight recorder "
+          + "configuration '" + CONFIGURATION + "'.", e);
+    }
+    this.recording.setName("pdfact");
+    this.recording.enable(PipeExecutionEvent.class);
+    this.recording.enable(PageEvent.class);
+    this.recording.enable(SlowOperatorEvent.class);
+  }
+
+  // ==========================================================================
+
+  /**
+   * Starts the recording.
+   * 
+   * @throws PdfActMetricsException
+   *         If the recording couldn't be started.
+   */
+  public void start() throws PdfActMetricsException {
+    try {
+      this.recording.start();
+    } catch (IllegalStateException | SecurityException e) {
+      throw new PdfActMetricsException("Couldn't start the flight recording.",
+          e);
+    }
+  }
+
+  /**
+   * Stops the recording and writes it to the given file.
+   * 
+   * @param path
+   *        The path to the file to which the recording is written.
+   * 
+   * @throws PdfActMetricsException
+   *         If the recording couldn't be written.
+   */
+  public void dump(Path path) throws PdfActMetricsException {
+    try {
+      this.recording.stop();
+      this.recording.dump(path);
+    } catch (IOException | IllegalStateException e) {
+      throw new PdfActMetricsException("Couldn't write the flight recording "
+          + "to '" + path + "'.", e);
+    }
+  }
+
+  @Override
+  public void close() {
+    this.recording.close();
+  }
+}
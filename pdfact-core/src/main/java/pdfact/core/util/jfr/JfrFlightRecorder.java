@@ -0,0 +1,64 @@
+package pdfact.core.util.jfr;
+
+import pdfact.core.model.PdfDocument;
+import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.pipeline.Pipe;
+
+/**
+ * An implementation of {@link FlightRecorder} that emits the events of PdfAct
+ * to the flight recorder of the JVM. This class (and the events) must only be
+ * loaded if jdk.jfr is available, see {@link FlightRecorders}.
+ *
+ * @author Claudius Korzen
+ */
+public class JfrFlightRecorder implements FlightRecorder {
+  @Override
+  public PdfDocument execute(Pipe pipe, PdfDocument pdf)
+      throws PdfActException {
+    return PipeExecutionEvent.execute(pipe, pdf);
+  }
+
+  // ==========================================================================
+
+  @Override
+  public Object beginPage() {
+    PageEvent event = new PageEvent();
+    event.begin();
+    return event;
+  }
+
+  @Override
+  public void endPage(Object handle, int pageNumber, int numOperators,
+      int numGlyphs, int numShapes, int numType3Invocations) {
+    PageEvent event = (PageEvent) handle;
+    event.end();
+    if (event.shouldCommit()) {
+      event.setPageNumber(pageNumber);
+      event.setNumOperators(numOperators);
+      event.setNumGlyphs(numGlyphs);
+      event.setNumShapes(numShapes);
+      event.setNumType3Invocations(numType3Invocations);
+      event.commit();
+    }
+  }
+
+  // ==========================================================================
+
+  @Override
+  public Object beginOperator() {
+    SlowOperatorEvent event = new SlowOperatorEvent();
+    event.begin();
+    return event;
+  }
+
+  @Override
+  public void endOperator(Object handle, String operator, int pageNumber) {
+    SlowOperatorEvent event = (SlowOperatorEvent) handle;
+    event.end();
+    if (event.shouldCommit()) {
+      event.setOperator(operator);
+      event.setPageNumber(pageNumber);
+      event.commit();
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package pdfact.core.util.jfr;
+
+import pdfact.core.model.PdfDocument;
+import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.pipeline.Pipe;
+
+/**
+ * An implementation of {@link FlightRecorder} that records nothing. It is used
+ * if the flight recorder is not available in the JVM.
+ *
+ * @author Claudius Korzen
+ */
+public class NoopFlightRecorder implements FlightRecorder {
+  @Override
+  public PdfDocument execute(Pipe pipe, PdfDocument pdf)
+      throws PdfActException {
+    return pipe.execute(pdf);
+  }
+
+  // ==========================================================================
+
+  @Override
+  public Object beginPage() {
+    return null;
+  }
+
+  @Override
+  public void endPage(Object handle, int pageNumber, int numOperators,
+      int numGlyphs, int numShapes, int numType3Invocations) {
+    // Nothing to do.
+  }
+
+  // ==========================================================================
+
+  @Override
+  public Object beginOperator() {
+    return null;
+  }
+
+  @Override
+  public void endOperator(Object handle, String operator, int pageNumber) {
+    // Nothing to do.
+  }
+}
@@ -0,0 +1,160 @@
+package pdfact.core.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A flight recorder event that is emitted per page on parsing the content
+ * streams of a PDF document.
+ *
+ * @author Claudius Korzen
+ */
+@Name(PageEvent.NAME)
+@Label("Page Parsing")
+@Category({ "PdfAct", "Parser" })
+@Description("The parsing of the content stream of a page.")
+public class PageEvent extends Event {
+  /**
+   * The name of this event.
+   */
+  public static final String NAME = "pdfact.Page";
+
+  /**
+   * The number of the page.
+   */
+  @Label("Page Number")
+  protected int pageNumber;
+
+  /**
+   * The number of processed operators (including the operators of form
+   * XObjects and Type3 glyph procedures).
+   */
+  @Label("Operators")
+  protected int numOperators;
+
+  /**
+   * The number of extracted glyphs.
+   */
+  @Label("Glyphs")
+  protected int numGlyphs;
+
+  /**
+   * The number of extracted shapes.
+   */
+  @Label("Shapes")
+  protected int numShapes;
+
+  /**
+   * The number of processed Type3 glyph procedures.
+   */
+  @Label("Type3 Invocations")
+  protected int numType3Invocations;
+
+  // ==========================================================================
+
+  /**
+   * Returns the number of the page.
+   *
+   * @return The number of the page.
+   */
+  public int getPageNumber() {
+    return this.pageNumber;
+  }
+
+  /**
+   * Sets the number of the page.
+   *
+   * @param pageNumber
+   *        The number of the page.
+   */
+  public void setPageNumber(int pageNumber) {
+    this.pageNumber = pageNumber;
+  }
+
+  // ==========================================================================
+
+  /**
+   * Returns the number of processed operators.
+   *
+   * @return The number of processed operators.
+   */
+  public int getNumOperators() {
+    return this.numOperators;
+  }
+
+  /**
+   * Sets the number of processed operators.
+   *
+   * @param numOperators
+   *        The number of processed operators.
+   */
+  public void setNumOperators(int numOperators) {
+    this.numOperators = numOperators;
+  }
+
+  // ==========================================================================
+
+  /**
+   * Returns the number of extracted glyphs.
+   *
+   * @return The number of extracted glyphs.
+   */
+  public int getNumGlyphs() {
+    return this.numGlyphs;
+  }
+
+  /**
+   * Sets the number of extracted glyphs.
+   *
+   * @param numGlyphs
+   *        The number of extracted glyphs.
+   */
+  public void setNumGlyphs(int numGlyphs) {
+    this.numGlyphs = numGlyphs;
+  }
+
+  // ==========================================================================
+
+  /**
+   * Returns the number of extracted shapes.
+   *
+   * @return The number of extracted shapes.
+   */
+  public int getNumShapes() {
+    return this.numShapes;
+  }
+
+  /**
+   * Sets the number of extracted shapes.
+   *
+   * @param numShapes
+   *        The number of extracted shapes.
+   */
+  public void setNumShapes(int numShapes) {
+    this.numShapes = numShapes;
+  }
+
+  // ==========================================================================
+
+  /**
+   * Returns the number of processed Type3 glyph procedures.
+   *
+   * @return The number of processed Type3 glyph procedures.
+   */
+  public int getNumType3Invocations() {
+    return this.numType3Invocations;
+  }
+
+  /**
+   * Sets the number of processed Type3 glyph procedures.
+   *
+   * @param numType3Invocations
+   *        The number of processed Type3 glyph procedures.
+   */
+  public void setNumType3Invocations(int numType3Invocations) {
+    this.numType3Invocations = numType3Invocations;
+  }
+}
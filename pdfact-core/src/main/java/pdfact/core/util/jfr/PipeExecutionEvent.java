@@ -0,0 +1,122 @@
+package pdfact.core.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import pdfact.core.model.PdfDocument;
+import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.pipeline.DecoratingPipe;
+import pdfact.core.util.pipeline.Pipe;
+
+/**
+ * A flight recorder event that is emitted per execution of a pipe in a
+ * pipeline.
+ *
+ * @author Claudius Korzen
+ */
+@Name(PipeExecutionEvent.NAME)
+@Label("Pipe Execution")
+@Category({ "PdfAct", "Pipeline" })
+@Description("The execution of a pipe on a PDF document.")
+public class PipeExecutionEvent extends Event {
+  /**
+   * The name of this event.
+   */
+  public static final String NAME = "pdfact.PipeExecution";
+
+  /**
+   * The name of the executed pipe.
+   */
+  @Label("Pipe")
+  protected String pipe;
+
+  /**
+   * The path to the processed PDF document.
+   */
+  @Label("Document")
+  protected String document;
+
+  // ==========================================================================
+
+  /**
+   * Executes the given pipe on the given PDF document and emits an event for
+   * the execution if this event is enabled. Decorating pipes are reported by
+   * the name of the innermost decorated pipe.
+   *
+   * @param pipe
+   *        The pipe to execute.
+   * @param pdf
+   *        The PDF document to process.
+   *
+   * @return The processed PDF document.
+   *
+   * @throws PdfActException
+   *         If the execution of the pipe fails.
+   */
+  public static PdfDocument execute(Pipe pipe, PdfDocument pdf)
+      throws PdfActException {
+    PipeExecutionEvent event = new PipeExecutionEvent();
+    if (!event.isEnabled()) {
+      return pipe.execute(pdf);
+    }
+
+    event.begin();
+    try {
+      return pipe.execute(pdf);
+    } finally {
+      event.end();
+      if (event.shouldCommit()) {
+        event.setPipe(DecoratingPipe.unwrap(pipe).getClass().getSimpleName());
+        if (pdf != null && pdf.getFile() != null) {
+          event.setDocument(pdf.getFile().getPath());
+        }
+        event.commit();
+      }
+    }
+  }
+
+  // ==========================================================================
+
+  /**
+   * Returns the name of the executed pipe.
+   *
+   * @return The name of the executed pipe.
+   */
+  public String getPipe() {
+    return this.pipe;
+  }
+
+  /**
+   * Sets the name of the executed pipe.
+   *
+   * @param pipe
+   *        The name of the executed pipe.
+   */
+  public void setPipe(String pipe) {
+    this.pipe = pipe;
+  }
+
+  // ==========================================================================
+
+  /**
+   * Returns the path to the processed PDF document.
+   *
+   * @return The path to the processed PDF document.
+   */
+  public String getDocument() {
+    return this.document;
+  }
+
+  /**
+   * Sets the path to the processed PDF document.
+   *
+   * @param document
+   *        The path to the processed PDF document.
+   */
+  public void setDocument(String document) {
+    this.document = document;
+  }
+}
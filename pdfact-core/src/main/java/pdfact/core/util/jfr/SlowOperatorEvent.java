@@ -0,0 +1,88 @@
+package pdfact.core.util.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * A flight recorder event that is emitted per PDF operator whose processing
+ * took longer than the threshold of this event (by default
+ * {@link #DEFAULT_THRESHOLD}, can be changed in the settings of a recording).
+ * The duration of an operator that draws a form XObject or a Type3 glyph
+ * includes the durations of the operators of the drawn stream.
+ *
+ * @author Claudius Korzen
+ */
+@Name(SlowOperatorEvent.NAME)
+@Label("Slow Operator")
+@Category({ "PdfAct", "Parser" })
+@Description("The processing of a PDF operator that exceeded the threshold.")
+@Threshold(SlowOperatorEvent.DEFAULT_THRESHOLD)
+public class SlowOperatorEvent extends Event {
+  /**
+   * The name of this event.
+   */
+  public static final String NAME = "pdfact.SlowOperator";
+
+  /**
+   * The default threshold of this event.
+   */
+  public static final String DEFAULT_THRESHOLD = "10 ms";
+
+  /**
+   * The name of the operator.
+   */
+  @Label("Operator")
+  protected String operator;
+
+  /**
+   * The number of the page on which the operator was processed.
+   */
+  @Label("Page Number")
+  protected int pageNumber;
+
+  // ==========================================================================
+
+  /**
+   * Returns the name of the operator.
+   *
+   * @return The name of the operator.
+   */
+  public String getOperator() {
+    return this.operator;
+  }
+
+  /**
+   * Sets the name of the operator.
+   *
+   * @param operator
+   *        The name of the operator.
+   */
+  public void setOperator(String operator) {
+    this.operator = operator;
+  }
+
+  // ==========================================================================
+
+  /**
+   * Returns the number of the page on which the operator was processed.
+   *
+   * @return The number of the page.
+   */
+  public int getPageNumber() {
+    return this.pageNumber;
+  }
+
+  /**
+   * Sets the number of the page on which the operator was processed.
+   *
+   * @param pageNumber
+   *        The number of the page.
+   */
+  public void setPageNumber(int pageNumber) {
+    this.pageNumber = pageNumber;
+  }
+}
@@ -1,6 +1,8 @@
 package pdfact.core.util.lexicon;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import gnu.trove.set.TCharSet;
@@ -430,6 +432,302 @@ public class CharacterLexicon {
     MATH_SYMBOLS.add("Ω");
   }
 
+  // ==========================================================================
+  // Translations.
+
+  /**
+   * A map with the unicodes of ligatures and its individual characters.
+   */
+  public static final Map<String, String> LIGATURES;
+
+  static {
+    LIGATURES = new HashMap<String, String>();
+    LIGATURES.put("\u00C6", "AE");
+    LIGATURES.put("\u00E6", "ae");
+    LIGATURES.put("\u0152", "OE");
+    LIGATURES.put("\u0153", "oe");
+    LIGATURES.put("\u0132", "IJ");
+    LIGATURES.put("\u0133", "ij");
+    LIGATURES.put("\u1D6B", "ue");
+    LIGATURES.put("\uA728", "TZ");
+    LIGATURES.put("\uA729", "tz");
+    LIGATURES.put("\uA732", "AA");
+    LIGATURES.put("\uA733", "aa");
+    LIGATURES.put("\uA734", "AO");
+    LIGATURES.put("\uA735", "ao");
+    LIGATURES.put("\uA736", "AU");
+    LIGATURES.put("\uA737", "au");
+    LIGATURES.put("\uA738", "AV");
+    LIGATURES.put("\uA739", "av");
+    LIGATURES.put("\uA73C", "AY");
+    LIGATURES.put("\uA73D", "ay");
+    LIGATURES.put("\uA74E", "OO");
+    LIGATURES.put("\uA74F", "oo");
+    LIGATURES.put("\uAB50", "ui");
+    LIGATURES.put("\uFB00", "ff");
+    LIGATURES.put("\uFB01", "fi");
+    LIGATURES.put("\uFB02", "fl");
+    LIGATURES.put("\uFB03", "ffi");
+    LIGATURES.put("\uFB04", "ffl");
+    LIGATURES.put("\uFB06", "st");
+  }
+
+  /**
+   * A map that maps some characters to a character with the same semantic
+   * meaning.
+   */
+  public static final Map<String, String> CHARACTER_SYNONYMS;
+
+  static {
+    CHARACTER_SYNONYMS = new HashMap<String, String>();
+    CHARACTER_SYNONYMS.put("\u2018", "'"); // ‘
+    CHARACTER_SYNONYMS.put("\u2019", "'"); // ’
+    CHARACTER_SYNONYMS.put("\u201b", "'"); // ‛
+    CHARACTER_SYNONYMS.put("\u201c", "\""); // “
+    CHARACTER_SYNONYMS.put("\u201d", "\""); // ”
+    CHARACTER_SYNONYMS.put("\u201f", "\""); // ‟
+    CHARACTER_SYNONYMS.put("\u301d", "\""); // 〝
+    CHARACTER_SYNONYMS.put("\u301e", "\""); // 〞
+    CHARACTER_SYNONYMS.put("\uff02", "\""); // ＂
+    CHARACTER_SYNONYMS.put("\uff07", "'"); // ＇
+  }
+
+  /**
+   * Adds non-decomposing diacritics to the hash with their related combining
+   * character. These are values that the unicode spec claims are equivalent but
+   * are not mapped in the form NFKC normalization method. Determined by going
+   * through the Combining Diacritical Marks section of the Unicode spec and
+   * identifying which characters are not mapped to by the normalization. For
+   * example, maps "ACUTE ACCENT" to "COMBINING ACUTE ACCENT".
+   */
+  public static final Map<Integer, String> COMBINING_DIACRITICS;
+
+  static {
+    COMBINING_DIACRITICS = new HashMap<Integer, String>(31);
+    COMBINING_DIACRITICS.put(0x0060, "\u0300");
+    COMBINING_DIACRITICS.put(0x02CB, "\u0300");
+    COMBINING_DIACRITICS.put(0x0027, "\u0301");
+    COMBINING_DIACRITICS.put(0x00B4, "\u0301");
+    COMBINING_DIACRITICS.put(0x02B9, "\u0301");
+    COMBINING_DIACRITICS.put(0x02CA, "\u0301");
+    COMBINING_DIACRITICS.put(0x0384, "\u0301");
+    COMBINING_DIACRITICS.put(0x005E, "\u0302");
+    COMBINING_DIACRITICS.put(0x02C6, "\u0302");
+    COMBINING_DIACRITICS.put(0x007E, "\u0303");
+    COMBINING_DIACRITICS.put(0x02DC, "\u0303");
+    COMBINING_DIACRITICS.put(0x00AF, "\u0304");
+    COMBINING_DIACRITICS.put(0x02C9, "\u0304");
+    COMBINING_DIACRITICS.put(0x00A8, "\u0308");
+    COMBINING_DIACRITICS.put(0x00B0, "\u030A");
+    COMBINING_DIACRITICS.put(0x02DA, "\u030A");
+    COMBINING_DIACRITICS.put(0x0022, "\u030B");
+    COMBINING_DIACRITICS.put(0x02BA, "\u030B");
+    COMBINING_DIACRITICS.put(0x02DD, "\u030B");
+    COMBINING_DIACRITICS.put(0x02C7, "\u030C");
+    COMBINING_DIACRITICS.put(0x02C8, "\u030D");
+    COMBINING_DIACRITICS.put(0x02BB, "\u0312");
+    COMBINING_DIACRITICS.put(0x02BC, "\u0313");
+    COMBINING_DIACRITICS.put(0x0486, "\u0313");
+    COMBINING_DIACRITICS.put(0x055A, "\u0313");
+    COMBINING_DIACRITICS.put(0x02BD, "\u0314");
+    COMBINING_DIACRITICS.put(0x0485, "\u0314");
+    COMBINING_DIACRITICS.put(0x0559, "\u0314");
+    COMBINING_DIACRITICS.put(0x02D4, "\u031D");
+    COMBINING_DIACRITICS.put(0x02D5, "\u031E");
+    COMBINING_DIACRITICS.put(0x02D6, "\u031F");
+    COMBINING_DIACRITICS.put(0x02D7, "\u0320");
+    COMBINING_DIACRITICS.put(0x02B2, "\u0321");
+    COMBINING_DIACRITICS.put(0x02CC, "\u0329");
+    COMBINING_DIACRITICS.put(0x02B7, "\u032B");
+    COMBINING_DIACRITICS.put(0x02CD, "\u0331");
+    COMBINING_DIACRITICS.put(0x005F, "\u0332");
+    COMBINING_DIACRITICS.put(0x204E, "\u0359");
+  }
+
+  // ==========================================================================
+  // The character table.
+
+  /**
+   * The class of letters.
+   */
+  protected static final int LETTER = 1;
+
+  /**
+   * The class of digits.
+   */
+  protected static final int DIGIT = 1 << 1;
+
+  /**
+   * The class of upper-cased characters.
+   */
+  protected static final int UPPERCASE = 1 << 2;
+
+  /**
+   * The class of lower-cased characters.
+   */
+  protected static final int LOWERCASE = 1 << 3;
+
+  /**
+   * The class of ascenders.
+   */
+  protected static final int ASCENDER = 1 << 4;
+
+  /**
+   * The class of descenders.
+   */
+  protected static final int DESCENDER = 1 << 5;
+
+  /**
+   * The class of characters that are aligned to the base line.
+   */
+  protected static final int BASELINE_CHARACTER = 1 << 6;
+
+  /**
+   * The class of characters that are aligned to the mean line.
+   */
+  protected static final int MEANLINE_CHARACTER = 1 << 7;
+
+  /**
+   * The class of punctuation marks that are aligned to the base line.
+   */
+  protected static final int BASELINE_PUNCTUATION_MARK = 1 << 8;
+
+  /**
+   * The class of punctuation marks that are aligned to the mean line.
+   */
+  protected static final int MEANLINE_PUNCTUATION_MARK = 1 << 9;
+
+  /**
+   * The class of hyphens.
+   */
+  protected static final int HYPHEN = 1 << 10;
+
+  /**
+   * The class of math symbols (and math operators) consisting of a single
+   * character.
+   */
+  protected static final int MATH_SYMBOL = 1 << 11;
+
+  /**
+   * The class of diacritics.
+   */
+  protected static final int DIACRITIC = 1 << 12;
+
+  /**
+   * The index of the mapping from ligatures to their individual characters.
+   */
+  protected static final int LIGATURE_MAPPING = 0;
+
+  /**
+   * The index of the mapping from characters to their synonyms.
+   */
+  protected static final int SYNONYM_MAPPING = 1;
+
+  /**
+   * The index of the mapping from diacritics to their combining equivalents.
+   */
+  protected static final int COMBINING_DIACRITIC_MAPPING = 2;
+
+  /**
+   * The table with the character classes and the mappings above, compiled
+   * from the sets and maps above, such that all per-character checks cost a
+   * single array read.
+   */
+  protected static final CharacterTable TABLE = new CharacterTable(3);
+
+  static {
+    for (int i = 0; i < CharacterTable.NUM_CODE_POINTS; i++) {
+      char ch = (char) i;
+      int classes = 0;
+      if (java.lang.Character.isLetter(ch)) {
+        classes |= LETTER;
+      }
+      if (java.lang.Character.isDigit(ch)) {
+        classes |= DIGIT;
+      }
+      if (java.lang.Character.isUpperCase(ch)) {
+        classes |= UPPERCASE | ASCENDER;
+      }
+      if (java.lang.Character.isLowerCase(ch)) {
+        classes |= LOWERCASE;
+      }
+      if (java.lang.Character.isDigit(ch) || ASCENDERS.contains(ch)) {
+        classes |= ASCENDER;
+      }
+      int type = java.lang.Character.getType(ch);
+      if (type == java.lang.Character.NON_SPACING_MARK
+          || type == java.lang.Character.MODIFIER_SYMBOL
+          || type == java.lang.Character.MODIFIER_LETTER) {
+        classes |= DIACRITIC;
+      }
+      TABLE.addClasses(ch, classes);
+    }
+
+    addClasses(DESCENDERS, DESCENDER);
+    addClasses(BASELINE_CHARACTERS, BASELINE_CHARACTER);
+    addClasses(MEANLINE_CHARACTERS, MEANLINE_CHARACTER);
+    addClasses(BASELINE_PUNCTUATION_MARKS, BASELINE_PUNCTUATION_MARK);
+    addClasses(MEANLINE_PUNCTUATION_MARKS, MEANLINE_PUNCTUATION_MARK);
+    addClasses(HYPHENS, HYPHEN);
+    addClasses(MATH_SYMBOLS, MATH_SYMBOL);
+    addClasses(MATH_OPERATORS, MATH_SYMBOL);
+
+    addMappings(LIGATURES, LIGATURE_MAPPING);
+    addMappings(CHARACTER_SYNONYMS, SYNONYM_MAPPING);
+    for (Map.Entry<Integer, String> entry : COMBINING_DIACRITICS.entrySet()) {
+      TABLE.putMapping(COMBINING_DIACRITIC_MAPPING, entry.getKey(),
+          entry.getValue());
+    }
+  }
+
+  /**
+   * Adds the given character class to all characters in the given set.
+   *
+   * @param characters
+   *        The set of characters.
+   * @param cls
+   *        The character class to add.
+   */
+  protected static void addClasses(TCharSet characters, int cls) {
+    for (char ch : characters.toArray()) {
+      TABLE.addClasses(ch, cls);
+    }
+  }
+
+  /**
+   * Adds the given character class to all strings in the given set that
+   * consist of a single character.
+   *
+   * @param strings
+   *        The set of strings.
+   * @param cls
+   *        The character class to add.
+   */
+  protected static void addClasses(Set<String> strings, int cls) {
+    for (String string : strings) {
+      if (string.length() == 1) {
+        TABLE.addClasses(string.charAt(0), cls);
+      }
+    }
+  }
+
+  /**
+   * Adds all entries of the given map, whose keys consist of a single
+   * character, to the given mapping of the character table.
+   *
+   * @param map
+   *        The map.
+   * @param mapping
+   *        The index of the mapping.
+   */
+  protected static void addMappings(Map<String, String> map, int mapping) {
+    for (Map.Entry<String, String> entry : map.entrySet()) {
+      if (entry.getKey().length() == 1) {
+        TABLE.putMapping(mapping, entry.getKey().charAt(0), entry.getValue());
+      }
+    }
+  }
+
   // ==========================================================================
 
   /**
@@ -441,7 +739,7 @@ public class CharacterLexicon {
    * @return True if the given character is a letter; false otherwise.
    */
   public static boolean isLetter(Character character) {
-    return java.lang.Character.isLetter(toChar(character));
+    return TABLE.hasClass(toChar(character), LETTER);
   }
 
   /**
@@ -453,7 +751,7 @@ public class CharacterLexicon {
    * @return True if the given character is a digit; false otherwise.
    */
   public static boolean isDigit(Character character) {
-    return java.lang.Character.isDigit(toChar(character));
+    return TABLE.hasClass(toChar(character), DIGIT);
   }
 
   /**
@@ -479,7 +777,7 @@ public class CharacterLexicon {
    *         otherwise.
    */
   public static boolean isLetterOrDigit(Character character) {
-    return java.lang.Character.isLetterOrDigit(toChar(character));
+    return TABLE.hasClass(toChar(character), LETTER | DIGIT);
   }
 
   /**
@@ -504,9 +802,8 @@ public class CharacterLexicon {
    * @return True if the given character is a punctuation mark; false otherwise.
    */
   public static boolean isPunctuationMark(Character character) {
-    char ch = toChar(character);
-    return BASELINE_PUNCTUATION_MARKS.contains(ch)
-        || MEANLINE_PUNCTUATION_MARKS.contains(ch);
+    return TABLE.hasClass(toChar(character),
+        BASELINE_PUNCTUATION_MARK | MEANLINE_PUNCTUATION_MARK);
   }
 
   /**
@@ -520,7 +817,7 @@ public class CharacterLexicon {
    *         mean line; false otherwise.
    */
   public static boolean isMeanlinePunctuationMark(Character character) {
-    return MEANLINE_PUNCTUATION_MARKS.contains(toChar(character));
+    return TABLE.hasClass(toChar(character), MEANLINE_PUNCTUATION_MARK);
   }
 
   /**
@@ -534,7 +831,7 @@ public class CharacterLexicon {
    *         base line; false otherwise.
    */
   public static boolean isBaselinePunctuationMark(Character character) {
-    return BASELINE_PUNCTUATION_MARKS.contains(toChar(character));
+    return TABLE.hasClass(toChar(character), BASELINE_PUNCTUATION_MARK);
   }
 
   /**
@@ -547,7 +844,7 @@ public class CharacterLexicon {
    *         otherwise.
    */
   public static boolean isAscenderOrDescender(Character character) {
-    return isAscender(character) || isDescender(character);
+    return TABLE.hasClass(toChar(character), ASCENDER | DESCENDER);
   }
 
   /**
@@ -559,7 +856,7 @@ public class CharacterLexicon {
    * @return True if the given character is a descender.
    */
   public static boolean isDescender(Character character) {
-    return DESCENDERS.contains(toChar(character));
+    return TABLE.hasClass(toChar(character), DESCENDER);
   }
 
   /**
@@ -571,10 +868,7 @@ public class CharacterLexicon {
    * @return True if the given character is an ascender; false otherwise
    */
   public static boolean isAscender(Character character) {
-    char ch = toChar(character);
-    return java.lang.Character.isUpperCase(ch)
-        || java.lang.Character.isDigit(ch)
-        || ASCENDERS.contains(ch);
+    return TABLE.hasClass(toChar(character), ASCENDER);
   }
 
   /**
@@ -587,7 +881,7 @@ public class CharacterLexicon {
    *         otherwise.
    */
   public static boolean isMeanlineCharacter(Character character) {
-    return MEANLINE_CHARACTERS.contains(toChar(character));
+    return TABLE.hasClass(toChar(character), MEANLINE_CHARACTER);
   }
 
   /**
@@ -600,7 +894,7 @@ public class CharacterLexicon {
    *         otherwise.
    */
   public static boolean isBaselineCharacter(Character character) {
-    return BASELINE_CHARACTERS.contains(toChar(character));
+    return TABLE.hasClass(toChar(character), BASELINE_CHARACTER);
   }
 
   /**
@@ -613,7 +907,7 @@ public class CharacterLexicon {
    *         otherwise.
    */
   public static boolean isUppercase(Character character) {
-    return java.lang.Character.isUpperCase(toChar(character));
+    return TABLE.hasClass(toChar(character), UPPERCASE);
   }
 
   /**
@@ -626,7 +920,7 @@ public class CharacterLexicon {
    *         otherwise.
    */
   public static boolean isLowercase(Character character) {
-    return java.lang.Character.isLowerCase(toChar(character));
+    return TABLE.hasClass(toChar(character), LOWERCASE);
   }
 
   /**
@@ -641,6 +935,9 @@ public class CharacterLexicon {
   // TODO: Pass a Word instead of a character here?
   public static boolean isMathSymbol(Character character) {
     String ch = character.getText();
+    if (ch != null && ch.length() == 1) {
+      return TABLE.hasClass(ch.charAt(0), MATH_SYMBOL);
+    }
     return MATH_SYMBOLS.contains(ch) || MATH_OPERATORS.contains(ch);
   }
 
@@ -653,7 +950,85 @@ public class CharacterLexicon {
    * @return True if the given character is a hyphen; false otherwise.
    */
   public static boolean isHyphen(Character character) {
-    return HYPHENS.contains(toChar(character));
+    return TABLE.hasClass(toChar(character), HYPHEN);
+  }
+
+  /**
+   * Returns true if the given char is a hyphen.
+   * 
+   * @param ch
+   *        The char to process.
+   * 
+   * @return True if the given char is a hyphen; false otherwise.
+   */
+  public static boolean isHyphen(char ch) {
+    return TABLE.hasClass(ch, HYPHEN);
+  }
+
+  /**
+   * Checks if the given characters is a diacritic.
+   * 
+   * @param character
+   *        The character to check.
+   * @return True, if the given character is a diacritic; false otherwise.
+   */
+  public static boolean isDiacritic(Character character) {
+    if (character == null) {
+      return false;
+    }
+
+    String text = character.getText();
+    if (text == null || text.length() != 1) {
+      return false;
+    }
+
+    return TABLE.hasClass(text.charAt(0), DIACRITIC);
+  }
+
+  // ==========================================================================
+
+  /**
+   * Returns the individual characters of the given ligature.
+   * 
+   * @param text
+   *        The text of a character.
+   * 
+   * @return The individual characters of the given ligature or null if the
+   *         given text is not a ligature.
+   */
+  public static String getLigatureCharacters(String text) {
+    return getMapping(text, LIGATURE_MAPPING);
+  }
+
+  /**
+   * Returns the character with the same semantic meaning as the given
+   * character, see {@link #CHARACTER_SYNONYMS}.
+   * 
+   * @param text
+   *        The text of a character.
+   * 
+   * @return The synonym of the given character or null if the given text has
+   *         no synonym.
+   */
+  public static String getCharacterSynonym(String text) {
+    return getMapping(text, SYNONYM_MAPPING);
+  }
+
+  /**
+   * Returns the combining equivalent of the given (non-combining) diacritic,
+   * see {@link #COMBINING_DIACRITICS}.
+   * 
+   * @param text
+   *        The text of a diacritic.
+   * 
+   * @return The combining equivalent of the first code point of the given
+   *         text or null if there is no such equivalent.
+   */
+  public static String getCombiningDiacritic(String text) {
+    if (text == null || text.isEmpty()) {
+      return null;
+    }
+    return TABLE.getMapping(COMBINING_DIACRITIC_MAPPING, text.codePointAt(0));
   }
 
   // ==========================================================================
@@ -679,4 +1054,22 @@ public class CharacterLexicon {
 
     return text.charAt(0);
   }
+
+  /**
+   * Returns the text to which the given mapping maps the given text, provided
+   * that the given text consists of a single character.
+   * 
+   * @param text
+   *        The text to map.
+   * @param mapping
+   *        The index of the mapping in the character table.
+   * 
+   * @return The replacement text or null if the given text is not mapped.
+   */
+  protected static String getMapping(String text, int mapping) {
+    if (text == null || text.length() != 1) {
+      return null;
+    }
+    return TABLE.getMapping(mapping, text.charAt(0));
+  }
 }
@@ -0,0 +1,160 @@
+package pdfact.core.util.lexicon;
+
+/**
+ * A table that is indexed by the code points of the Basic Multilingual Plane
+ * (BMP) and holds (1) the character classes of each code point, as a bit mask,
+ * and (2) any number of mappings from code points to replacement texts (for
+ * example, from a ligature to its individual characters).
+ *
+ * Checking a character class costs a single array read, without hashing or
+ * boxing the character. As almost every block of the BMP contains letters or
+ * digits, the classes are stored in a flat array. The mappings are sparse, so
+ * they are stored in two-level arrays (blocks of 256 code points), where a
+ * block is only allocated if it contains at least one mapped code point.
+ *
+ * The table is filled by {@link CharacterLexicon} on class loading and is not
+ * modifiable from outside of this package afterwards.
+ *
+ * @author Claudius Korzen
+ */
+public class CharacterTable {
+  /**
+   * The number of code points in the BMP.
+   */
+  protected static final int NUM_CODE_POINTS = 1 << 16;
+
+  /**
+   * The number of bits of a code point that address a position within a block.
+   */
+  protected static final int BLOCK_BITS = 8;
+
+  /**
+   * The number of code points per block.
+   */
+  protected static final int BLOCK_SIZE = 1 << BLOCK_BITS;
+
+  /**
+   * The mask to compute the position of a code point within its block.
+   */
+  protected static final int BLOCK_MASK = BLOCK_SIZE - 1;
+
+  /**
+   * The character classes of the code points, as bit masks.
+   */
+  protected final int[] classes;
+
+  /**
+   * The mappings, indexed by the mapping, the block and the position of a code
+   * point in the block. A block is null if it contains no mapped code point.
+   */
+  protected final String[][][] mappings;
+
+  /**
+   * Creates a new, empty table.
+   *
+   * @param numMappings
+   *        The number of mappings of this table.
+   */
+  protected CharacterTable(int numMappings) {
+    this.classes = new int[NUM_CODE_POINTS];
+    this.mappings = new String[numMappings][NUM_CODE_POINTS >>> BLOCK_BITS][];
+  }
+
+  // ==========================================================================
+
+  /**
+   * Returns the character classes of the given character.
+   *
+   * @param c
+   *        The character.
+   *
+   * @return The bit mask of the character classes of the given character.
+   */
+  public int getClasses(char c) {
+    return this.classes[c];
+  }
+
+  /**
+   * Checks if the given character belongs to at least one of the given
+   * character classes.
+   *
+   * @param c
+   *        The character to check.
+   * @param classes
+   *        The bit mask of the character classes.
+   *
+   * @return True, if the given character belongs to at least one of the given
+   *         classes; false otherwise.
+   */
+  public boolean hasClass(char c, int classes) {
+    return (this.classes[c] & classes) != 0;
+  }
+
+  /**
+   * Returns the text to which the given mapping maps the given character.
+   *
+   * @param mapping
+   *        The index of the mapping.
+   * @param c
+   *        The character.
+   *
+   * @return The replacement text of the given character or null if the given
+   *         mapping doesn't contain the character.
+   */
+  public String getMapping(int mapping, char c) {
+    String[] block = this.mappings[mapping][c >>> BLOCK_BITS];
+    return block != null ? block[c & BLOCK_MASK] : null;
+  }
+
+  /**
+   * Returns the text to which the given mapping maps the given code point.
+   *
+   * @param mapping
+   *        The index of the mapping.
+   * @param codePoint
+   *        The code point.
+   *
+   * @return The replacement text of the given code point or null if the given
+   *         mapping doesn't contain the code point (which is always the case
+   *         for code points outside of the BMP).
+   */
+  public String getMapping(int mapping, int codePoint) {
+    if (codePoint < 0 || codePoint >= NUM_CODE_POINTS) {
+      return null;
+    }
+    return getMapping(mapping, (char) codePoint);
+  }
+
+  // ==========================================================================
+
+  /**
+   * Adds the given character classes to the given character.
+   *
+   * @param c
+   *        The character.
+   * @param classes
+   *        The bit mask of the character classes to add.
+   */
+  void addClasses(char c, int classes) {
+    this.classes[c] |= classes;
+  }
+
+  /**
+   * Maps the given code point to the given text in the given mapping.
+   *
+   * @param mapping
+   *        The index of the mapping.
+   * @param codePoint
+   *        The code point (must be in the BMP).
+   * @param text
+   *        The replacement text.
+   */
+  void putMapping(int mapping, int codePoint, String text) {
+    String[][] blocks = this.mappings[mapping];
+    int block = codePoint >>> BLOCK_BITS;
+    if (blocks[block] == null) {
+      blocks[block] = new String[BLOCK_SIZE];
+    }
+    blocks[block][codePoint & BLOCK_MASK] = text;
+  }
+}
@@ -0,0 +1,74 @@
+package pdfact.core.util.list;
+
+import pdfact.core.model.CharacterStatistic;
+import pdfact.core.model.Element;
+import pdfact.core.model.Rectangle;
+
+/**
+ * A list of PDF elements that maintains some aggregates about its elements
+ * while elements are added, such that an element composed of the elements in
+ * this list can be built without scanning the list again: the bounding box of
+ * the elements, the total length of their texts, and (on request) a character
+ * statistic. The aggregates reflect the elements at the time they were added
+ * to this list.
+ * 
+ * @param <T>
+ *        The type of the PDF elements.
+ * 
+ * @author Claudius Korzen
+ */
+public interface AggregatingElementList<T extends Element>
+    extends ElementList<T> {
+  /**
+   * Returns the bounding box around all elements in this list.
+   * 
+   * @return The bounding box around all elements in this list or null if no
+   *         element in this list has a position.
+   */
+  Rectangle getRectangle();
+
+  /**
+   * Returns the total length of the texts of all elements in this list.
+   * 
+   * @return The total length of the texts of all elements in this list.
+   */
+  int getTextLength();
+
+  /**
+   * Returns the character statistic of all elements in this list. The
+   * statistic is computed on the first call of this method and maintained
+   * incrementally from then on.
+   * 
+   * @return The character statistic of all elements in this list.
+   */
+  CharacterStatistic getCharacterStatistic();
+
+  // ==========================================================================
+
+  /**
+   * The factory to create instances of {@link AggregatingElementList}.
+   * 
+   * @param <T>
+   *        The type of the PDF elements in this list.
+   * 
+   * @author Claudius Korzen
+   */
+  public interface AggregatingElementListFactory<T extends Element> {
+    /**
+     * Creates a new instance of {@link AggregatingElementList}.
+     * 
+     * @return A new instance of {@link AggregatingElementList}.
+     */
+    AggregatingElementList<T> create();
+
+    /**
+     * Creates a new instance of {@link AggregatingElementList}.
+     * 
+     * @param initialCapacity
+     *        The initial capacity of this list.
+     * 
+     * @return A new instance of {@link AggregatingElementList}.
+     */
+    AggregatingElementList<T> create(int initialCapacity);
+  }
+}
@@ -55,6 +55,19 @@ public interface ElementList<T extends Element> extends List<T> {
    */
   List<ElementList<T>> cut(int splitIndex);
 
+  /**
+   * Returns a view of the portion of this list between the given fromIndex,
+   * inclusive, and the given toIndex, exclusive.
+   * 
+   * @param fromIndex
+   *        The start index of the portion.
+   * @param toIndex
+   *        The end index of the portion.
+   * @return The view of the specified portion of this list.
+   */
+  @Override
+  ElementList<T> subList(int fromIndex, int toIndex);
+
   // ==========================================================================
 
   /**
@@ -0,0 +1,444 @@
+package pdfact.core.util.list;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.ListIterator;
+
+import com.google.inject.assistedinject.Assisted;
+import com.google.inject.assistedinject.AssistedInject;
+
+import pdfact.core.model.Character;
+import pdfact.core.model.CharacterStatistic;
+import pdfact.core.model.CharacterStatistic.CharacterStatisticFactory;
+import pdfact.core.model.Element;
+import pdfact.core.model.HasCharacterStatistic;
+import pdfact.core.model.HasPosition;
+import pdfact.core.model.HasPositions;
+import pdfact.core.model.HasText;
+import pdfact.core.model.Position;
+import pdfact.core.model.Rectangle;
+import pdfact.core.model.Rectangle.RectangleFactory;
+import pdfact.core.util.statistician.CharacterStatistician;
+
+/**
+ * A plain implementation of {@link AggregatingElementList}.
+ *
+ * The aggregates are updated on each added element. Removing or replacing
+ * elements invalidates the aggregates, they are recomputed from scratch on
+ * the next request.
+ *
+ * @param <T>
+ *        The type of the PDF elements in this list.
+ *
+ * @author Claudius Korzen
+ */
+public class PlainAggregatingElementList<T extends Element>
+    extends PlainElementList<T> implements AggregatingElementList<T> {
+  /**
+   * The factory to create instances of {@link Rectangle}.
+   */
+  protected RectangleFactory rectangleFactory;
+
+  /**
+   * The factory to create instances of {@link CharacterStatistic}.
+   */
+  protected CharacterStatisticFactory characterStatisticFactory;
+
+  /**
+   * The statistician to compute statistics about characters.
+   */
+  protected CharacterStatistician characterStatistician;
+
+  /**
+   * The smallest minX value of all elements in this list.
+   */
+  protected float minX = Float.MAX_VALUE;
+
+  /**
+   * The smallest minY value of all elements in this list.
+   */
+  protected float minY = Float.MAX_VALUE;
+
+  /**
+   * The largest maxX value of all elements in this list.
+   */
+  protected float maxX = -Float.MAX_VALUE;
+
+  /**
+   * The largest maxY value of all elements in this list.
+   */
+  protected float maxY = -Float.MAX_VALUE;
+
+  /**
+   * The boolean flag that indicates whether at least one element in this
+   * list has a position.
+   */
+  protected boolean hasRectangle;
+
+  /**
+   * The total length of the texts of all elements in this list.
+   */
+  protected int textLength;
+
+  /**
+   * The character statistic of all elements in this list, or null if it
+   * wasn't requested yet.
+   */
+  protected CharacterStatistic characterStatistic;
+
+  /**
+   * The boolean flag that indicates whether the aggregates are up to date.
+   */
+  protected boolean isAggregateValid = true;
+
+  // ==========================================================================
+
+  /**
+   * Creates an empty list.
+   *
+   * @param rectangleFactory
+   *        The factory to create instances of {@link Rectangle}.
+   * @param characterStatisticFactory
+   *        The factory to create instances of {@link CharacterStatistic}.
+   * @param characterStatistician
+   *        The statistician to compute statistics about characters.
+   */
+  @AssistedInject
+  public PlainAggregatingElementList(
+      RectangleFactory rectangleFactory,
+      CharacterStatisticFactory characterStatisticFactory,
+      CharacterStatistician characterStatistician) {
+    super();
+    this.rectangleFactory = rectangleFactory;
+    this.characterStatisticFactory = characterStatisticFactory;
+    this.characterStatistician = characterStatistician;
+  }
+
+  /**
+   * Creates an empty list with the given initial capacity.
+   *
+   * @param rectangleFactory
+   *        The factory to create instances of {@link Rectangle}.
+   * @param characterStatisticFactory
+   *        The factory to create instances of {@link CharacterStatistic}.
+   * @param characterStatistician
+   *        The statistician to compute statistics about characters.
+   * @param initialCapacity
+   *        The initial capacity of the list
+   */
+  @AssistedInject
+  public PlainAggregatingElementList(
+      RectangleFactory rectangleFactory,
+      CharacterStatisticFactory characterStatisticFactory,
+      CharacterStatistician characterStatistician,
+      @Assisted int initialCapacity) {
+    super(initialCapacity);
+    this.rectangleFactory = rectangleFactory;
+    this.characterStatisticFactory = characterStatisticFactory;
+    this.characterStatistician = characterStatistician;
+  }
+
+  // ==========================================================================
+
+  @Override
+  public Rectangle getRectangle() {
+    validateAggregate();
+    if (!this.hasRectangle) {
+      return null;
+    }
+    return this.rectangleFactory.create(this.minX, this.minY, this.maxX,
+        this.maxY);
+  }
+
+  @Override
+  public int getTextLength() {
+    validateAggregate();
+    return this.textLength;
+  }
+
+  @Override
+  public CharacterStatistic getCharacterStatistic() {
+    validateAggregate();
+    if (this.characterStatistic == null) {
+      this.characterStatistic = this.characterStatisticFactory.create();
+      for (T element : this.list) {
+        extendCharacterStatistic(element);
+      }
+    }
+    return this.characterStatistic;
+  }
+
+  // ==========================================================================
+
+  @Override
+  public T set(int index, T element) {
+    invalidateAggregate();
+    return super.set(index, element);
+  }
+
+  @Override
+  public boolean add(T e) {
+    boolean added = super.add(e);
+    if (added) {
+      extendAggregate(e);
+    }
+    return added;
+  }
+
+  @Override
+  public void add(int index, T element) {
+    super.add(index, element);
+    extendAggregate(element);
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends T> c) {
+    boolean added = super.addAll(c);
+    if (added) {
+      for (T element : c) {
+        extendAggregate(element);
+      }
+    }
+    return added;
+  }
+
+  @Override
+  public boolean addAll(int index, Collection<? extends T> c) {
+    boolean added = super.addAll(index, c);
+    if (added) {
+      for (T element : c) {
+        extendAggregate(element);
+      }
+    }
+    return added;
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    invalidateAggregate();
+    return super.remove(o);
+  }
+
+  @Override
+  public T remove(int index) {
+    invalidateAggregate();
+    return super.remove(index);
+  }
+
+  @Override
+  public boolean removeAll(Collection<?> c) {
+    invalidateAggregate();
+    return super.removeAll(c);
+  }
+
+  @Override
+  public boolean retainAll(Collection<?> c) {
+    invalidateAggregate();
+    return super.retainAll(c);
+  }
+
+  @Override
+  public void clear() {
+    super.clear();
+    resetAggregate();
+  }
+
+  // ==========================================================================
+
+  @Override
+  public Iterator<T> iterator() {
+    return listIterator();
+  }
+
+  @Override
+  public ListIterator<T> listIterator() {
+    return new AggregatingListIterator(this.list.listIterator());
+  }
+
+  @Override
+  public ListIterator<T> listIterator(int index) {
+    return new AggregatingListIterator(this.list.listIterator(index));
+  }
+
+  // ==========================================================================
+
+  /**
+   * Extends the aggregates by the given element, if they are up to date.
+   *
+   * @param element
+   *        The element to add to the aggregates.
+   */
+  protected void extendAggregate(T element) {
+    if (!this.isAggregateValid || element == null) {
+      return;
+    }
+
+    if (element instanceof HasPosition) {
+      Position position = ((HasPosition) element).getPosition();
+      if (position != null) {
+        extendRectangle(position.getRectangle());
+      }
+    } else if (element instanceof HasPositions) {
+      for (Position position : ((HasPositions) element).getPositions()) {
+        extendRectangle(position.getRectangle());
+      }
+    }
+
+    if (element instanceof HasText) {
+      // Use the text sequence, which doesn't materialize lazily joined texts.
+      CharSequence text = ((HasText) element).getTextSequence();
+      if (text != null) {
+        this.textLength += text.length();
+      }
+    }
+
+    if (this.characterStatistic != null) {
+      extendCharacterStatistic(element);
+    }
+  }
+
+  /**
+   * Extends the bounding box by the given rectangle.
+   *
+   * @param rect
+   *        The rectangle to add to the bounding box.
+   */
+  protected void extendRectangle(Rectangle rect) {
+    if (rect == null) {
+      return;
+    }
+    this.minX = Math.min(this.minX, rect.getMinX());
+    this.minY = Math.min(this.minY, rect.getMinY());
+    this.maxX = Math.max(this.maxX, rect.getMaxX());
+    this.maxY = Math.max(this.maxY, rect.getMaxY());
+    this.hasRectangle = true;
+  }
+
+  /**
+   * Extends the character statistic by the given element.
+   *
+   * @param element
+   *        The element to add to the character statistic.
+   */
+  protected void extendCharacterStatistic(T element) {
+    CharacterStatistic stat = this.characterStatistic;
+    if (element instanceof Character) {
+      this.characterStatistician.extend(stat, (Character) element);
+    } else if (element instanceof HasCharacterStatistic) {
+      HasCharacterStatistic e = (HasCharacterStatistic) element;
+      this.characterStatistician.extend(stat, e.getCharacterStatistic());
+    }
+  }
+
+  /**
+   * Marks the aggregates as outdated, such that they are recomputed on the
+   * next request.
+   */
+  protected void invalidateAggregate() {
+    this.isAggregateValid = false;
+  }
+
+  /**
+   * Recomputes the aggregates from scratch, if they are outdated.
+   */
+  protected void validateAggregate() {
+    if (this.isAggregateValid) {
+      return;
+    }
+    boolean hasCharacterStatistic = this.characterStatistic != null;
+    resetAggregate();
+    if (hasCharacterStatistic) {
+      this.characterStatistic = this.characterStatisticFactory.create();
+    }
+    for (T element : this.list) {
+      extendAggregate(element);
+    }
+  }
+
+  /**
+   * Resets the aggregates to the aggregates of an empty list.
+   */
+  protected void resetAggregate() {
+    this.minX = Float.MAX_VALUE;
+    this.minY = Float.MAX_VALUE;
+    this.maxX = -Float.MAX_VALUE;
+    this.maxY = -Float.MAX_VALUE;
+    this.hasRectangle = false;
+    this.textLength = 0;
+    this.characterStatistic = null;
+    this.isAggregateValid = true;
+  }
+
+  // ==========================================================================
+
+  /**
+   * A list iterator that keeps the aggregates of this list up to date on
+   * modifications.
+   *
+   * @author Claudius Korzen
+   */
+  protected class AggregatingListIterator implements ListIterator<T> {
+    /**
+     * The underlying iterator.
+     */
+    protected final ListIterator<T> iterator;
+
+    /**
+     * Creates a new iterator based on the given iterator.
+     *
+     * @param iterator
+     *        The underlying iterator.
+     */
+    protected AggregatingListIterator(ListIterator<T> iterator) {
+      this.iterator = iterator;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return this.iterator.hasNext();
+    }
+
+    @Override
+    public T next() {
+      return this.iterator.next();
+    }
+
+    @Override
+    public boolean hasPrevious() {
+      return this.iterator.hasPrevious();
+    }
+
+    @Override
+    public T previous() {
+      return this.iterator.previous();
+    }
+
+    @Override
+    public int nextIndex() {
+      return this.iterator.nextIndex();
+    }
+
+    @Override
+    public int previousIndex() {
+      return this.iterator.previousIndex();
+    }
+
+    @Override
+    public void remove() {
+      invalidateAggregate();
+      this.iterator.remove();
+    }
+
+    @Override
+    public void set(T e) {
+      invalidateAggregate();
+      this.iterator.set(e);
+    }
+
+    @Override
+    public void add(T e) {
+      this.iterator.add(e);
+      extendAggregate(e);
+    }
+  }
+}
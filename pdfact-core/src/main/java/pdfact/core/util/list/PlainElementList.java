@@ -492,7 +492,7 @@ public class PlainElementList<T extends Element> implements ElementList<T> {
     // ========================================================================
 
     @Override
-    public List<S> subList(int from, int to) {
+    public ElementList<S> subList(int from, int to) {
       return this.parent.subList(this.from + from, this.from + to);
     }
 
@@ -0,0 +1,23 @@
+package pdfact.core.util.metrics;
+
+/**
+ * An interface that is implemented by caches that count their hits and
+ * misses, so that their hit rates can be published as metrics.
+ *
+ * @author Claudius Korzen
+ */
+public interface CacheStatistics {
+  /**
+   * Returns the number of lookups that were answered from the cache.
+   * 
+   * @return The number of hits.
+   */
+  long getNumHits();
+
+  /**
+   * Returns the number of lookups that weren't answered from the cache.
+   * 
+   * @return The number of misses.
+   */
+  long getNumMisses();
+}
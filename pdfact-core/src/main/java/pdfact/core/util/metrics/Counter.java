@@ -0,0 +1,45 @@
+package pdfact.core.util.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A counter that can be updated by any number of threads concurrently. The
+ * counter is monotonic unless it is explicitly decremented.
+ *
+ * @author Claudius Korzen
+ */
+public class Counter implements CounterMBean {
+  /**
+   * The count.
+   */
+  protected LongAdder count = new LongAdder();
+
+  /**
+   * Increments this counter by one.
+   */
+  public void increment() {
+    this.count.increment();
+  }
+
+  /**
+   * Decrements this counter by one.
+   */
+  public void decrement() {
+    this.count.decrement();
+  }
+
+  /**
+   * Adds the given value to this counter.
+   * 
+   * @param value
+   *        The value to add.
+   */
+  public void add(long value) {
+    this.count.add(value);
+  }
+
+  @Override
+  public long getCount() {
+    return this.count.sum();
+  }
+}
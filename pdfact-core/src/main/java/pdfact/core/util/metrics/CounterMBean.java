@@ -0,0 +1,15 @@
+package pdfact.core.util.metrics;
+
+/**
+ * The management interface of a {@link Counter}.
+ *
+ * @author Claudius Korzen
+ */
+public interface CounterMBean {
+  /**
+   * Returns the current count.
+   * 
+   * @return The current count.
+   */
+  long getCount();
+}
@@ -0,0 +1,16 @@
+package pdfact.core.util.metrics;
+
+/**
+ * A metric whose value is computed on reading it (for example, the hit rate of
+ * a cache).
+ *
+ * @author Claudius Korzen
+ */
+public interface Gauge {
+  /**
+   * Returns the current value of this gauge.
+   * 
+   * @return The current value.
+   */
+  double getValue();
+}
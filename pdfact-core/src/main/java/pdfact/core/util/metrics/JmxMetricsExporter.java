@@ -0,0 +1,138 @@
+package pdfact.core.util.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.exception.PdfActMetricsException;
+
+/**
+ * An exporter that publishes the metrics of a registry as MBeans on the
+ * platform MBean server, with object names of the form
+ * "&lt;domain&gt;:type=&lt;type&gt;,name=&lt;name&gt;".
+ * 
+ * The MBeans are live views of the metrics, so a metric needs to be exported
+ * only once; metrics that were added to the registry since the last export are
+ * registered on the next export.
+ *
+ * @author Claudius Korzen
+ */
+public class JmxMetricsExporter implements MetricsExporter {
+  /**
+   * The default domain of the object names.
+   */
+  public static final String DEFAULT_DOMAIN = "pdfact";
+
+  /**
+   * The MBean server.
+   */
+  protected MBeanServer server;
+
+  /**
+   * The domain of the object names.
+   */
+  protected String domain;
+
+  /**
+   * The object names of the registered MBeans.
+   */
+  protected Set<ObjectName> registered;
+
+  /**
+   * Creates a new exporter that publishes the metrics in the default domain.
+   */
+  public JmxMetricsExporter() {
+    this(DEFAULT_DOMAIN);
+  }
+
+  /**
+   * Creates a new exporter that publishes the metrics in the given domain.
+   * 
+   * @param domain
+   *        The domain of the object names.
+   */
+  public JmxMetricsExporter(String domain) {
+    this.server = ManagementFactory.getPlatformMBeanServer();
+    this.domain = domain;
+    this.registered = ConcurrentHashMap.newKeySet();
+  }
+
+  // ==========================================================================
+
+  @Override
+  public synchronized void export(MetricsRegistry registry)
+      throws PdfActException {
+    try {
+      for (Map.Entry<String, Counter> e : registry.getCounters().entrySet()) {
+        register("Counter", e.getKey(),
+            new StandardMBean(e.getValue(), CounterMBean.class));
+      }
+      for (Map.Entry<String, LatencyHistogram> e : registry
+          .getLatencyHistograms().entrySet()) {
+        register("LatencyHistogram", e.getKey(),
+            new StandardMBean(e.getValue(), LatencyHistogramMBean.class));
+      }
+      for (Map.Entry<String, Gauge> e : registry.getGauges().entrySet()) {
+        register("Gauge", e.getKey(),
+            new StandardMBean(e.getValue(), Gauge.class));
+      }
+    } catch (JMException e) {
+      throw new PdfActMetricsException("Couldn't publish the metrics in the "
+          + "domain '" + this.domain + "'.", e);
+    }
+  }
+
+  /**
+   * Unregisters all MBeans registered by this exporter.
+   * 
+   * @throws PdfActException
+   *         If the MBeans couldn't be unregistered.
+   */
+  public synchronized void unregister() throws PdfActException {
+    try {
+      for (ObjectName name : this.registered) {
+        if (this.server.isRegistered(name)) {
+          this.server.unregisterMBean(name);
+        }
+      }
+      this.registered.clear();
+    } catch (JMException e) {
+      throw new PdfActMetricsException("Couldn't unregister the metrics in "
+          + "the domain '" + this.domain + "'.", e);
+    }
+  }
+
+  // ==========================================================================
+
+  /**
+   * Registers the given MBean, if no MBean with the same name is registered
+   * by this exporter yet.
+   * 
+   * @param type
+   *        The type of the metric.
+   * @param name
+   *        The name of the metric.
+   * @param mbean
+   *        The MBean to register.
+   * 
+   * @throws JMException
+   *         If the MBean couldn't be registered.
+   */
+  protected void register(String type, String name, Object mbean)
+      throws JMException {
+    ObjectName objectName = new ObjectName(this.domain + ":type=" + type
+        + ",name=" + ObjectName.quote(name));
+    if (this.registered.contains(objectName)) {
+      return;
+    }
+    this.server.registerMBean(mbean, objectName);
+    this.registered.add(objectName);
+  }
+}
@@ -0,0 +1,141 @@
+package pdfact.core.util.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of latencies that can be updated by any number of threads
+ * concurrently. The latencies are counted in buckets of exponentially growing
+ * widths (bucket i holds the latencies in [2^i, 2^(i+1)) nanoseconds), so
+ * the percentiles are approximated by the upper bounds of their buckets
+ * (with a relative error of less than a factor of 2).
+ *
+ * @author Claudius Korzen
+ */
+public class LatencyHistogram implements LatencyHistogramMBean {
+  /**
+   * The number of buckets.
+   */
+  protected static final int NUM_BUCKETS = 64;
+
+  /**
+   * The number of nanoseconds per millisecond.
+   */
+  protected static final double NANOS_PER_MILLI = 1000000.0;
+
+  /**
+   * The number of latencies per bucket.
+   */
+  protected AtomicLongArray buckets = new AtomicLongArray(NUM_BUCKETS);
+
+  /**
+   * The number of recorded latencies.
+   */
+  protected LongAdder count = new LongAdder();
+
+  /**
+   * The sum of the recorded latencies, in nanoseconds.
+   */
+  protected LongAdder sum = new LongAdder();
+
+  /**
+   * The maximum of the recorded latencies, in nanoseconds.
+   */
+  protected AtomicLong max = new AtomicLong();
+
+  // ==========================================================================
+
+  /**
+   * Records the given latency.
+   * 
+   * @param nanos
+   *        The latency, in nanoseconds.
+   */
+  public void record(long nanos) {
+    long latency = Math.max(0, nanos);
+    this.buckets.incrementAndGet(getBucket(latency));
+    this.count.increment();
+    this.sum.add(latency);
+    this.max.accumulateAndGet(latency, Math::max);
+  }
+
+  // ==========================================================================
+
+  @Override
+  public long getCount() {
+    return this.count.sum();
+  }
+
+  @Override
+  public double getMeanMillis() {
+    long count = this.count.sum();
+    return count > 0 ? this.sum.sum() / NANOS_PER_MILLI / count : 0;
+  }
+
+  @Override
+  public double getMaxMillis() {
+    return this.max.get() / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public double getP50Millis() {
+    return getPercentile(0.5) / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public double getP95Millis() {
+    return getPercentile(0.95) / NANOS_PER_MILLI;
+  }
+
+  @Override
+  public double getP99Millis() {
+    return getPercentile(0.99) / NANOS_PER_MILLI;
+  }
+
+  // ==========================================================================
+
+  /**
+   * Returns the (approximated) given percentile of the recorded latencies.
+   * 
+   * @param quantile
+   *        The percentile, as a value in [0, 1].
+   * 
+   * @return The percentile, in nanoseconds (0 if there are no latencies).
+   */
+  public long getPercentile(double quantile) {
+    long[] counts = new long[NUM_BUCKETS];
+    long total = 0;
+    for (int i = 0; i < NUM_BUCKETS; i++) {
+      counts[i] = this.buckets.get(i);
+      total += counts[i];
+    }
+    if (total == 0) {
+      return 0;
+    }
+
+    long rank = (long) Math.ceil(quantile * total);
+    long seen = 0;
+    for (int i = 0; i < NUM_BUCKETS; i++) {
+      seen += counts[i];
+      if (seen >= rank && counts[i] > 0) {
+        // The upper bound of the bucket, but never more than the maximum.
+        long upper = i >= NUM_BUCKETS - 2 ? Long.MAX_VALUE : (2L << i) - 1;
+        return Math.min(upper, this.max.get());
+      }
+    }
+    return this.max.get();
+  }
+
+  /**
+   * Returns the bucket of the given latency.
+   * 
+   * @param nanos
+   *        The latency, in nanoseconds.
+   * 
+   * @return The index of the bucket.
+   */
+  protected static int getBucket(long nanos) {
+    return nanos == 0 ? 0 : 63 - Long.numberOfLeadingZeros(nanos);
+  }
+}
@@ -0,0 +1,50 @@
+package pdfact.core.util.metrics;
+
+/**
+ * The management interface of a {@link LatencyHistogram}.
+ *
+ * @author Claudius Korzen
+ */
+public interface LatencyHistogramMBean {
+  /**
+   * Returns the number of recorded latencies.
+   * 
+   * @return The number of recorded latencies.
+   */
+  long getCount();
+
+  /**
+   * Returns the mean of the recorded latencies.
+   * 
+   * @return The mean, in milliseconds.
+   */
+  double getMeanMillis();
+
+  /**
+   * Returns the maximum of the recorded latencies.
+   * 
+   * @return The maximum, in milliseconds.
+   */
+  double getMaxMillis();
+
+  /**
+   * Returns the (approximated) median of the recorded latencies.
+   * 
+   * @return The median, in milliseconds.
+   */
+  double getP50Millis();
+
+  /**
+   * Returns the (approximated) 95th percentile of the recorded latencies.
+   * 
+   * @return The 95th percentile, in milliseconds.
+   */
+  double getP95Millis();
+
+  /**
+   * Returns the (approximated) 99th percentile of the recorded latencies.
+   * 
+   * @return The 99th percentile, in milliseconds.
+   */
+  double getP99Millis();
+}
@@ -0,0 +1,23 @@
+package pdfact.core.util.metrics;
+
+import pdfact.core.util.exception.PdfActException;
+
+/**
+ * An exporter that publishes the metrics of a {@link MetricsRegistry} to a
+ * monitoring backend (for example, JMX) or dumps them (for example, to a file
+ * in tests).
+ *
+ * @author Claudius Korzen
+ */
+public interface MetricsExporter {
+  /**
+   * Exports the current metrics of the given registry.
+   * 
+   * @param registry
+   *        The registry to export.
+   * 
+   * @throws PdfActException
+   *         If the metrics couldn't be exported.
+   */
+  void export(MetricsRegistry registry) throws PdfActException;
+}
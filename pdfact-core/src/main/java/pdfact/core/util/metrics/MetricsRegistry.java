@@ -0,0 +1,83 @@
+package pdfact.core.util.metrics;
+
+import java.util.SortedMap;
+
+/**
+ * A registry of named metrics (counters, latency histograms and gauges) that
+ * can be updated by any number of threads concurrently and that can be
+ * published by a {@link MetricsExporter}.
+ *
+ * @author Claudius Korzen
+ */
+public interface MetricsRegistry {
+  /**
+   * Returns the counter with the given name, creating it if it doesn't exist.
+   * 
+   * @param name
+   *        The name of the counter.
+   * 
+   * @return The counter.
+   */
+  Counter getCounter(String name);
+
+  /**
+   * Returns the latency histogram with the given name, creating it if it
+   * doesn't exist.
+   * 
+   * @param name
+   *        The name of the histogram.
+   * 
+   * @return The latency histogram.
+   */
+  LatencyHistogram getLatencyHistogram(String name);
+
+  /**
+   * Registers the given gauge under the given name, if there is no gauge
+   * with this name yet.
+   * 
+   * @param name
+   *        The name of the gauge.
+   * @param gauge
+   *        The gauge.
+   */
+  void registerGauge(String name, Gauge gauge);
+
+  // ==========================================================================
+
+  /**
+   * Returns all counters, sorted by their names.
+   * 
+   * @return The counters per name.
+   */
+  SortedMap<String, Counter> getCounters();
+
+  /**
+   * Returns all latency histograms, sorted by their names.
+   * 
+   * @return The latency histograms per name.
+   */
+  SortedMap<String, LatencyHistogram> getLatencyHistograms();
+
+  /**
+   * Returns all gauges, sorted by their names.
+   * 
+   * @return The gauges per name.
+   */
+  SortedMap<String, Gauge> getGauges();
+
+  // ==========================================================================
+
+  /**
+   * The factory to create instances of {@link MetricsRegistry}.
+   * 
+   * @author Claudius Korzen
+   */
+  public interface MetricsRegistryFactory {
+    /**
+     * Creates a new, empty MetricsRegistry.
+     * 
+     * @return An instance of {@link MetricsRegistry}.
+     */
+    MetricsRegistry create();
+  }
+}
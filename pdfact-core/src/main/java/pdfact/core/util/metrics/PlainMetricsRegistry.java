@@ -0,0 +1,74 @@
+package pdfact.core.util.metrics;
+
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.inject.assistedinject.AssistedInject;
+
+/**
+ * A plain implementation of {@link MetricsRegistry}.
+ *
+ * @author Claudius Korzen
+ */
+public class PlainMetricsRegistry implements MetricsRegistry {
+  /**
+   * The counters per name.
+   */
+  protected ConcurrentMap<String, Counter> counters;
+
+  /**
+   * The latency histograms per name.
+   */
+  protected ConcurrentMap<String, LatencyHistogram> histograms;
+
+  /**
+   * The gauges per name.
+   */
+  protected ConcurrentMap<String, Gauge> gauges;
+
+  /**
+   * Creates a new, empty metrics registry.
+   */
+  @AssistedInject
+  public PlainMetricsRegistry() {
+    this.counters = new ConcurrentHashMap<>();
+    this.histograms = new ConcurrentHashMap<>();
+    this.gauges = new ConcurrentHashMap<>();
+  }
+
+  // ==========================================================================
+
+  @Override
+  public Counter getCounter(String name) {
+    return this.counters.computeIfAbsent(name, n -> new Counter());
+  }
+
+  @Override
+  public LatencyHistogram getLatencyHistogram(String name) {
+    return this.histograms.computeIfAbsent(name, n -> new LatencyHistogram());
+  }
+
+  @Override
+  public void registerGauge(String name, Gauge gauge) {
+    this.gauges.putIfAbsent(name, gauge);
+  }
+
+  // ==========================================================================
+
+  @Override
+  public SortedMap<String, Counter> getCounters() {
+    return new TreeMap<>(this.counters);
+  }
+
+  @Override
+  public SortedMap<String, LatencyHistogram> getLatencyHistograms() {
+    return new TreeMap<>(this.histograms);
+  }
+
+  @Override
+  public SortedMap<String, Gauge> getGauges() {
+    return new TreeMap<>(this.gauges);
+  }
+}
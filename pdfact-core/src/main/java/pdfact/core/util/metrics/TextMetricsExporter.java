@@ -0,0 +1,89 @@
+package pdfact.core.util.metrics;
+
+import static pdfact.core.PdfActCoreSettings.DEFAULT_ENCODING;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.Map;
+
+import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.exception.PdfActMetricsException;
+
+/**
+ * An exporter that dumps the metrics of a registry as plain text to an output
+ * stream, one metric per line (for example, to inspect the metrics in tests
+ * without a monitoring backend):
+ * 
+ * <pre>
+ * counter documents 12
+ * gauge cache.font.hitRate 0.98
+ * histogram latency.parse count=12 mean=... p50=... p95=... p99=... max=...
+ * </pre>
+ * 
+ * The values of histograms are given in milliseconds.
+ *
+ * @author Claudius Korzen
+ */
+public class TextMetricsExporter implements MetricsExporter {
+  /**
+   * The stream to write to.
+   */
+  protected OutputStream stream;
+
+  /**
+   * Creates a new exporter that writes to the given stream.
+   * 
+   * @param stream
+   *        The stream to write to.
+   */
+  public TextMetricsExporter(OutputStream stream) {
+    this.stream = stream;
+  }
+
+  // ==========================================================================
+
+  @Override
+  public void export(MetricsRegistry registry) throws PdfActException {
+    StringBuilder sb = new StringBuilder();
+    for (Map.Entry<String, Counter> e : registry.getCounters().entrySet()) {
+      sb.append("counter ").append(e.getKey()).append(" ")
+          .append(e.getValue().getCount()).append("\n");
+    }
+    for (Map.Entry<String, Gauge> e : registry.getGauges().entrySet()) {
+      sb.append("gauge ").append(e.getKey()).append(" ")
+          .append(format(e.getValue().getValue())).append("\n");
+    }
+    for (Map.Entry<String, LatencyHistogram> e : registry
+        .getLatencyHistograms().entrySet()) {
+      LatencyHistogram histogram = e.getValue();
+      sb.append("histogram ").append(e.getKey())
+          .append(" count=").append(histogram.getCount())
+          .append(" mean=").append(format(histogram.getMeanMillis()))
+          .append(" p50=").append(format(histogram.getP50Millis()))
+          .append(" p95=").append(format(histogram.getP95Millis()))
+          .append(" p99=").append(format(histogram.getP99Millis()))
+          .append(" max=").append(format(histogram.getMaxMillis()))
+          .append("\n");
+    }
+
+    try {
+      this.stream.write(sb.toString().getBytes(DEFAULT_ENCODING));
+      this.stream.flush();
+    } catch (IOException e) {
+      throw new PdfActMetricsException("Couldn't write the metrics.", e);
+    }
+  }
+
+  /**
+   * Formats the given value.
+   * 
+   * @param value
+   *        The value to format.
+   * 
+   * @return The formatted value, with three decimal places.
+   */
+  protected static String format(double value) {
+    return String.format(Locale.ROOT, "%.3f", value);
+  }
+}
@@ -3,6 +3,7 @@ package pdfact.core.util.normalize;
 import gnu.trove.set.TCharSet;
 import gnu.trove.set.hash.TCharHashSet;
 import pdfact.core.model.Word;
+import pdfact.core.util.text.JoinedText;
 
 /**
  * A plain implementation of {@link WordNormalizer}.
@@ -31,6 +32,11 @@ public class PlainWordNormalizer implements WordNormalizer {
    */
   protected TCharSet trailingCharactersToKeep;
 
+  /**
+   * The buffer to which lazy views on the texts of words are copied.
+   */
+  protected StringBuilder buffer = new StringBuilder();
+
   /**
    * Creates a new word normalizer.
    */
@@ -43,85 +49,91 @@ public class PlainWordNormalizer implements WordNormalizer {
 
   @Override
   public String normalize(Word word) {
-    if (word == null) {
+    if (word == null || word.getTextSequence() == null) {
       return null;
     }
 
-    String text = word.getText();
+    StringBuilder target = new StringBuilder();
+    normalize(word, target);
+    return target.toString();
+  }
+
+  @Override
+  public int normalize(Word word, StringBuilder target) {
+    if (word == null) {
+      return 0;
+    }
+
+    CharSequence text = word.getTextSequence();
     if (text == null) {
-      return null;
+      return 0;
     }
 
-    char[] array = text.toCharArray();
+    // Copy a lazy view on the texts of the characters to the buffer, such that
+    // the view doesn't need to be materialized to a string.
+    if (text instanceof JoinedText) {
+      this.buffer.setLength(0);
+      ((JoinedText) text).appendTo(this.buffer);
+      text = this.buffer;
+    }
 
     int startIndex = 0;
-    int endIndex = array.length - 1;
-
-    if (isToLowerCase()) {
-      array = toLowerCase(array);
-    }
+    int endIndex = text.length() - 1;
 
     if (hasLeadingCharactersToKeep()) {
-      startIndex = getIndexOfFirstLeadingCharacterToKeep(array);
+      startIndex = getIndexOfFirstLeadingCharacterToKeep(text);
     }
 
     if (hasTrailingCharactersToKeep()) {
-      endIndex = getIndexOfFirstTrailingCharacterToKeep(array);
+      endIndex = getIndexOfFirstTrailingCharacterToKeep(text);
     }
 
     if (startIndex < 0 || endIndex < 0) {
-      return "";
+      return 0;
     }
 
-    if (startIndex >= array.length || endIndex >= array.length) {
-      return "";
+    if (startIndex >= text.length() || endIndex >= text.length()) {
+      return 0;
     }
 
-    return new String(array, startIndex, endIndex - startIndex + 1);
-
-    // // Make sure that word contains only characters or hyphens.
-    // Pattern p = Pattern.compile("[a-zA-z\\-]+");
-    // Matcher m = p.matcher(wordStr);
-    // if (!m.matches()) {
-    //
-    // }
-    // return null;
+    for (int i = startIndex; i <= endIndex; i++) {
+      target.append(toLowerCase(text.charAt(i)));
+    }
+    return endIndex - startIndex + 1;
   }
 
   // ==========================================================================
 
   /**
-   * Transforms all characters in the given char array to lower cases.
+   * Transforms the given character to lower case, if words should be
+   * transformed to lower cases.
    * 
-   * @param array
-   *        The char array to process.
+   * @param c
+   *        The character to process.
    * 
-   * @return The char array after transforming the characters to lower cases.
+   * @return The character after transforming it to lower case.
    */
-  protected char[] toLowerCase(char[] array) {
-    for (int i = 0; i < array.length; i++) {
-      array[i] = Character.toLowerCase(array[i]);
-    }
-    return array;
+  protected char toLowerCase(char c) {
+    return isToLowerCase() ? Character.toLowerCase(c) : c;
   }
 
   // ==========================================================================
 
   /**
-   * Iterates through the given array, beginning at position 0, and returns the
+   * Iterates through the given text, beginning at position 0, and returns the
    * index of the first character which is covered by the set of characters
    * defined by setLeadingCharactersToKeep().
    * 
-   * @param array
-   *        The char array to process.
+   * @param text
+   *        The text to process.
    * 
    * @return The index of the first character which is covered by the set of
    *         characters defined by setLeadingCharactersToKeep()
    */
-  protected int getIndexOfFirstLeadingCharacterToKeep(char[] array) {
+  protected int getIndexOfFirstLeadingCharacterToKeep(CharSequence text) {
     int i = 0;
-    for (; i < array.length; i++) {
-      if (this.leadingCharactersToKeep.contains(array[i])) {
+    for (; i < text.length(); i++) {
+      if (this.leadingCharactersToKeep.contains(toLowerCase(text.charAt(i)))) {
         break;
       }
     }
@@ -129,20 +141,20 @@ public class PlainWordNormalizer implements WordNormalizer {
   }
 
   /**
-   * Iterates through the given array, beginning at the end of the array, and
+   * Iterates through the given text, beginning at the end of the text, and
    * returns the index of the first character which is covered by the set of
    * characters defined by setTrailingCharactersToKeep().
    * 
-   * @param array
-   *        The char array to process.
+   * @param text
+   *        The text to process.
    * 
    * @return The index of the first character which is covered by the set of
    *         characters defined by setTrailingCharactersToKeep()
    */
-  protected int getIndexOfFirstTrailingCharacterToKeep(char[] array) {
-    int i = array.length - 1;
+  protected int getIndexOfFirstTrailingCharacterToKeep(CharSequence text) {
+    int i = text.length() - 1;
     for (; i >= 0; i--) {
-      if (this.trailingCharactersToKeep.contains(array[i])) {
+      if (this.trailingCharactersToKeep.contains(toLowerCase(text.charAt(i)))) {
         break;
       }
     }
@@ -19,6 +19,20 @@ public interface WordNormalizer {
    */
   String normalize(Word word);
 
+  /**
+   * Normalizes the given word and appends the normalized text to the given
+   * builder, without creating any intermediate strings. This allows to
+   * normalize many words into a single, reused builder.
+   * 
+   * @param word
+   *        The word to normalize.
+   * @param target
+   *        The builder to which the normalized text should be appended.
+   * 
+   * @return The number of appended characters.
+   */
+  int normalize(Word word, StringBuilder target);
+
   // ==========================================================================
 
   /**
@@ -0,0 +1,106 @@
+package pdfact.core.util.pipeline;
+
+import pdfact.core.util.exception.PdfActCancelledException;
+
+/**
+ * A token to cancel the processing of a PDF document cooperatively: the
+ * pipelines check the token between the pipes and between the pages and stop
+ * the processing with a {@link PdfActCancelledException} once the token was
+ * cancelled. A pipe that runs long without processing pages can check the
+ * token via {@link #checkCurrent()}.
+ * 
+ * The token of the document that is processed by the current thread is kept
+ * in a thread-local variable (see {@link #setCurrent(CancellationToken)}), so
+ * the checks do nothing if no token was set, and can be called
+ * unconditionally. Code that processes the pages of a document in other
+ * threads must pass the token to these threads.
+ *
+ * @author Claudius Korzen
+ */
+public class CancellationToken {
+  /**
+   * The token of the document that is processed by the current thread.
+   */
+  protected static final ThreadLocal<CancellationToken> CURRENT =
+      new ThreadLocal<>();
+
+  /**
+   * The boolean flag that indicates whether the processing was cancelled.
+   */
+  protected volatile boolean cancelled;
+
+  // ==========================================================================
+
+  /**
+   * Cancels the processing. The processing stops at the next check.
+   */
+  public void cancel() {
+    this.cancelled = true;
+  }
+
+  /**
+   * Returns true if the processing was cancelled.
+   * 
+   * @return True if the processing was cancelled; false otherwise.
+   */
+  public boolean isCancelled() {
+    return this.cancelled;
+  }
+
+  /**
+   * Checks if the processing was cancelled.
+   * 
+   * @throws PdfActCancelledException
+   *         If the processing was cancelled.
+   */
+  public void check() throws PdfActCancelledException {
+    if (this.cancelled) {
+      throw new PdfActCancelledException("The processing was cancelled.");
+    }
+  }
+
+  // ==========================================================================
+
+  /**
+   * Returns the token of the document that is processed by the current
+   * thread.
+   * 
+   * @return The token, or null if no token was set.
+   */
+  public static CancellationToken current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Sets the token of the document that is processed by the current thread.
+   * 
+   * @param token
+   *        The token, or null to remove the token.
+   * 
+   * @return The previous token of the current thread (or null), to be
+   *         restored when the processing is done.
+   */
+  public static CancellationToken setCurrent(CancellationToken token) {
+    CancellationToken previous = CURRENT.get();
+    if (token != null) {
+      CURRENT.set(token);
+    } else {
+      CURRENT.remove();
+    }
+    return previous;
+  }
+
+  /**
+   * Checks if the processing of the document that is processed by the
+   * current thread was cancelled.
+   * 
+   * @throws PdfActCancelledException
+   *         If the processing was cancelled.
+   */
+  public static void checkCurrent() throws PdfActCancelledException {
+    CancellationToken token = CURRENT.get();
+    if (token != null) {
+      token.check();
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package pdfact.core.util.pipeline;
+
+/**
+ * A pipe that decorates another pipe (for example, to measure it).
+ *
+ * @author Claudius Korzen
+ */
+public interface DecoratingPipe extends Pipe {
+  /**
+   * Returns the decorated pipe.
+   * 
+   * @return The decorated pipe.
+   */
+  Pipe getPipe();
+
+  /**
+   * Creates a decorator of the same kind (and with the same settings) as this
+   * decorator that decorates the given pipe instead. The created decorator
+   * may be executed in another thread than the thread that creates it.
+   * 
+   * @param pipe
+   *        The pipe to decorate.
+   * 
+   * @return The created decorator.
+   */
+  DecoratingPipe decorate(Pipe pipe);
+
+  /**
+   * Replaces the innermost pipe decorated by the given pipe with the given
+   * replacement, that is: decorates the replacement with (copies of) all
+   * decorators of the given pipe, in the same order.
+   * 
+   * @param pipe
+   *        The (decorated) pipe.
+   * @param replacement
+   *        The pipe that replaces the innermost decorated pipe.
+   * 
+   * @return The decorated replacement, or the replacement itself if the given
+   *         pipe is not a decorating pipe.
+   */
+  static Pipe redecorate(Pipe pipe, Pipe replacement) {
+    if (!(pipe instanceof DecoratingPipe)) {
+      return replacement;
+    }
+    DecoratingPipe decorator = (DecoratingPipe) pipe;
+    return decorator.decorate(redecorate(decorator.getPipe(), replacement));
+  }
+
+  /**
+   * Returns the innermost pipe decorated by the given pipe.
+   * 
+   * @param pipe
+   *        The pipe to unwrap.
+   * 
+   * @return The innermost decorated pipe, or the given pipe itself if it is
+   *         not a decorating pipe.
+   */
+  static Pipe unwrap(Pipe pipe) {
+    Pipe innermost = pipe;
+    while (innermost instanceof DecoratingPipe) {
+      innermost = ((DecoratingPipe) innermost).getPipe();
+    }
+    return innermost;
+  }
+}
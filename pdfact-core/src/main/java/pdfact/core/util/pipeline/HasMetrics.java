@@ -0,0 +1,20 @@
+package pdfact.core.util.pipeline;
+
+import java.util.Map;
+
+/**
+ * An interface that is implemented by pipes that count what they have
+ * processed (for example, the number of processed characters), so that the
+ * counters can be collected into a {@link PerformanceReport}.
+ *
+ * @author Claudius Korzen
+ */
+public interface HasMetrics {
+  /**
+   * Returns the counters of this pipe.
+   * 
+   * @return The counters of this pipe, keyed by their names (in the order in
+   *         which they should be reported).
+   */
+  Map<String, Long> getMetrics();
+}
@@ -0,0 +1,112 @@
+package pdfact.core.util.pipeline;
+
+import pdfact.core.model.PdfDocument;
+import pdfact.core.util.exception.PdfActException;
+
+/**
+ * A pipe that executes another pipe and measures the resources used by it, in
+ * total and per page (see {@link PageMeter}). The counters of the pipe are
+ * collected if the pipe implements {@link HasMetrics}. Decorating pipes are
+ * reported by the name and the counters of the innermost decorated pipe.
+ * 
+ * The measurement is added to the measurement of the enclosing instrumented
+ * pipe, if there is any, or to the given performance report otherwise. The
+ * enclosing pipe is the pipe that is executed by the current thread, or (for
+ * a pipe created by {@link #decorate(Pipe)}) the pipe that was executed by the
+ * thread that created the pipe.
+ *
+ * @author Claudius Korzen
+ */
+public class InstrumentedPipe implements DecoratingPipe {
+  /**
+   * The pipe to execute.
+   */
+  protected Pipe pipe;
+
+  /**
+   * The report to fill.
+   */
+  protected PerformanceReport report;
+
+  /**
+   * The measurement of the enclosing instrumented pipe, or null if the
+   * enclosing pipe is the pipe executed by the current thread.
+   */
+  protected PipeMeasurement parent;
+
+  /**
+   * Creates a new instrumented pipe.
+   * 
+   * @param pipe
+   *        The pipe to execute.
+   * @param report
+   *        The report to fill.
+   */
+  public InstrumentedPipe(Pipe pipe, PerformanceReport report) {
+    this(pipe, report, null);
+  }
+
+  /**
+   * Creates a new instrumented pipe with the given enclosing measurement.
+   * 
+   * @param pipe
+   *        The pipe to execute.
+   * @param report
+   *        The report to fill.
+   * @param parent
+   *        The measurement of the enclosing instrumented pipe, or null if the
+   *        enclosing pipe is the pipe executed by the current thread.
+   */
+  protected InstrumentedPipe(Pipe pipe, PerformanceReport report,
+      PipeMeasurement parent) {
+    this.pipe = pipe;
+    this.report = report;
+    this.parent = parent;
+  }
+
+  // ==========================================================================
+
+  @Override
+  public PdfDocument execute(PdfDocument pdf) throws PdfActException {
+    Pipe innermost = DecoratingPipe.unwrap(this.pipe);
+    PipeMeasurement parent = this.parent != null ? this.parent
+        : PageMeter.current();
+    PipeMeasurement measurement =
+        new PipeMeasurement(innermost.getClass().getSimpleName());
+
+    PageMeter.push(measurement);
+    ResourceUsage start = ResourceUsage.snapshot();
+    try {
+      return this.pipe.execute(pdf);
+    } finally {
+      measurement.stopPage();
+      measurement.setUsage(ResourceUsage.snapshot().since(start));
+      PageMeter.pop();
+
+      if (innermost instanceof HasMetrics) {
+        measurement.addMetrics(((HasMetrics) innermost).getMetrics());
+      }
+
+      if (parent != null) {
+        parent.addChild(measurement);
+      } else {
+        this.report.addPipe(measurement);
+      }
+    }
+  }
+
+  // ==========================================================================
+
+  @Override
+  public Pipe getPipe() {
+    return this.pipe;
+  }
+
+  @Override
+  public DecoratingPipe decorate(Pipe pipe) {
+    // Keep the measurement of the enclosing pipe of the current thread.
+    PipeMeasurement parent = this.parent != null ? this.parent
+        : PageMeter.current();
+    return new InstrumentedPipe(pipe, this.report, parent);
+  }
+}
@@ -0,0 +1,120 @@
+package pdfact.core.util.pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import pdfact.core.model.PdfDocument;
+import pdfact.core.util.exception.PdfActException;
+
+/**
+ * A pipeline that decorates another pipeline, such that each registered pipe
+ * is executed as an {@link InstrumentedPipe}. The measurements are written to
+ * the given performance report.
+ * 
+ * Instrumented pipelines can be nested (for example, if an instrumented pipe
+ * processes an instrumented pipeline itself); the measurements of the inner
+ * pipes are then added to the measurement of the enclosing pipe.
+ *
+ * @author Claudius Korzen
+ */
+public class InstrumentedPipeline implements Pipeline {
+  /**
+   * The decorated pipeline.
+   */
+  protected Pipeline pipeline;
+
+  /**
+   * The report to fill.
+   */
+  protected PerformanceReport report;
+
+  /**
+   * Creates a new instrumented pipeline. The pipes that are already registered
+   * to the given pipeline are instrumented as well.
+   * 
+   * @param pipeline
+   *        The pipeline to decorate.
+   * @param report
+   *        The report to fill.
+   */
+  public InstrumentedPipeline(Pipeline pipeline, PerformanceReport report) {
+    this.pipeline = pipeline;
+    this.report = report;
+    if (pipeline.getPipes() != null) {
+      setPipes(new ArrayList<>(pipeline.getPipes()));
+    }
+  }
+
+  // ==========================================================================
+
+  @Override
+  public PdfDocument process(PdfDocument pdf) throws PdfActException {
+    // Measure the total only in the outermost pipeline.
+    if (PageMeter.current() != null) {
+      return this.pipeline.process(pdf);
+    }
+
+    if (pdf != null && pdf.getFile() != null) {
+      this.report.setPath(pdf.getFile().getPath());
+    }
+
+    ResourceUsage start = ResourceUsage.snapshot();
+    try {
+      return this.pipeline.process(pdf);
+    } finally {
+      this.report.addUsage(ResourceUsage.snapshot().since(start));
+    }
+  }
+
+  // ==========================================================================
+
+  @Override
+  public List<Pipe> getPipes() {
+    return this.pipeline.getPipes();
+  }
+
+  @Override
+  public void setPipes(List<Pipe> pipes) {
+    List<Pipe> instrumented = new ArrayList<>();
+    for (Pipe pipe : pipes) {
+      instrumented.add(instrument(pipe));
+    }
+    this.pipeline.setPipes(instrumented);
+  }
+
+  @Override
+  public void addPipes(List<Pipe> pipes) {
+    for (Pipe pipe : pipes) {
+      addPipe(pipe);
+    }
+  }
+
+  @Override
+  public void addPipe(Pipe pipe) {
+    this.pipeline.addPipe(instrument(pipe));
+  }
+
+  // ==========================================================================
+
+  @Override
+  public int size() {
+    return this.pipeline.size();
+  }
+
+  // ==========================================================================
+
+  /**
+   * Wraps the given pipe into an instrumented pipe, if it isn't one already.
+   * 
+   * @param pipe
+   *        The pipe to wrap.
+   * 
+   * @return The instrumented pipe.
+   */
+  protected Pipe instrument(Pipe pipe) {
+    if (pipe instanceof InstrumentedPipe) {
+      return pipe;
+    }
+    return new InstrumentedPipe(pipe, this.report);
+  }
+}
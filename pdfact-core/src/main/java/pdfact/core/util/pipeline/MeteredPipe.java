@@ -0,0 +1,60 @@
+package pdfact.core.util.pipeline;
+
+import pdfact.core.model.PdfDocument;
+import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.metrics.LatencyHistogram;
+
+/**
+ * A pipe that executes another pipe and records its latency in a latency
+ * histogram (also if the pipe fails).
+ *
+ * @author Claudius Korzen
+ */
+public class MeteredPipe implements DecoratingPipe {
+  /**
+   * The pipe to execute.
+   */
+  protected Pipe pipe;
+
+  /**
+   * The histogram to which the latencies are recorded.
+   */
+  protected LatencyHistogram histogram;
+
+  /**
+   * Creates a new metered pipe.
+   * 
+   * @param pipe
+   *        The pipe to execute.
+   * @param histogram
+   *        The histogram to which the latencies should be recorded.
+   */
+  public MeteredPipe(Pipe pipe, LatencyHistogram histogram) {
+    this.pipe = pipe;
+    this.histogram = histogram;
+  }
+
+  // ==========================================================================
+
+  @Override
+  public PdfDocument execute(PdfDocument pdf) throws PdfActException {
+    long start = System.nanoTime();
+    try {
+      return this.pipe.execute(pdf);
+    } finally {
+      this.histogram.record(System.nanoTime() - start);
+    }
+  }
+
+  // ==========================================================================
+
+  @Override
+  public Pipe getPipe() {
+    return this.pipe;
+  }
+
+  @Override
+  public DecoratingPipe decorate(Pipe pipe) {
+    return new MeteredPipe(pipe, this.histogram);
+  }
+}
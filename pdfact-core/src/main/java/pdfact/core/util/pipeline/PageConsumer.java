@@ -0,0 +1,23 @@
+package pdfact.core.util.pipeline;
+
+import pdfact.core.model.Page;
+import pdfact.core.util.exception.PdfActException;
+
+/**
+ * A consumer of the pages created by a {@link PageSourcePipe}.
+ * 
+ * @author Claudius Korzen
+ */
+public interface PageConsumer {
+  /**
+   * Accepts the given page.
+   * 
+   * @param page
+   *        The created page.
+   * 
+   * @throws PdfActException
+   *         If the page couldn't be accepted (the source should stop creating
+   *         pages then).
+   */
+  void accept(Page page) throws PdfActException;
+}
@@ -0,0 +1,49 @@
+package pdfact.core.util.pipeline;
+
+/**
+ * The resources used by a pipe to process a single page.
+ *
+ * @author Claudius Korzen
+ */
+public class PageMeasurement {
+  /**
+   * The number of the page.
+   */
+  protected int pageNumber;
+
+  /**
+   * The resources used to process the page.
+   */
+  protected ResourceUsage usage;
+
+  /**
+   * Creates a new measurement of a page.
+   * 
+   * @param pageNumber
+   *        The number of the page.
+   */
+  public PageMeasurement(int pageNumber) {
+    this.pageNumber = pageNumber;
+    this.usage = new ResourceUsage();
+  }
+
+  // ==========================================================================
+
+  /**
+   * Returns the number of the page.
+   * 
+   * @return The number of the page.
+   */
+  public int getPageNumber() {
+    return this.pageNumber;
+  }
+
+  /**
+   * Returns the resources used to process the page.
+   * 
+   * @return The resources used to process the page.
+   */
+  public ResourceUsage getUsage() {
+    return this.usage;
+  }
+}
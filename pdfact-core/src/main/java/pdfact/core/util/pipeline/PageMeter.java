@@ -0,0 +1,87 @@
+package pdfact.core.util.pipeline;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * The hooks to be called by pipes on processing the pages of a PDF document,
+ * such that an {@link InstrumentedPipe} can measure the resources used per
+ * page. The hooks do nothing if no instrumented pipe is executed by the
+ * current thread, so they can be called unconditionally.
+ *
+ * Only the resources of the current thread are measured. Work that a pipe
+ * delegates to other threads is not included in the measurements.
+ *
+ * @author Claudius Korzen
+ */
+public final class PageMeter {
+  /**
+   * The measurements of the instrumented pipes that are currently executed by
+   * the current thread, with the innermost pipe on top.
+   */
+  protected static final ThreadLocal<Deque<PipeMeasurement>> RUNNING =
+      ThreadLocal.withInitial(ArrayDeque::new);
+
+  /**
+   * Hides the constructor.
+   */
+  private PageMeter() {}
+
+  // ==========================================================================
+
+  /**
+   * Starts to measure the given page in the innermost instrumented pipe of
+   * the current thread (and stops to measure the previous page).
+   * 
+   * @param pageNumber
+   *        The number of the page.
+   */
+  public static void startPage(int pageNumber) {
+    PipeMeasurement measurement = RUNNING.get().peek();
+    if (measurement != null) {
+      measurement.startPage(pageNumber);
+    }
+  }
+
+  /**
+   * Stops to measure the current page in the innermost instrumented pipe of
+   * the current thread.
+   */
+  public static void stopPage() {
+    PipeMeasurement measurement = RUNNING.get().peek();
+    if (measurement != null) {
+      measurement.stopPage();
+    }
+  }
+
+  // ==========================================================================
+
+  /**
+   * Returns the measurement of the innermost instrumented pipe that is
+   * executed by the current thread.
+   * 
+   * @return The measurement or null if there is no such pipe.
+   */
+  static PipeMeasurement current() {
+    return RUNNING.get().peek();
+  }
+
+  /**
+   * Registers the measurement of an instrumented pipe that is started to be
+   * executed by the current thread.
+   * 
+   * @param measurement
+   *        The measurement of the pipe.
+   */
+  static void push(PipeMeasurement measurement) {
+    RUNNING.get().push(measurement);
+  }
+
+  /**
+   * Unregisters the measurement of the innermost instrumented pipe of the
+   * current thread.
+   */
+  static void pop() {
+    RUNNING.get().pop();
+  }
+}
@@ -0,0 +1,44 @@
+package pdfact.core.util.pipeline;
+
+import pdfact.core.model.Page;
+import pdfact.core.model.PdfDocument;
+import pdfact.core.util.exception.PdfActException;
+
+/**
+ * A pipe that processes the pages of a PDF document independently from each
+ * other, such that a page can be processed as soon as it was processed by the
+ * previous pipes (see {@link PageStreamingPipeline}).
+ * 
+ * Executing the pipe is equivalent to processing all pages of the document, in
+ * order, and completing the document afterwards.
+ * 
+ * @author Claudius Korzen
+ */
+public interface PagePipe extends Pipe {
+  /**
+   * Processes the given page. The page must not depend on the results of this
+   * pipe for other pages. Document-wide results (like statistics) are not
+   * written to the document before {@link #completeDocument(PdfDocument)}.
+   * 
+   * @param pdf
+   *        The PDF document to which the page belongs to.
+   * @param page
+   *        The page to process.
+   * 
+   * @throws PdfActException
+   *         If something went wrong while processing the page.
+   */
+  void executePage(PdfDocument pdf, Page page) throws PdfActException;
+
+  /**
+   * Writes the document-wide results to the given PDF document, after all
+   * pages were processed.
+   * 
+   * @param pdf
+   *        The PDF document to complete.
+   * 
+   * @throws PdfActException
+   *         If something went wrong while completing the document.
+   */
+  void completeDocument(PdfDocument pdf) throws PdfActException;
+}
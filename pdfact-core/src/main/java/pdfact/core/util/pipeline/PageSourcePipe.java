@@ -0,0 +1,46 @@
+package pdfact.core.util.pipeline;
+
+import pdfact.core.model.PdfDocument;
+import pdfact.core.util.exception.PdfActException;
+
+/**
+ * A pipe that creates the pages of a PDF document one after another, such that
+ * each page can be processed by the following {@link PagePipe}s as soon as it
+ * was created (see {@link PageStreamingPipeline}).
+ * 
+ * Executing the pipe is equivalent to creating all pages and completing the
+ * document afterwards.
+ * 
+ * @author Claudius Korzen
+ */
+public interface PageSourcePipe extends Pipe {
+  /**
+   * Creates the pages of the given PDF document and passes each page to the
+   * given consumer as soon as it is complete. Document-wide results (like
+   * statistics) are not written to the document before
+   * {@link #completeDocument(PdfDocument)}.
+   * 
+   * @param pdf
+   *        The PDF document to process.
+   * @param consumer
+   *        The consumer of the created pages.
+   * 
+   * @throws PdfActException
+   *         If something went wrong while creating the pages or if the
+   *         consumer failed.
+   */
+  void executePages(PdfDocument pdf, PageConsumer consumer)
+      throws PdfActException;
+
+  /**
+   * Writes the document-wide results to the given PDF document, after all
+   * pages were created.
+   * 
+   * @param pdf
+   *        The PDF document to complete.
+   * 
+   * @throws PdfActException
+   *         If something went wrong while completing the document.
+   */
+  void completeDocument(PdfDocument pdf) throws PdfActException;
+}
@@ -0,0 +1,680 @@
+package pdfact.core.util.pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.google.inject.assistedinject.AssistedInject;
+
+import pdfact.core.model.Page;
+import pdfact.core.model.PdfDocument;
+import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.exception.PdfActPipelineException;
+import pdfact.core.util.jfr.FlightRecorders;
+
+/**
+ * A pipeline that streams the pages of a PDF document through its page-level
+ * pipes. A {@link PageSourcePipe} that is followed by one or more
+ * {@link PagePipe}s (possibly decorated) forms a segment: the source is
+ * executed in the calling thread and each page created by the source is passed
+ * through the page pipes as soon as it is complete, with one thread per page
+ * pipe and bounded queues between the pipes (such that the source blocks if
+ * it is too far ahead of the page pipes). After the last page passed all page
+ * pipes (the barrier), the document is completed by the source and the page
+ * pipes, in order. All other pipes are executed sequentially on the whole
+ * document, like in {@link PlainPipeline}.
+ *
+ * The queues bound the number of pages that are in flight between the pipes,
+ * but not the memory used for the document: the document keeps all of its
+ * pages, because the pipes after the segment process the whole document.
+ *
+ * The page pipes process a page before the document-wide statistics are
+ * complete, so they work with the statistics that are available when the
+ * segment starts (usually estimates, see EstimateStatisticsPipe). Hence, the
+ * result can differ from the result of {@link PlainPipeline} on documents
+ * whose exact statistics differ from the estimates. For both reasons, the
+ * core pipe of PdfAct doesn't use this pipeline; it can be created by the
+ * {@link Pipeline.PdfActPageStreamingPipelineFactory} for custom pipelines.
+ *
+ * Within a segment, the source and each page pipe are executed as a whole by
+ * copies of their decorators (see {@link DecoratingPipe#decorate(Pipe)}), so
+ * that the measurements of decorating pipes cover the processing of all pages
+ * and the completion of the document. The measured wall time of a page pipe
+ * includes the time it waited for pages.
+ *
+ * The page pipes are executed by a pool of threads that is shared by all
+ * pipelines and keeps idle threads for reuse by later documents.
+ *
+ * The {@link CancellationToken} of the calling thread is checked before each
+ * pipe and before each page (also in the threads of the page pipes). Once a
+ * pipe of a segment failed, the other pipes stop waiting for it: they drop
+ * the pages they can't pass on and treat an empty queue as the end of the
+ * pages, so the segment terminates and the first failure is rethrown.
+ *
+ * @author Claudius Korzen
+ */
+public class PageStreamingPipeline implements Pipeline {
+  /**
+   * The default capacity of the queues between the page pipes.
+   */
+  public static final int DEFAULT_QUEUE_CAPACITY = 4;
+
+  /**
+   * The interval in which a pipe that waits for a queue checks whether
+   * another pipe failed (in which case the queue may never change).
+   */
+  protected static final long POLL_INTERVAL_MILLIS = 50;
+
+  /**
+   * The pool of the threads that execute the page pipes, shared by all
+   * pipelines. The threads block on the queues of the page pipes, so the pool
+   * must not be bounded (a bounded pool could deadlock on concurrently
+   * processed documents).
+   */
+  protected static final ExecutorService STAGE_EXECUTOR =
+      Executors.newCachedThreadPool(new StageThreadFactory());
+
+  /**
+   * The registered pipes.
+   */
+  protected List<Pipe> pipes;
+
+  /**
+   * The capacity of the queues between the page pipes.
+   */
+  protected int queueCapacity;
+
+  /**
+   * The executor of the page pipes.
+   */
+  protected ExecutorService executor;
+
+  /**
+   * Creates an empty pipeline with the default queue capacity.
+   */
+  @AssistedInject
+  public PageStreamingPipeline() {
+    this(DEFAULT_QUEUE_CAPACITY);
+  }
+
+  /**
+   * Creates an empty pipeline that executes the page pipes in the shared pool.
+   *
+   * @param queueCapacity
+   *        The capacity of the queues between the page pipes.
+   */
+  public PageStreamingPipeline(int queueCapacity) {
+    this(queueCapacity, STAGE_EXECUTOR);
+  }
+
+  /**
+   * Creates an empty pipeline.
+   *
+   * @param queueCapacity
+   *        The capacity of the queues between the page pipes.
+   * @param executor
+   *        The executor of the page pipes. It must provide a thread for each
+   *        page pipe of each concurrently processed segment.
+   */
+  public PageStreamingPipeline(int queueCapacity, ExecutorService executor) {
+    this.pipes = new ArrayList<>();
+    this.queueCapacity = queueCapacity;
+    this.executor = executor;
+  }
+
+  // ==========================================================================
+
+  @Override
+  public PdfDocument process(PdfDocument pdf) throws PdfActException {
+    PdfDocument processed = pdf;
+    int i = 0;
+    while (i < this.pipes.size()) {
+      CancellationToken.checkCurrent();
+      Pipe pipe = this.pipes.get(i);
+      Pipe innermost = DecoratingPipe.unwrap(pipe);
+
+      // Collect the page pipes that follow a page source.
+      List<Pipe> pagePipes = new ArrayList<>();
+      if (innermost instanceof PageSourcePipe) {
+        for (int j = i + 1; j < this.pipes.size(); j++) {
+          Pipe next = this.pipes.get(j);
+          if (!(DecoratingPipe.unwrap(next) instanceof PagePipe)) {
+            break;
+          }
+          pagePipes.add(next);
+        }
+      }
+
+      if (pagePipes.isEmpty()) {
+        processed = FlightRecorders.get().execute(pipe, processed);
+        i++;
+      } else {
+        stream(processed, pipe, pagePipes);
+        i += 1 + pagePipes.size();
+      }
+    }
+    return processed;
+  }
+
+  /**
+   * Streams the pages created by the given source through the given page
+   * pipes and completes the document afterwards.
+   *
+   * @param pdf
+   *        The PDF document to process.
+   * @param source
+   *        The (possibly decorated) source of the pages.
+   * @param pagePipes
+   *        The (possibly decorated) page pipes, in the order of execution.
+   *
+   * @throws PdfActException
+   *         If the source or a page pipe failed.
+   */
+  protected void stream(PdfDocument pdf, Pipe source, List<Pipe> pagePipes)
+      throws PdfActException {
+    int numPagePipes = pagePipes.size();
+    AtomicReference<Throwable> failure = new AtomicReference<>();
+    CancellationToken token = CancellationToken.current();
+    CountDownLatch pagesDone = new CountDownLatch(numPagePipes);
+
+    // Create the queues in front of the page pipes and the latches that
+    // define the order in which the page pipes complete the document.
+    List<BlockingQueue<PageItem>> queues = new ArrayList<>();
+    List<CountDownLatch> turns = new ArrayList<>();
+    for (int i = 0; i < numPagePipes; i++) {
+      queues.add(new ArrayBlockingQueue<PageItem>(this.queueCapacity));
+      turns.add(new CountDownLatch(1));
+    }
+
+    List<Future<Void>> futures = new ArrayList<>();
+    try {
+      for (int i = 0; i < numPagePipes; i++) {
+        Pipe pagePipe = pagePipes.get(i);
+        BlockingQueue<PageItem> out = i < numPagePipes - 1
+            ? queues.get(i + 1) : null;
+        CountDownLatch nextTurn = i < numPagePipes - 1
+            ? turns.get(i + 1) : null;
+        Stage stage = new Stage((PagePipe) DecoratingPipe.unwrap(pagePipe),
+            queues.get(i), out, failure, token, pagesDone, turns.get(i));
+        futures.add(this.executor.submit(new StageTask(pdf,
+            DecoratingPipe.redecorate(pagePipe, stage), failure, nextTurn)));
+      }
+
+      PageSource pageSource = new PageSource(
+          (PageSourcePipe) DecoratingPipe.unwrap(source), queues.get(0),
+          failure, pagesDone);
+      try {
+        FlightRecorders.get().execute(
+            DecoratingPipe.redecorate(source, pageSource), pdf);
+      } catch (PdfActException | RuntimeException | Error e) {
+        // Prefer the failure of a page pipe, which is the cause of the
+        // failure of the source in this case.
+        failure.compareAndSet(null, e);
+      } finally {
+        // Let the page pipes complete the document (or skip the completion
+        // on failure), in order.
+        turns.get(0).countDown();
+      }
+
+      // Wait for the page pipes.
+      for (Future<Void> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new PdfActPipelineException("The pipeline was interrupted.", e);
+    } catch (ExecutionException e) {
+      throw new PdfActPipelineException("A page pipe couldn't be executed.",
+          e.getCause());
+    } finally {
+      // Stop the page pipes that are still running (on interruption).
+      for (Future<Void> future : futures) {
+        future.cancel(true);
+      }
+    }
+    PageTasks.rethrow(failure.get());
+  }
+
+  /**
+   * Puts the given item into the given queue, waiting for free space if
+   * necessary. Once a pipe failed, the item is dropped if the queue is full,
+   * because the consumer of the queue may have terminated.
+   *
+   * @param queue
+   *        The queue.
+   * @param item
+   *        The item to put.
+   * @param failure
+   *        The first failure of a pipe of the segment.
+   *
+   * @throws PdfActPipelineException
+   *         If the current thread was interrupted while waiting.
+   */
+  protected static void put(BlockingQueue<PageItem> queue, PageItem item,
+      AtomicReference<Throwable> failure) throws PdfActPipelineException {
+    try {
+      while (!queue.offer(item, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+        if (failure.get() != null) {
+          return;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new PdfActPipelineException("The pipeline was interrupted.", e);
+    }
+  }
+
+  /**
+   * Takes the next item from the given queue, waiting for an item if
+   * necessary. Once a pipe failed, the end of the pages is returned if the
+   * queue is empty, because the producer of the queue may have terminated.
+   *
+   * @param queue
+   *        The queue.
+   * @param failure
+   *        The first failure of a pipe of the segment.
+   *
+   * @return The next item.
+   *
+   * @throws PdfActPipelineException
+   *         If the current thread was interrupted while waiting.
+   */
+  protected static PageItem take(BlockingQueue<PageItem> queue,
+      AtomicReference<Throwable> failure) throws PdfActPipelineException {
+    try {
+      PageItem item;
+      while ((item = queue.poll(POLL_INTERVAL_MILLIS,
+          TimeUnit.MILLISECONDS)) == null) {
+        if (failure.get() != null) {
+          return PageItem.END;
+        }
+      }
+      return item;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new PdfActPipelineException("The pipeline was interrupted.", e);
+    }
+  }
+
+  /**
+   * Waits until the given latch has counted down to zero.
+   *
+   * @param latch
+   *        The latch.
+   *
+   * @throws PdfActPipelineException
+   *         If the current thread was interrupted while waiting.
+   */
+  protected static void await(CountDownLatch latch)
+      throws PdfActPipelineException {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new PdfActPipelineException("The pipeline was interrupted.", e);
+    }
+  }
+
+  // ==========================================================================
+
+  @Override
+  public List<Pipe> getPipes() {
+    return this.pipes;
+  }
+
+  @Override
+  public void setPipes(List<Pipe> pipes) {
+    this.pipes = pipes;
+  }
+
+  @Override
+  public void addPipes(List<Pipe> pipes) {
+    this.pipes.addAll(pipes);
+  }
+
+  @Override
+  public void addPipe(Pipe pipe) {
+    this.pipes.add(pipe);
+  }
+
+  // ==========================================================================
+
+  @Override
+  public int size() {
+    return this.pipes != null ? this.pipes.size() : 0;
+  }
+
+  // ==========================================================================
+
+  /**
+   * A page in the queue of a page pipe.
+   */
+  protected static class PageItem {
+    /**
+     * The item that marks the end of the pages.
+     */
+    protected static final PageItem END = new PageItem(null);
+
+    /**
+     * The page.
+     */
+    protected final Page page;
+
+    /**
+     * Creates a new item.
+     *
+     * @param page
+     *        The page.
+     */
+    protected PageItem(Page page) {
+      this.page = page;
+    }
+  }
+
+  /**
+   * The pipe that executes a page source within a segment: it passes the
+   * created pages to the queue of the first page pipe and completes the
+   * document after all page pipes processed all pages. It is a decorator of
+   * the source, such that it is reported by the name of the source.
+   */
+  protected static class PageSource implements DecoratingPipe {
+    /**
+     * The page source.
+     */
+    protected PageSourcePipe source;
+
+    /**
+     * The queue of the first page pipe.
+     */
+    protected BlockingQueue<PageItem> out;
+
+    /**
+     * The first failure of a page pipe.
+     */
+    protected AtomicReference<Throwable> failure;
+
+    /**
+     * The latch that is counted down by each page pipe after its last page.
+     */
+    protected CountDownLatch pagesDone;
+
+    /**
+     * Creates a new page source.
+     *
+     * @param source
+     *        The page source.
+     * @param out
+     *        The queue of the first page pipe.
+     * @param failure
+     *        The first failure of a page pipe.
+     * @param pagesDone
+     *        The latch that is counted down by each page pipe after its last
+     *        page.
+     */
+    protected PageSource(PageSourcePipe source, BlockingQueue<PageItem> out,
+        AtomicReference<Throwable> failure, CountDownLatch pagesDone) {
+      this.source = source;
+      this.out = out;
+      this.failure = failure;
+      this.pagesDone = pagesDone;
+    }
+
+    @Override
+    public PdfDocument execute(PdfDocument pdf) throws PdfActException {
+      try {
+        this.source.executePages(pdf, page -> {
+          if (this.failure.get() != null) {
+            throw new PdfActPipelineException("A page pipe failed.");
+          }
+          CancellationToken.checkCurrent();
+          put(this.out, new PageItem(page), this.failure);
+        });
+      } finally {
+        // Let the page pipes terminate (they drain their queues, also if a
+        // page pipe failed).
+        put(this.out, PageItem.END, this.failure);
+      }
+
+      // Wait for the page pipes to process all pages (the barrier). Each page
+      // pipe counts down the latch when it terminates, also on failure.
+      await(this.pagesDone);
+      if (this.failure.get() == null) {
+        this.source.completeDocument(pdf);
+      }
+      return pdf;
+    }
+
+    @Override
+    public Pipe getPipe() {
+      return this.source;
+    }
+
+    @Override
+    public DecoratingPipe decorate(Pipe pipe) {
+      return new PageSource((PageSourcePipe) pipe, this.out, this.failure,
+          this.pagesDone);
+    }
+  }
+
+  /**
+   * The pipe that executes a page pipe within a segment: it executes the page
+   * pipe on the pages of its queue and passes them to the queue of the next
+   * page pipe. Once a page pipe failed, the pages are passed on without
+   * processing them. After the last page, the page pipe completes the
+   * document in its turn. It is a decorator of the page pipe, such that it is
+   * reported by the name of the page pipe.
+   */
+  protected static class Stage implements DecoratingPipe {
+    /**
+     * The page pipe.
+     */
+    protected PagePipe pipe;
+
+    /**
+     * The queue of the page pipe.
+     */
+    protected BlockingQueue<PageItem> in;
+
+    /**
+     * The queue of the next page pipe (null for the last page pipe).
+     */
+    protected BlockingQueue<PageItem> out;
+
+    /**
+     * The first failure of a page pipe.
+     */
+    protected AtomicReference<Throwable> failure;
+
+    /**
+     * The cancellation token of the document (or null).
+     */
+    protected CancellationToken token;
+
+    /**
+     * The latch that is counted down by each page pipe after its last page.
+     */
+    protected CountDownLatch pagesDone;
+
+    /**
+     * The latch that signals the turn of the page pipe to complete the
+     * document.
+     */
+    protected CountDownLatch turn;
+
+    /**
+     * Creates a new stage.
+     *
+     * @param pipe
+     *        The page pipe.
+     * @param in
+     *        The queue of the page pipe.
+     * @param out
+     *        The queue of the next page pipe (null for the last page pipe).
+     * @param failure
+     *        The first failure of a page pipe.
+     * @param token
+     *        The cancellation token of the document (or null).
+     * @param pagesDone
+     *        The latch that is counted down by each page pipe after its last
+     *        page.
+     * @param turn
+     *        The latch that signals the turn of the page pipe to complete the
+     *        document.
+     */
+    protected Stage(PagePipe pipe, BlockingQueue<PageItem> in,
+        BlockingQueue<PageItem> out, AtomicReference<Throwable> failure,
+        CancellationToken token, CountDownLatch pagesDone,
+        CountDownLatch turn) {
+      this.pipe = pipe;
+      this.in = in;
+      this.out = out;
+      this.failure = failure;
+      this.token = token;
+      this.pagesDone = pagesDone;
+      this.turn = turn;
+    }
+
+    @Override
+    public PdfDocument execute(PdfDocument pdf) throws PdfActException {
+      try {
+        PageItem item;
+        do {
+          item = take(this.in, this.failure);
+          if (item != PageItem.END && this.failure.get() == null) {
+            try {
+              if (this.token != null) {
+                this.token.check();
+              }
+              PageMeter.startPage(item.page.getPageNumber());
+              this.pipe.executePage(pdf, item.page);
+            } catch (PdfActException | RuntimeException | Error e) {
+              this.failure.compareAndSet(null, e);
+            }
+          }
+          if (this.out != null) {
+            put(this.out, item, this.failure);
+          }
+        } while (item != PageItem.END);
+      } catch (PdfActException | RuntimeException | Error e) {
+        // Record the failure (for example, an interruption while waiting for
+        // a queue), such that the other pipes stop waiting for this pipe.
+        this.failure.compareAndSet(null, e);
+        throw e;
+      } finally {
+        PageMeter.stopPage();
+        this.pagesDone.countDown();
+      }
+
+      // Complete the document in the turn of this page pipe.
+      await(this.turn);
+      if (this.failure.get() == null) {
+        this.pipe.completeDocument(pdf);
+      }
+      return pdf;
+    }
+
+    @Override
+    public Pipe getPipe() {
+      return this.pipe;
+    }
+
+    @Override
+    public DecoratingPipe decorate(Pipe pipe) {
+      return new Stage((PagePipe) pipe, this.in, this.out, this.failure,
+          this.token, this.pagesDone, this.turn);
+    }
+
+  }
+
+  /**
+   * The task that executes a (decorated) stage and passes the turn to
+   * complete the document to the next page pipe afterwards (also if the stage
+   * failed).
+   */
+  protected static class StageTask implements Callable<Void> {
+    /**
+     * The PDF document to which the pages belong to.
+     */
+    protected PdfDocument pdf;
+
+    /**
+     * The (decorated) stage.
+     */
+    protected Pipe stage;
+
+    /**
+     * The first failure of a page pipe.
+     */
+    protected AtomicReference<Throwable> failure;
+
+    /**
+     * The latch that signals the turn of the next page pipe to complete the
+     * document (null for the last page pipe).
+     */
+    protected CountDownLatch nextTurn;
+
+    /**
+     * Creates a new stage task.
+     *
+     * @param pdf
+     *        The PDF document to which the pages belong to.
+     * @param stage
+     *        The (decorated) stage.
+     * @param failure
+     *        The first failure of a page pipe.
+     * @param nextTurn
+     *        The latch that signals the turn of the next page pipe to complete
+     *        the document (null for the last page pipe).
+     */
+    protected StageTask(PdfDocument pdf, Pipe stage,
+        AtomicReference<Throwable> failure, CountDownLatch nextTurn) {
+      this.pdf = pdf;
+      this.stage = stage;
+      this.failure = failure;
+      this.nextTurn = nextTurn;
+    }
+
+    @Override
+    public Void call() {
+      try {
+        FlightRecorders.get().execute(this.stage, this.pdf);
+      } catch (PdfActException | RuntimeException | Error e) {
+        this.failure.compareAndSet(null, e);
+      } finally {
+        if (this.nextTurn != null) {
+          this.nextTurn.countDown();
+        }
+      }
+      return null;
+    }
+  }
+
+  /**
+   * The factory of the (daemon) threads that execute the page pipes.
+   */
+  protected static class StageThreadFactory implements ThreadFactory {
+    /**
+     * The number of created threads.
+     */
+    protected static final AtomicInteger NUM_THREADS = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable,
+          "pdfact-page-pipe-" + NUM_THREADS.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
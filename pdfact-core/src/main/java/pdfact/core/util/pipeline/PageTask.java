@@ -0,0 +1,25 @@
+package pdfact.core.util.pipeline;
+
+import pdfact.core.model.Page;
+import pdfact.core.util.exception.PdfActException;
+
+/**
+ * A task that processes a single page of a PDF document (see
+ * {@link PageTasks}).
+ * 
+ * @author Claudius Korzen
+ */
+public interface PageTask {
+  /**
+   * Processes the given page.
+   * 
+   * @param index
+   *        The index of the page in the list of pages of the document.
+   * @param page
+   *        The page to process.
+   * 
+   * @throws PdfActException
+   *         If something went wrong while processing the page.
+   */
+  void execute(int index, Page page) throws PdfActException;
+}
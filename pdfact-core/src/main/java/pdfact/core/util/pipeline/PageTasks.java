@@ -0,0 +1,126 @@
+package pdfact.core.util.pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import pdfact.core.model.Page;
+import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.exception.PdfActPipelineException;
+
+/**
+ * Methods to execute a {@link PageTask} on all pages of a PDF document, either
+ * sequentially or in parallel on a fork/join pool. Missing pages (null) are
+ * skipped.
+ * 
+ * On parallel execution, the pages are not measured by {@link PageMeter} and
+ * the task must not depend on the order in which the pages are processed. If
+ * tasks fail, the failure of the first page (in the order of the pages) is
+ * rethrown, once all tasks are done.
+ * 
+ * Before a page is processed, the {@link CancellationToken} of the current
+ * thread is checked (also on parallel execution).
+ * 
+ * @author Claudius Korzen
+ */
+public final class PageTasks {
+  /**
+   * Hides the constructor.
+   */
+  private PageTasks() {}
+
+  // ==========================================================================
+
+  /**
+   * Executes the given task on the given pages.
+   * 
+   * @param pool
+   *        The pool on which the task should be executed, or null if the task
+   *        should be executed sequentially (in the current thread).
+   * @param pages
+   *        The pages to process.
+   * @param task
+   *        The task to execute.
+   * 
+   * @throws PdfActException
+   *         If the task failed for a page.
+   */
+  public static void executeAll(ForkJoinPool pool, List<Page> pages,
+      PageTask task) throws PdfActException {
+    if (pages == null) {
+      return;
+    }
+
+    if (pool == null || pages.size() < 2) {
+      for (int i = 0; i < pages.size(); i++) {
+        Page page = pages.get(i);
+        if (page == null) {
+          continue;
+        }
+        CancellationToken.checkCurrent();
+        PageMeter.startPage(page.getPageNumber());
+        task.execute(i, page);
+      }
+      PageMeter.stopPage();
+      return;
+    }
+
+    CancellationToken token = CancellationToken.current();
+    List<Callable<Void>> callables = new ArrayList<>(pages.size());
+    for (int i = 0; i < pages.size(); i++) {
+      int index = i;
+      Page page = pages.get(i);
+      if (page == null) {
+        continue;
+      }
+      callables.add(() -> {
+        if (token != null) {
+          token.check();
+        }
+        task.execute(index, page);
+        return null;
+      });
+    }
+
+    List<Future<Void>> futures = pool.invokeAll(callables);
+    for (Future<Void> future : futures) {
+      try {
+        future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new PdfActPipelineException("The pipe was interrupted.", e);
+      } catch (ExecutionException e) {
+        rethrow(e.getCause());
+      }
+    }
+  }
+
+  /**
+   * Rethrows the given failure of a task, if there is any.
+   *
+   * @param failure
+   *        The failure (or null).
+   *
+   * @throws PdfActException
+   *         If the failure is a PdfActException (or a checked exception,
+   *         which is wrapped in a PdfActPipelineException).
+   */
+  public static void rethrow(Throwable failure) throws PdfActException {
+    if (failure == null) {
+      return;
+    }
+    if (failure instanceof PdfActException) {
+      throw (PdfActException) failure;
+    }
+    if (failure instanceof RuntimeException) {
+      throw (RuntimeException) failure;
+    }
+    if (failure instanceof Error) {
+      throw (Error) failure;
+    }
+    throw new PdfActPipelineException("A page task failed.", failure);
+  }
+}
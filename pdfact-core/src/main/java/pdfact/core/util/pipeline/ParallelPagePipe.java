@@ -0,0 +1,27 @@
+package pdfact.core.util.pipeline;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * A page pipe that processes the pages of a PDF document in parallel on
+ * execution, with the same result as processing them sequentially.
+ * 
+ * @author Claudius Korzen
+ */
+public interface ParallelPagePipe extends PagePipe {
+  /**
+   * Returns the pool on which the pages are processed.
+   * 
+   * @return The pool or null if the pages are processed sequentially.
+   */
+  ForkJoinPool getForkJoinPool();
+
+  /**
+   * Sets the pool on which the pages should be processed.
+   * 
+   * @param pool
+   *        The pool or null if the pages should be processed sequentially
+   *        (in the current thread).
+   */
+  void setForkJoinPool(ForkJoinPool pool);
+}
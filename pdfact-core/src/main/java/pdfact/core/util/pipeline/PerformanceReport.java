@@ -0,0 +1,98 @@
+package pdfact.core.util.pipeline;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A report about the resources used to process a PDF document, filled by an
+ * {@link InstrumentedPipeline}.
+ *
+ * @author Claudius Korzen
+ */
+public class PerformanceReport {
+  /**
+   * The path to the processed PDF document.
+   */
+  protected String path;
+
+  /**
+   * The resources used to process the PDF document.
+   */
+  protected ResourceUsage usage;
+
+  /**
+   * The measurements of the pipes of the outermost pipeline.
+   */
+  protected List<PipeMeasurement> pipes;
+
+  /**
+   * Creates a new, empty performance report.
+   */
+  public PerformanceReport() {
+    this.usage = new ResourceUsage();
+    this.pipes = new ArrayList<>();
+  }
+
+  // ==========================================================================
+
+  /**
+   * Returns the path to the processed PDF document.
+   * 
+   * @return The path or null if it is unknown.
+   */
+  public String getPath() {
+    return this.path;
+  }
+
+  /**
+   * Sets the path to the processed PDF document.
+   * 
+   * @param path
+   *        The path to the processed PDF document.
+   */
+  public void setPath(String path) {
+    this.path = path;
+  }
+
+  // ==========================================================================
+
+  /**
+   * Returns the resources used to process the PDF document.
+   * 
+   * @return The resources used to process the PDF document.
+   */
+  public ResourceUsage getUsage() {
+    return this.usage;
+  }
+
+  /**
+   * Adds the given resources used to process the PDF document.
+   * 
+   * @param usage
+   *        The resources to add.
+   */
+  public void addUsage(ResourceUsage usage) {
+    this.usage.add(usage);
+  }
+
+  // ==========================================================================
+
+  /**
+   * Returns the measurements of the pipes of the outermost pipeline.
+   * 
+   * @return The measurements of the pipes.
+   */
+  public List<PipeMeasurement> getPipes() {
+    return this.pipes;
+  }
+
+  /**
+   * Adds the measurement of a pipe of the outermost pipeline.
+   * 
+   * @param pipe
+   *        The measurement to add.
+   */
+  public void addPipe(PipeMeasurement pipe) {
+    this.pipes.add(pipe);
+  }
+}
@@ -0,0 +1,187 @@
+package pdfact.core.util.pipeline;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The resources used by a pipe to process a PDF document, in total and per
+ * page, together with the counters of the pipe and the measurements of the
+ * pipes of nested (instrumented) pipelines.
+ *
+ * @author Claudius Korzen
+ */
+public class PipeMeasurement {
+  /**
+   * The name of the pipe.
+   */
+  protected String name;
+
+  /**
+   * The resources used by the pipe.
+   */
+  protected ResourceUsage usage;
+
+  /**
+   * The counters of the pipe.
+   */
+  protected Map<String, Long> metrics;
+
+  /**
+   * The measurements of the pages, per page number.
+   */
+  protected Map<Integer, PageMeasurement> pages;
+
+  /**
+   * The measurements of the pipes executed by the pipe.
+   */
+  protected List<PipeMeasurement> children;
+
+  /**
+   * The page that is currently processed by the pipe, or null if there is no
+   * such page.
+   */
+  protected PageMeasurement currentPage;
+
+  /**
+   * The snapshot taken on starting to process the current page.
+   */
+  protected ResourceUsage currentPageStart;
+
+  // ==========================================================================
+  // Constructors.
+
+  /**
+   * Creates a new measurement of a pipe.
+   * 
+   * @param name
+   *        The name of the pipe.
+   */
+  public PipeMeasurement(String name) {
+    this.name = name;
+    this.usage = new ResourceUsage();
+    this.metrics = new LinkedHashMap<>();
+    this.pages = new LinkedHashMap<>();
+    this.children = new ArrayList<>();
+  }
+
+  // ==========================================================================
+
+  /**
+   * Starts to measure the given page (and stops to measure the current page,
+   * if there is any). If the page was measured before, the resources are
+   * added to the resources measured so far.
+   * 
+   * @param pageNumber
+   *        The number of the page.
+   */
+  public void startPage(int pageNumber) {
+    stopPage();
+    PageMeasurement page = this.pages.get(pageNumber);
+    if (page == null) {
+      page = new PageMeasurement(pageNumber);
+      this.pages.put(pageNumber, page);
+    }
+    this.currentPage = page;
+    this.currentPageStart = ResourceUsage.snapshot();
+  }
+
+  /**
+   * Stops to measure the current page, if there is any.
+   */
+  public void stopPage() {
+    if (this.currentPage == null) {
+      return;
+    }
+    ResourceUsage end = ResourceUsage.snapshot();
+    this.currentPage.getUsage().add(end.since(this.currentPageStart));
+    this.currentPage = null;
+    this.currentPageStart = null;
+  }
+
+  // ==========================================================================
+
+  /**
+   * Returns the name of the pipe.
+   * 
+   * @return The name of the pipe.
+   */
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+   * Returns the resources used by the pipe.
+   * 
+   * @return The resources used by the pipe.
+   */
+  public ResourceUsage getUsage() {
+    return this.usage;
+  }
+
+  /**
+   * Sets the resources used by the pipe.
+   * 
+   * @param usage
+   *        The resources used by the pipe.
+   */
+  public void setUsage(ResourceUsage usage) {
+    this.usage = usage;
+  }
+
+  // ==========================================================================
+
+  /**
+   * Returns the counters of the pipe.
+   * 
+   * @return The counters of the pipe.
+   */
+  public Map<String, Long> getMetrics() {
+    return this.metrics;
+  }
+
+  /**
+   * Adds the given counters of the pipe.
+   * 
+   * @param metrics
+   *        The counters to add.
+   */
+  public void addMetrics(Map<String, Long> metrics) {
+    this.metrics.putAll(metrics);
+  }
+
+  // ==========================================================================
+
+  /**
+   * Returns the measurements of the pages, in the order in which the pages
+   * were started to be processed.
+   * 
+   * @return The measurements of the pages.
+   */
+  public Collection<PageMeasurement> getPages() {
+    return this.pages.values();
+  }
+
+  // ==========================================================================
+
+  /**
+   * Returns the measurements of the pipes executed by the pipe.
+   * 
+   * @return The measurements of the pipes executed by the pipe.
+   */
+  public List<PipeMeasurement> getChildren() {
+    return this.children;
+  }
+
+  /**
+   * Adds the measurement of a pipe executed by the pipe.
+   * 
+   * @param child
+   *        The measurement to add.
+   */
+  public void addChild(PipeMeasurement child) {
+    this.children.add(child);
+  }
+}
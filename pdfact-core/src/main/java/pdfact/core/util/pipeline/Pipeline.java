@@ -83,4 +83,20 @@ public interface Pipeline {
      */
     Pipeline create();
   }
+
+  /**
+   * The factory to create instances of {@link Pipeline} that stream the pages
+   * of a PDF document through the page-level pipes (see
+   * {@link PageStreamingPipeline}).
+   * 
+   * @author Claudius Korzen
+   */
+  public interface PdfActPageStreamingPipelineFactory {
+    /**
+     * Creates a new instance of {@link Pipeline} that streams the pages.
+     * 
+     * @return A new instance of {@link Pipeline} that streams the pages.
+     */
+    Pipeline create();
+  }
 }
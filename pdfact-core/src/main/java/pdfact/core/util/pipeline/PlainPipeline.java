@@ -7,9 +7,13 @@ import com.google.inject.assistedinject.AssistedInject;
 
 import pdfact.core.model.PdfDocument;
 import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.jfr.FlightRecorders;
+import pdfact.core.util.jfr.PipeExecutionEvent;
 
 /**
- * A plain implementation of {@link Pipeline}.
+ * A plain implementation of {@link Pipeline}. Each execution of a pipe is
+ * reported as a {@link PipeExecutionEvent} to the flight recorder, if it is
+ * available (see {@link FlightRecorders}).
  * 
  * @author Claudius Korzen
  */
@@ -34,7 +38,8 @@ public class PlainPipeline implements Pipeline {
     System.out.println(pdf.getFile());
     PdfDocument processed = pdf;
     for (Pipe pipe : this.pipes) {
-      processed = pipe.execute(processed);
+      CancellationToken.checkCurrent();
+      processed = FlightRecorders.get().execute(pipe, processed);
     }
     return processed;
   }
@@ -0,0 +1,200 @@
+package pdfact.core.util.pipeline;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * The resources (wall time, CPU time and allocated bytes) used by the current
+ * thread, either as absolute values at a point in time (see
+ * {@link #snapshot()}) or as the difference between two such points.
+ * 
+ * The CPU time and the allocated bytes are -1 if the JVM doesn't support to
+ * measure them.
+ *
+ * @author Claudius Korzen
+ */
+public class ResourceUsage {
+  /**
+   * The management interface of the threads of the JVM.
+   */
+  protected static final ThreadMXBean THREADS =
+      ManagementFactory.getThreadMXBean();
+
+  /**
+   * The boolean flag that indicates whether the CPU time can be measured.
+   */
+  protected static final boolean CPU_TIME_SUPPORTED =
+      THREADS.isCurrentThreadCpuTimeSupported();
+
+  /**
+   * The management interface of the threads of the JVM that can measure the
+   * allocated bytes, or null if the JVM doesn't support it.
+   */
+  protected static final com.sun.management.ThreadMXBean ALLOCATIONS =
+      getAllocationsBean();
+
+  /**
+   * The wall time, in nanoseconds.
+   */
+  protected long wallTime;
+
+  /**
+   * The CPU time, in nanoseconds.
+   */
+  protected long cpuTime;
+
+  /**
+   * The number of allocated bytes.
+   */
+  protected long allocatedBytes;
+
+  // ==========================================================================
+  // Constructors.
+
+  /**
+   * Creates a new resource usage with no used resources.
+   */
+  public ResourceUsage() {
+    this(0, CPU_TIME_SUPPORTED ? 0 : -1, ALLOCATIONS != null ? 0 : -1);
+  }
+
+  /**
+   * Creates a new resource usage.
+   * 
+   * @param wallTime
+   *        The wall time, in nanoseconds.
+   * @param cpuTime
+   *        The CPU time, in nanoseconds.
+   * @param allocatedBytes
+   *        The number of allocated bytes.
+   */
+  public ResourceUsage(long wallTime, long cpuTime, long allocatedBytes) {
+    this.wallTime = wallTime;
+    this.cpuTime = cpuTime;
+    this.allocatedBytes = allocatedBytes;
+  }
+
+  // ==========================================================================
+
+  /**
+   * Returns the resources used by the current thread so far.
+   * 
+   * @return The resources used by the current thread so far.
+   */
+  public static ResourceUsage snapshot() {
+    long cpuTime = CPU_TIME_SUPPORTED ? THREADS.getCurrentThreadCpuTime() : -1;
+    long allocatedBytes = -1;
+    if (ALLOCATIONS != null) {
+      allocatedBytes = ALLOCATIONS.getThreadAllocatedBytes(
+          Thread.currentThread().getId());
+    }
+    return new ResourceUsage(System.nanoTime(), cpuTime, allocatedBytes);
+  }
+
+  /**
+   * Returns the resources used between the given snapshot and this snapshot.
+   * 
+   * @param start
+   *        The earlier snapshot.
+   * 
+   * @return The resources used between the two snapshots.
+   */
+  public ResourceUsage since(ResourceUsage start) {
+    return new ResourceUsage(this.wallTime - start.wallTime,
+        difference(this.cpuTime, start.cpuTime),
+        difference(this.allocatedBytes, start.allocatedBytes));
+  }
+
+  /**
+   * Adds the given resource usage to this resource usage.
+   * 
+   * @param usage
+   *        The resource usage to add.
+   */
+  public void add(ResourceUsage usage) {
+    this.wallTime += usage.wallTime;
+    this.cpuTime = sum(this.cpuTime, usage.cpuTime);
+    this.allocatedBytes = sum(this.allocatedBytes, usage.allocatedBytes);
+  }
+
+  // ==========================================================================
+
+  /**
+   * Returns the wall time.
+   * 
+   * @return The wall time, in nanoseconds.
+   */
+  public long getWallTime() {
+    return this.wallTime;
+  }
+
+  /**
+   * Returns the CPU time.
+   * 
+   * @return The CPU time, in nanoseconds, or -1 if it can't be measured.
+   */
+  public long getCpuTime() {
+    return this.cpuTime;
+  }
+
+  /**
+   * Returns the number of allocated bytes.
+   * 
+   * @return The number of allocated bytes, or -1 if it can't be measured.
+   */
+  public long getAllocatedBytes() {
+    return this.allocatedBytes;
+  }
+
+  // ==========================================================================
+
+  /**
+   * Returns the difference of the given values, respecting values that
+   * couldn't be measured.
+   * 
+   * @param value
+   *        The minuend.
+   * @param start
+   *        The subtrahend.
+   * 
+   * @return The difference or -1 if one of the values couldn't be measured.
+   */
+  protected static long difference(long value, long start) {
+    return value < 0 || start < 0 ? -1 : value - start;
+  }
+
+  /**
+   * Returns the sum of the given values, respecting values that couldn't be
+   * measured.
+   * 
+   * @param value1
+   *        The first summand.
+   * @param value2
+   *        The second summand.
+   * 
+   * @return The sum or -1 if one of the values couldn't be measured.
+   */
+  protected static long sum(long value1, long value2) {
+    return value1 < 0 || value2 < 0 ? -1 : value1 + value2;
+  }
+
+  /**
+   * Returns the management interface of the threads that can measure the
+   * allocated bytes.
+   * 
+   * @return The management interface or null if the JVM doesn't support to
+   *         measure the allocated bytes.
+   */
+  protected static com.sun.management.ThreadMXBean getAllocationsBean() {
+    if (!(THREADS instanceof com.sun.management.ThreadMXBean)) {
+      return null;
+    }
+    com.sun.management.ThreadMXBean bean =
+        (com.sun.management.ThreadMXBean) THREADS;
+    if (!bean.isThreadAllocatedMemorySupported()
+        || !bean.isThreadAllocatedMemoryEnabled()) {
+      return null;
+    }
+    return bean;
+  }
+}
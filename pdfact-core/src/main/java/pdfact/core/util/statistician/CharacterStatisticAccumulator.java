@@ -0,0 +1,25 @@
+package pdfact.core.util.statistician;
+
+import pdfact.core.model.CharacterStatistic;
+
+/**
+ * A {@link StatisticAccumulator} that combines character statistics.
+ * 
+ * @author Claudius Korzen
+ */
+public interface CharacterStatisticAccumulator
+    extends StatisticAccumulator<CharacterStatistic> {
+  /**
+   * The factory to create instances of {@link CharacterStatisticAccumulator}.
+   * 
+   * @author Claudius Korzen
+   */
+  public interface CharacterStatisticAccumulatorFactory {
+    /**
+     * Creates a new instance of {@link CharacterStatisticAccumulator}.
+     * 
+     * @return A new instance of {@link CharacterStatisticAccumulator}.
+     */
+    CharacterStatisticAccumulator create();
+  }
+}
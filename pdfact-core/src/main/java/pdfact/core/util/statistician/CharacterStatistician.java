@@ -34,6 +34,17 @@ public interface CharacterStatistician {
    */
   CharacterStatistic compute(ElementList<Character> characters);
 
+  /**
+   * Adds the given character to the given target statistic, such that the
+   * target statistic can be maintained incrementally.
+   * 
+   * @param target
+   *        The statistic to extend.
+   * @param character
+   *        The character to add to the target statistic.
+   */
+  void extend(CharacterStatistic target, Character character);
+
   /**
    * Combines the given list of character statistics to a single statistic.
    * 
@@ -43,4 +54,15 @@ public interface CharacterStatistician {
    * @return The combined statistic.
    */
   CharacterStatistic aggregate(List<? extends HasCharacterStatistic> stats);
+
+  /**
+   * Adds the given character statistic to the given target statistic, such
+   * that the target statistic can be maintained incrementally.
+   * 
+   * @param target
+   *        The statistic to extend.
+   * @param stat
+   *        The statistic to add to the target statistic.
+   */
+  void extend(CharacterStatistic target, CharacterStatistic stat);
 }
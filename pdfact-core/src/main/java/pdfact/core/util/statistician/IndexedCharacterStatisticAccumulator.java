@@ -0,0 +1,47 @@
+package pdfact.core.util.statistician;
+
+import java.util.Collections;
+
+import com.google.inject.Inject;
+
+import pdfact.core.model.CharacterStatistic;
+
+/**
+ * A {@link IndexedStatisticAccumulator} that combines character statistics.
+ * 
+ * @author Claudius Korzen
+ */
+public class IndexedCharacterStatisticAccumulator
+    extends IndexedStatisticAccumulator<CharacterStatistic>
+    implements CharacterStatisticAccumulator {
+  /**
+   * The statistician to merge the character statistics.
+   */
+  protected CharacterStatistician statistician;
+
+  /**
+   * Creates a new accumulator of character statistics.
+   * 
+   * @param statistician
+   *        The statistician to merge the character statistics.
+   */
+  @Inject
+  public IndexedCharacterStatisticAccumulator(
+      CharacterStatistician statistician) {
+    this.statistician = statistician;
+  }
+
+  // ==========================================================================
+
+  @Override
+  protected CharacterStatistic createStatistic() {
+    // Aggregating no statistics yields an empty statistic with initialized
+    // counters.
+    return this.statistician.aggregate(Collections.emptyList());
+  }
+
+  @Override
+  protected void extend(CharacterStatistic target, CharacterStatistic stat) {
+    this.statistician.extend(target, stat);
+  }
+}
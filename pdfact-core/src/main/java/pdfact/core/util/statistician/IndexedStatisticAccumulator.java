@@ -0,0 +1,122 @@
+package pdfact.core.util.statistician;
+
+import java.util.Arrays;
+
+/**
+ * An implementation of {@link StatisticAccumulator} that stores the partial
+ * statistics in an array indexed by their ordinals (usually the page numbers).
+ * Adding a statistic only stores a reference in the array, so the lock is held
+ * for a negligible time compared to computing a statistic of a page. The
+ * statistics are merged only once, in {@link #combine()}, in ascending order of
+ * their ordinals. Hence, the combined statistic is exactly the statistic that
+ * results from aggregating the partial statistics sequentially, regardless of
+ * how many threads were involved.
+ *
+ * The accumulator doesn't hold any references to the threads that added the
+ * statistics. {@link #combine()} clears the accumulator, so it can be reused
+ * for the next document without counting any statistic twice.
+ *
+ * @param <S>
+ *        The type of the statistics.
+ *
+ * @author Claudius Korzen
+ */
+public abstract class IndexedStatisticAccumulator<S>
+    implements StatisticAccumulator<S> {
+  /**
+   * The default initial capacity of the array of partial statistics.
+   */
+  protected static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+  /**
+   * The partial statistics, indexed by their ordinals.
+   */
+  protected Object[] statistics = new Object[DEFAULT_INITIAL_CAPACITY];
+
+  /**
+   * The largest ordinal added so far, or -1 if no statistic was added.
+   */
+  protected int maxOrdinal = -1;
+
+  // ==========================================================================
+
+  @Override
+  public void add(int ordinal, S statistic) {
+    if (statistic == null) {
+      return;
+    }
+    if (ordinal < 0) {
+      throw new IllegalArgumentException("The ordinal must not be negative.");
+    }
+
+    synchronized (this) {
+      if (ordinal >= this.statistics.length) {
+        int capacity = Math.max(ordinal + 1, this.statistics.length * 2);
+        this.statistics = Arrays.copyOf(this.statistics, capacity);
+      }
+
+      S existing = get(ordinal);
+      if (existing != null) {
+        // The ordinals should be unique. If not, merge the statistics with the
+        // same ordinal in the order of their addition.
+        S merged = createStatistic();
+        extend(merged, existing);
+        extend(merged, statistic);
+        statistic = merged;
+      }
+      this.statistics[ordinal] = statistic;
+      this.maxOrdinal = Math.max(this.maxOrdinal, ordinal);
+    }
+  }
+
+  @Override
+  public synchronized S combine() {
+    // Merge the partial statistics in the order of their ordinals.
+    S combined = createStatistic();
+    for (int i = 0; i <= this.maxOrdinal; i++) {
+      S statistic = get(i);
+      if (statistic != null) {
+        extend(combined, statistic);
+      }
+    }
+
+    // Clear the accumulator, so that it can be reused.
+    Arrays.fill(this.statistics, 0, this.maxOrdinal + 1, null);
+    this.maxOrdinal = -1;
+
+    return combined;
+  }
+
+  // ==========================================================================
+
+  /**
+   * Creates a new, empty statistic.
+   *
+   * @return A new, empty statistic.
+   */
+  protected abstract S createStatistic();
+
+  /**
+   * Adds the given partial statistic to the given target statistic.
+   *
+   * @param target
+   *        The statistic to extend.
+   * @param statistic
+   *        The statistic to add to the target statistic.
+   */
+  protected abstract void extend(S target, S statistic);
+
+  /**
+   * Returns the partial statistic with the given ordinal.
+   *
+   * @param ordinal
+   *        The ordinal of the statistic.
+   *
+   * @return The partial statistic with the given ordinal or null if there is
+   *         no such statistic.
+   */
+  @SuppressWarnings("unchecked")
+  protected S get(int ordinal) {
+    return (S) this.statistics[ordinal];
+  }
+}
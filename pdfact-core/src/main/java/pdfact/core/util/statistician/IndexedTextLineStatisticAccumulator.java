@@ -0,0 +1,47 @@
+package pdfact.core.util.statistician;
+
+import java.util.Collections;
+
+import com.google.inject.Inject;
+
+import pdfact.core.model.TextLineStatistic;
+
+/**
+ * A {@link IndexedStatisticAccumulator} that combines text line statistics.
+ * 
+ * @author Claudius Korzen
+ */
+public class IndexedTextLineStatisticAccumulator
+    extends IndexedStatisticAccumulator<TextLineStatistic>
+    implements TextLineStatisticAccumulator {
+  /**
+   * The statistician to merge the text line statistics.
+   */
+  protected TextLineStatistician statistician;
+
+  /**
+   * Creates a new accumulator of text line statistics.
+   * 
+   * @param statistician
+   *        The statistician to merge the text line statistics.
+   */
+  @Inject
+  public IndexedTextLineStatisticAccumulator(
+      TextLineStatistician statistician) {
+    this.statistician = statistician;
+  }
+
+  // ==========================================================================
+
+  @Override
+  protected TextLineStatistic createStatistic() {
+    // Aggregating no statistics yields an empty statistic with initialized
+    // counters.
+    return this.statistician.aggregate(Collections.emptyList());
+  }
+
+  @Override
+  protected void extend(TextLineStatistic target, TextLineStatistic stat) {
+    this.statistician.extend(target, stat);
+  }
+}
@@ -13,9 +13,7 @@ import pdfact.core.model.HasCharacterStatistic;
 import pdfact.core.model.HasCharacters;
 import pdfact.core.model.Position;
 import pdfact.core.model.Rectangle;
-import pdfact.core.util.counter.FloatCounter;
 import pdfact.core.util.counter.FloatCounter.FloatCounterFactory;
-import pdfact.core.util.counter.ObjectCounter;
 import pdfact.core.util.counter.ObjectCounter.ObjectCounterFactory;
 import pdfact.core.util.list.ElementList;
 
@@ -80,51 +78,51 @@ public class PlainCharacterStatistician implements CharacterStatistician {
   public CharacterStatistic compute(ElementList<Character> characters) {
     // Create a new statistic object.
     CharacterStatistic statistic = this.charStatisticFactory.create();
+    initializeCounters(statistic);
 
-    // Initialize counters for the heights, widths and font sizes.
-    FloatCounter heightsFrequencies = this.floatCounterFactory.create();
-    FloatCounter widthsFrequencies = this.floatCounterFactory.create();
-    FloatCounter fontsizeFrequencies = this.floatCounterFactory.create();
+    for (Character character : characters) {
+      extend(statistic, character);
+    }
 
-    // Initialize counters for the colors and font faces.
-    ObjectCounter<Color> colorFreqs = this.colorCounterFactory.create();
-    ObjectCounter<FontFace> fontFreqs = this.fontFaceCounterFactory.create();
+    return statistic;
+  }
 
-    for (Character character : characters) {
-      Position position = character.getPosition();
-      Rectangle rectangle = position.getRectangle();
+  @Override
+  public void extend(CharacterStatistic target, Character character) {
+    if (target == null) {
+      return;
+    }
 
-      heightsFrequencies.add(rectangle.getHeight());
-      widthsFrequencies.add(rectangle.getWidth());
-      fontFreqs.add(character.getFontFace());
-      fontsizeFrequencies.add(character.getFontFace().getFontSize());
-      colorFreqs.add(character.getColor());
+    initializeCounters(target);
 
-      if (rectangle.getMinX() < statistic.getSmallestMinX()) {
-        statistic.setSmallestMinX(rectangle.getMinX());
-      }
+    if (character == null) {
+      return;
+    }
 
-      if (rectangle.getMinY() < statistic.getSmallestMinY()) {
-        statistic.setSmallestMinY(rectangle.getMinY());
-      }
+    Position position = character.getPosition();
+    Rectangle rectangle = position.getRectangle();
 
-      if (rectangle.getMaxX() > statistic.getLargestMaxX()) {
-        statistic.setLargestMaxX(rectangle.getMaxX());
-      }
+    target.getHeightFrequencies().add(rectangle.getHeight());
+    target.getWidthFrequencies().add(rectangle.getWidth());
+    target.getFontFaceFrequencies().add(character.getFontFace());
+    target.getFontSizeFrequencies().add(character.getFontFace().getFontSize());
+    target.getColorFrequencies().add(character.getColor());
 
-      if (rectangle.getMaxY() > statistic.getLargestMaxY()) {
-        statistic.setLargestMaxY(rectangle.getMaxY());
-      }
+    if (rectangle.getMinX() < target.getSmallestMinX()) {
+      target.setSmallestMinX(rectangle.getMinX());
     }
 
-    // Fill the statistic object.
-    statistic.setHeightFrequencies(heightsFrequencies);
-    statistic.setWidthFrequencies(widthsFrequencies);
-    statistic.setFontSizeFrequencies(fontsizeFrequencies);
-    statistic.setColorFrequencies(colorFreqs);
-    statistic.setFontFaceFrequencies(fontFreqs);
+    if (rectangle.getMinY() < target.getSmallestMinY()) {
+      target.setSmallestMinY(rectangle.getMinY());
+    }
 
-    return statistic;
+    if (rectangle.getMaxX() > target.getLargestMaxX()) {
+      target.setLargestMaxX(rectangle.getMaxX());
+    }
+
+    if (rectangle.getMaxY() > target.getLargestMaxY()) {
+      target.setLargestMaxY(rectangle.getMaxY());
+    }
   }
 
   // ==========================================================================
@@ -134,50 +132,72 @@ public class PlainCharacterStatistician implements CharacterStatistician {
       List<? extends HasCharacterStatistic> stats) {
     // Create new statistic object.
     CharacterStatistic statistic = this.charStatisticFactory.create();
-
-    // Initialize counters for the heights, widths and font sizes.
-    FloatCounter heightsFrequencies = this.floatCounterFactory.create();
-    FloatCounter widthsFrequencies = this.floatCounterFactory.create();
-    FloatCounter fontsizeFrequencies = this.floatCounterFactory.create();
-
-    // Initialize counters for the colors and font faces.
-    ObjectCounter<Color> colorFreqs = this.colorCounterFactory.create();
-    ObjectCounter<FontFace> fontFreqs = this.fontFaceCounterFactory.create();
+    initializeCounters(statistic);
 
     // Aggregate the given statistics.
     for (HasCharacterStatistic s : stats) {
-      CharacterStatistic stat = s.getCharacterStatistic();
+      extend(statistic, s.getCharacterStatistic());
+    }
 
-      heightsFrequencies.add(stat.getHeightFrequencies());
-      widthsFrequencies.add(stat.getWidthFrequencies());
-      fontFreqs.add(stat.getFontFaceFrequencies());
-      fontsizeFrequencies.add(stat.getFontSizeFrequencies());
-      colorFreqs.add(stat.getColorFrequencies());
+    return statistic;
+  }
 
-      if (stat.getSmallestMinX() < statistic.getSmallestMinX()) {
-        statistic.setSmallestMinX(stat.getSmallestMinX());
-      }
+  @Override
+  public void extend(CharacterStatistic target, CharacterStatistic stat) {
+    if (target == null) {
+      return;
+    }
+
+    initializeCounters(target);
 
-      if (stat.getSmallestMinY() < statistic.getSmallestMinY()) {
-        statistic.setSmallestMinY(stat.getSmallestMinY());
-      }
+    if (stat == null) {
+      return;
+    }
 
-      if (stat.getLargestMaxX() > statistic.getLargestMaxX()) {
-        statistic.setLargestMaxX(stat.getLargestMaxX());
-      }
+    target.getHeightFrequencies().add(stat.getHeightFrequencies());
+    target.getWidthFrequencies().add(stat.getWidthFrequencies());
+    target.getFontFaceFrequencies().add(stat.getFontFaceFrequencies());
+    target.getFontSizeFrequencies().add(stat.getFontSizeFrequencies());
+    target.getColorFrequencies().add(stat.getColorFrequencies());
 
-      if (stat.getLargestMaxY() > statistic.getLargestMaxY()) {
-        statistic.setLargestMaxY(stat.getLargestMaxY());
-      }
+    if (stat.getSmallestMinX() < target.getSmallestMinX()) {
+      target.setSmallestMinX(stat.getSmallestMinX());
     }
 
-    // Fill the statistic object.
-    statistic.setHeightFrequencies(heightsFrequencies);
-    statistic.setWidthFrequencies(widthsFrequencies);
-    statistic.setFontSizeFrequencies(fontsizeFrequencies);
-    statistic.setColorFrequencies(colorFreqs);
-    statistic.setFontFaceFrequencies(fontFreqs);
+    if (stat.getSmallestMinY() < target.getSmallestMinY()) {
+      target.setSmallestMinY(stat.getSmallestMinY());
+    }
 
-    return statistic;
+    if (stat.getLargestMaxX() > target.getLargestMaxX()) {
+      target.setLargestMaxX(stat.getLargestMaxX());
+    }
+
+    if (stat.getLargestMaxY() > target.getLargestMaxY()) {
+      target.setLargestMaxY(stat.getLargestMaxY());
+    }
+  }
+
+  /**
+   * Initializes the counters of the given statistic, if they are not set yet.
+   * 
+   * @param statistic
+   *        The statistic to process.
+   */
+  protected void initializeCounters(CharacterStatistic statistic) {
+    if (statistic.getHeightFrequencies() == null) {
+      statistic.setHeightFrequencies(this.floatCounterFactory.create());
+    }
+    if (statistic.getWidthFrequencies() == null) {
+      statistic.setWidthFrequencies(this.floatCounterFactory.create());
+    }
+    if (statistic.getFontSizeFrequencies() == null) {
+      statistic.setFontSizeFrequencies(this.floatCounterFactory.create());
+    }
+    if (statistic.getColorFrequencies() == null) {
+      statistic.setColorFrequencies(this.colorCounterFactory.create());
+    }
+    if (statistic.getFontFaceFrequencies() == null) {
+      statistic.setFontFaceFrequencies(this.fontFaceCounterFactory.create());
+    }
   }
 }
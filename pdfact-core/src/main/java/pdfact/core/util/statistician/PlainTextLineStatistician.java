@@ -65,51 +65,67 @@ public class PlainTextLineStatistician implements TextLineStatistician {
     TextLineStatistic statistic = this.textLineStatisticFactory.create();
 
     // Initialize counters for the line pitches and whitespace widths.
-    Map<FontFace, FloatCounter> linePitches = new HashMap<>();
-    FloatCounter whitespaceWidthFreqs = this.floatCounterFactory.create();
+    statistic.setLinePitchFrequencies(new HashMap<>());
+    statistic.setWhitespaceWidthFrequencies(this.floatCounterFactory.create());
 
     for (int i = 1; i < textLines.size(); i++) {
-      TextLine prevLine = textLines.get(i - 1);
-      TextLine line = textLines.get(i);
+      extend(statistic, textLines.get(i - 1), textLines.get(i));
+    }
 
-      if (prevLine == null || line == null) {
-        continue;
-      }
+    return statistic;
+  }
 
-      // Compute the line pitch between the current line and the previous line.
-      float linePitch = computeLinePitch(prevLine, line);
-      if (!Float.isNaN(linePitch)) {
-        // Compute the font face of the current line.
-        CharacterStatistic charStatistics = line.getCharacterStatistic();
-        FontFace fontFace = charStatistics.getMostCommonFontFace();
-        // Add a new float counter if there is none for the given font face.
-        linePitches.putIfAbsent(fontFace, this.floatCounterFactory.create());
-        linePitches.get(fontFace).add(linePitch);
-      }
+  @Override
+  public void extend(TextLineStatistic target, TextLine prevLine,
+      TextLine line) {
+    if (target == null) {
+      return;
+    }
 
-      // Compute the whitespace widths in the line.
-      ElementList<Word> words = line.getWords();
-      if (words != null) {
-        for (int j = 1; j < words.size(); j++) {
-          Word prevWord = words.get(j - 1);
-          Word word = words.get(j);
-          if (prevWord != null && word != null) {
-            Rectangle prevRectangle = prevWord.getLastPosition().getRectangle();
-            Rectangle rectangle = word.getFirstPosition().getRectangle();
-            if (prevRectangle != null && rectangle != null) {
-              float prevMaxX = prevRectangle.getMaxX();
-              float minX = rectangle.getMinX();
-              whitespaceWidthFreqs.add(minX - prevMaxX);
-            }
+    // Initialize the counters if they are not set yet.
+    Map<FontFace, FloatCounter> linePitches = target.getLinePitchFrequencies();
+    if (linePitches == null) {
+      linePitches = new HashMap<>();
+      target.setLinePitchFrequencies(linePitches);
+    }
+    FloatCounter whitespaceWidthFreqs = target.getWhitespaceWidthFrequencies();
+    if (whitespaceWidthFreqs == null) {
+      whitespaceWidthFreqs = this.floatCounterFactory.create();
+      target.setWhitespaceWidthFrequencies(whitespaceWidthFreqs);
+    }
+
+    if (prevLine == null || line == null) {
+      return;
+    }
+
+    // Compute the line pitch between the current line and the previous line.
+    float linePitch = computeLinePitch(prevLine, line);
+    if (!Float.isNaN(linePitch)) {
+      // Compute the font face of the current line.
+      CharacterStatistic charStatistics = line.getCharacterStatistic();
+      FontFace fontFace = charStatistics.getMostCommonFontFace();
+      // Add a new float counter if there is none for the given font face.
+      linePitches.putIfAbsent(fontFace, this.floatCounterFactory.create());
+      linePitches.get(fontFace).add(linePitch);
+    }
+
+    // Compute the whitespace widths in the line.
+    ElementList<Word> words = line.getWords();
+    if (words != null) {
+      for (int j = 1; j < words.size(); j++) {
+        Word prevWord = words.get(j - 1);
+        Word word = words.get(j);
+        if (prevWord != null && word != null) {
+          Rectangle prevRectangle = prevWord.getLastPosition().getRectangle();
+          Rectangle rectangle = word.getFirstPosition().getRectangle();
+          if (prevRectangle != null && rectangle != null) {
+            float prevMaxX = prevRectangle.getMaxX();
+            float minX = rectangle.getMinX();
+            whitespaceWidthFreqs.add(minX - prevMaxX);
           }
         }
       }
     }
-
-    statistic.setLinePitchFrequencies(linePitches);
-    statistic.setWhitespaceWidthFrequencies(whitespaceWidthFreqs);
-
-    return statistic;
   }
 
   @Override
@@ -119,30 +135,52 @@ public class PlainTextLineStatistician implements TextLineStatistician {
     TextLineStatistic statistic = this.textLineStatisticFactory.create();
 
     // Initialize counters for the line pitches and whitespace widths.
-    Map<FontFace, FloatCounter> linePitches = new HashMap<>();
-    FloatCounter whitespaceWidthFreqs = this.floatCounterFactory.create();
+    statistic.setLinePitchFrequencies(new HashMap<>());
+    statistic.setWhitespaceWidthFrequencies(this.floatCounterFactory.create());
 
     // Aggregate the given statistics.
     for (HasTextLineStatistic hasStat : hasStats) {
-      TextLineStatistic stat = hasStat.getTextLineStatistic();
-      for (FontFace fontFace : stat.getLinePitchFrequencies().keySet()) {
-        FloatCounter linePitchFreqs;
-        if (linePitches.containsKey(fontFace)) {
-          linePitchFreqs = linePitches.get(fontFace);
-        } else {
+      extend(statistic, hasStat.getTextLineStatistic());
+    }
+
+    return statistic;
+  }
+
+  @Override
+  public void extend(TextLineStatistic target, TextLineStatistic stat) {
+    if (target == null) {
+      return;
+    }
+
+    // Initialize the counters if they are not set yet.
+    Map<FontFace, FloatCounter> linePitches = target.getLinePitchFrequencies();
+    if (linePitches == null) {
+      linePitches = new HashMap<>();
+      target.setLinePitchFrequencies(linePitches);
+    }
+    FloatCounter whitespaceWidthFreqs = target.getWhitespaceWidthFrequencies();
+    if (whitespaceWidthFreqs == null) {
+      whitespaceWidthFreqs = this.floatCounterFactory.create();
+      target.setWhitespaceWidthFrequencies(whitespaceWidthFreqs);
+    }
+
+    if (stat == null) {
+      return;
+    }
+
+    Map<FontFace, FloatCounter> statLinePitches =
+        stat.getLinePitchFrequencies();
+    if (statLinePitches != null) {
+      for (Map.Entry<FontFace, FloatCounter> e : statLinePitches.entrySet()) {
+        FloatCounter linePitchFreqs = linePitches.get(e.getKey());
+        if (linePitchFreqs == null) {
           linePitchFreqs = this.floatCounterFactory.create();
-          linePitches.put(fontFace, linePitchFreqs);
+          linePitches.put(e.getKey(), linePitchFreqs);
         }
-        linePitchFreqs.add(stat.getLinePitchFrequencies().get(fontFace));
+        linePitchFreqs.add(e.getValue());
       }
-      whitespaceWidthFreqs.add(stat.getWhitespaceWidthFrequencies());
     }
-
-    // Fill the statistic object.
-    statistic.setLinePitchFrequencies(linePitches);
-    statistic.setWhitespaceWidthFrequencies(whitespaceWidthFreqs);
-
-    return statistic;
+    whitespaceWidthFreqs.add(stat.getWhitespaceWidthFrequencies());
   }
 
   // ==========================================================================
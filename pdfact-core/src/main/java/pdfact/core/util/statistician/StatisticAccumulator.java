@@ -0,0 +1,40 @@
+package pdfact.core.util.statistician;
+
+/**
+ * An accumulator that collects partial statistics (for example, the
+ * statistics of single pages) from concurrent workers and combines them to a
+ * single statistic (for example, the statistic of the whole document) once all
+ * workers are done.
+ *
+ * Each partial statistic is added together with an ordinal (for example, the
+ * page number) that defines the order in which the partial statistics are
+ * combined, so that the combined statistic doesn't depend on the order in
+ * which the workers were scheduled.
+ *
+ * @param <S>
+ *        The type of the statistics.
+ *
+ * @author Claudius Korzen
+ */
+public interface StatisticAccumulator<S> {
+  /**
+   * Adds the given partial statistic to this accumulator. This method can be
+   * called concurrently by multiple threads.
+   *
+   * @param ordinal
+   *        The ordinal of the statistic, defining the position of the
+   *        statistic in the combination order. The ordinals should be unique.
+   * @param statistic
+   *        The partial statistic to add.
+   */
+  void add(int ordinal, S statistic);
+
+  /**
+   * Combines all partial statistics added so far to a single statistic, in
+   * ascending order of their ordinals. This method must be called at a barrier,
+   * that is: after all workers finished adding their partial statistics.
+   *
+   * @return The combined statistic.
+   */
+  S combine();
+}
@@ -0,0 +1,25 @@
+package pdfact.core.util.statistician;
+
+import pdfact.core.model.TextLineStatistic;
+
+/**
+ * A {@link StatisticAccumulator} that combines text line statistics.
+ * 
+ * @author Claudius Korzen
+ */
+public interface TextLineStatisticAccumulator
+    extends StatisticAccumulator<TextLineStatistic> {
+  /**
+   * The factory to create instances of {@link TextLineStatisticAccumulator}.
+   * 
+   * @author Claudius Korzen
+   */
+  public interface TextLineStatisticAccumulatorFactory {
+    /**
+     * Creates a new instance of {@link TextLineStatisticAccumulator}.
+     * 
+     * @return A new instance of {@link TextLineStatisticAccumulator}.
+     */
+    TextLineStatisticAccumulator create();
+  }
+}
@@ -43,4 +43,30 @@ public interface TextLineStatistician {
    * @return The combined statistics.
    */
   TextLineStatistic aggregate(List<? extends HasTextLineStatistic> stats);
+
+  /**
+   * Adds the line pitch between the given previous line and the given line and
+   * the whitespace widths in the given line to the given target statistic,
+   * such that the target statistic can be maintained incrementally while text
+   * lines are appended.
+   * 
+   * @param target
+   *        The statistic to extend.
+   * @param prevLine
+   *        The previous text line.
+   * @param line
+   *        The text line that follows the previous text line.
+   */
+  void extend(TextLineStatistic target, TextLine prevLine, TextLine line);
+
+  /**
+   * Adds the given text line statistic to the given target statistic, such
+   * that the target statistic can be maintained incrementally.
+   * 
+   * @param target
+   *        The statistic to extend.
+   * @param stat
+   *        The statistic to add to the target statistic.
+   */
+  void extend(TextLineStatistic target, TextLineStatistic stat);
 }
\ No newline at end of file
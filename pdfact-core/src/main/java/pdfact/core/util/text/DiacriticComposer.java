@@ -0,0 +1,146 @@
+package pdfact.core.util.text;
+
+import java.text.Normalizer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Composes base characters with combining diacritics into their NFC form
+ * (for example, "e" and U+0301 COMBINING ACUTE ACCENT into "é").
+ *
+ * The pairs of a single base character and a single combining diacritic are
+ * answered from a cache instead of running the normalizer: the compositions
+ * of the Latin letters up to U+00FF with all combining diacritical marks
+ * (U+0300 to U+036F) are precomputed in a table; the compositions of other
+ * pairs are cached in a bounded map on first use. All other inputs (for
+ * example, a base text consisting of multiple characters) are passed to the
+ * normalizer.
+ *
+ * @author Claudius Korzen
+ */
+public class DiacriticComposer {
+  /**
+   * The first base character of the precomputed table.
+   */
+  protected static final char MIN_TABLE_BASE = 'A';
+
+  /**
+   * The last base character of the precomputed table.
+   */
+  protected static final char MAX_TABLE_BASE = '\u00FF';
+
+  /**
+   * The first combining diacritic of the precomputed table.
+   */
+  protected static final char MIN_TABLE_DIACRITIC = '\u0300';
+
+  /**
+   * The last combining diacritic of the precomputed table.
+   */
+  protected static final char MAX_TABLE_DIACRITIC = '\u036F';
+
+  /**
+   * The maximum number of compositions in the cache of the pairs outside of
+   * the precomputed table.
+   */
+  protected static final int MAX_CACHE_SIZE = 4096;
+
+  /**
+   * The precomputed compositions, indexed by the base character and the
+   * diacritic (relative to MIN_TABLE_BASE and MIN_TABLE_DIACRITIC).
+   */
+  protected static final String[][] TABLE;
+
+  static {
+    int numBases = MAX_TABLE_BASE - MIN_TABLE_BASE + 1;
+    int numDiacritics = MAX_TABLE_DIACRITIC - MIN_TABLE_DIACRITIC + 1;
+    TABLE = new String[numBases][numDiacritics];
+    for (int i = 0; i < numBases; i++) {
+      char base = (char) (MIN_TABLE_BASE + i);
+      if (!Character.isLetter(base)) {
+        continue;
+      }
+      for (int j = 0; j < numDiacritics; j++) {
+        char diacritic = (char) (MIN_TABLE_DIACRITIC + j);
+        TABLE[i][j] = normalize(base, diacritic);
+      }
+    }
+  }
+
+  /**
+   * The cached compositions of the pairs outside of the precomputed table,
+   * keyed by the base character (upper 16 bits) and the diacritic (lower 16
+   * bits).
+   */
+  protected static final Map<Integer, String> CACHE =
+      new ConcurrentHashMap<>();
+
+  // ==========================================================================
+
+  /**
+   * Composes the given base text with the given diacritic text and returns
+   * the result in NFC form.
+   *
+   * @param base
+   *        The base text.
+   * @param diacritic
+   *        The (combining) diacritic text.
+   *
+   * @return The NFC form of the concatenation of the given texts.
+   */
+  public static String compose(String base, String diacritic) {
+    if (base.length() != 1 || diacritic.length() != 1) {
+      return Normalizer.normalize(base + diacritic, Normalizer.Form.NFC);
+    }
+    return compose(base.charAt(0), diacritic.charAt(0));
+  }
+
+  /**
+   * Composes the given base character with the given diacritic and returns
+   * the result in NFC form.
+   *
+   * @param base
+   *        The base character.
+   * @param diacritic
+   *        The (combining) diacritic.
+   *
+   * @return The NFC form of the concatenation of the given characters.
+   */
+  public static String compose(char base, char diacritic) {
+    if (base >= MIN_TABLE_BASE && base <= MAX_TABLE_BASE
+        && diacritic >= MIN_TABLE_DIACRITIC
+        && diacritic <= MAX_TABLE_DIACRITIC) {
+      String composition =
+          TABLE[base - MIN_TABLE_BASE][diacritic - MIN_TABLE_DIACRITIC];
+      if (composition != null) {
+        return composition;
+      }
+    }
+
+    Integer key = (base << 16) | diacritic;
+    String composition = CACHE.get(key);
+    if (composition == null) {
+      composition = normalize(base, diacritic);
+      // Stop caching when the cache is full; the pairs are normalized then.
+      if (CACHE.size() < MAX_CACHE_SIZE) {
+        CACHE.put(key, composition);
+      }
+    }
+    return composition;
+  }
+
+  /**
+   * Runs the normalizer on the concatenation of the given characters.
+   *
+   * @param base
+   *        The base character.
+   * @param diacritic
+   *        The diacritic.
+   *
+   * @return The NFC form of the concatenation of the given characters.
+   */
+  protected static String normalize(char base, char diacritic) {
+    String text = new String(new char[] { base, diacritic });
+    return Normalizer.normalize(text, Normalizer.Form.NFC);
+  }
+}
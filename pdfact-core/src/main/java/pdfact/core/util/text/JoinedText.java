@@ -0,0 +1,139 @@
+package pdfact.core.util.text;
+
+import java.util.List;
+
+import pdfact.core.model.HasText;
+
+/**
+ * A lazy view on the joined texts of a list of elements (for example, the
+ * characters of a word or the words of a text line). The texts of the elements
+ * are not copied until the view is materialized to a string, which happens at
+ * most once. Joined texts of child elements are appended directly into the
+ * buffer of the parent, so that the intermediate levels of a text hierarchy
+ * (words, text lines, ...) don't need to be materialized to build the text of
+ * the top level.
+ *
+ * Note that the view reflects the elements at the time it is materialized.
+ * The owner of the view is responsible for discarding it when the elements
+ * change.
+ *
+ * @author Claudius Korzen
+ */
+public class JoinedText implements CharSequence {
+  /**
+   * The elements whose texts are joined.
+   */
+  protected final List<? extends HasText> elements;
+
+  /**
+   * The delimiter to put between the texts of two elements.
+   */
+  protected final String delimiter;
+
+  /**
+   * The length of the joined text, or -1 if it wasn't computed yet.
+   */
+  protected int length = -1;
+
+  /**
+   * The materialized text, or null if the text wasn't materialized yet.
+   */
+  protected String string;
+
+  /**
+   * Creates a new view on the joined texts of the given elements.
+   *
+   * @param elements
+   *        The elements whose texts are to be joined.
+   * @param delimiter
+   *        The delimiter to put between the texts of two elements.
+   */
+  public JoinedText(List<? extends HasText> elements, String delimiter) {
+    this.elements = elements;
+    this.delimiter = delimiter != null ? delimiter : "";
+  }
+
+  // ==========================================================================
+
+  @Override
+  public int length() {
+    if (this.string != null) {
+      return this.string.length();
+    }
+
+    if (this.length < 0) {
+      int length = 0;
+      for (int i = 0; i < this.elements.size(); i++) {
+        if (i > 0) {
+          length += this.delimiter.length();
+        }
+        CharSequence text = getText(this.elements.get(i));
+        if (text != null) {
+          length += text.length();
+        }
+      }
+      this.length = length;
+    }
+    return this.length;
+  }
+
+  @Override
+  public char charAt(int index) {
+    return toString().charAt(index);
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    return toString().subSequence(start, end);
+  }
+
+  @Override
+  public String toString() {
+    if (this.string == null) {
+      StringBuilder builder = new StringBuilder(length());
+      appendTo(builder);
+      this.string = builder.toString();
+    }
+    return this.string;
+  }
+
+  // ==========================================================================
+
+  /**
+   * Appends the joined text to the given builder, without materializing this
+   * view or the views of the child elements.
+   *
+   * @param builder
+   *        The builder to append the text to.
+   */
+  public void appendTo(StringBuilder builder) {
+    if (this.string != null) {
+      builder.append(this.string);
+      return;
+    }
+
+    for (int i = 0; i < this.elements.size(); i++) {
+      if (i > 0) {
+        builder.append(this.delimiter);
+      }
+      CharSequence text = getText(this.elements.get(i));
+      if (text instanceof JoinedText) {
+        ((JoinedText) text).appendTo(builder);
+      } else if (text != null) {
+        builder.append(text);
+      }
+    }
+  }
+
+  /**
+   * Returns the text of the given element.
+   *
+   * @param element
+   *        The element to process.
+   *
+   * @return The text of the given element or null if the element is null.
+   */
+  protected static CharSequence getText(HasText element) {
+    return element != null ? element.getTextSequence() : null;
+  }
+}
@@ -0,0 +1,1038 @@
+package pdfact.core.util.text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * A deterministic finite automaton that matches a set of patterns against the
+ * prefixes of texts. All patterns are anchored at the start of a text; a
+ * pattern matches a text if it matches any prefix of the text (like
+ * {@link java.util.regex.Matcher#find()} on a pattern starting with "^").
+ *
+ * The patterns are given in a subset of the syntax of java.util.regex:
+ * literals and escaped characters, the character classes \s, \d, \w (and their
+ * negations) and ".", bracket classes with ranges and negation, groups with
+ * alternatives, the (greedy or lazy) quantifiers ?, *, +, {m}, {m,} and
+ * {m,n}, a leading "^" and "$". A pattern can be case-insensitive (for the
+ * ASCII letters, like Pattern.CASE_INSENSITIVE). Use
+ * {@link #isSupported(String, boolean)} to check whether a pattern is in this
+ * subset.
+ *
+ * The automaton is built by translating the patterns to a nondeterministic
+ * automaton and determinizing it over the character classes that are
+ * distinguished by the patterns. Each state knows the patterns that match
+ * when it is reached, that match when the text ends in the state and that
+ * can still match from the state; this allows to stop scanning a text as soon
+ * as the outcome is known.
+ *
+ * @author Claudius Korzen
+ */
+public class PrefixAutomaton {
+  /**
+   * The maximum number of states of an automaton.
+   */
+  protected static final int MAX_NUM_STATES = 10000;
+
+  /**
+   * The line terminators, as recognized by "." and "$".
+   */
+  protected static final String LINE_TERMINATORS = "\n\r\u0085\u2028\u2029";
+
+  /**
+   * The first characters of the character classes of the automaton, sorted.
+   */
+  protected int[] boundaries;
+
+  /**
+   * The character classes of the ASCII characters.
+   */
+  protected int[] asciiClasses;
+
+  /**
+   * The number of character classes.
+   */
+  protected int numClasses;
+
+  /**
+   * The transitions, indexed by (state * numClasses + class); -1 if there is
+   * no transition.
+   */
+  protected int[] transitions;
+
+  /**
+   * The patterns that match when a state is reached, per state.
+   */
+  protected long[] matches;
+
+  /**
+   * The patterns that match when the text ends in a state, per state.
+   */
+  protected long[] endMatches;
+
+  /**
+   * The patterns that can still match from a state, per state.
+   */
+  protected long[] possibleMatches;
+
+  // ==========================================================================
+
+  /**
+   * Creates a new automaton for the given patterns.
+   *
+   * @param patterns
+   *        The patterns.
+   * @param ignoreCases
+   *        The flags that indicate whether the patterns are case-insensitive.
+   * @param ids
+   *        The ids of the patterns, in [0, 64).
+   *
+   * @throws IllegalArgumentException
+   *         If a pattern is not supported.
+   */
+  public PrefixAutomaton(List<String> patterns, List<Boolean> ignoreCases,
+      List<Integer> ids) {
+    Nfa nfa = new Nfa();
+    int start = nfa.addState();
+    for (int i = 0; i < patterns.size(); i++) {
+      Parser parser = new Parser(patterns.get(i), ignoreCases.get(i));
+      int[] fragment = nfa.build(parser.parse());
+      nfa.addEpsilon(start, fragment[0]);
+      nfa.accepts.set(fragment[1], ids.get(i));
+    }
+    determinize(nfa, start);
+  }
+
+  // ==========================================================================
+
+  /**
+   * Checks if the given pattern is in the subset of the syntax of
+   * java.util.regex supported by this automaton.
+   *
+   * @param pattern
+   *        The pattern.
+   * @param ignoreCase
+   *        True, if the pattern is case-insensitive.
+   *
+   * @return True, if the pattern is supported; false otherwise.
+   */
+  public static boolean isSupported(String pattern, boolean ignoreCase) {
+    try {
+      new Parser(pattern, ignoreCase).parse();
+      return true;
+    } catch (IllegalArgumentException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Returns the state that follows the given state on reading the given
+   * character.
+   *
+   * @param state
+   *        The current state (the start state is 0).
+   * @param c
+   *        The character to read.
+   *
+   * @return The next state or -1 if no pattern can match anymore.
+   */
+  public int next(int state, char c) {
+    return this.transitions[state * this.numClasses + getClass(c)];
+  }
+
+  /**
+   * Returns the patterns that match when the given state is reached.
+   *
+   * @param state
+   *        The state.
+   *
+   * @return The patterns, as a bit mask of their ids.
+   */
+  public long getMatches(int state) {
+    return this.matches[state];
+  }
+
+  /**
+   * Returns the patterns that match when the text ends in the given state
+   * (that is: the patterns that require "$" at this point).
+   *
+   * @param state
+   *        The state.
+   *
+   * @return The patterns, as a bit mask of their ids.
+   */
+  public long getEndMatches(int state) {
+    return this.endMatches[state];
+  }
+
+  /**
+   * Returns the patterns that can still match from the given state.
+   *
+   * @param state
+   *        The state.
+   *
+   * @return The patterns, as a bit mask of their ids.
+   */
+  public long getPossibleMatches(int state) {
+    return this.possibleMatches[state];
+  }
+
+  /**
+   * Returns the number of states of this automaton.
+   *
+   * @return The number of states of this automaton.
+   */
+  public int getNumStates() {
+    return this.matches.length;
+  }
+
+  /**
+   * Returns the character class of the given character.
+   *
+   * @param c
+   *        The character.
+   *
+   * @return The character class of the given character.
+   */
+  protected int getClass(char c) {
+    if (c < 128) {
+      return this.asciiClasses[c];
+    }
+    int index = Arrays.binarySearch(this.boundaries, c);
+    return index >= 0 ? index : -index - 2;
+  }
+
+  // ==========================================================================
+
+  /**
+   * Builds the deterministic automaton from the given nondeterministic
+   * automaton by the subset construction.
+   *
+   * @param nfa
+   *        The nondeterministic automaton.
+   * @param start
+   *        The start state of the nondeterministic automaton.
+   */
+  protected void determinize(Nfa nfa, int start) {
+    // Compute the character classes distinguished by the patterns.
+    TreeSet<Integer> points = new TreeSet<>();
+    points.add(0);
+    for (int[] ranges : nfa.charRanges) {
+      for (int i = 0; ranges != null && i < ranges.length; i += 2) {
+        points.add(ranges[i]);
+        if (ranges[i + 1] < Character.MAX_VALUE) {
+          points.add(ranges[i + 1] + 1);
+        }
+      }
+    }
+    this.boundaries = new int[points.size()];
+    int k = 0;
+    for (int point : points) {
+      this.boundaries[k++] = point;
+    }
+    this.numClasses = this.boundaries.length;
+    this.asciiClasses = new int[128];
+    for (char c = 0; c < 128; c++) {
+      int index = Arrays.binarySearch(this.boundaries, c);
+      this.asciiClasses[c] = index >= 0 ? index : -index - 2;
+    }
+
+    List<BitSet> states = new ArrayList<>();
+    Map<BitSet, Integer> stateIds = new HashMap<>();
+    List<int[]> transitions = new ArrayList<>();
+
+    BitSet startSet = new BitSet();
+    startSet.set(start);
+    nfa.closure(startSet);
+    states.add(startSet);
+    stateIds.put(startSet, 0);
+
+    for (int s = 0; s < states.size(); s++) {
+      BitSet set = states.get(s);
+      int[] row = new int[this.numClasses];
+      for (int c = 0; c < this.numClasses; c++) {
+        BitSet target = nfa.move(set, this.boundaries[c]);
+        if (target.isEmpty()) {
+          row[c] = -1;
+          continue;
+        }
+        Integer id = stateIds.get(target);
+        if (id == null) {
+          if (states.size() >= MAX_NUM_STATES) {
+            throw new IllegalArgumentException("The patterns are too complex.");
+          }
+          id = states.size();
+          states.add(target);
+          stateIds.put(target, id);
+        }
+        row[c] = id;
+      }
+      transitions.add(row);
+    }
+
+    int numStates = states.size();
+    this.transitions = new int[numStates * this.numClasses];
+    this.matches = new long[numStates];
+    this.endMatches = new long[numStates];
+    this.possibleMatches = new long[numStates];
+    for (int s = 0; s < numStates; s++) {
+      System.arraycopy(transitions.get(s), 0, this.transitions,
+          s * this.numClasses, this.numClasses);
+      this.matches[s] = nfa.getMatches(states.get(s));
+      this.endMatches[s] = nfa.getMatches(nfa.moveToEnd(states.get(s)));
+      this.possibleMatches[s] = this.matches[s] | this.endMatches[s];
+    }
+
+    // Propagate the possible matches backwards until nothing changes.
+    boolean changed = true;
+    while (changed) {
+      changed = false;
+      for (int s = 0; s < numStates; s++) {
+        long possible = this.possibleMatches[s];
+        for (int c = 0; c < this.numClasses; c++) {
+          int t = this.transitions[s * this.numClasses + c];
+          if (t >= 0) {
+            possible |= this.possibleMatches[t];
+          }
+        }
+        if (possible != this.possibleMatches[s]) {
+          this.possibleMatches[s] = possible;
+          changed = true;
+        }
+      }
+    }
+  }
+
+  // ==========================================================================
+
+  /**
+   * A node of the syntax tree of a pattern.
+   */
+  protected static class Node {
+    /**
+     * The type of a node that matches a single character.
+     */
+    static final int CHARS = 0;
+
+    /**
+     * The type of a node that matches the end of the text.
+     */
+    static final int END = 1;
+
+    /**
+     * The type of a node that matches a sequence of nodes.
+     */
+    static final int SEQUENCE = 2;
+
+    /**
+     * The type of a node that matches one of the alternatives.
+     */
+    static final int ALTERNATIVE = 3;
+
+    /**
+     * The type of a node that matches a repetition of a node.
+     */
+    static final int REPEAT = 4;
+
+    /**
+     * The type of this node.
+     */
+    int type;
+
+    /**
+     * The character ranges of a CHARS node (pairs of inclusive bounds).
+     */
+    int[] ranges;
+
+    /**
+     * The children of a SEQUENCE or ALTERNATIVE node, or the repeated node of
+     * a REPEAT node.
+     */
+    List<Node> children = new ArrayList<>();
+
+    /**
+     * The minimum number of repetitions of a REPEAT node.
+     */
+    int min;
+
+    /**
+     * The maximum number of repetitions of a REPEAT node (-1 if unbounded).
+     */
+    int max;
+
+    /**
+     * Creates a new node of the given type.
+     *
+     * @param type
+     *        The type of the node.
+     */
+    Node(int type) {
+      this.type = type;
+    }
+  }
+
+  // ==========================================================================
+
+  /**
+   * A parser that translates a pattern to a syntax tree.
+   */
+  protected static class Parser {
+    /**
+     * The pattern.
+     */
+    protected String pattern;
+
+    /**
+     * True, if the pattern is case-insensitive.
+     */
+    protected boolean ignoreCase;
+
+    /**
+     * The current position in the pattern.
+     */
+    protected int pos;
+
+    /**
+     * Creates a new parser for the given pattern.
+     *
+     * @param pattern
+     *        The pattern.
+     * @param ignoreCase
+     *        True, if the pattern is case-insensitive.
+     */
+    Parser(String pattern, boolean ignoreCase) {
+      this.pattern = pattern;
+      this.ignoreCase = ignoreCase;
+    }
+
+    /**
+     * Parses the pattern.
+     *
+     * @return The syntax tree of the pattern.
+     */
+    Node parse() {
+      if (this.pos < this.pattern.length() && peek() == '^') {
+        this.pos++;
+      }
+      Node node = parseAlternative();
+      if (this.pos < this.pattern.length()) {
+        throw error("Unmatched closing ')'");
+      }
+      return node;
+    }
+
+    /**
+     * Parses alternatives, separated by "|".
+     *
+     * @return The parsed node.
+     */
+    Node parseAlternative() {
+      Node node = new Node(Node.ALTERNATIVE);
+      node.children.add(parseSequence());
+      while (this.pos < this.pattern.length() && peek() == '|') {
+        this.pos++;
+        node.children.add(parseSequence());
+      }
+      return node.children.size() == 1 ? node.children.get(0) : node;
+    }
+
+    /**
+     * Parses a sequence of (quantified) atoms.
+     *
+     * @return The parsed node.
+     */
+    Node parseSequence() {
+      Node node = new Node(Node.SEQUENCE);
+      while (this.pos < this.pattern.length() && peek() != '|'
+          && peek() != ')') {
+        node.children.add(parseQuantifier(parseAtom()));
+      }
+      return node;
+    }
+
+    /**
+     * Parses an atom.
+     *
+     * @return The parsed node.
+     */
+    Node parseAtom() {
+      char c = this.pattern.charAt(this.pos++);
+      switch (c) {
+        case '(':
+          if (this.pattern.startsWith("?:", this.pos)) {
+            this.pos += 2;
+          } else if (this.pos < this.pattern.length() && peek() == '?') {
+            throw error("Unsupported group construct");
+          }
+          Node node = parseAlternative();
+          if (this.pos >= this.pattern.length() || peek() != ')') {
+            throw error("Unclosed group");
+          }
+          this.pos++;
+          return node;
+        case '[':
+          return chars(parseClass());
+        case '.':
+          return chars(complement(toRanges(LINE_TERMINATORS)));
+        case '$':
+          return new Node(Node.END);
+        case '\\':
+          int[] ranges = parseEscape();
+          return chars(ranges.length == 2 && ranges[0] == ranges[1]
+              ? foldCase(ranges) : ranges);
+        case '^':
+        case '*':
+        case '+':
+        case '?':
+        case '{':
+          throw error("Dangling or unsupported meta character '" + c + "'");
+        default:
+          return chars(foldCase(new int[] { c, c }));
+      }
+    }
+
+    /**
+     * Parses a quantifier (if there is any) of the given atom.
+     *
+     * @param atom
+     *        The atom.
+     *
+     * @return The quantified atom or the atom itself if there is no
+     *         quantifier.
+     */
+    Node parseQuantifier(Node atom) {
+      if (this.pos >= this.pattern.length()) {
+        return atom;
+      }
+      int min;
+      int max;
+      char c = peek();
+      if (c == '?') {
+        min = 0;
+        max = 1;
+      } else if (c == '*') {
+        min = 0;
+        max = -1;
+      } else if (c == '+') {
+        min = 1;
+        max = -1;
+      } else if (c == '{') {
+        int end = this.pattern.indexOf('}', this.pos);
+        if (end < 0) {
+          throw error("Unclosed counted closure");
+        }
+        String[] bounds = this.pattern.substring(this.pos + 1, end)
+            .split(",", -1);
+        try {
+          min = Integer.parseInt(bounds[0]);
+          if (bounds.length == 1) {
+            max = min;
+          } else if (bounds.length == 2) {
+            max = bounds[1].isEmpty() ? -1 : Integer.parseInt(bounds[1]);
+          } else {
+            throw error("Illegal repetition");
+          }
+        } catch (NumberFormatException e) {
+          throw error("Illegal repetition");
+        }
+        if (max >= 0 && max < min) {
+          throw error("Illegal repetition range");
+        }
+        this.pos = end;
+      } else {
+        return atom;
+      }
+      this.pos++;
+
+      // A lazy quantifier doesn't change whether a prefix matches, but a
+      // possessive one does (it never gives back a repetition).
+      if (this.pos < this.pattern.length() && peek() == '?') {
+        this.pos++;
+      } else if (this.pos < this.pattern.length() && peek() == '+') {
+        throw error("Unsupported possessive quantifier");
+      }
+
+      Node node = new Node(Node.REPEAT);
+      node.children.add(atom);
+      node.min = min;
+      node.max = max;
+      return node;
+    }
+
+    /**
+     * Parses a bracket class (after the opening "[").
+     *
+     * @return The character ranges of the class.
+     */
+    int[] parseClass() {
+      boolean negate = false;
+      if (this.pos < this.pattern.length() && peek() == '^') {
+        negate = true;
+        this.pos++;
+      }
+      List<int[]> items = new ArrayList<>();
+      while (true) {
+        if (this.pos >= this.pattern.length()) {
+          throw error("Unclosed character class");
+        }
+        char c = this.pattern.charAt(this.pos++);
+        if (c == ']') {
+          break;
+        }
+        if (c == '[' || (c == '&' && this.pos < this.pattern.length()
+            && peek() == '&')) {
+          throw error("Unsupported character class construct");
+        }
+        int[] item;
+        if (c == '\\') {
+          item = parseEscape();
+        } else {
+          item = new int[] { c, c };
+        }
+        // Check for a range like "a-z".
+        if (item.length == 2 && item[0] == item[1]
+            && this.pos + 1 < this.pattern.length() && peek() == '-'
+            && this.pattern.charAt(this.pos + 1) != ']') {
+          this.pos++;
+          char d = this.pattern.charAt(this.pos++);
+          int[] upper = d == '\\' ? parseEscape() : new int[] { d, d };
+          if (upper.length != 2 || upper[0] != upper[1] || upper[0] < item[0]) {
+            throw error("Illegal character range");
+          }
+          item = new int[] { item[0], upper[0] };
+        }
+        items.add(item);
+      }
+      int[] ranges = foldCase(union(items));
+      return negate ? complement(ranges) : ranges;
+    }
+
+    /**
+     * Parses an escape sequence (after the backslash).
+     *
+     * @return The character ranges of the escape sequence.
+     */
+    int[] parseEscape() {
+      if (this.pos >= this.pattern.length()) {
+        throw error("Unexpected end of pattern");
+      }
+      char c = this.pattern.charAt(this.pos++);
+      switch (c) {
+        case 's':
+          return toRanges(" \t\n\u000B\f\r");
+        case 'S':
+          return complement(toRanges(" \t\n\u000B\f\r"));
+        case 'd':
+          return new int[] { '0', '9' };
+        case 'D':
+          return complement(new int[] { '0', '9' });
+        case 'w':
+          return union(Arrays.asList(new int[] { '0', '9' },
+              new int[] { 'A', 'Z' }, new int[] { '_', '_' },
+              new int[] { 'a', 'z' }));
+        case 'W':
+          return complement(union(Arrays.asList(new int[] { '0', '9' },
+              new int[] { 'A', 'Z' }, new int[] { '_', '_' },
+              new int[] { 'a', 'z' })));
+        case 't':
+          return new int[] { '\t', '\t' };
+        case 'n':
+          return new int[] { '\n', '\n' };
+        case 'r':
+          return new int[] { '\r', '\r' };
+        case 'f':
+          return new int[] { '\f', '\f' };
+        default:
+          if (Character.isLetterOrDigit(c)) {
+            throw error("Unsupported escape sequence '\\" + c + "'");
+          }
+          return new int[] { c, c };
+      }
+    }
+
+    /**
+     * Creates a node that matches a character of the given ranges.
+     *
+     * @param ranges
+     *        The character ranges.
+     *
+     * @return The created node.
+     */
+    Node chars(int[] ranges) {
+      Node node = new Node(Node.CHARS);
+      node.ranges = ranges;
+      return node;
+    }
+
+    /**
+     * Adds the other cases of the ASCII letters in the given ranges, if the
+     * pattern is case-insensitive.
+     *
+     * @param ranges
+     *        The character ranges.
+     *
+     * @return The extended character ranges.
+     */
+    int[] foldCase(int[] ranges) {
+      if (!this.ignoreCase) {
+        return ranges;
+      }
+      List<int[]> items = new ArrayList<>();
+      items.add(ranges);
+      for (int i = 0; i < ranges.length; i += 2) {
+        int lower = Math.max(ranges[i], 'a');
+        int upper = Math.min(ranges[i + 1], 'z');
+        if (lower <= upper) {
+          items.add(new int[] { lower - 32, upper - 32 });
+        }
+        lower = Math.max(ranges[i], 'A');
+        upper = Math.min(ranges[i + 1], 'Z');
+        if (lower <= upper) {
+          items.add(new int[] { lower + 32, upper + 32 });
+        }
+      }
+      return union(items);
+    }
+
+    /**
+     * Returns the current character of the pattern.
+     *
+     * @return The current character of the pattern.
+     */
+    char peek() {
+      return this.pattern.charAt(this.pos);
+    }
+
+    /**
+     * Creates an exception for a syntax error at the current position.
+     *
+     * @param message
+     *        The error message.
+     *
+     * @return The created exception.
+     */
+    IllegalArgumentException error(String message) {
+      return new IllegalArgumentException(message + " near index " + this.pos
+          + " in pattern '" + this.pattern + "'.");
+    }
+  }
+
+  // ==========================================================================
+
+  /**
+   * A nondeterministic automaton with epsilon transitions.
+   */
+  protected static class Nfa {
+    /**
+     * The epsilon transitions, per state.
+     */
+    List<List<Integer>> epsilons = new ArrayList<>();
+
+    /**
+     * The character ranges of the character transition, per state (null if
+     * the state has no character transition).
+     */
+    List<int[]> charRanges = new ArrayList<>();
+
+    /**
+     * The target of the character transition, per state.
+     */
+    List<Integer> charTargets = new ArrayList<>();
+
+    /**
+     * The target of the transition on the end of the text, per state (-1 if
+     * the state has no such transition).
+     */
+    List<Integer> endTargets = new ArrayList<>();
+
+    /**
+     * The id of the pattern accepted by a state, per state (-1 if none).
+     */
+    List<Integer> accepts = new ArrayList<>();
+
+    /**
+     * Adds a new state.
+     *
+     * @return The new state.
+     */
+    int addState() {
+      this.epsilons.add(new ArrayList<>());
+      this.charRanges.add(null);
+      this.charTargets.add(-1);
+      this.endTargets.add(-1);
+      this.accepts.add(-1);
+      return this.accepts.size() - 1;
+    }
+
+    /**
+     * Adds an epsilon transition.
+     *
+     * @param from
+     *        The source state.
+     * @param to
+     *        The target state.
+     */
+    void addEpsilon(int from, int to) {
+      this.epsilons.get(from).add(to);
+    }
+
+    /**
+     * Builds the fragment of the given syntax tree.
+     *
+     * @param node
+     *        The syntax tree.
+     *
+     * @return The start state and the end state of the fragment.
+     */
+    int[] build(Node node) {
+      int start = addState();
+      int end = start;
+      switch (node.type) {
+        case Node.CHARS:
+          end = addState();
+          this.charRanges.set(start, node.ranges);
+          this.charTargets.set(start, end);
+          break;
+        case Node.END:
+          end = addState();
+          this.endTargets.set(start, end);
+          break;
+        case Node.SEQUENCE:
+          for (Node child : node.children) {
+            int[] fragment = build(child);
+            addEpsilon(end, fragment[0]);
+            end = fragment[1];
+          }
+          break;
+        case Node.ALTERNATIVE:
+          end = addState();
+          for (Node child : node.children) {
+            int[] fragment = build(child);
+            addEpsilon(start, fragment[0]);
+            addEpsilon(fragment[1], end);
+          }
+          break;
+        case Node.REPEAT:
+        default:
+          Node child = node.children.get(0);
+          for (int i = 0; i < node.min; i++) {
+            int[] fragment = build(child);
+            addEpsilon(end, fragment[0]);
+            end = fragment[1];
+          }
+          if (node.max < 0) {
+            int loop = addState();
+            int[] fragment = build(child);
+            addEpsilon(end, loop);
+            addEpsilon(loop, fragment[0]);
+            addEpsilon(fragment[1], loop);
+            end = loop;
+          } else {
+            List<Integer> exits = new ArrayList<>();
+            for (int i = node.min; i < node.max; i++) {
+              int[] fragment = build(child);
+              addEpsilon(end, fragment[0]);
+              exits.add(end);
+              end = fragment[1];
+            }
+            int last = addState();
+            for (int exit : exits) {
+              addEpsilon(exit, last);
+            }
+            addEpsilon(end, last);
+            end = last;
+          }
+          break;
+      }
+      return new int[] { start, end };
+    }
+
+    /**
+     * Extends the given set of states by all states that are reachable by
+     * epsilon transitions.
+     *
+     * @param states
+     *        The set of states.
+     */
+    void closure(BitSet states) {
+      int[] stack = new int[this.accepts.size()];
+      int size = 0;
+      for (int s = states.nextSetBit(0); s >= 0; s = states.nextSetBit(s + 1)) {
+        stack[size++] = s;
+      }
+      while (size > 0) {
+        int s = stack[--size];
+        for (int t : this.epsilons.get(s)) {
+          if (!states.get(t)) {
+            states.set(t);
+            stack[size++] = t;
+          }
+        }
+      }
+    }
+
+    /**
+     * Returns the (closed) set of states reachable from the given states by
+     * reading the given character.
+     *
+     * @param states
+     *        The set of states.
+     * @param c
+     *        The character.
+     *
+     * @return The set of reachable states.
+     */
+    BitSet move(BitSet states, int c) {
+      BitSet target = new BitSet();
+      for (int s = states.nextSetBit(0); s >= 0; s = states.nextSetBit(s + 1)) {
+        int[] ranges = this.charRanges.get(s);
+        if (ranges != null && contains(ranges, c)) {
+          target.set(this.charTargets.get(s));
+        }
+      }
+      closure(target);
+      return target;
+    }
+
+    /**
+     * Returns the (closed) set of states reachable from the given states by
+     * the end of the text.
+     *
+     * @param states
+     *        The set of states.
+     *
+     * @return The set of reachable states.
+     */
+    BitSet moveToEnd(BitSet states) {
+      BitSet target = new BitSet();
+      for (int s = states.nextSetBit(0); s >= 0; s = states.nextSetBit(s + 1)) {
+        if (this.endTargets.get(s) >= 0) {
+          target.set(this.endTargets.get(s));
+        }
+      }
+      closure(target);
+      return target;
+    }
+
+    /**
+     * Returns the patterns accepted by the given set of states.
+     *
+     * @param states
+     *        The set of states.
+     *
+     * @return The patterns, as a bit mask of their ids.
+     */
+    long getMatches(BitSet states) {
+      long matches = 0;
+      for (int s = states.nextSetBit(0); s >= 0; s = states.nextSetBit(s + 1)) {
+        if (this.accepts.get(s) >= 0) {
+          matches |= 1L << this.accepts.get(s);
+        }
+      }
+      return matches;
+    }
+  }
+
+  // ==========================================================================
+
+  /**
+   * Returns the ranges of the given characters.
+   *
+   * @param chars
+   *        The characters.
+   *
+   * @return The ranges of the given characters.
+   */
+  protected static int[] toRanges(String chars) {
+    List<int[]> items = new ArrayList<>();
+    for (int i = 0; i < chars.length(); i++) {
+      items.add(new int[] { chars.charAt(i), chars.charAt(i) });
+    }
+    return union(items);
+  }
+
+  /**
+   * Computes the union of the given ranges.
+   *
+   * @param items
+   *        The ranges.
+   *
+   * @return The sorted and merged union of the given ranges.
+   */
+  protected static int[] union(List<int[]> items) {
+    List<int[]> pairs = new ArrayList<>();
+    for (int[] item : items) {
+      for (int i = 0; i < item.length; i += 2) {
+        pairs.add(new int[] { item[i], item[i + 1] });
+      }
+    }
+    pairs.sort((p1, p2) -> Integer.compare(p1[0], p2[0]));
+
+    List<int[]> merged = new ArrayList<>();
+    for (int[] pair : pairs) {
+      int[] last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+      if (last != null && pair[0] <= last[1] + 1) {
+        last[1] = Math.max(last[1], pair[1]);
+      } else {
+        merged.add(pair);
+      }
+    }
+
+    int[] ranges = new int[merged.size() * 2];
+    for (int i = 0; i < merged.size(); i++) {
+      ranges[2 * i] = merged.get(i)[0];
+      ranges[2 * i + 1] = merged.get(i)[1];
+    }
+    return ranges;
+  }
+
+  /**
+   * Computes the complement of the given (sorted and merged) ranges.
+   *
+   * @param ranges
+   *        The ranges.
+   *
+   * @return The complement of the given ranges.
+   */
+  protected static int[] complement(int[] ranges) {
+    List<int[]> items = new ArrayList<>();
+    int next = 0;
+    for (int i = 0; i < ranges.length; i += 2) {
+      if (ranges[i] > next) {
+        items.add(new int[] { next, ranges[i] - 1 });
+      }
+      next = ranges[i + 1] + 1;
+    }
+    if (next <= Character.MAX_VALUE) {
+      items.add(new int[] { next, Character.MAX_VALUE });
+    }
+    return union(items);
+  }
+
+  /**
+   * Checks if the given (sorted and merged) ranges contain the given
+   * character.
+   *
+   * @param ranges
+   *        The ranges.
+   * @param c
+   *        The character.
+   *
+   * @return True, if the ranges contain the character; false otherwise.
+   */
+  protected static boolean contains(int[] ranges, int c) {
+    for (int i = 0; i < ranges.length; i += 2) {
+      if (c < ranges[i]) {
+        return false;
+      }
+      if (c <= ranges[i + 1]) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,329 @@
+package pdfact.core.util.text;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * A classifier that matches a text against a set of patterns and keywords in
+ * a single pass over the text. The patterns are anchored at the start of the
+ * text (see {@link PrefixAutomaton} for the supported syntax); the keywords
+ * are compared with the text reduced to its lowercased letters A-Z. Patterns
+ * that are not supported by the automaton (or that have other flags than
+ * Pattern.CASE_INSENSITIVE) fall back to java.util.regex: they are matched
+ * separately with {@link java.util.regex.Matcher#lookingAt()}.
+ *
+ * Each pattern and keyword is identified by an id in [0, 64), assigned on
+ * adding it to the {@link Builder}. The result of a classification is the bit
+ * mask of the ids of all patterns and keywords that match the text.
+ *
+ * A classifier is immutable and can be shared by any number of threads.
+ *
+ * @author Claudius Korzen
+ */
+public class TextClassifier {
+  /**
+   * The maximum number of patterns and keywords of a classifier.
+   */
+  public static final int MAX_NUM_IDS = 64;
+
+  /**
+   * The automaton of the patterns, reading the text as is.
+   */
+  protected PrefixAutomaton patternAutomaton;
+
+  /**
+   * The automaton of the keywords, reading the lowercased letters of the text.
+   */
+  protected PrefixAutomaton keywordAutomaton;
+
+  /**
+   * The patterns that are not supported by the automaton.
+   */
+  protected Pattern[] fallbackPatterns;
+
+  /**
+   * The ids of the patterns that are not supported by the automaton.
+   */
+  protected int[] fallbackIds;
+
+  // ==========================================================================
+
+  /**
+   * Creates a new classifier.
+   *
+   * @param patternAutomaton
+   *        The automaton of the patterns.
+   * @param keywordAutomaton
+   *        The automaton of the keywords.
+   * @param fallbackPatterns
+   *        The patterns that are not supported by the automaton.
+   * @param fallbackIds
+   *        The ids of the patterns that are not supported by the automaton.
+   */
+  protected TextClassifier(PrefixAutomaton patternAutomaton,
+      PrefixAutomaton keywordAutomaton, Pattern[] fallbackPatterns,
+      int[] fallbackIds) {
+    this.patternAutomaton = patternAutomaton;
+    this.keywordAutomaton = keywordAutomaton;
+    this.fallbackPatterns = fallbackPatterns;
+    this.fallbackIds = fallbackIds;
+  }
+
+  // ==========================================================================
+
+  /**
+   * Matches the given text against the patterns and keywords of this
+   * classifier.
+   *
+   * @param text
+   *        The text to classify.
+   *
+   * @return The bit mask of the ids of the matching patterns and keywords (0
+   *         if the text is null).
+   */
+  public long classify(CharSequence text) {
+    if (text == null) {
+      return 0;
+    }
+
+    PrefixAutomaton patterns = this.patternAutomaton;
+    PrefixAutomaton keywords = this.keywordAutomaton;
+    int patternState = 0;
+    int keywordState = 0;
+    long matches = patterns.getMatches(patternState);
+    boolean patternsDone = (patterns.getPossibleMatches(0) & ~matches) == 0;
+    boolean keywordsDone = keywords.getPossibleMatches(0) == 0;
+
+    int length = text.length();
+    for (int i = 0; i < length && !(patternsDone && keywordsDone); i++) {
+      char c = text.charAt(i);
+
+      if (!patternsDone) {
+        // "$" also matches in front of a line terminator at the end.
+        if (isFinalLineTerminator(text, i)) {
+          matches |= patterns.getEndMatches(patternState);
+        }
+        patternState = patterns.next(patternState, c);
+        if (patternState < 0) {
+          patternsDone = true;
+        } else {
+          matches |= patterns.getMatches(patternState);
+          long possible = patterns.getPossibleMatches(patternState);
+          patternsDone = (possible & ~matches) == 0;
+        }
+      }
+
+      if (!keywordsDone) {
+        if (c >= 'A' && c <= 'Z') {
+          c = (char) (c + ('a' - 'A'));
+        }
+        if (c >= 'a' && c <= 'z') {
+          keywordState = keywords.next(keywordState, c);
+          keywordsDone = keywordState < 0
+              || keywords.getPossibleMatches(keywordState) == 0;
+        }
+      }
+    }
+
+    if (patternState >= 0) {
+      matches |= patterns.getEndMatches(patternState);
+    }
+    if (keywordState >= 0) {
+      matches |= keywords.getEndMatches(keywordState);
+    }
+    for (int i = 0; i < this.fallbackPatterns.length; i++) {
+      if (this.fallbackPatterns[i].matcher(text).lookingAt()) {
+        matches |= 1L << this.fallbackIds[i];
+      }
+    }
+    return matches;
+  }
+
+  /**
+   * Checks if the character at the given index of the given text is the
+   * line terminator at the end of the text, in the sense of "$".
+   *
+   * @param text
+   *        The text.
+   * @param i
+   *        The index of the character.
+   *
+   * @return True, if the character is the final line terminator.
+   */
+  protected static boolean isFinalLineTerminator(CharSequence text, int i) {
+    int length = text.length();
+    char c = text.charAt(i);
+    if (i == length - 2) {
+      return c == '\r' && text.charAt(i + 1) == '\n';
+    }
+    if (i != length - 1) {
+      return false;
+    }
+    if (c == '\n') {
+      // Don't match between the characters of "\r\n".
+      return i == 0 || text.charAt(i - 1) != '\r';
+    }
+    return c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+  }
+
+  // ==========================================================================
+
+  /**
+   * A builder to create a {@link TextClassifier}.
+   */
+  public static class Builder {
+    /**
+     * The patterns.
+     */
+    protected List<String> patterns = new ArrayList<>();
+
+    /**
+     * The flags that indicate whether the patterns are case-insensitive.
+     */
+    protected List<Boolean> ignoreCases = new ArrayList<>();
+
+    /**
+     * The ids of the patterns.
+     */
+    protected List<Integer> patternIds = new ArrayList<>();
+
+    /**
+     * The keywords, translated to patterns.
+     */
+    protected List<String> keywords = new ArrayList<>();
+
+    /**
+     * The ids of the keywords.
+     */
+    protected List<Integer> keywordIds = new ArrayList<>();
+
+    /**
+     * The patterns that are not supported by the automaton.
+     */
+    protected List<Pattern> fallbackPatterns = new ArrayList<>();
+
+    /**
+     * The ids of the patterns that are not supported by the automaton.
+     */
+    protected List<Integer> fallbackIds = new ArrayList<>();
+
+    /**
+     * The number of assigned ids.
+     */
+    protected int numIds;
+
+    /**
+     * Adds the given pattern.
+     *
+     * @param regex
+     *        The pattern, in the syntax of java.util.regex.
+     * @param ignoreCase
+     *        True, if the pattern is case-insensitive.
+     *
+     * @return The id of the pattern.
+     */
+    public int addPattern(String regex, boolean ignoreCase) {
+      return addPattern(Pattern.compile(regex,
+          ignoreCase ? Pattern.CASE_INSENSITIVE : 0));
+    }
+
+    /**
+     * Adds the given pattern. The pattern is added to the automaton if it is
+     * supported by the automaton and has no other flags than
+     * Pattern.CASE_INSENSITIVE; otherwise it is matched with java.util.regex.
+     *
+     * @param pattern
+     *        The pattern.
+     *
+     * @return The id of the pattern.
+     */
+    public int addPattern(Pattern pattern) {
+      int id = nextId();
+      int flags = pattern.flags();
+      boolean ignoreCase = (flags & Pattern.CASE_INSENSITIVE) != 0;
+      if ((flags & ~Pattern.CASE_INSENSITIVE) == 0
+          && PrefixAutomaton.isSupported(pattern.pattern(), ignoreCase)) {
+        this.patterns.add(pattern.pattern());
+        this.ignoreCases.add(ignoreCase);
+        this.patternIds.add(id);
+      } else {
+        this.fallbackPatterns.add(pattern);
+        this.fallbackIds.add(id);
+      }
+      return id;
+    }
+
+    /**
+     * Adds the given keyword. The keyword matches all texts that are equal to
+     * the keyword after reducing them to their lowercased letters A-Z.
+     *
+     * @param keyword
+     *        The keyword.
+     *
+     * @return The id of the keyword.
+     */
+    public int addKeyword(String keyword) {
+      int id = nextId();
+      this.keywords.add(quote(keyword) + "$");
+      this.keywordIds.add(id);
+      return id;
+    }
+
+    /**
+     * Creates the classifier.
+     *
+     * @return The created classifier.
+     */
+    public TextClassifier build() {
+      List<Boolean> ignoreCases = new ArrayList<>();
+      for (int i = 0; i < this.keywords.size(); i++) {
+        ignoreCases.add(false);
+      }
+      int[] fallbackIds = new int[this.fallbackIds.size()];
+      for (int i = 0; i < fallbackIds.length; i++) {
+        fallbackIds[i] = this.fallbackIds.get(i);
+      }
+      return new TextClassifier(
+          new PrefixAutomaton(this.patterns, this.ignoreCases,
+              this.patternIds),
+          new PrefixAutomaton(this.keywords, ignoreCases,
+              this.keywordIds),
+          this.fallbackPatterns.toArray(new Pattern[0]), fallbackIds);
+    }
+
+    /**
+     * Returns the next free id.
+     *
+     * @return The next free id.
+     */
+    protected int nextId() {
+      if (this.numIds >= MAX_NUM_IDS) {
+        throw new IllegalStateException("A classifier supports at most "
+            + MAX_NUM_IDS + " patterns and keywords.");
+      }
+      return this.numIds++;
+    }
+
+    /**
+     * Escapes all characters of the given text, such that it matches
+     * literally.
+     *
+     * @param text
+     *        The text to escape.
+     *
+     * @return The escaped text.
+     */
+    protected static String quote(String text) {
+      StringBuilder sb = new StringBuilder(text.length() * 2);
+      for (int i = 0; i < text.length(); i++) {
+        char c = text.charAt(i);
+        if (!Character.isLetterOrDigit(c)) {
+          sb.append('\\');
+        }
+        sb.append(c);
+      }
+      return sb.toString();
+    }
+  }
+}
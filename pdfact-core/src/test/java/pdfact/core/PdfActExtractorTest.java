@@ -0,0 +1,204 @@
+package pdfact.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+import pdfact.core.PdfActExtractor.PdfActExtractorFactory;
+import pdfact.core.guice.PdfActCoreGuiceModule;
+import pdfact.core.model.Paragraph;
+import pdfact.core.model.PdfDocument;
+import pdfact.core.pipes.PdfActCorePipe;
+
+/**
+ * Tests that {@link PdfActExtractor} processes PDF files and streams in the
+ * same way and that it stops the processing of a document on a timeout.
+ *
+ * @author Claudius Korzen
+ */
+public class PdfActExtractorTest {
+  /**
+   * The bundled PDF file to process.
+   */
+  protected static final String PDF_FILE = "/pdfs/synthetic-1.pdf";
+
+  /**
+   * The extractor to test.
+   */
+  protected PdfActExtractor extractor;
+
+  /**
+   * The factory to create extractors.
+   */
+  protected PdfActExtractorFactory extractorFactory;
+
+  /**
+   * Creates the extractor.
+   */
+  @Before
+  public void setUp() {
+    Injector injector = Guice.createInjector(new PdfActCoreGuiceModule());
+    this.extractorFactory = injector.getInstance(
+        PdfActExtractorFactory.class);
+    this.extractor = this.extractorFactory.create(2, 4, true);
+  }
+
+  /**
+   * Closes the extractor.
+   */
+  @After
+  public void tearDown() {
+    this.extractor.close();
+  }
+
+  // ==========================================================================
+
+  /**
+   * Tests that a PDF document submitted as a stream results in the same
+   * paragraphs as the PDF document submitted as a file.
+   *
+   * @throws Exception
+   *         If the PDF document couldn't be processed.
+   */
+  @Test
+  public void testSubmitStream() throws Exception {
+    Path path = Paths.get(getClass().getResource(PDF_FILE).toURI());
+    InputStream stream = getClass().getResourceAsStream(PDF_FILE);
+
+    String expected = toString(this.extractor.submit(path).get());
+    assertEquals(expected, toString(this.extractor.submit(stream).get()));
+  }
+
+  /**
+   * Tests that the stream of a document whose processing was cancelled before
+   * it started is closed.
+   *
+   * @throws Exception
+   *         If the test was interrupted.
+   */
+  @Test
+  public void testCancelStreamBeforeProcessing() throws Exception {
+    // An executor that runs the tasks only on request.
+    List<Runnable> tasks = new ArrayList<>();
+    try (PdfActExtractor extractor = this.extractorFactory.create(tasks::add,
+        1, false)) {
+      ClosingStream stream = new ClosingStream(
+          getClass().getResourceAsStream(PDF_FILE));
+      CompletableFuture<PdfDocument> future = extractor.submit(stream);
+      assertTrue(future.cancel(true));
+      assertEquals(1, extractor.getNumPendingDocuments());
+
+      tasks.get(0).run();
+      assertTrue(stream.closed);
+      assertEquals(0, extractor.getNumPendingDocuments());
+      try {
+        future.get();
+        fail("The future wasn't cancelled.");
+      } catch (CancellationException e) {
+        // Expected.
+      }
+    }
+  }
+
+  /**
+   * Tests that the future of a document whose processing exceeds the timeout
+   * is completed with a {@link TimeoutException} and that the processing is
+   * cancelled.
+   *
+   * @throws Exception
+   *         If the test was interrupted.
+   */
+  @Test
+  public void testTimeout() throws Exception {
+    Path path = Paths.get(getClass().getResource(PDF_FILE).toURI());
+    AtomicReference<PdfActCorePipe> pipe = new AtomicReference<>();
+
+    this.extractor.setTimeout(1, TimeUnit.MILLISECONDS);
+    assertEquals(1, this.extractor.getTimeout(TimeUnit.MILLISECONDS));
+    try {
+      this.extractor.submit(path, pipe::set).get();
+      fail("The processing didn't time out.");
+    } catch (ExecutionException e) {
+      assertTrue(e.toString(), e.getCause() instanceof TimeoutException);
+    }
+    assertTrue(pipe.get().getCancellationToken().isCancelled());
+
+    // The document remains pending until the processing stopped.
+    long deadline = System.currentTimeMillis() + 60000;
+    while (this.extractor.getNumPendingDocuments() > 0) {
+      assertTrue(System.currentTimeMillis() < deadline);
+      Thread.sleep(10);
+    }
+
+    // Documents are processed completely once the timeout is disabled.
+    this.extractor.setTimeout(0, TimeUnit.MILLISECONDS);
+    assertTrue(this.extractor.submit(path).get().getParagraphs().size() > 0);
+  }
+
+  // ==========================================================================
+
+  /**
+   * A stream that remembers whether it was closed.
+   */
+  protected static class ClosingStream extends FilterInputStream {
+    /**
+     * The boolean flag that indicates whether the stream was closed.
+     */
+    protected volatile boolean closed;
+
+    /**
+     * Creates a new stream.
+     *
+     * @param in
+     *        The underlying stream.
+     */
+    protected ClosingStream(InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public void close() throws IOException {
+      this.closed = true;
+      super.close();
+    }
+  }
+
+  /**
+   * Returns the semantic roles and texts of the paragraphs of the given PDF
+   * document.
+   *
+   * @param pdf
+   *        The PDF document.
+   *
+   * @return The semantic roles and texts of the paragraphs.
+   */
+  protected static String toString(PdfDocument pdf) {
+    StringBuilder sb = new StringBuilder();
+    for (Paragraph paragraph : pdf.getParagraphs()) {
+      sb.append(paragraph.getSemanticRole()).append('|')
+          .append(paragraph.getText()).append('\n');
+    }
+    return sb.toString();
+  }
+}
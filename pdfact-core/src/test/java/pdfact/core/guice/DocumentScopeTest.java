@@ -0,0 +1,254 @@
+package pdfact.core.guice;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.OutOfScopeException;
+import com.google.inject.ProvisionException;
+
+import pdfact.core.model.Character;
+import pdfact.core.model.Color;
+import pdfact.core.model.FontFace;
+import pdfact.core.model.Page;
+import pdfact.core.model.Paragraph;
+import pdfact.core.model.PdfDocument;
+import pdfact.core.model.PdfDocument.PdfDocumentFactory;
+import pdfact.core.pipes.PdfActCorePipe;
+import pdfact.core.pipes.PdfActCorePipe.PdfActCorePipeFactory;
+import pdfact.core.pipes.parse.stream.pdfbox.convert.PDColorConverter;
+import pdfact.core.pipes.parse.stream.pdfbox.convert.PDFontConverter;
+import pdfact.core.pipes.parse.stream.pdfbox.convert.PDFontFaceConverter;
+
+/**
+ * Tests that the document-scoped objects (for example, the font and color
+ * converters) are never shared between documents: PDF documents processed
+ * concurrently with the same injector must result in exactly the same fonts,
+ * colors and paragraphs as the documents processed sequentially, and the
+ * document-scoped objects must not be accessible outside of a document scope.
+ *
+ * @author Claudius Korzen
+ */
+public class DocumentScopeTest {
+  /**
+   * The bundled PDF files to process.
+   */
+  protected static final String[] PDF_FILES = { "/pdfs/synthetic-1.pdf",
+      "/pdfs/synthetic-2.pdf", "/pdfs/synthetic-3.pdf" };
+
+  /**
+   * The number of PDF documents to process concurrently.
+   */
+  protected static final int NUM_DOCUMENTS = 12;
+
+  /**
+   * The number of threads that process the PDF documents concurrently.
+   */
+  protected static final int NUM_THREADS = 6;
+
+  /**
+   * The injector shared by all documents.
+   */
+  protected static Injector injector;
+
+  /**
+   * The executor that processes the PDF documents concurrently.
+   */
+  protected static ExecutorService executor;
+
+  /**
+   * Creates the injector and the executor.
+   */
+  @BeforeClass
+  public static void setUp() {
+    injector = Guice.createInjector(new PdfActCoreGuiceModule());
+    executor = Executors.newFixedThreadPool(NUM_THREADS);
+  }
+
+  /**
+   * Shuts down the executor.
+   */
+  @AfterClass
+  public static void tearDown() {
+    executor.shutdown();
+  }
+
+  // ==========================================================================
+
+  /**
+   * Tests that PDF documents processed concurrently with the same injector
+   * result in the same fonts, colors and paragraphs as the documents processed
+   * sequentially, each with a fresh injector.
+   *
+   * @throws Exception
+   *         If a PDF file couldn't be processed.
+   */
+  @Test
+  public void testConcurrentDocuments() throws Exception {
+    // Process each file sequentially, each with a fresh injector, so that no
+    // state can be shared between the documents.
+    Map<String, String> expected = new HashMap<>();
+    for (String file : PDF_FILES) {
+      Injector fresh = Guice.createInjector(new PdfActCoreGuiceModule());
+      expected.put(file, process(fresh, file));
+    }
+
+    // Process the files concurrently, each file multiple times.
+    List<String> files = new ArrayList<>();
+    List<Future<String>> futures = new ArrayList<>();
+    for (int i = 0; i < NUM_DOCUMENTS; i++) {
+      final String file = PDF_FILES[i % PDF_FILES.length];
+      files.add(file);
+      futures.add(executor.submit((Callable<String>) () -> process(injector,
+          file)));
+    }
+
+    for (int i = 0; i < NUM_DOCUMENTS; i++) {
+      String file = files.get(i);
+      assertEquals(file, expected.get(file), futures.get(i).get());
+    }
+  }
+
+  /**
+   * Tests that a document-scoped object can't be accessed outside of a
+   * document scope.
+   */
+  @Test
+  public void testOutOfScope() {
+    DocumentScope scope = injector.getInstance(DocumentScope.class);
+    assertFalse(scope.isActive());
+
+    for (Class<?> type : new Class<?>[] { PDFontConverter.class,
+        PDFontFaceConverter.class, PDColorConverter.class }) {
+      try {
+        injector.getInstance(type);
+        fail(type.getSimpleName() + " was accessible outside of a scope.");
+      } catch (OutOfScopeException e) {
+        // Expected.
+      } catch (ProvisionException e) {
+        // Guice may wrap the exception thrown by the scope.
+        assertTrue(e.toString(), hasCause(e, OutOfScopeException.class));
+      }
+    }
+  }
+
+  /**
+   * Tests that a document scope provides one instance per scope and that the
+   * innermost scope is used if scopes are nested.
+   */
+  @Test
+  public void testNestedScopes() {
+    DocumentScope scope = injector.getInstance(DocumentScope.class);
+    scope.enter();
+    try {
+      PDFontConverter outer = injector.getInstance(PDFontConverter.class);
+      assertNotNull(outer);
+      assertSame(outer, injector.getInstance(PDFontConverter.class));
+
+      scope.enter();
+      try {
+        PDFontConverter inner = injector.getInstance(PDFontConverter.class);
+        assertTrue(inner != outer);
+        assertSame(inner, injector.getInstance(PDFontConverter.class));
+      } finally {
+        scope.exit();
+      }
+      assertSame(outer, injector.getInstance(PDFontConverter.class));
+    } finally {
+      scope.exit();
+    }
+    assertFalse(scope.isActive());
+  }
+
+  // ==========================================================================
+
+  /**
+   * Processes the given bundled PDF file with the given injector and returns
+   * the fonts and colors of its characters and the semantic roles and texts of
+   * its paragraphs.
+   *
+   * @param injector
+   *        The injector to create the document and the pipe.
+   * @param file
+   *        The path to the bundled PDF file.
+   *
+   * @return The fonts, colors and paragraphs of the PDF document.
+   *
+   * @throws Exception
+   *         If the PDF file couldn't be processed.
+   */
+  protected String process(Injector injector, String file)
+      throws Exception {
+    Path path = Paths.get(DocumentScopeTest.class.getResource(file).toURI());
+    PdfDocument pdf = injector.getInstance(PdfDocumentFactory.class)
+        .create(path);
+    PdfActCorePipe pipe = injector.getInstance(PdfActCorePipeFactory.class)
+        .create();
+    pipe.execute(pdf);
+
+    // The ids of the fonts and colors are assigned by the document-scoped
+    // converters, so they differ if a converter was shared between documents.
+    StringBuilder sb = new StringBuilder();
+    for (Page page : pdf.getPages()) {
+      sb.append("page ").append(page.getPageNumber()).append('\n');
+      for (Character character : page.getCharacters()) {
+        FontFace fontFace = character.getFontFace();
+        Color color = character.getColor();
+        sb.append(character.getText()).append(' ')
+            .append(fontFace.getFont().getId()).append(' ')
+            .append(fontFace.getFont().getNormalizedName()).append(' ')
+            .append(fontFace.getFontSize()).append(' ')
+            .append(fontFace.getDenseId()).append(' ')
+            .append(color.getId()).append(' ')
+            .append(color.getDenseId()).append('\n');
+      }
+    }
+    for (Paragraph paragraph : pdf.getParagraphs()) {
+      sb.append(paragraph.getSemanticRole()).append('|')
+          .append(paragraph.getText()).append('\n');
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Returns true if the given exception was caused by an exception of the
+   * given type.
+   *
+   * @param e
+   *        The exception.
+   * @param type
+   *        The type of the cause.
+   *
+   * @return True if the exception was caused by an exception of the given
+   *         type; false otherwise.
+   */
+  protected static boolean hasCause(Throwable e,
+      Class<? extends Throwable> type) {
+    for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+      if (type.isInstance(cause)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
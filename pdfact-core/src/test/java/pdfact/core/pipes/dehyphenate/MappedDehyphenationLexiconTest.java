@@ -0,0 +1,159 @@
+package pdfact.core.pipes.dehyphenate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import pdfact.core.pipes.dehyphenate.WordIndex.WordType;
+import pdfact.core.util.exception.PdfActLexiconException;
+
+/**
+ * Tests that {@link MappedDehyphenationLexicon} reads the lexicons written by
+ * {@link MappedDehyphenationLexicon#write(WordIndex, Path)} and that it
+ * rejects corrupted files instead of overflowing or probing forever.
+ *
+ * @author Claudius Korzen
+ */
+public class MappedDehyphenationLexiconTest {
+  /**
+   * The folder for the written lexicons.
+   */
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  // ==========================================================================
+
+  /**
+   * Tests that a written lexicon provides the frequencies of the index.
+   *
+   * @throws Exception
+   *         If the lexicon couldn't be written or opened.
+   */
+  @Test
+  public void testWriteAndOpen() throws Exception {
+    HashWordIndex index = new HashWordIndex();
+    index.add(WordType.NORMAL_WORD, "foo", 0, 3);
+    index.add(WordType.NORMAL_WORD, "foo", 0, 3);
+    index.add(WordType.COMPOUND_WORD, "bar", 0, 3);
+    index.add(WordType.PREFIX, "baz", 0, 3);
+
+    Path path = this.folder.newFile("lexicon.bin").toPath();
+    MappedDehyphenationLexicon.write(index, path);
+    MappedDehyphenationLexicon lexicon = MappedDehyphenationLexicon.open(path);
+
+    assertEquals(3, lexicon.getNumEntries());
+    assertEquals(2, lexicon.getFrequency(WordType.NORMAL_WORD, "foo", 0, 3));
+    assertEquals(0, lexicon.getFrequency(WordType.PREFIX, "foo", 0, 3));
+    assertEquals(1, lexicon.getFrequency(WordType.COMPOUND_WORD, "xbar", 1,
+        4));
+    assertEquals(1, lexicon.getFrequency(WordType.PREFIX, "baz", 0, 3));
+    assertEquals(0, lexicon.getFrequency(WordType.NORMAL_WORD, "qux", 0, 3));
+  }
+
+  /**
+   * Tests that headers with invalid numbers of entries or slots are rejected,
+   * including numbers whose sizes overflow an int.
+   */
+  @Test
+  public void testCorruptedHeaders() {
+    // The number of slots is not a power of two.
+    assertCorrupted(1, 3, 64);
+    // The number of slots is not larger than the number of entries.
+    assertCorrupted(2, 2, 1024);
+    assertCorrupted(0, Integer.MIN_VALUE, 64);
+    assertCorrupted(-1, 2, 64);
+    // The size of the slots overflows an int.
+    assertCorrupted(1, 1 << 30, 64);
+    // The size of the entries overflows an int.
+    assertCorrupted(1 << 28, 1 << 29, 64);
+  }
+
+  /**
+   * Tests that a lookup terminates if all slots are occupied and that slots
+   * that refer to missing entries are ignored.
+   *
+   * @throws Exception
+   *         If the lexicon couldn't be created.
+   */
+  @Test(timeout = 10000)
+  public void testCorruptedSlots() throws Exception {
+    int hash = HashWordIndex.hash("foo", 0, 3);
+
+    // Both slots refer to the only entry, whose hash doesn't match.
+    ByteBuffer buffer = createLexicon(1, 1, hash + 1);
+    MappedDehyphenationLexicon lexicon = new MappedDehyphenationLexicon(buffer);
+    assertEquals(0, lexicon.getFrequency(WordType.NORMAL_WORD, "foo", 0, 3));
+
+    // The slots refer to an entry that doesn't exist.
+    buffer = createLexicon(5, 5, hash);
+    lexicon = new MappedDehyphenationLexicon(buffer);
+    assertEquals(0, lexicon.getFrequency(WordType.NORMAL_WORD, "foo", 0, 3));
+  }
+
+  // ==========================================================================
+
+  /**
+   * Asserts that a lexicon with the given header is rejected.
+   *
+   * @param numEntries
+   *        The number of entries in the header.
+   * @param numSlots
+   *        The number of slots in the header.
+   * @param capacity
+   *        The size of the file.
+   */
+  protected static void assertCorrupted(int numEntries, int numSlots,
+      int capacity) {
+    ByteBuffer buffer = ByteBuffer.allocate(capacity);
+    buffer.putInt(0, MappedDehyphenationLexicon.MAGIC);
+    buffer.putInt(4, MappedDehyphenationLexicon.VERSION);
+    buffer.putInt(8, numEntries);
+    buffer.putInt(12, numSlots);
+    try {
+      new MappedDehyphenationLexicon(buffer);
+      fail("The header " + numEntries + "/" + numSlots + " was accepted.");
+    } catch (PdfActLexiconException e) {
+      // Expected.
+    }
+  }
+
+  /**
+   * Creates the file of a lexicon with two slots and a single entry for the
+   * word "foo".
+   *
+   * @param slot0
+   *        The value of the first slot.
+   * @param slot1
+   *        The value of the second slot.
+   * @param hash
+   *        The hash of the entry.
+   *
+   * @return The file of the lexicon.
+   */
+  protected static ByteBuffer createLexicon(int slot0, int slot1, int hash) {
+    ByteBuffer buffer = ByteBuffer.allocate(64);
+    buffer.putInt(MappedDehyphenationLexicon.MAGIC);
+    buffer.putInt(MappedDehyphenationLexicon.VERSION);
+    buffer.putInt(1);
+    buffer.putInt(2);
+    buffer.putInt(slot0);
+    buffer.putInt(slot1);
+    // The entry: offset, length, hash and the frequencies.
+    buffer.putInt(0);
+    buffer.putInt(3);
+    buffer.putInt(hash);
+    buffer.putInt(1);
+    buffer.putInt(1);
+    buffer.putInt(1);
+    buffer.putChar('f');
+    buffer.putChar('o');
+    buffer.putChar('o');
+    return buffer;
+  }
+}
@@ -0,0 +1,172 @@
+package pdfact.core.util.counter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import gnu.trove.iterator.TObjectIntIterator;
+import pdfact.core.model.HasDenseId;
+
+/**
+ * Tests that {@link DenseIdObjectCounter} counts the same frequencies as
+ * {@link PlainObjectCounter}, in sparse and in dense mode, and that it only
+ * visits the ids in use.
+ *
+ * @author Claudius Korzen
+ */
+public class DenseIdObjectCounterTest {
+  /**
+   * Tests a counter with only a few objects but large ids.
+   */
+  @Test
+  public void testFewObjectsWithLargeIds() {
+    DenseIdObjectCounter<Item> counter = new DenseIdObjectCounter<>();
+    counter.add(new Item(1000000));
+    counter.add(new Item(5));
+    counter.add(new Item(1000000));
+
+    // The objects are found by a linear scan, without a table of all ids.
+    assertNull(counter.idTable);
+    assertEquals(2, counter.size());
+    assertEquals(2, counter.getFrequency(new Item(1000000)));
+    assertEquals(1, counter.getFrequency(new Item(5)));
+    assertEquals(0, counter.getFrequency(new Item(6)));
+    assertEquals(1000000, counter.getMostCommonObject().getDenseId());
+    assertEquals(2, counter.getMostCommonObjectFrequency());
+
+    // The objects are iterated in the order of their ids.
+    TObjectIntIterator<Item> itr = counter.iterator();
+    itr.advance();
+    assertEquals(5, itr.key().getDenseId());
+    itr.advance();
+    assertEquals(1000000, itr.key().getDenseId());
+    assertTrue(!itr.hasNext());
+  }
+
+  /**
+   * Tests random objects (with and without a dense id) and merges of counters.
+   */
+  @Test
+  public void testRandomObjects() {
+    Random random = new Random(42);
+    for (int numIds : new int[] { 3, 8, 9, 100, 5000 }) {
+      Item[] items = new Item[numIds];
+      for (int i = 0; i < numIds; i++) {
+        // Give some objects no dense id.
+        items[i] = new Item(i % 7 == 6 ? -1 : i);
+      }
+
+      ObjectCounter<Item> plain = new PlainObjectCounter<>();
+      DenseIdObjectCounter<Item> dense = new DenseIdObjectCounter<>();
+      for (int i = 0; i < 20; i++) {
+        ObjectCounter<Item> plainPart = new PlainObjectCounter<>();
+        DenseIdObjectCounter<Item> densePart = new DenseIdObjectCounter<>();
+        for (int j = 0; j < 100; j++) {
+          Item item = items[random.nextInt(numIds)];
+          plainPart.add(item);
+          densePart.add(item);
+        }
+        assertSameFrequencies(plainPart, densePart);
+        plain.add(plainPart);
+        dense.add(densePart);
+      }
+      assertSameFrequencies(plain, dense);
+
+      // Merging into a non-dense counter must give the same frequencies.
+      ObjectCounter<Item> merged = new PlainObjectCounter<>();
+      merged.add(dense);
+      assertSameFrequencies(plain, merged);
+    }
+  }
+
+  // ==========================================================================
+
+  /**
+   * Asserts that the given counters count the same frequencies.
+   *
+   * @param expected
+   *        The expected counter.
+   * @param actual
+   *        The actual counter.
+   */
+  protected void assertSameFrequencies(ObjectCounter<Item> expected,
+      ObjectCounter<Item> actual) {
+    assertEquals(expected.size(), actual.size());
+    assertEquals(expected.getMostCommonObjectFrequency(),
+        actual.getMostCommonObjectFrequency());
+    assertEquals(expected.getMostCommonObjectFrequency(),
+        actual.getFrequency(actual.getMostCommonObject()));
+
+    int numIterated = 0;
+    int lastId = -1;
+    TObjectIntIterator<Item> itr = actual.iterator();
+    while (itr.hasNext()) {
+      itr.advance();
+      assertEquals(expected.getFrequency(itr.key()), itr.value());
+      assertEquals(itr.value(), actual.getFrequency(itr.key()));
+      if (actual instanceof DenseIdObjectCounter && itr.key().id >= 0) {
+        assertTrue(itr.key().id > lastId);
+        lastId = itr.key().id;
+      }
+      numIterated++;
+    }
+    assertEquals(expected.size(), numIterated);
+    assertEquals(expected.size(), actual.getObjects().length);
+  }
+
+  // ==========================================================================
+
+  /**
+   * An object with a dense id, equal to all objects with the same id and name.
+   */
+  protected static class Item implements HasDenseId {
+    /**
+     * The dense id.
+     */
+    protected int id;
+
+    /**
+     * The name of this object (to distinguish objects without a dense id).
+     */
+    protected String name;
+
+    /**
+     * Creates a new object with the given dense id.
+     *
+     * @param id
+     *        The dense id (-1 for an object without a dense id).
+     */
+    public Item(int id) {
+      this.id = id;
+      this.name = "item-" + System.identityHashCode(this);
+    }
+
+    @Override
+    public int getDenseId() {
+      return this.id;
+    }
+
+    @Override
+    public void setDenseId(int id) {
+      this.id = id;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof Item)) {
+        return false;
+      }
+      Item item = (Item) other;
+      return this.id >= 0 ? this.id == item.id : this.name.equals(item.name);
+    }
+
+    @Override
+    public int hashCode() {
+      return this.id >= 0 ? this.id : this.name.hashCode();
+    }
+  }
+}
@@ -0,0 +1,172 @@
+package pdfact.core.util.counter;
+
+import static org.junit.Assert.assertEquals;
+import static pdfact.core.PdfActCoreSettings.FLOATING_NUMBER_PRECISION;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import pdfact.core.util.PdfActUtils;
+
+/**
+ * Tests that {@link FixedPointFloatCounter} computes the same statistics as
+ * {@link PlainFloatCounter} on values that are rounded to the precision of the
+ * parser (like all coordinates and font sizes), also at the rounding
+ * boundaries of the fixed-point representation.
+ * 
+ * @author Claudius Korzen
+ */
+public class FixedPointFloatCounterTest {
+  /**
+   * The tolerance on comparing averages (the plain counter sums up floats).
+   */
+  protected static final float DELTA = 1e-3f;
+
+  /**
+   * Tests random values with many duplicates.
+   */
+  @Test
+  public void testRandomValues() {
+    Random random = new Random(42);
+    FloatCounter plain = new PlainFloatCounter();
+    FloatCounter fixed = new FixedPointFloatCounter();
+    for (int i = 0; i < 10000; i++) {
+      float value = round((float) random.nextGaussian() * 5 + 10);
+      plain.add(value);
+      fixed.add(value);
+    }
+    assertSameStatistics(plain, fixed);
+  }
+
+  /**
+   * Tests the values in the middle between two fixed-point keys (x.x5), which
+   * are rounded half up by the parser and by the fixed-point counter.
+   */
+  @Test
+  public void testRoundingBoundaries() {
+    FloatCounter plain = new PlainFloatCounter();
+    FloatCounter fixed = new FixedPointFloatCounter();
+    FloatCounter fixedRaw = new FixedPointFloatCounter();
+    for (int i = -50; i < 50; i++) {
+      float boundary = (i + 0.5f) / 10;
+      // Make the counts of the keys differ, such that the mode is unique.
+      for (int j = 0; j <= i + 50; j++) {
+        plain.add(round(boundary));
+        fixed.add(round(boundary));
+        fixedRaw.add(boundary);
+      }
+    }
+    assertSameStatistics(plain, fixed);
+    // Rounding in the counter is the same as rounding in the parser.
+    assertSameStatistics(plain, fixedRaw);
+
+    // 0.25 is rounded up to 0.3: the mode is 0.3 with 3 + 2 occurrences.
+    plain = new PlainFloatCounter();
+    fixed = new FixedPointFloatCounter();
+    float[] values = { 0.25f, 0.25f, 0.25f, 0.3f, 0.3f, 0.2f, 0.2f, 0.2f };
+    for (float value : values) {
+      plain.add(round(value));
+      fixed.add(value);
+    }
+    assertSameStatistics(plain, fixed);
+    assertEquals(0.3f, fixed.getMostCommonFloat(), 0);
+    assertEquals(5, fixed.getMostCommonFloatFrequency(), 0);
+  }
+
+  /**
+   * Tests that values that differ only by float errors share one key.
+   */
+  @Test
+  public void testFloatErrors() {
+    FloatCounter fixed = new FixedPointFloatCounter();
+    fixed.add(0.1f + 0.2f);
+    fixed.add(0.3f);
+    fixed.add(3.3f * 3);
+    fixed.add(9.9f);
+    assertEquals(2, fixed.size());
+    assertEquals(2, fixed.getFrequency(0.3f));
+    assertEquals(2, fixed.getFrequency(9.9f));
+    assertEquals((0.3f + 0.3f + 9.9f + 9.9f) / 4, fixed.getAverageFloat(),
+        DELTA);
+  }
+
+  /**
+   * Tests merging counters, with fixed-point counters and with plain counters
+   * as sources.
+   */
+  @Test
+  public void testMerge() {
+    Random random = new Random(7);
+    FloatCounter plain = new PlainFloatCounter();
+    FloatCounter fixed = new FixedPointFloatCounter();
+    for (int i = 0; i < 100; i++) {
+      FloatCounter plainPart = new PlainFloatCounter();
+      FloatCounter fixedPart = i % 2 == 0 ? new FixedPointFloatCounter()
+          : new PlainFloatCounter();
+      for (int j = 0; j < random.nextInt(50); j++) {
+        float value = round(random.nextFloat() * 20);
+        plainPart.add(value);
+        fixedPart.add(value);
+      }
+      plain.add(plainPart);
+      fixed.add(fixedPart);
+    }
+    assertSameStatistics(plain, fixed);
+  }
+
+  // ==========================================================================
+
+  /**
+   * Asserts that the given counters contain the same values with the same
+   * frequencies and that their modes and averages are the same.
+   * 
+   * @param expected
+   *        The plain counter.
+   * @param actual
+   *        The fixed-point counter.
+   */
+  protected static void assertSameStatistics(FloatCounter expected,
+      FloatCounter actual) {
+    assertEquals(expected.size(), actual.size());
+    double expectedSum = 0;
+    double actualSum = 0;
+    int maxFrequency = 0;
+    int numModes = 0;
+    for (float value : expected.getFloats()) {
+      int frequency = expected.getFrequency(value);
+      assertEquals("frequency of " + value, frequency,
+          actual.getFrequency(value));
+      expectedSum += value * frequency;
+      if (frequency > maxFrequency) {
+        maxFrequency = frequency;
+        numModes = 1;
+      } else if (frequency == maxFrequency) {
+        numModes++;
+      }
+    }
+    for (float value : actual.getFloats()) {
+      actualSum += value * actual.getFrequency(value);
+    }
+    assertEquals(expectedSum, actualSum, DELTA * Math.abs(expectedSum));
+    assertEquals(expected.getAverageFloat(), actual.getAverageFloat(), DELTA);
+    assertEquals(maxFrequency, actual.getMostCommonFloatFrequency(), 0);
+    // On ties, the counters may choose different modes.
+    if (numModes == 1) {
+      assertEquals(expected.getMostCommonFloat(),
+          actual.getMostCommonFloat(), 0);
+    }
+  }
+
+  /**
+   * Rounds the given value like the parser does.
+   * 
+   * @param value
+   *        The value to round.
+   * 
+   * @return The rounded value.
+   */
+  protected static float round(float value) {
+    return PdfActUtils.round(value, FLOATING_NUMBER_PRECISION);
+  }
+}
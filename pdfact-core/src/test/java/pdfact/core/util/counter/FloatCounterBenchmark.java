@@ -0,0 +1,190 @@
+package pdfact.core.util.counter;
+
+import static pdfact.core.PdfActCoreSettings.FLOATING_NUMBER_PRECISION;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Module;
+import com.google.inject.assistedinject.FactoryModuleBuilder;
+import com.google.inject.util.Modules;
+
+import pdfact.core.guice.PdfActCoreGuiceModule;
+import pdfact.core.model.PdfDocument;
+import pdfact.core.model.PdfDocument.PdfDocumentFactory;
+import pdfact.core.pipes.PdfActCorePipe;
+import pdfact.core.pipes.PdfActCorePipe.PdfActCorePipeFactory;
+import pdfact.core.util.PdfActUtils;
+import pdfact.core.util.counter.FloatCounter.FloatCounterFactory;
+
+/**
+ * A benchmark that compares {@link FixedPointFloatCounter} (the default
+ * binding of {@link FloatCounterFactory}) with {@link PlainFloatCounter}. It
+ * is not run by the tests; run it with the test classpath of pdfact-core:
+ *
+ * <pre>
+ * java -cp ... pdfact.core.util.counter.FloatCounterBenchmark [pdf ...]
+ * </pre>
+ *
+ * Without arguments, it measures the counters alone: in each round, many
+ * small counters (like the counters of the text lines of a document) are
+ * filled with rounded values, queried and merged into a single counter (like
+ * the counter of the document). With arguments, it measures the processing of
+ * the given PDF files by the core pipe with each of the two bindings.
+ *
+ * @author Claudius Korzen
+ */
+public class FloatCounterBenchmark {
+  /**
+   * The number of counters per round.
+   */
+  protected static final int NUM_COUNTERS = 2000;
+
+  /**
+   * The number of values per counter.
+   */
+  protected static final int NUM_VALUES = 40;
+
+  /**
+   * The number of measured rounds.
+   */
+  protected static final int NUM_ROUNDS = 50;
+
+  /**
+   * The number of rounds to warm up the JVM.
+   */
+  protected static final int NUM_WARMUP_ROUNDS = 20;
+
+  /**
+   * The number of measured runs of the core pipe per PDF file.
+   */
+  protected static final int NUM_RUNS = 10;
+
+  /**
+   * The number of runs of the core pipe per PDF file to warm up the JVM.
+   */
+  protected static final int NUM_WARMUP_RUNS = 5;
+
+  /**
+   * The number of repetitions of the measurements, alternating between the
+   * two counters.
+   */
+  protected static final int NUM_REPETITIONS = 5;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args
+   *        The paths to the PDF files to process (optional).
+   *
+   * @throws Exception
+   *         If a PDF file couldn't be processed.
+   */
+  public static void main(String[] args) throws Exception {
+    for (int i = 0; i < NUM_REPETITIONS; i++) {
+      if (args.length == 0) {
+        System.out.printf("PlainFloatCounter:      %5d ms%n",
+            benchmarkCounters(PlainFloatCounter::new));
+        System.out.printf("FixedPointFloatCounter: %5d ms%n",
+            benchmarkCounters(FixedPointFloatCounter::new));
+      } else {
+        System.out.printf("PlainFloatCounter:      %5d ms%n",
+            benchmarkDocuments(PlainFloatCounter.class, args));
+        System.out.printf("FixedPointFloatCounter: %5d ms%n",
+            benchmarkDocuments(FixedPointFloatCounter.class, args));
+      }
+    }
+  }
+
+  // ==========================================================================
+
+  /**
+   * Measures the counters created by the given supplier.
+   *
+   * @param counters
+   *        The supplier of the counters.
+   *
+   * @return The time needed for the measured rounds, in milliseconds.
+   */
+  protected static long benchmarkCounters(Supplier<FloatCounter> counters) {
+    float checksum = 0;
+    long start = 0;
+    for (int round = 0; round < NUM_WARMUP_ROUNDS + NUM_ROUNDS; round++) {
+      if (round == NUM_WARMUP_ROUNDS) {
+        start = System.nanoTime();
+      }
+      Random random = new Random(round);
+      FloatCounter document = counters.get();
+      for (int i = 0; i < NUM_COUNTERS; i++) {
+        FloatCounter counter = counters.get();
+        float mean = 6 + random.nextInt(10);
+        for (int j = 0; j < NUM_VALUES; j++) {
+          counter.add(PdfActUtils.round(
+              (float) random.nextGaussian() + mean,
+              FLOATING_NUMBER_PRECISION));
+        }
+        checksum += counter.getMostCommonFloat() + counter.getAverageFloat();
+        document.add(counter);
+      }
+      checksum += document.getMostCommonFloat() + document.getAverageFloat();
+    }
+    long millis = (System.nanoTime() - start) / 1000000;
+    // Use the checksum, such that the work can't be eliminated.
+    if (checksum == Float.NEGATIVE_INFINITY) {
+      System.out.println(checksum);
+    }
+    return millis;
+  }
+
+  /**
+   * Measures the processing of the given PDF files by the core pipe, with the
+   * given implementation of {@link FloatCounter}.
+   *
+   * @param counterClass
+   *        The implementation of {@link FloatCounter}.
+   * @param files
+   *        The paths to the PDF files.
+   *
+   * @return The time needed for the measured runs, in milliseconds.
+   *
+   * @throws Exception
+   *         If a PDF file couldn't be processed.
+   */
+  protected static long benchmarkDocuments(
+      Class<? extends FloatCounter> counterClass, String[] files)
+      throws Exception {
+    Module counterModule = new AbstractModule() {
+      @Override
+      protected void configure() {
+        install(new FactoryModuleBuilder()
+            .implement(FloatCounter.class, counterClass)
+            .build(FloatCounterFactory.class));
+      }
+    };
+    Injector injector = Guice.createInjector(Modules.override(
+        new PdfActCoreGuiceModule()).with(counterModule));
+    PdfDocumentFactory pdfFactory = injector.getInstance(
+        PdfDocumentFactory.class);
+    PdfActCorePipeFactory pipeFactory = injector.getInstance(
+        PdfActCorePipeFactory.class);
+
+    long start = 0;
+    for (int run = 0; run < NUM_WARMUP_RUNS + NUM_RUNS; run++) {
+      if (run == NUM_WARMUP_RUNS) {
+        start = System.nanoTime();
+      }
+      for (String file : files) {
+        Path path = Paths.get(file);
+        PdfDocument pdf = pdfFactory.create(path);
+        PdfActCorePipe pipe = pipeFactory.create();
+        pipe.execute(pdf);
+      }
+    }
+    return (System.nanoTime() - start) / 1000000;
+  }
+}
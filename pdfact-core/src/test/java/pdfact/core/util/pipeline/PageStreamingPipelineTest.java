@@ -0,0 +1,265 @@
+package pdfact.core.util.pipeline;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+import pdfact.core.guice.PdfActCoreGuiceModule;
+import pdfact.core.model.Page;
+import pdfact.core.model.Page.PageFactory;
+import pdfact.core.model.PdfDocument;
+import pdfact.core.model.PdfDocument.PdfDocumentFactory;
+import pdfact.core.util.exception.PdfActException;
+import pdfact.core.util.exception.PdfActPipelineException;
+import pdfact.core.util.pipeline.Pipeline.PdfActPageStreamingPipelineFactory;
+
+/**
+ * Tests that {@link PageStreamingPipeline} passes all pages through the page
+ * pipes and completes the document in order, and that it terminates if a page
+ * pipe fails while waiting for its queues.
+ *
+ * @author Claudius Korzen
+ */
+public class PageStreamingPipelineTest {
+  /**
+   * The number of pages created by the page source.
+   */
+  protected static final int NUM_PAGES = 20;
+
+  /**
+   * The maximum time to wait for a pipeline, in seconds.
+   */
+  protected static final long TIMEOUT_SECONDS = 30;
+
+  /**
+   * The injector to create the pipelines, documents and pages.
+   */
+  protected static Injector injector;
+
+  /**
+   * The executor that runs the pipelines (to detect a hanging pipeline).
+   */
+  protected static ExecutorService executor;
+
+  /**
+   * Creates the injector and the executor.
+   */
+  @BeforeClass
+  public static void setUp() {
+    injector = Guice.createInjector(new PdfActCoreGuiceModule());
+    executor = Executors.newCachedThreadPool();
+  }
+
+  /**
+   * Shuts down the executor.
+   */
+  @AfterClass
+  public static void tearDown() {
+    executor.shutdownNow();
+  }
+
+  // ==========================================================================
+
+  /**
+   * Tests that each page pipe processes all pages in order and that the
+   * document is completed by the source and the page pipes, in order.
+   *
+   * @throws Exception
+   *         If the pipeline failed.
+   */
+  @Test
+  public void testStreaming() throws Exception {
+    List<String> events = Collections.synchronizedList(new ArrayList<>());
+    Pipeline pipeline = injector.getInstance(
+        PdfActPageStreamingPipelineFactory.class).create();
+    pipeline.addPipe(new Source(events));
+    pipeline.addPipe(new Recorder("a", events));
+    pipeline.addPipe(new Recorder("b", events));
+    pipeline.addPipe(new Recorder("c", events));
+
+    run(pipeline);
+
+    for (String name : new String[] { "a", "b", "c" }) {
+      List<String> pages = new ArrayList<>();
+      List<String> expected = new ArrayList<>();
+      for (String event : events) {
+        if (event.startsWith(name + "-page-")) {
+          pages.add(event);
+        }
+      }
+      for (int i = 1; i <= NUM_PAGES; i++) {
+        expected.add(name + "-page-" + i);
+      }
+      assertEquals(expected, pages);
+    }
+
+    List<String> completions = new ArrayList<>();
+    for (String event : events) {
+      if (event.endsWith("-complete")) {
+        completions.add(event);
+      }
+    }
+    assertEquals(Arrays.asList("source-complete", "a-complete",
+        "b-complete", "c-complete"), completions);
+  }
+
+  /**
+   * Tests that the pipeline terminates with a failure if a page pipe is
+   * interrupted while waiting for a queue (outside of the processing of a
+   * page), and that the document isn't completed then.
+   *
+   * @throws Exception
+   *         If the test was interrupted.
+   */
+  @Test
+  public void testInterruptedPagePipe() throws Exception {
+    List<String> events = Collections.synchronizedList(new ArrayList<>());
+    Pipeline pipeline = new PageStreamingPipeline(2);
+    pipeline.addPipe(new Source(events));
+    pipeline.addPipe(new Recorder("a", events));
+    pipeline.addPipe(new Recorder("b", events) {
+      @Override
+      public void executePage(PdfDocument pdf, Page page) {
+        super.executePage(pdf, page);
+        if (page.getPageNumber() == 3) {
+          // Let the next wait of this pipe for a queue fail.
+          Thread.currentThread().interrupt();
+        }
+      }
+    });
+    pipeline.addPipe(new Recorder("c", events));
+
+    try {
+      run(pipeline);
+      fail("The pipeline didn't fail.");
+    } catch (ExecutionException e) {
+      assertTrue(e.toString(), e.getCause() instanceof PdfActException);
+    }
+    assertFalse(events.contains("source-complete"));
+    assertFalse(events.contains("c-complete"));
+  }
+
+  // ==========================================================================
+
+  /**
+   * Runs the given pipeline on a new PDF document and waits for it.
+   *
+   * @param pipeline
+   *        The pipeline to run.
+   *
+   * @throws Exception
+   *         If the pipeline failed or didn't terminate in time.
+   */
+  protected void run(Pipeline pipeline) throws Exception {
+    Path path = Paths.get(getClass().getResource("/pdfs/synthetic-1.pdf")
+        .toURI());
+    PdfDocument pdf = injector.getInstance(PdfDocumentFactory.class)
+        .create(path);
+    Future<PdfDocument> future = executor.submit(() -> pipeline.process(pdf));
+    future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+  }
+
+  // ==========================================================================
+
+  /**
+   * A page source that creates empty pages and records its completion.
+   */
+  protected static class Source implements PageSourcePipe {
+    /**
+     * The recorded events.
+     */
+    protected List<String> events;
+
+    /**
+     * Creates a new page source.
+     *
+     * @param events
+     *        The list to which the events are recorded.
+     */
+    protected Source(List<String> events) {
+      this.events = events;
+    }
+
+    @Override
+    public PdfDocument execute(PdfDocument pdf) throws PdfActException {
+      throw new PdfActPipelineException("The source must be streamed.");
+    }
+
+    @Override
+    public void executePages(PdfDocument pdf, PageConsumer consumer)
+        throws PdfActException {
+      PageFactory pageFactory = injector.getInstance(PageFactory.class);
+      for (int i = 1; i <= NUM_PAGES; i++) {
+        consumer.accept(pageFactory.create(i));
+      }
+    }
+
+    @Override
+    public void completeDocument(PdfDocument pdf) {
+      this.events.add("source-complete");
+    }
+  }
+
+  /**
+   * A page pipe that records the processed pages and its completion.
+   */
+  protected static class Recorder implements PagePipe {
+    /**
+     * The name of the page pipe.
+     */
+    protected String name;
+
+    /**
+     * The recorded events.
+     */
+    protected List<String> events;
+
+    /**
+     * Creates a new page pipe.
+     *
+     * @param name
+     *        The name of the page pipe.
+     * @param events
+     *        The list to which the events are recorded.
+     */
+    protected Recorder(String name, List<String> events) {
+      this.name = name;
+      this.events = events;
+    }
+
+    @Override
+    public PdfDocument execute(PdfDocument pdf) throws PdfActException {
+      throw new PdfActPipelineException("The page pipe must be streamed.");
+    }
+
+    @Override
+    public void executePage(PdfDocument pdf, Page page) {
+      this.events.add(this.name + "-page-" + page.getPageNumber());
+    }
+
+    @Override
+    public void completeDocument(PdfDocument pdf) {
+      this.events.add(this.name + "-complete");
+    }
+  }
+}
@@ -0,0 +1,164 @@
+package pdfact.core.util.pipeline;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+import pdfact.core.guice.PdfActCoreGuiceModule;
+import pdfact.core.model.Page;
+import pdfact.core.model.PdfDocument;
+import pdfact.core.model.PdfDocument.PdfDocumentFactory;
+import pdfact.core.model.Position;
+import pdfact.core.model.Rectangle;
+import pdfact.core.model.TextBlock;
+import pdfact.core.model.TextLine;
+import pdfact.core.model.Word;
+import pdfact.core.pipes.PdfActCorePipe;
+import pdfact.core.pipes.PdfActCorePipe.PdfActCorePipeFactory;
+
+/**
+ * Tests that the pages of a PDF document are tokenized into the same words,
+ * text lines and text blocks regardless of whether they are processed
+ * sequentially, in the common pool or in a dedicated pool (see
+ * {@link PageTasks}).
+ *
+ * @author Claudius Korzen
+ */
+public class PageTasksEquivalenceTest {
+  /**
+   * The bundled PDF files to process.
+   */
+  protected static final String[] PDF_FILES = { "/pdfs/synthetic-1.pdf",
+      "/pdfs/synthetic-2.pdf", "/pdfs/synthetic-3.pdf" };
+
+  /**
+   * The injector to create the pipes.
+   */
+  protected static Injector injector;
+
+  /**
+   * The dedicated pool with 4 threads.
+   */
+  protected static ForkJoinPool pool;
+
+  /**
+   * Creates the injector and the dedicated pool.
+   */
+  @BeforeClass
+  public static void setUp() {
+    injector = Guice.createInjector(new PdfActCoreGuiceModule());
+    pool = new ForkJoinPool(4);
+  }
+
+  /**
+   * Shuts down the dedicated pool.
+   */
+  @AfterClass
+  public static void tearDown() {
+    pool.shutdown();
+  }
+
+  // ==========================================================================
+
+  /**
+   * Tests the processing in the common pool.
+   *
+   * @throws Exception
+   *         If a PDF file couldn't be processed.
+   */
+  @Test
+  public void testCommonPool() throws Exception {
+    for (String file : PDF_FILES) {
+      assertEquals(file, tokenize(file, null),
+          tokenize(file, ForkJoinPool.commonPool()));
+    }
+  }
+
+  /**
+   * Tests the processing in a dedicated pool with 4 threads.
+   *
+   * @throws Exception
+   *         If a PDF file couldn't be processed.
+   */
+  @Test
+  public void testDedicatedPool() throws Exception {
+    for (String file : PDF_FILES) {
+      assertEquals(file, tokenize(file, null), tokenize(file, pool));
+    }
+  }
+
+  // ==========================================================================
+
+  /**
+   * Processes the given bundled PDF file on the given pool and returns the
+   * words, text lines and text blocks of its pages.
+   *
+   * @param file
+   *        The path to the bundled PDF file.
+   * @param pool
+   *        The pool on which the pages should be tokenized, or null if they
+   *        should be tokenized sequentially.
+   *
+   * @return The words, text lines and text blocks.
+   *
+   * @throws Exception
+   *         If the PDF file couldn't be processed.
+   */
+  protected String tokenize(String file, ForkJoinPool pool) throws Exception {
+    Path path = Paths.get(getClass().getResource(file).toURI());
+    PdfDocument pdf = injector.getInstance(PdfDocumentFactory.class)
+        .create(path);
+    PdfActCorePipe pipe = injector.getInstance(PdfActCorePipeFactory.class)
+        .create();
+    pipe.setForkJoinPool(pool);
+    pipe.execute(pdf);
+
+    StringBuilder sb = new StringBuilder();
+    for (Page page : pdf.getPages()) {
+      sb.append("page ").append(page.getPageNumber()).append('\n');
+      for (TextLine line : page.getTextLines()) {
+        append(sb, "line", line.getText(), line.getPosition());
+        for (Word word : line.getWords()) {
+          append(sb, "word", word.getText(), word.getFirstPosition());
+        }
+      }
+      for (TextBlock block : page.getTextBlocks()) {
+        append(sb, "block", block.getText(), block.getPosition());
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Appends the given text and position to the given string builder.
+   *
+   * @param sb
+   *        The string builder.
+   * @param type
+   *        The type of the element.
+   * @param text
+   *        The text of the element.
+   * @param position
+   *        The position of the element.
+   */
+  protected void append(StringBuilder sb, String type, String text,
+      Position position) {
+    sb.append(type).append(' ').append(text);
+    Rectangle rect = position != null ? position.getRectangle() : null;
+    if (rect != null) {
+      sb.append(" [").append(rect.getMinX()).append(',')
+          .append(rect.getMinY()).append(',').append(rect.getMaxX())
+          .append(',').append(rect.getMaxY()).append(']');
+    }
+    sb.append('\n');
+  }
+}
@@ -0,0 +1,110 @@
+package pdfact.core.util.statistician;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Tests that {@link IndexedStatisticAccumulator} combines the partial
+ * statistics in the order of their ordinals and can be reused.
+ *
+ * @author Claudius Korzen
+ */
+public class IndexedStatisticAccumulatorTest {
+  /**
+   * Tests that statistics added concurrently (in any order) are combined in
+   * the order of their ordinals.
+   *
+   * @throws Exception
+   *         If the workers were interrupted.
+   */
+  @Test
+  public void testCombineInOrderOfOrdinals() throws Exception {
+    ListAccumulator accumulator = new ListAccumulator();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    for (int i = 100; i >= 1; i--) {
+      final int ordinal = i;
+      executor.execute(() -> accumulator.add(ordinal, list(ordinal)));
+    }
+    executor.shutdown();
+    executor.awaitTermination(1, TimeUnit.MINUTES);
+
+    List<Integer> expected = new ArrayList<>();
+    for (int i = 1; i <= 100; i++) {
+      expected.add(i);
+    }
+    assertEquals(expected, accumulator.combine());
+  }
+
+  /**
+   * Tests that combining clears the accumulator, so that a reused accumulator
+   * doesn't count any statistic twice.
+   */
+  @Test
+  public void testReuse() {
+    ListAccumulator accumulator = new ListAccumulator();
+    accumulator.add(1, list(1));
+    accumulator.add(2, list(2));
+    assertEquals(list(1, 2), accumulator.combine());
+
+    accumulator.add(1, list(3));
+    assertEquals(list(3), accumulator.combine());
+    assertEquals(list(), accumulator.combine());
+  }
+
+  /**
+   * Tests that statistics with the same ordinal are combined in the order of
+   * their addition.
+   */
+  @Test
+  public void testDuplicateOrdinals() {
+    ListAccumulator accumulator = new ListAccumulator();
+    accumulator.add(2, list(3));
+    accumulator.add(1, list(1));
+    accumulator.add(1, list(2));
+    assertEquals(list(1, 2, 3), accumulator.combine());
+  }
+
+  // ==========================================================================
+
+  /**
+   * Creates a list of the given values.
+   *
+   * @param values
+   *        The values.
+   *
+   * @return The list of the given values.
+   */
+  protected static List<Integer> list(Integer... values) {
+    List<Integer> list = new ArrayList<>();
+    for (Integer value : values) {
+      list.add(value);
+    }
+    return list;
+  }
+
+  /**
+   * An accumulator of lists that combines lists by concatenation, so that
+   * the combined list reflects the order of the combination.
+   *
+   * @author Claudius Korzen
+   */
+  protected static class ListAccumulator
+      extends IndexedStatisticAccumulator<List<Integer>> {
+    @Override
+    protected List<Integer> createStatistic() {
+      return new ArrayList<>();
+    }
+
+    @Override
+    protected void extend(List<Integer> target, List<Integer> statistic) {
+      target.addAll(statistic);
+    }
+  }
+}
@@ -0,0 +1,342 @@
+package pdfact.core.util.text;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.google.inject.TypeLiteral;
+
+import pdfact.core.guice.PdfActCoreGuiceModule;
+import pdfact.core.pipes.semanticize.modules.ItemizeItemModule;
+import pdfact.core.pipes.semanticize.modules.PdfTextSemanticizerModule;
+import pdfact.core.pipes.tokenize.blocks.PlainTokenizeToTextBlocksPipe;
+
+/**
+ * Tests that {@link TextClassifier} (and hence {@link PrefixAutomaton})
+ * matches texts exactly like java.util.regex: every pattern and keyword
+ * registered by the semanticizer modules and the text block tokenizer, plus
+ * some patterns that the automaton doesn't support (and that are matched by
+ * the fallback), is checked on matching and non-matching texts and on random
+ * variations of them.
+ *
+ * @author Claudius Korzen
+ */
+public class TextClassifierTest {
+  /**
+   * Patterns that are not supported by the automaton: a back reference, a
+   * lookahead and a possessive quantifier.
+   */
+  protected static final String[] UNSUPPORTED_PATTERNS = { "^(a|b)\\1",
+      "^(?=ab)a", "^a++b" };
+
+  /**
+   * A pattern with a flag that is not supported by the automaton.
+   */
+  protected static final Pattern MULTILINE_PATTERN = Pattern.compile(
+      "^fig$", Pattern.MULTILINE);
+
+  /**
+   * The texts to check, matching and not matching the patterns and keywords.
+   */
+  protected static final String[] TEXTS = {
+      // Empty texts, line terminators and non-ASCII characters.
+      "", " ", "\n", "\r\n", "é", "\uffff",
+      // Itemize items starting with "•".
+      "•", "• Foo", "•\tbar", "•x", "• ", "•\n", "•\r\n", "•\r", " • Foo",
+      // Itemize items starting with roman numerals.
+      "I. Intro", "II.", "III. x", "IV. a", "IX. b", "X. c", "XIV. d",
+      "XVIII. e", "iv. lower", ". Foo", "IIII. x", "VV. x", "I.x", "I.\n",
+      "I.\r\n", "I.\r", "I. ", "I.\n\n", "I.\r\r", "XL. x", "(I) a",
+      "(iv)", "(XII) b", "() a", "(IIII) a", "(I)a", "(V)\n",
+      // Itemize items starting with letters and digits.
+      "a. foo", "1. bar", "A. Meyer", "S. Okamato", "z.", "ab. x", "a.b",
+      "(A) x", "(1)", "(C1) y", "(c12) z", "(AB) x", "(1 ) x", "(_) x",
+      // Captions.
+      "Figure 1", "fig. 2: x", "Fig 3", "FIG.12", "Abbildung 4", "figure",
+      "Figures 1", "fig.. 1", "figure\n1", "fig\t7", "Table 1.", "table 2:",
+      "TABELLE 3.", "Table 1", "Table A.", "table12:x", "tables 1.",
+      // Reference anchors.
+      "[1] Foo", "[Smith 2000]  x", "[]\tx", "[1]Foo", "[1]", "[a] ] b",
+      "[1\n] x", "x [1] y", "[[1]] z",
+      // Known headings.
+      "Abstract", "ABSTRACT", "1 Introduction", "Acknowledgements.",
+      "References", "Related Work", "Categories and Subject Descriptors",
+      "Introductions", "intro", "Conclusions:", "Ré-ferences",
+      "Future Work", "General Terms", "Appendix A",
+      // Texts for the unsupported patterns.
+      "aa", "bb", "ab", "ba", "aab", "abc", "a", "fig", "fig\nx", "x\nfig" };
+
+  /**
+   * The characters to insert on varying the texts.
+   */
+  protected static final String ALPHABET = "•IVXivx.()[]:  \t\n\r\u0085"
+      + " aAbzZ019_-fFgtTlLeEé";
+
+  /**
+   * The number of random variations per text.
+   */
+  protected static final int NUM_VARIATIONS = 30;
+
+  /**
+   * The classifier to test.
+   */
+  protected static TextClassifier classifier;
+
+  /**
+   * The registered patterns and their ids.
+   */
+  protected static RecordingBuilder builder;
+
+  /**
+   * The texts to check, including all prefixes and random variations of the
+   * texts above.
+   */
+  protected static List<String> texts;
+
+  /**
+   * Registers the patterns and keywords of all semanticizer modules, the
+   * reference anchor of the text block tokenizer and the unsupported patterns
+   * and creates the texts to check.
+   *
+   * @throws Exception
+   *         If the reference anchor couldn't be read.
+   */
+  @BeforeClass
+  public static void setUp() throws Exception {
+    Injector injector = Guice.createInjector(new PdfActCoreGuiceModule());
+    Map<Integer, PdfTextSemanticizerModule> modules = injector.getInstance(
+        Key.get(new TypeLiteral<Map<Integer, PdfTextSemanticizerModule>>() {
+        }));
+
+    builder = new RecordingBuilder();
+    for (PdfTextSemanticizerModule module : modules.values()) {
+      module.register(builder);
+    }
+    Field anchor = PlainTokenizeToTextBlocksPipe.class
+        .getDeclaredField("REFERENCE_ANCHOR");
+    anchor.setAccessible(true);
+    builder.addPattern((Pattern) anchor.get(null));
+    for (String regex : UNSUPPORTED_PATTERNS) {
+      builder.addPattern(regex, false);
+    }
+    builder.addPattern(MULTILINE_PATTERN);
+    classifier = builder.build();
+
+    Set<String> variations = new LinkedHashSet<>();
+    Random random = new Random(42);
+    for (String text : TEXTS) {
+      for (int i = 0; i <= text.length(); i++) {
+        variations.add(text.substring(0, i));
+      }
+      for (int i = 0; i < NUM_VARIATIONS; i++) {
+        variations.add(vary(text, random));
+      }
+    }
+    texts = new ArrayList<>(variations);
+  }
+
+  // ==========================================================================
+
+  /**
+   * Tests that the registered patterns include the itemize item patterns and
+   * that all registered patterns except for the unsupported ones are compiled
+   * into the automaton (and are not matched by the fallback).
+   */
+  @Test
+  public void testRegisteredPatterns() {
+    for (Pattern pattern : ItemizeItemModule.ITEMIZE_ITEM_PATTERNS) {
+      assertTrue(pattern.pattern(),
+          builder.recordedPatterns.contains(pattern));
+    }
+
+    Set<String> unsupported = new LinkedHashSet<>(
+        Arrays.asList(UNSUPPORTED_PATTERNS));
+    for (Pattern pattern : builder.recordedPatterns) {
+      boolean ignoreCase = (pattern.flags() & Pattern.CASE_INSENSITIVE) != 0;
+      boolean supported = PrefixAutomaton.isSupported(pattern.pattern(),
+          ignoreCase);
+      boolean fallback = builder.fallbackPatterns.contains(pattern);
+      if (pattern == MULTILINE_PATTERN) {
+        assertTrue(supported);
+        assertTrue(fallback);
+      } else {
+        assertEquals(pattern.pattern(),
+            !unsupported.contains(pattern.pattern()), supported);
+        assertEquals(pattern.pattern(), !supported, fallback);
+      }
+    }
+  }
+
+  /**
+   * Tests that each registered pattern matches exactly the texts that are
+   * matched by {@link java.util.regex.Matcher#lookingAt()}, and that each
+   * pattern is checked on matching and non-matching texts.
+   */
+  @Test
+  public void testPatterns() {
+    int[] numMatching = new int[builder.recordedPatterns.size()];
+    int[] numNonMatching = new int[builder.recordedPatterns.size()];
+    for (String text : texts) {
+      long matches = classifier.classify(text);
+      for (int i = 0; i < builder.recordedPatterns.size(); i++) {
+        Pattern pattern = builder.recordedPatterns.get(i);
+        boolean expected = pattern.matcher(text).lookingAt();
+        long id = builder.recordedPatternIds.get(i);
+        boolean actual = (matches & (1L << id)) != 0;
+        assertEquals(escape(pattern.pattern()) + " on '" + escape(text) + "'",
+            expected, actual);
+        if (expected) {
+          numMatching[i]++;
+        } else {
+          numNonMatching[i]++;
+        }
+      }
+    }
+
+    for (int i = 0; i < builder.recordedPatterns.size(); i++) {
+      String pattern = builder.recordedPatterns.get(i).pattern();
+      assertTrue(pattern, numMatching[i] > 0);
+      assertTrue(pattern, numNonMatching[i] > 0);
+    }
+  }
+
+  /**
+   * Tests that each registered keyword matches exactly the texts whose
+   * lowercased letters A-Z are equal to the keyword.
+   */
+  @Test
+  public void testKeywords() {
+    assertFalse(builder.recordedKeywords.isEmpty());
+    for (String text : texts) {
+      long matches = classifier.classify(text);
+      String letters = text.replaceAll("[^A-Za-z]", "").toLowerCase();
+      for (int i = 0; i < builder.recordedKeywords.size(); i++) {
+        String keyword = builder.recordedKeywords.get(i);
+        long id = builder.recordedKeywordIds.get(i);
+        boolean actual = (matches & (1L << id)) != 0;
+        assertEquals(keyword + " on '" + escape(text) + "'",
+            letters.equals(keyword), actual);
+      }
+    }
+  }
+
+  /**
+   * Tests that a null text doesn't match anything.
+   */
+  @Test
+  public void testNull() {
+    assertEquals(0, classifier.classify(null));
+  }
+
+  // ==========================================================================
+
+  /**
+   * Varies the given text by inserting, replacing or deleting up to three
+   * characters at random positions.
+   *
+   * @param text
+   *        The text to vary.
+   * @param random
+   *        The random generator.
+   *
+   * @return The varied text.
+   */
+  protected static String vary(String text, Random random) {
+    StringBuilder sb = new StringBuilder(text);
+    int numEdits = 1 + random.nextInt(3);
+    for (int i = 0; i < numEdits; i++) {
+      int pos = random.nextInt(sb.length() + 1);
+      char c = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+      int edit = random.nextInt(3);
+      if (edit == 0 || pos == sb.length()) {
+        sb.insert(pos, c);
+      } else if (edit == 1) {
+        sb.setCharAt(pos, c);
+      } else {
+        sb.deleteCharAt(pos);
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Escapes the line terminators and non-ASCII characters of the given text
+   * for an assertion message.
+   *
+   * @param text
+   *        The text to escape.
+   *
+   * @return The escaped text.
+   */
+  protected static String escape(String text) {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c < 32 || c > 126) {
+        sb.append(String.format("\\u%04x", (int) c));
+      } else {
+        sb.append(c);
+      }
+    }
+    return sb.toString();
+  }
+
+  // ==========================================================================
+
+  /**
+   * A builder that records the added patterns and keywords and their ids.
+   */
+  protected static class RecordingBuilder extends TextClassifier.Builder {
+    /**
+     * The added patterns.
+     */
+    protected List<Pattern> recordedPatterns = new ArrayList<>();
+
+    /**
+     * The ids of the added patterns.
+     */
+    protected List<Integer> recordedPatternIds = new ArrayList<>();
+
+    /**
+     * The added keywords.
+     */
+    protected List<String> recordedKeywords = new ArrayList<>();
+
+    /**
+     * The ids of the added keywords.
+     */
+    protected List<Integer> recordedKeywordIds = new ArrayList<>();
+
+    @Override
+    public int addPattern(Pattern pattern) {
+      int id = super.addPattern(pattern);
+      this.recordedPatterns.add(pattern);
+      this.recordedPatternIds.add(id);
+      return id;
+    }
+
+    @Override
+    public int addKeyword(String keyword) {
+      int id = super.addKeyword(keyword);
+      this.recordedKeywords.add(keyword);
+      this.recordedKeywordIds.add(id);
+      return id;
+    }
+  }
+}